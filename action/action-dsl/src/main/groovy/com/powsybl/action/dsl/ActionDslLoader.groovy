@@ -200,9 +200,7 @@ class ActionDslLoader extends DslLoader {
         loadDsl(binding, network, handler, observer)
         try {
 
-            def shell = createShell(binding)
-
-            shell.evaluate(dslSrc)
+            evaluate(binding)
 
             observer?.end()
         } catch (CompilationFailedException e) {
@@ -24,25 +24,28 @@ class ScriptDslTaskExtension implements DslTaskExtension {
     void addToSpec(MetaClass tasksSpecMetaClass, List<ModificationTask> tasks, Binding binding) {
         tasksSpecMetaClass.script = { Closure<Void> closure ->
             tasks.add(new ScriptTask({ Network network, ComputationManager computationManager ->
-                Network oldNetwork = binding.getVariable("network")
-                binding.setVariable("network", network)
-                binding.setVariable("computationManager", computationManager)
-                binding.setVariable(SCRIPT_IS_RUNNING, true)
-                MetaClass delegateMetaClass = closure.owner.delegate.metaClass;
-                try {
-                    closure.owner.delegate.metaClass = null
-                    closure.resolveStrategy = Closure.OWNER_ONLY
-                    closure.call()
-                } catch (MissingMethodException e) {
-                    if (delegateMetaClass.respondsTo(closure, e.getMethod(), String)) {
-                        throw new ActionDslException("Dsl extension task(" + e.getMethod() + ") is forbidden in task script")
-                    } else {
-                        throw e
+                // the binding is shared by all the scripts of the DSL, so scripts cannot be run concurrently
+                synchronized (binding) {
+                    Network oldNetwork = binding.getVariable("network")
+                    binding.setVariable("network", network)
+                    binding.setVariable("computationManager", computationManager)
+                    binding.setVariable(SCRIPT_IS_RUNNING, true)
+                    MetaClass delegateMetaClass = closure.owner.delegate.metaClass;
+                    try {
+                        closure.owner.delegate.metaClass = null
+                        closure.resolveStrategy = Closure.OWNER_ONLY
+                        closure.call()
+                    } catch (MissingMethodException e) {
+                        if (delegateMetaClass.respondsTo(closure, e.getMethod(), String)) {
+                            throw new ActionDslException("Dsl extension task(" + e.getMethod() + ") is forbidden in task script")
+                        } else {
+                            throw e
+                        }
+                    } finally {
+                        binding.setVariable(SCRIPT_IS_RUNNING, null)
+                        binding.setVariable("network", oldNetwork)
+                        binding.setVariable("computationManager", null)
                     }
-                } finally {
-                    binding.setVariable(SCRIPT_IS_RUNNING, null)
-                    binding.setVariable("network", oldNetwork)
-                    binding.setVariable("computationManager", null)
                 }
             }))
         }
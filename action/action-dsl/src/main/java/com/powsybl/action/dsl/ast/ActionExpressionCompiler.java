@@ -0,0 +1,342 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.dsl.ast;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.dsl.GroovyUtil;
+import com.powsybl.dsl.ast.*;
+import com.powsybl.iidm.network.Identifiable;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Compile expression trees to {@link CompiledActionExpression}, which evaluate to the same values as
+ * {@link ActionExpressionEvaluator} without visiting the tree again: operators are resolved and constant branch lists
+ * are built once at compilation.
+ *
+ * Network components, properties and methods which are structurally equal in all the expressions compiled by the same
+ * compiler share a single compiled expression, whose value is computed once per {@link EvaluationCache}. Branch
+ * loadings and rankings are also computed once per cache.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class ActionExpressionCompiler implements ActionExpressionVisitor<CompiledActionExpression, Void> {
+
+    /**
+     * A shared sub-expression, computed once per cache.
+     */
+    private static final class MemoizedExpression implements CompiledActionExpression {
+
+        private final CompiledActionExpression expression;
+
+        private MemoizedExpression(CompiledActionExpression expression) {
+            this.expression = Objects.requireNonNull(expression);
+        }
+
+        @Override
+        public Object evaluate(EvaluationContext context, EvaluationCache cache) {
+            return cache.computeIfAbsent(this, () -> expression.evaluate(context, cache));
+        }
+    }
+
+    private final Map<String, CompiledActionExpression> sharedExpressions = new HashMap<>();
+
+    public static CompiledActionExpression compile(ExpressionNode node) {
+        return new ActionExpressionCompiler().compileExpression(node);
+    }
+
+    /**
+     * Compile an expression, sharing its network sub-expressions with the expressions previously compiled by this
+     * compiler.
+     */
+    public CompiledActionExpression compileExpression(ExpressionNode node) {
+        return node.accept(this, null);
+    }
+
+    private CompiledActionExpression share(String key, CompiledActionExpression expression) {
+        return sharedExpressions.computeIfAbsent(key, k -> new MemoizedExpression(expression));
+    }
+
+    private static String getKey(ExpressionNode node) {
+        if (node instanceof NetworkComponentNode) {
+            NetworkComponentNode componentNode = (NetworkComponentNode) node;
+            return componentNode.getComponentType() + "('" + componentNode.getComponentId() + "')";
+        } else if (node instanceof NetworkPropertyNode) {
+            NetworkPropertyNode propertyNode = (NetworkPropertyNode) node;
+            return getKey(propertyNode.getParent()) + "." + propertyNode.getPropertyName();
+        } else if (node instanceof NetworkMethodNode) {
+            NetworkMethodNode methodNode = (NetworkMethodNode) node;
+            // argument types are part of the key as 1 and '1' would be printed the same way
+            return getKey(methodNode.getParent()) + "." + methodNode.getMethodName()
+                    + Arrays.stream(methodNode.getArgs())
+                            .map(arg -> arg != null ? arg.getClass().getName() + ":" + arg : "null")
+                            .collect(Collectors.joining(", ", "(", ")"));
+        } else {
+            throw new AssertionError("Unexpected network node: " + node.getClass());
+        }
+    }
+
+    @Override
+    public CompiledActionExpression visitLiteral(AbstractLiteralNode node, Void arg) {
+        Object value = node.getValue();
+        return (context, cache) -> value;
+    }
+
+    private static double toNumber(Object value, String message) {
+        if (!(value instanceof Number)) {
+            throw new PowsyblException(message);
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    private static String getClassName(Object value) {
+        return value != null ? value.getClass().toString() : "null";
+    }
+
+    private static boolean toBoolean(Object value, String message) {
+        if (!(value instanceof Boolean)) {
+            throw new PowsyblException(message);
+        }
+        return (Boolean) value;
+    }
+
+    @Override
+    public CompiledActionExpression visitComparisonOperator(ComparisonOperatorNode node, Void arg) {
+        CompiledActionExpression left = node.getLeft().accept(this, arg);
+        CompiledActionExpression right = node.getRight().accept(this, arg);
+        DoubleComparison comparison;
+        switch (node.getOperator()) {
+            case EQUALS:
+                comparison = (value1, value2) -> value1 == value2;
+                break;
+            case NOT_EQUALS:
+                comparison = (value1, value2) -> value1 != value2;
+                break;
+            case GREATER_THAN:
+                comparison = (value1, value2) -> value1 > value2;
+                break;
+            case LESS_THAN:
+                comparison = (value1, value2) -> value1 < value2;
+                break;
+            case GREATER_THAN_OR_EQUALS_TO:
+                comparison = (value1, value2) -> value1 >= value2;
+                break;
+            case LESS_THAN_OR_EQUALS_TO:
+                comparison = (value1, value2) -> value1 <= value2;
+                break;
+            default:
+                throw createUnexpectedOperatorException(node.getOperator().name());
+        }
+        return (context, cache) -> {
+            Object result1 = left.evaluate(context, cache);
+            Object result2 = right.evaluate(context, cache);
+            return comparison.test(toNumber(result1, "Left operand of comparison should return a number"),
+                                   toNumber(result2, "Right operand of comparison should return a number"));
+        };
+    }
+
+    @FunctionalInterface
+    private interface DoubleComparison {
+        boolean test(double value1, double value2);
+    }
+
+    @FunctionalInterface
+    private interface DoubleOperation {
+        double apply(double value1, double value2);
+    }
+
+    @Override
+    public CompiledActionExpression visitLogicalOperator(LogicalBinaryOperatorNode node, Void arg) {
+        CompiledActionExpression left = node.getLeft().accept(this, arg);
+        CompiledActionExpression right = node.getRight().accept(this, arg);
+        // like the evaluator, both operands are evaluated so that errors are reported the same way
+        switch (node.getOperator()) {
+            case AND:
+                return (context, cache) -> {
+                    Object result1 = left.evaluate(context, cache);
+                    Object result2 = right.evaluate(context, cache);
+                    boolean value1 = toBoolean(result1, "Left operand of comparison should return a boolean");
+                    boolean value2 = toBoolean(result2, "Right operand of comparison should return a boolean");
+                    return value1 && value2;
+                };
+            case OR:
+                return (context, cache) -> {
+                    Object result1 = left.evaluate(context, cache);
+                    Object result2 = right.evaluate(context, cache);
+                    boolean value1 = toBoolean(result1, "Left operand of comparison should return a boolean");
+                    boolean value2 = toBoolean(result2, "Right operand of comparison should return a boolean");
+                    return value1 || value2;
+                };
+            default:
+                throw createUnexpectedOperatorException(node.getOperator().name());
+        }
+    }
+
+    @Override
+    public CompiledActionExpression visitArithmeticOperator(ArithmeticBinaryOperatorNode node, Void arg) {
+        CompiledActionExpression left = node.getLeft().accept(this, arg);
+        CompiledActionExpression right = node.getRight().accept(this, arg);
+        DoubleOperation operation;
+        switch (node.getOperator()) {
+            case PLUS:
+                operation = (value1, value2) -> value1 + value2;
+                break;
+            case MINUS:
+                operation = (value1, value2) -> value1 - value2;
+                break;
+            case MULTIPLY:
+                operation = (value1, value2) -> value1 * value2;
+                break;
+            case DIVIDE:
+                operation = (value1, value2) -> value1 / value2;
+                break;
+            default:
+                throw createUnexpectedOperatorException(node.getOperator().name());
+        }
+        return (context, cache) -> {
+            Object result1 = left.evaluate(context, cache);
+            Object result2 = right.evaluate(context, cache);
+            return operation.apply(toNumber(result1, "Left operand of arithmetic operation should return a number (" + getClassName(result1) + ")"),
+                                   toNumber(result2, "Right operand of arithmetic operation should return a number (" + getClassName(result2) + ")"));
+        };
+    }
+
+    @Override
+    public CompiledActionExpression visitNotOperator(LogicalNotOperator node, Void arg) {
+        CompiledActionExpression child = node.getChild().accept(this, arg);
+        return (context, cache) -> !toBoolean(child.evaluate(context, cache), "Operand of not operator should return a boolean");
+    }
+
+    @Override
+    public CompiledActionExpression visitNetworkComponent(NetworkComponentNode node, Void arg) {
+        String componentId = node.getComponentId();
+        return share(getKey(node), (context, cache) -> {
+            Identifiable identifiable = context.getNetwork().getIdentifiable(componentId);
+            if (identifiable == null) {
+                throw new PowsyblException("Network component '" + componentId + "' not found");
+            }
+            return identifiable;
+        });
+    }
+
+    @Override
+    public CompiledActionExpression visitNetworkProperty(NetworkPropertyNode node, Void arg) {
+        CompiledActionExpression parent = node.getParent().accept(this, arg);
+        String propertyName = node.getPropertyName();
+        return share(getKey(node), (context, cache) -> {
+            Object parentValue = parent.evaluate(context, cache);
+            if (parentValue == null) {
+                throw new PowsyblException("Cannot call a property '" + propertyName + "' on a null object");
+            }
+            return GroovyUtil.callProperty(parentValue, propertyName);
+        });
+    }
+
+    @Override
+    public CompiledActionExpression visitNetworkMethod(NetworkMethodNode node, Void arg) {
+        CompiledActionExpression parent = node.getParent().accept(this, arg);
+        String methodName = node.getMethodName();
+        Object[] args = node.getArgs();
+        return share(getKey(node), (context, cache) -> {
+            Object parentValue = parent.evaluate(context, cache);
+            if (parentValue == null) {
+                throw new PowsyblException("Cannot call a method '" + methodName + "' on a null object");
+            }
+            return GroovyUtil.callMethod(parentValue, methodName, args);
+        });
+    }
+
+    @Override
+    public CompiledActionExpression visitActionTaken(ActionTakenNode node, Void arg) {
+        String actionId = node.getActionId();
+        return (context, cache) -> context.isActionTaken(actionId);
+    }
+
+    @Override
+    public CompiledActionExpression visitContingencyOccurred(ContingencyOccurredNode node, Void arg) {
+        String contingencyId = node.getContingencyId();
+        return (context, cache) -> context.getContingency() != null &&
+                (contingencyId == null || context.getContingency().getId().equals(contingencyId));
+    }
+
+    @Override
+    public CompiledActionExpression visitLoadingRank(LoadingRankNode node, Void arg) {
+        CompiledActionExpression branchIdToRank = node.getBranchIdToRankNode().accept(this, arg);
+        List<CompiledActionExpression> branchIds = node.getBranchIds().stream()
+                .map(e -> e.accept(this, arg))
+                .collect(Collectors.toList());
+        // most of the time, the branches to compare are given as literals
+        List<String> constantBranchIds = node.getBranchIds().stream().allMatch(e -> e instanceof AbstractLiteralNode)
+                ? node.getBranchIds().stream().map(e -> (String) ((AbstractLiteralNode) e).getValue()).collect(Collectors.toList())
+                : null;
+        return (context, cache) -> {
+            List<String> ids;
+            if (constantBranchIds != null) {
+                ids = constantBranchIds;
+            } else {
+                ids = new ArrayList<>(branchIds.size());
+                for (CompiledActionExpression branchId : branchIds) {
+                    ids.add((String) branchId.evaluate(context, cache));
+                }
+            }
+
+            String id = (String) branchIdToRank.evaluate(context, cache);
+            if (!ids.contains(id)) {
+                throw new PowsyblException("Branch to rank has to be in the list");
+            }
+
+            List<String> sortedBranchIds = cache.sortBranches(context.getNetwork(), ids);
+            int i = sortedBranchIds.indexOf(id);
+            if (i == -1) {
+                throw new AssertionError();
+            }
+            return sortedBranchIds.size() - i; // just a convention
+        };
+    }
+
+    @Override
+    public CompiledActionExpression visitMostLoaded(MostLoadedNode node, Void arg) {
+        List<String> branchIds = new ArrayList<>(node.getBranchIds());
+        return (context, cache) -> {
+            List<String> sortedBranchIds = cache.sortBranches(context.getNetwork(), branchIds);
+            return sortedBranchIds.get(sortedBranchIds.size() - 1);
+        };
+    }
+
+    @Override
+    public CompiledActionExpression visitIsOverloaded(IsOverloadedNode node, Void arg) {
+        List<String> branchIds = new ArrayList<>(node.getBranchIds());
+        float limitReduction = node.getLimitReduction();
+        return (context, cache) -> {
+            // iterate over all the branch ids to be sure that all the branches exist in the network
+            boolean overloaded = false;
+            for (String branchId : branchIds) {
+                overloaded |= EvaluationCache.getBranch(context.getNetwork(), branchId).isOverloaded(limitReduction);
+            }
+            return overloaded;
+        };
+    }
+
+    @Override
+    public CompiledActionExpression visitAllOverloaded(AllOverloadedNode node, Void arg) {
+        List<String> branchIds = new ArrayList<>(node.getBranchIds());
+        float limitReduction = node.getLimitReduction();
+        return (context, cache) -> {
+            // iterate over all the branch ids to be sure that all the branches exist in the network
+            boolean overloaded = true;
+            for (String branchId : branchIds) {
+                overloaded &= EvaluationCache.getBranch(context.getNetwork(), branchId).isOverloaded(limitReduction);
+            }
+            return overloaded;
+        };
+    }
+
+    private static AssertionError createUnexpectedOperatorException(String operatorName) {
+        return new AssertionError("Unexpected operator: " + operatorName);
+    }
+}
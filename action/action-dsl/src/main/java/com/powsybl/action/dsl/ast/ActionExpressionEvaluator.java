@@ -70,117 +70,11 @@ public class ActionExpressionEvaluator extends ExpressionEvaluator implements Ac
                 (node.getContingencyId() == null || context.getContingency().getId().equals(node.getContingencyId()));
     }
 
-    /**
-     * Utility class to compare loading on one side of a branch to loading of one side of another branch
-     */
-    private static final class BranchAndSide implements Comparable<BranchAndSide> {
-        private final Branch branch;
-        private final Branch.Side side;
-
-        private BranchAndSide(Branch branch, Branch.Side side) {
-            this.branch = Objects.requireNonNull(branch);
-            this.side = Objects.requireNonNull(side);
-        }
-
-        private Branch getBranch() {
-            return branch;
-        }
-
-        private Branch.Side getSide() {
-            return side;
-        }
-
-        /**
-         * TODO: to move to IIDM
-         */
-        private static double getPermanentLimit(Branch branch, Branch.Side side) {
-            Objects.requireNonNull(branch);
-            Objects.requireNonNull(side);
-            double permanentLimit1 = branch.getCurrentLimits1() != null ? branch.getCurrentLimits1().getPermanentLimit() : Double.NaN;
-            double permanentLimit2 = branch.getCurrentLimits2() != null ? branch.getCurrentLimits2().getPermanentLimit() : Double.NaN;
-            return side == Branch.Side.ONE ? permanentLimit1 : permanentLimit2;
-        }
-
-        private static int compare(double value1, double value2) {
-            if (Double.isNaN(value1) && Double.isNaN(value2)) {
-                return 0;
-            } else if (Double.isNaN(value1) && !Double.isNaN(value2)) {
-                return -1;
-            } else if (!Double.isNaN(value1) && Double.isNaN(value2)) {
-                return 1;
-            } else {
-                return Double.compare(value1, value2);
-            }
-        }
-
-        private static int compare(BranchAndSide branchAndSide1, BranchAndSide branchAndSide2) {
-            Branch.Overload overload1 = branchAndSide1.getBranch().checkTemporaryLimits(branchAndSide1.getSide());
-            Branch.Overload overload2 = branchAndSide2.getBranch().checkTemporaryLimits(branchAndSide2.getSide());
-            double i1 = branchAndSide1.getBranch().getTerminal(branchAndSide1.getSide()).getI();
-            double i2 = branchAndSide2.getBranch().getTerminal(branchAndSide2.getSide()).getI();
-            double permanentLimit1 = getPermanentLimit(branchAndSide1.getBranch(), branchAndSide1.getSide());
-            double permanentLimit2 = getPermanentLimit(branchAndSide2.getBranch(), branchAndSide2.getSide());
-            int c;
-            if (overload1 == null) {
-                if (overload2 == null) {
-                    // no overload, compare load based on permanent limit
-                    c = compare(i1 / permanentLimit1, i2 / permanentLimit2);
-                } else {
-                    c = -1;
-                }
-            } else {
-                if (overload2 == null) {
-                    c = 1;
-                } else {
-                    // first compare acceptable duration
-                    c = -Integer.compare(overload1.getTemporaryLimit().getAcceptableDuration(),
-                            overload2.getTemporaryLimit().getAcceptableDuration());
-                    if (c == 0) {
-                        // and then overload based on temporary limit
-                        c = compare(i1 / overload1.getTemporaryLimit().getValue(),
-                                i2 / overload2.getTemporaryLimit().getValue());
-                    }
-                }
-            }
-            return c;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(branch, side);
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (obj instanceof BranchAndSide) {
-                return ((BranchAndSide) obj).compareTo(this) == 0;
-            }
-            return false;
-        }
-
-        @Override
-        public int compareTo(BranchAndSide o) {
-            return compare(this, o);
-        }
-
-        @Override
-        public String toString() {
-            return branch.getId() + "/" + side;
-        }
-    }
-
     private List<String> sortBranches(List<String> branchIds) {
-        return branchIds.stream()
+        return BranchLoading.sort(branchIds.stream()
                 .map(this::getBranch)
-                .map(branch -> {
-                    BranchAndSide branchAndSide1 = new BranchAndSide(branch, Branch.Side.ONE);
-                    BranchAndSide branchAndSide2 = new BranchAndSide(branch, Branch.Side.TWO);
-                    int c = branchAndSide1.compareTo(branchAndSide2);
-                    return c >= 0 ? branchAndSide1 : branchAndSide2;
-                })
-                .sorted()
-                .map(branchAndSide -> branchAndSide.getBranch().getId())
-                .collect(Collectors.toList());
+                .map(BranchLoading::of)
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.dsl.ast;
+
+import com.powsybl.iidm.network.Branch;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Loading of the most loaded side of a branch. Limits and current are read once, so that branches can be sorted
+ * without checking their limits again at each comparison.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class BranchLoading implements Comparable<BranchLoading> {
+
+    private final String branchId;
+
+    private final Branch.Side side;
+
+    private final boolean overloaded;
+
+    // acceptable duration of the overload, only relevant if overloaded
+    private final int acceptableDuration;
+
+    // current divided by the overloaded temporary limit if overloaded, by the permanent limit otherwise
+    private final double loading;
+
+    private BranchLoading(Branch branch, Branch.Side side) {
+        this.branchId = branch.getId();
+        this.side = Objects.requireNonNull(side);
+        Branch.Overload overload = branch.checkTemporaryLimits(side);
+        double i = branch.getTerminal(side).getI();
+        if (overload != null) {
+            overloaded = true;
+            acceptableDuration = overload.getTemporaryLimit().getAcceptableDuration();
+            loading = i / overload.getTemporaryLimit().getValue();
+        } else {
+            overloaded = false;
+            acceptableDuration = Integer.MAX_VALUE;
+            loading = i / getPermanentLimit(branch, side);
+        }
+    }
+
+    static BranchLoading of(Branch branch) {
+        Objects.requireNonNull(branch);
+        BranchLoading loading1 = new BranchLoading(branch, Branch.Side.ONE);
+        BranchLoading loading2 = new BranchLoading(branch, Branch.Side.TWO);
+        return loading1.compareTo(loading2) >= 0 ? loading1 : loading2;
+    }
+
+    /**
+     * Sort branch loadings from the least loaded to the most loaded and return the corresponding branch ids.
+     */
+    static List<String> sort(Collection<BranchLoading> loadings) {
+        return loadings.stream()
+                .sorted()
+                .map(BranchLoading::getBranchId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * TODO: to move to IIDM
+     */
+    private static double getPermanentLimit(Branch branch, Branch.Side side) {
+        double permanentLimit1 = branch.getCurrentLimits1() != null ? branch.getCurrentLimits1().getPermanentLimit() : Double.NaN;
+        double permanentLimit2 = branch.getCurrentLimits2() != null ? branch.getCurrentLimits2().getPermanentLimit() : Double.NaN;
+        return side == Branch.Side.ONE ? permanentLimit1 : permanentLimit2;
+    }
+
+    private static int compare(double value1, double value2) {
+        if (Double.isNaN(value1) && Double.isNaN(value2)) {
+            return 0;
+        } else if (Double.isNaN(value1) && !Double.isNaN(value2)) {
+            return -1;
+        } else if (!Double.isNaN(value1) && Double.isNaN(value2)) {
+            return 1;
+        } else {
+            return Double.compare(value1, value2);
+        }
+    }
+
+    String getBranchId() {
+        return branchId;
+    }
+
+    @Override
+    public int compareTo(BranchLoading o) {
+        int c;
+        if (!overloaded) {
+            if (!o.overloaded) {
+                // no overload, compare load based on permanent limit
+                c = compare(loading, o.loading);
+            } else {
+                c = -1;
+            }
+        } else {
+            if (!o.overloaded) {
+                c = 1;
+            } else {
+                // first compare acceptable duration
+                c = -Integer.compare(acceptableDuration, o.acceptableDuration);
+                if (c == 0) {
+                    // and then overload based on temporary limit
+                    c = compare(loading, o.loading);
+                }
+            }
+        }
+        return c;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(branchId, side);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof BranchLoading) {
+            return ((BranchLoading) obj).compareTo(this) == 0;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return branchId + "/" + side;
+    }
+}
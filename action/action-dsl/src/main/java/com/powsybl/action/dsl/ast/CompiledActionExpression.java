@@ -0,0 +1,19 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.dsl.ast;
+
+/**
+ * An expression compiled by {@link ActionExpressionCompiler}. It is immutable and can be evaluated concurrently,
+ * provided that each thread uses its own {@link EvaluationCache}.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@FunctionalInterface
+public interface CompiledActionExpression {
+
+    Object evaluate(EvaluationContext context, EvaluationCache cache);
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.dsl.ast;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Branch;
+import com.powsybl.iidm.network.Network;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Values shared by the {@link CompiledActionExpression compiled expressions} evaluated on the same state of a network:
+ * network components and properties, branch loadings and branch rankings.
+ *
+ * A cache is not thread safe and has to be {@link #clear() cleared} each time the network is modified.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class EvaluationCache {
+
+    private static final Object NULL_VALUE = new Object();
+
+    // keys are the shared compiled sub-expressions
+    private final Map<Object, Object> values = new IdentityHashMap<>();
+
+    private final Map<String, BranchLoading> loadings = new HashMap<>();
+
+    private final Map<List<String>, List<String>> sortedBranchIds = new HashMap<>();
+
+    Object computeIfAbsent(Object key, Supplier<Object> supplier) {
+        Object value = values.get(key);
+        if (value == null) {
+            value = supplier.get();
+            values.put(key, value != null ? value : NULL_VALUE);
+            return value;
+        }
+        return value != NULL_VALUE ? value : null;
+    }
+
+    static Branch getBranch(Network network, String branchId) {
+        Branch branch = network.getBranch(branchId);
+        if (branch == null) {
+            throw new PowsyblException("Branch '" + branchId + "' not found");
+        }
+        return branch;
+    }
+
+    private BranchLoading getLoading(Network network, String branchId) {
+        BranchLoading loading = loadings.get(branchId);
+        if (loading == null) {
+            loading = BranchLoading.of(getBranch(network, branchId));
+            loadings.put(branchId, loading);
+        }
+        return loading;
+    }
+
+    /**
+     * Get the ids of the branches sorted from the least loaded to the most loaded.
+     */
+    List<String> sortBranches(Network network, List<String> branchIds) {
+        List<String> sorted = sortedBranchIds.get(branchIds);
+        if (sorted == null) {
+            List<BranchLoading> branchLoadings = new ArrayList<>(branchIds.size());
+            for (String branchId : branchIds) {
+                branchLoadings.add(getLoading(network, branchId));
+            }
+            sorted = BranchLoading.sort(branchLoadings);
+            sortedBranchIds.put(branchIds, sorted);
+        }
+        return sorted;
+    }
+
+    public void clear() {
+        values.clear();
+        loadings.clear();
+        sortedBranchIds.clear();
+    }
+}
@@ -48,10 +48,8 @@ public class ConditionDslLoaderTest {
         assertEquals(expected, ActionExpressionPrinter.toString(node));
     }
 
-    private void evalAndAssert(Object expected, String script) throws IOException {
-        ExpressionNode node = (ExpressionNode) new ConditionDslLoader(script).load(network);
-        assertNotNull(node);
-        assertEquals(expected, ActionExpressionEvaluator.evaluate(node, new EvaluationContext() {
+    private EvaluationContext createContext() {
+        return new EvaluationContext() {
             @Override
             public Network getNetwork() {
                 return network;
@@ -66,7 +64,16 @@ public class ConditionDslLoaderTest {
             public boolean isActionTaken(String actionId) {
                 return actionId.equals("action");
             }
-        }));
+        };
+    }
+
+    private void evalAndAssert(Object expected, String script) throws IOException {
+        ExpressionNode node = (ExpressionNode) new ConditionDslLoader(script).load(network);
+        assertNotNull(node);
+        EvaluationContext context = createContext();
+        assertEquals(expected, ActionExpressionEvaluator.evaluate(node, context));
+        // compiled expression has to give the same result
+        assertEquals(expected, ActionExpressionCompiler.compile(node).evaluate(context, new EvaluationCache()));
     }
 
     @Test
@@ -218,6 +225,33 @@ public class ConditionDslLoaderTest {
     }
 
 
+    @Test
+    public void testCompiledExpressionCache() throws IOException {
+        ActionExpressionCompiler compiler = new ActionExpressionCompiler();
+        CompiledActionExpression expression1 = compiler.compileExpression((ExpressionNode) new ConditionDslLoader("line('NHV1_NHV2_1').terminal1.p > 100").load(network));
+        CompiledActionExpression expression2 = compiler.compileExpression((ExpressionNode) new ConditionDslLoader("line('NHV1_NHV2_1').terminal1.p * 2").load(network));
+        CompiledActionExpression expression3 = compiler.compileExpression((ExpressionNode) new ConditionDslLoader("mostLoaded(['NHV1_NHV2_1', 'NHV1_NHV2_2'])").load(network));
+        EvaluationContext context = createContext();
+        EvaluationCache cache = new EvaluationCache();
+
+        line1.newCurrentLimits1().setPermanentLimit(400).add();
+        line2.newCurrentLimits1().setPermanentLimit(400).add();
+        line1.getTerminal1().setP(300).setQ(100);
+        line2.getTerminal1().setP(100).setQ(100);
+        assertEquals(true, expression1.evaluate(context, cache));
+        assertEquals("NHV1_NHV2_1", expression3.evaluate(context, cache));
+
+        // the value of the property is shared by both expressions and kept until the cache is cleared
+        line1.getTerminal1().setP(50);
+        line2.getTerminal1().setP(400);
+        assertEquals(600.0, expression2.evaluate(context, cache));
+        assertEquals("NHV1_NHV2_1", expression3.evaluate(context, cache));
+        cache.clear();
+        assertEquals(100.0, expression2.evaluate(context, cache));
+        assertEquals(false, expression1.evaluate(context, cache));
+        assertEquals("NHV1_NHV2_2", expression3.evaluate(context, cache));
+    }
+
     private void addCurrentLimitsOnLine1() {
         line1.newCurrentLimits1()
                 .setPermanentLimit(400)
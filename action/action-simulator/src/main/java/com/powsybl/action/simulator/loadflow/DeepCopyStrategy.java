@@ -15,15 +15,15 @@ import java.util.Objects;
  * @author Teofil Calin BANC <teofil-calin.banc at rte-france.com>
  */
 class DeepCopyStrategy implements NetworkCopyStrategy {
-    private final byte[] compressedBytes;
+    private final byte[] snapshot;
 
     DeepCopyStrategy(Network network) {
-        this.compressedBytes = NetworkXml.gzip(Objects.requireNonNull(network));
+        this.snapshot = NetworkXml.toBinary(Objects.requireNonNull(network));
     }
 
     @Override
     public Network createState(String id) {
-        return NetworkXml.gunzip(compressedBytes);
+        return NetworkXml.fromBinary(snapshot);
     }
 
     @Override
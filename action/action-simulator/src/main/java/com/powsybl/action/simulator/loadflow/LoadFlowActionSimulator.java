@@ -10,12 +10,14 @@ import com.powsybl.action.dsl.*;
 import com.powsybl.action.dsl.ast.*;
 import com.powsybl.action.simulator.ActionSimulator;
 import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.concurrent.CleanableExecutors;
 import com.powsybl.commons.exceptions.UncheckedIllegalAccessException;
 import com.powsybl.commons.exceptions.UncheckedInstantiationException;
 import com.powsybl.computation.ComputationManager;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.dsl.ast.ExpressionNode;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.xml.NetworkXml;
 import com.powsybl.loadflow.LoadFlow;
 import com.powsybl.loadflow.LoadFlowFactory;
 import com.powsybl.loadflow.LoadFlowParameters;
@@ -28,6 +30,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -52,6 +59,8 @@ public class LoadFlowActionSimulator implements ActionSimulator {
 
     private final List<LoadFlowActionSimulatorObserver> observers;
 
+    private Map<Rule, CompiledRule> compiledRules = Collections.emptyMap();
+
     public LoadFlowActionSimulator(Network network, ComputationManager computationManager) {
         this(network, computationManager, LoadFlowActionSimulatorConfig.load(), false, Collections.emptyList());
     }
@@ -100,36 +109,93 @@ public class LoadFlowActionSimulator implements ActionSimulator {
     public void start(ActionDb actionDb, List<String> contingencyIds) {
         Objects.requireNonNull(actionDb);
 
+        compiledRules = compileRules(actionDb);
+
         LOGGER.info("Starting pre-contingency analysis");
         RunningContext runningContext = new RunningContext(network);
-        observers.forEach(o -> o.beforePreContingencyAnalysis(runningContext));
+        notifyObservers(o -> o.beforePreContingencyAnalysis(runningContext));
 
         boolean preContingencyAnalysisOk = next(actionDb, runningContext);
 
-        observers.forEach(LoadFlowActionSimulatorObserver::afterPreContingencyAnalysis);
-
-        NetworkCopyStrategy strategy = NetworkCopyStrategy.getInstance(config.getCopyStrategy(), runningContext.getNetwork());
+        notifyObservers(LoadFlowActionSimulatorObserver::afterPreContingencyAnalysis);
 
         if (preContingencyAnalysisOk || config.isIgnorePreContingencyViolations()) {
-            for (String contingencyId : contingencyIds) {
-                Contingency contingency = actionDb.getContingency(contingencyId);
-                Network network2 = strategy.createState(contingencyId);
-                RunningContext runningContext2 = new RunningContext(network2, contingency);
+            if (config.getConcurrency() > 0 && !contingencyIds.isEmpty()) {
+                runParallel(actionDb, runningContext.getNetwork(), contingencyIds);
+            } else {
+                NetworkCopyStrategy strategy = NetworkCopyStrategy.getInstance(config.getCopyStrategy(), runningContext.getNetwork());
+                for (String contingencyId : contingencyIds) {
+                    runContingency(actionDb, strategy, contingencyId);
+                }
+            }
+        }
 
-                observers.forEach(o -> o.beforePostContingencyAnalysis(runningContext2));
+        notifyObservers(LoadFlowActionSimulatorObserver::afterPostContingencyAnalysis);
+    }
+
+    private void runContingency(ActionDb actionDb, NetworkCopyStrategy strategy, String contingencyId) {
+        Contingency contingency = actionDb.getContingency(contingencyId);
+        Network network2 = strategy.createState(contingencyId);
+        RunningContext runningContext2 = new RunningContext(network2, contingency);
 
-                LOGGER.info("Starting post-contingency analysis '{}'", contingency.getId());
-                contingency.toTask().modify(network2, computationManager);
+        notifyObservers(o -> o.beforePostContingencyAnalysis(runningContext2));
 
-                observers.forEach(o -> o.postContingencyAnalysisNetworkLoaded(runningContext2));
+        LOGGER.info("Starting post-contingency analysis '{}'", contingency.getId());
+        contingency.toTask().modify(network2, computationManager);
 
-                next(actionDb, runningContext2);
+        notifyObservers(o -> o.postContingencyAnalysisNetworkLoaded(runningContext2));
 
-                strategy.removeState();
+        next(actionDb, runningContext2);
+
+        strategy.removeState();
+    }
+
+    /**
+     * Simulate the contingencies on a fixed number of workers, each one owning a private copy of the pre-contingency
+     * network restored from an in-memory snapshot and taking the next contingency of the queue once the previous one
+     * is completed. Observers are never notified concurrently but the notifications of several contingencies may be
+     * interleaved.
+     */
+    private void runParallel(ActionDb actionDb, Network preContingencyNetwork, List<String> contingencyIds) {
+        byte[] snapshot = NetworkXml.toBinary(preContingencyNetwork);
+        Queue<String> queue = new ConcurrentLinkedQueue<>(contingencyIds);
+        int workerCount = Math.min(config.getConcurrency(), contingencyIds.size());
+        LOGGER.info("Running {} post-contingency analyses on {} workers", contingencyIds.size(), workerCount);
+        // workers wait for their load flows, so they must not share the computation manager executor
+        ExecutorService executor = CleanableExecutors.newFixedThreadPool("ACTION_SIMULATOR_POOL", workerCount);
+        try {
+            CompletableFuture[] workers = new CompletableFuture[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                workers[i] = CompletableFuture.runAsync(() -> {
+                    Network workerNetwork = NetworkXml.fromBinary(snapshot);
+                    NetworkCopyStrategy strategy = NetworkCopyStrategy.getInstance(config.getCopyStrategy(), workerNetwork);
+                    try {
+                        String contingencyId;
+                        while ((contingencyId = queue.poll()) != null) {
+                            runContingency(actionDb, strategy, contingencyId);
+                        }
+                    } catch (RuntimeException e) {
+                        // stop the other workers as soon as possible
+                        queue.clear();
+                        throw e;
+                    }
+                }, executor);
             }
+            CompletableFuture.allOf(workers).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
         }
+    }
 
-        observers.forEach(LoadFlowActionSimulatorObserver::afterPostContingencyAnalysis);
+    private void notifyObservers(Consumer<LoadFlowActionSimulatorObserver> notification) {
+        synchronized (observers) {
+            observers.forEach(notification);
+        }
     }
 
     protected LoadFlowFactory newLoadFlowFactory() {
@@ -167,12 +233,57 @@ public class LoadFlowActionSimulator implements ActionSimulator {
         }
     }
 
-    private RuleContext evaluateRule(Rule rule, RunningContext context) {
-        if (rule.getCondition().getType() != ConditionType.EXPRESSION) {
-            throw new AssertionError("TODO");
+    /**
+     * Condition of a rule compiled once for all contingencies and rounds, with the variables and actions it depends on.
+     */
+    private static final class CompiledRule {
+
+        private final CompiledActionExpression condition;
+        private final Map<String, CompiledActionExpression> variables;
+        private final List<String> actionIds;
+
+        private CompiledRule(CompiledActionExpression condition, Map<String, CompiledActionExpression> variables, List<String> actionIds) {
+            this.condition = Objects.requireNonNull(condition);
+            this.variables = Objects.requireNonNull(variables);
+            this.actionIds = Objects.requireNonNull(actionIds);
+        }
+
+        private CompiledActionExpression getCondition() {
+            return condition;
+        }
+
+        private Map<String, CompiledActionExpression> getVariables() {
+            return variables;
+        }
+
+        private List<String> getActionIds() {
+            return actionIds;
+        }
+    }
+
+    private static Map<Rule, CompiledRule> compileRules(ActionDb actionDb) {
+        // a single compiler, so that network values are shared by all the rules
+        ActionExpressionCompiler compiler = new ActionExpressionCompiler();
+        Map<Rule, CompiledRule> compiledRules = new IdentityHashMap<>();
+        for (Rule rule : actionDb.getRules()) {
+            if (rule.getCondition().getType() == ConditionType.EXPRESSION) {
+                ExpressionNode conditionExpr = ((ExpressionCondition) rule.getCondition()).getNode();
+                Map<String, CompiledActionExpression> variables = new TreeMap<>();
+                for (NetworkNode variable : ExpressionVariableLister.list(conditionExpr)) {
+                    variables.putIfAbsent(ActionExpressionPrinter.toString(variable), compiler.compileExpression(variable));
+                }
+                List<String> actionIds = ExpressionActionTakenLister.list(conditionExpr).stream()
+                        .distinct()
+                        .sorted()
+                        .collect(Collectors.toList());
+                compiledRules.put(rule, new CompiledRule(compiler.compileExpression(conditionExpr), variables, actionIds));
+            }
         }
-        ExpressionNode conditionExpr = ((ExpressionCondition) rule.getCondition()).getNode();
-        EvaluationContext evalContext = new EvaluationContext() {
+        return compiledRules;
+    }
+
+    private static EvaluationContext createEvaluationContext(RunningContext context) {
+        return new EvaluationContext() {
             @Override
             public Network getNetwork() {
                 return context.getNetwork();
@@ -188,17 +299,30 @@ public class LoadFlowActionSimulator implements ActionSimulator {
                 return context.getTimeLine().actionTaken(actionId);
             }
         };
-        boolean ok = ActionExpressionEvaluator.evaluate(conditionExpr, evalContext).equals(Boolean.TRUE);
+    }
+
+    private CompiledRule getCompiledRule(Rule rule) {
+        CompiledRule compiledRule = compiledRules.get(rule);
+        if (compiledRule == null) {
+            throw new PowsyblException("Rule '" + rule.getId() + "': condition type " + rule.getCondition().getType()
+                    + " is not supported");
+        }
+        return compiledRule;
+    }
+
+    private RuleContext evaluateRule(Rule rule, RunningContext context, EvaluationCache cache) {
+        CompiledRule compiledRule = getCompiledRule(rule);
+        EvaluationContext evalContext = createEvaluationContext(context);
+        boolean ok = compiledRule.getCondition().evaluate(evalContext, cache).equals(Boolean.TRUE);
 
         if (LOGGER.isDebugEnabled()) {
+            ExpressionNode conditionExpr = ((ExpressionCondition) rule.getCondition()).getNode();
             LOGGER.debug("Evaluating {} to {}", ActionExpressionPrinter.toString(conditionExpr), Boolean.toString(ok));
         }
 
-        Map<String, Object> variables = ExpressionVariableLister.list(conditionExpr).stream()
-                .collect(Collectors.toMap(ActionExpressionPrinter::toString,
-                    n -> ActionExpressionEvaluator.evaluate(n, evalContext),
-                    (v1, v2) -> v1,
-                    TreeMap::new));
+        // variables are shared with the condition, so they are not computed again
+        Map<String, Object> variables = new TreeMap<>();
+        compiledRule.getVariables().forEach((name, variable) -> variables.put(name, variable.evaluate(evalContext, cache)));
 
         LOGGER.debug("Variables values: {}", variables);
 
@@ -210,11 +334,8 @@ public class LoadFlowActionSimulator implements ActionSimulator {
             status = RuleEvaluationStatus.FALSE;
         }
 
-        Map<String, Boolean> actions = ExpressionActionTakenLister.list(conditionExpr).stream()
-                .collect(Collectors.toMap(s -> s,
-                    s -> context.getTimeLine().actionTaken(s),
-                    (s1, s2) -> s1,
-                    TreeMap::new));
+        Map<String, Boolean> actions = new TreeMap<>();
+        compiledRule.getActionIds().forEach(actionId -> actions.put(actionId, context.getTimeLine().actionTaken(actionId)));
 
         return new RuleContext(status, variables, actions);
     }
@@ -225,36 +346,39 @@ public class LoadFlowActionSimulator implements ActionSimulator {
 
             // apply action
             LOGGER.info("Apply action '{}'", action.getId());
-            observers.forEach(o -> o.beforeAction(context, actionId));
+            notifyObservers(o -> o.beforeAction(context, actionId));
 
             action.run(context.getNetwork(), computationManager);
 
-            observers.forEach(o -> o.afterAction(context, actionId));
+            notifyObservers(o -> o.afterAction(context, actionId));
             actionsTaken.add(actionId);
         }
     }
 
     private boolean checkViolations(ActionDb actionDb, RunningContext context) {
         List<LimitViolation> violations = LIMIT_VIOLATION_FILTER.apply(Security.checkLimits(context.getNetwork(), 1), context.getNetwork());
-        observers.forEach(o -> o.loadFlowConverged(context, violations));
+        notifyObservers(o -> o.loadFlowConverged(context, violations));
         // no more violations => work complete
         if (violations.isEmpty()) {
             LOGGER.info("No more violation");
-            observers.forEach(o -> o.noMoreViolations(context));
+            notifyObservers(o -> o.noMoreViolations(context));
             return true;
         }
 
         if (LOGGER.isInfoEnabled()) {
-            LOGGER.info("Violations: \n{}", Security.printLimitsViolations(violations, network, NO_FILTER));
+            LOGGER.info("Violations: \n{}", Security.printLimitsViolations(violations, context.getNetwork(), NO_FILTER));
         }
 
         if (context.getRound() + 1 == config.getMaxIterations()) {
             LOGGER.info("Max number of iterations reached");
-            observers.forEach(o -> o.maxIterationsReached(context));
+            notifyObservers(o -> o.maxIterationsReached(context));
             return false;
         }
 
-        runTests(actionDb, context);
+        // network values are shared by all the rules until an action modifies the network
+        EvaluationCache cache = new EvaluationCache();
+
+        runTests(actionDb, context, cache);
         if (context.isTestWorks() && applyIfSolvedViolations) {
             return true;
         }
@@ -268,33 +392,34 @@ public class LoadFlowActionSimulator implements ActionSimulator {
             if (context.getRuleMatchCount(rule.getId()) >= rule.getLife()) {
                 ruleContext = new RuleContext(RuleEvaluationStatus.DEAD, Collections.emptyMap(), Collections.emptyMap());
             } else {
-                ruleContext = evaluateRule(rule, context);
+                ruleContext = evaluateRule(rule, context, cache);
             }
 
-            observers.forEach(o -> o.ruleChecked(context, rule, ruleContext.getStatus(), ruleContext.getVariables(), ruleContext.getActions()));
+            notifyObservers(o -> o.ruleChecked(context, rule, ruleContext.getStatus(), ruleContext.getVariables(), ruleContext.getActions()));
 
             if (ruleContext.getStatus() == RuleEvaluationStatus.TRUE) {
                 applyActions(actionDb, context, rule, actionsTaken);
+                cache.clear();
             }
         }
 
         // record the action in the time line
         context.getTimeLine().getActions().addAll(actionsTaken);
 
-        observers.forEach(o -> o.roundEnd(context));
+        notifyObservers(o -> o.roundEnd(context));
 
         if (!actionsTaken.isEmpty()) {
             context.setRound(context.getRound() + 1);
             return next(actionDb, context);
         } else {
             LOGGER.info("Still some violations and no rule match");
-            observers.forEach(o -> o.violationsAnymoreAndNoRulesMatch(context));
+            notifyObservers(o -> o.violationsAnymoreAndNoRulesMatch(context));
             return false;
         }
     }
 
     private boolean next(ActionDb actionDb, RunningContext context) {
-        observers.forEach(o -> o.roundBegin(context));
+        notifyObservers(o -> o.roundBegin(context));
 
         LoadFlowFactory loadFlowFactory = newLoadFlowFactory();
         LoadFlow loadFlow = loadFlowFactory.create(context.getNetwork(), computationManager, 0);
@@ -310,36 +435,18 @@ public class LoadFlowActionSimulator implements ActionSimulator {
             return checkViolations(actionDb, context);
         } else {
             LOGGER.warn("Loadflow diverged: {}", result.getMetrics());
-            observers.forEach(o -> o.loadFlowDiverged(context));
+            notifyObservers(o -> o.loadFlowDiverged(context));
             return false;
         }
     }
 
-    private void runTests(ActionDb actionDb, RunningContext context) {
+    private void runTests(ActionDb actionDb, RunningContext context, EvaluationCache cache) {
         // test actions
-        EvaluationContext evalContext = new EvaluationContext() {
-            @Override
-            public Network getNetwork() {
-                return context.getNetwork();
-            }
-
-            @Override
-            public Contingency getContingency() {
-                return context.getContingency();
-            }
-
-            @Override
-            public boolean isActionTaken(String actionId) {
-                return context.getTimeLine().actionTaken(actionId);
-            }
-        };
+        EvaluationContext evalContext = createEvaluationContext(context);
 
         List<Rule> activedRules = actionDb.getRules().stream()
                 .filter(rule -> rule.getType().equals(RuleType.TEST))
-                .filter(rule -> {
-                    ExpressionNode conditionExpr = ((ExpressionCondition) rule.getCondition()).getNode();
-                    return ActionExpressionEvaluator.evaluate(conditionExpr, evalContext).equals(Boolean.TRUE);
-                })
+                .filter(rule -> getCompiledRule(rule).getCondition().evaluate(evalContext, cache).equals(Boolean.TRUE))
                 .collect(Collectors.toList());
         List<String> testActionIds = activedRules.stream()
                                 .flatMap(r -> r.getActions().stream())
@@ -367,25 +474,25 @@ public class LoadFlowActionSimulator implements ActionSimulator {
                     context.addWorkedTest(action.getId());
                     if (applyIfSolvedViolations) {
                         LOGGER.info("Loadflow with test '{}' works already and exits simulation", action.getId());
-                        observers.forEach(o -> o.noMoreViolationsAfterTest(context, action.getId()));
-                        observers.forEach(o -> o.beforeApplyTest(context, action.getId()));
+                        notifyObservers(o -> o.noMoreViolationsAfterTest(context, action.getId()));
+                        notifyObservers(o -> o.beforeApplyTest(context, action.getId()));
                         action.run(context.getNetwork(), computationManager);
                         context.getTimeLine().getActions().add(actionId);
-                        observers.forEach(o -> o.loadFlowConverged(context, violationsInTest));
-                        observers.forEach(o -> o.noMoreViolations(context));
-                        observers.forEach(o -> o.afterApplyTest(context, action.getId()));
+                        notifyObservers(o -> o.loadFlowConverged(context, violationsInTest));
+                        notifyObservers(o -> o.noMoreViolations(context));
+                        notifyObservers(o -> o.afterApplyTest(context, action.getId()));
                         return;
                     } else {
                         LOGGER.info("Loadflow with test '{}' works already and continues simulation", action.getId());
-                        observers.forEach(o -> o.noMoreViolationsAfterTest(context, action.getId()));
+                        notifyObservers(o -> o.noMoreViolationsAfterTest(context, action.getId()));
                     }
                 } else {
                     LOGGER.info("Loadflow with test '{}' exits with violations", action.getId());
-                    observers.forEach(o -> o.violationsAfterTest(action.getId(), violationsInTest));
+                    notifyObservers(o -> o.violationsAfterTest(action.getId(), violationsInTest));
                 }
             } else {
                 LOGGER.info("Loadflow with test '{}' diverged", action.getId());
-                observers.forEach(o -> o.divergedAfterTest(action.getId()));
+                notifyObservers(o -> o.divergedAfterTest(action.getId()));
             }
             strategy.removeState();
         }
@@ -398,9 +505,9 @@ public class LoadFlowActionSimulator implements ActionSimulator {
         LoadFlowFactory loadFlowFactory = newLoadFlowFactory();
         LoadFlow testLoadFlow = loadFlowFactory.create(networkForTry, computationManager, 0);
         try {
-            observers.forEach(o -> o.beforeTest(context, actionId));
+            notifyObservers(o -> o.beforeTest(context, actionId));
             LoadFlowResult testResult = testLoadFlow.run(networkForTry.getVariantManager().getWorkingVariantId(), LoadFlowParameters.load()).join();
-            observers.forEach(o -> o.afterTest(context, actionId));
+            notifyObservers(o -> o.afterTest(context, actionId));
             return testResult;
         } catch (Exception e) {
             throw new PowsyblException(e);
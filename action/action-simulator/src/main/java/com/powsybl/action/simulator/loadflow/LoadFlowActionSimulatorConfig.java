@@ -31,7 +31,8 @@ public class LoadFlowActionSimulatorConfig {
         boolean ignorePreContingencyViolations = config.getBooleanProperty("ignore-pre-contingency-violations", false);
         boolean debug = config.getBooleanProperty("debug", false);
         CopyStrategy copyStrategy = config.getEnumProperty("copy-strategy", CopyStrategy.class, CopyStrategy.DEEP);
-        return new LoadFlowActionSimulatorConfig(loadFlowFactoryClass, maxIterations, ignorePreContingencyViolations, debug, copyStrategy);
+        int concurrency = config.getIntProperty("concurrency", 0);
+        return new LoadFlowActionSimulatorConfig(loadFlowFactoryClass, maxIterations, ignorePreContingencyViolations, debug, copyStrategy, concurrency);
     }
 
     private Class<? extends LoadFlowFactory> loadFlowFactoryClass;
@@ -44,6 +45,8 @@ public class LoadFlowActionSimulatorConfig {
 
     private CopyStrategy copyStrategy;
 
+    private int concurrency;
+
     public LoadFlowActionSimulatorConfig(Class<? extends LoadFlowFactory> loadFlowFactoryClass, int maxIterations, boolean ignorePreContingencyViolations,
                                          boolean debug) {
         this(loadFlowFactoryClass, maxIterations, ignorePreContingencyViolations, debug, CopyStrategy.DEEP);
@@ -51,11 +54,28 @@ public class LoadFlowActionSimulatorConfig {
 
     public LoadFlowActionSimulatorConfig(Class<? extends LoadFlowFactory> loadFlowFactoryClass, int maxIterations, boolean ignorePreContingencyViolations,
                                          boolean debug, CopyStrategy copyStrategy) {
+        this(loadFlowFactoryClass, maxIterations, ignorePreContingencyViolations, debug, copyStrategy, 0);
+    }
+
+    /**
+     * @param concurrency number of contingencies simulated in parallel, each on its own copy of the network, 0 to
+     *                    simulate them sequentially on the network itself
+     */
+    public LoadFlowActionSimulatorConfig(Class<? extends LoadFlowFactory> loadFlowFactoryClass, int maxIterations, boolean ignorePreContingencyViolations,
+                                         boolean debug, CopyStrategy copyStrategy, int concurrency) {
         this.loadFlowFactoryClass = Objects.requireNonNull(loadFlowFactoryClass);
         this.maxIterations = maxIterations;
         this.ignorePreContingencyViolations = ignorePreContingencyViolations;
         this.debug = debug;
         this.copyStrategy = Objects.requireNonNull(copyStrategy);
+        this.concurrency = checkConcurrency(concurrency);
+    }
+
+    private static int checkConcurrency(int concurrency) {
+        if (concurrency < 0) {
+            throw new IllegalArgumentException("Invalid concurrency: " + concurrency);
+        }
+        return concurrency;
     }
 
     public Class<? extends LoadFlowFactory> getLoadFlowFactoryClass() {
@@ -97,4 +117,12 @@ public class LoadFlowActionSimulatorConfig {
     public void setCopyStrategy(CopyStrategy copyStrategy) {
         this.copyStrategy = Objects.requireNonNull(copyStrategy);
     }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = checkConcurrency(concurrency);
+    }
 }
@@ -62,8 +62,7 @@ public abstract class AbstractLoadFlowRulesEngineTest {
         LoadFlowActionSimulatorObserver observer = createObserver();
         GroovyCodeSource src = new GroovyCodeSource(new InputStreamReader(getClass().getResourceAsStream(getDslFile())), "test", GroovyShell.DEFAULT_CODE_BASE);
         actionDb = new ActionDslLoader(src).load(network);
-        engine = new LoadFlowActionSimulator(network, computationManager, new LoadFlowActionSimulatorConfig(LoadFlowFactory.class, 3, false, false),
-                applyIfWorks(), observer) {
+        engine = new LoadFlowActionSimulator(network, computationManager, createConfig(), applyIfWorks(), observer) {
             @Override
             protected LoadFlowFactory newLoadFlowFactory() {
                 return loadFlowFactory;
@@ -71,6 +70,10 @@ public abstract class AbstractLoadFlowRulesEngineTest {
         };
     }
 
+    protected LoadFlowActionSimulatorConfig createConfig() {
+        return new LoadFlowActionSimulatorConfig(LoadFlowFactory.class, 3, false, false);
+    }
+
     protected boolean applyIfWorks() {
         return true;
     }
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.action.simulator;
+
+import com.powsybl.action.simulator.loadflow.DefaultLoadFlowActionSimulatorObserver;
+import com.powsybl.action.simulator.loadflow.LoadFlowActionSimulatorConfig;
+import com.powsybl.action.simulator.loadflow.LoadFlowActionSimulatorObserver;
+import com.powsybl.action.simulator.loadflow.RunningContext;
+import com.powsybl.iidm.network.Line;
+import com.powsybl.iidm.network.Network;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class ParallelContingenciesTest extends AbstractLoadFlowRulesEngineTest {
+
+    private static final List<String> CONTINGENCY_IDS = Arrays.asList("contingency1", "contingency2", "contingency3", "contingency4");
+
+    private final Map<String, List<String>> actions = new HashMap<>();
+
+    private final List<String> events = new ArrayList<>();
+
+    private boolean postContingencyAnalysisDone = false;
+
+    @Override
+    protected Network createNetwork() {
+        Network network = EurostagTutorialExample1WithTemporaryLimitFactory.create();
+        network.getVoltageLevel("VLHV1").getBusBreakerView().getBus("NHV1").setV(380).setAngle(0);
+        return network;
+    }
+
+    @Override
+    protected LoadFlowActionSimulatorConfig createConfig() {
+        LoadFlowActionSimulatorConfig config = super.createConfig();
+        config.setConcurrency(2);
+        return config;
+    }
+
+    @Override
+    protected LoadFlowActionSimulatorObserver createObserver() {
+        return new DefaultLoadFlowActionSimulatorObserver() {
+
+            private void setCurrent(RunningContext runningContext, double p) {
+                Line l2 = runningContext.getNetwork().getLine("NHV1_NHV2_2");
+                l2.getTerminal1().setP(p).setQ(100);
+            }
+
+            @Override
+            public void beforePostContingencyAnalysis(RunningContext runningContext) {
+                // each contingency is simulated on a copy of the network
+                assertNotSame(network, runningContext.getNetwork());
+                events.add("begin " + runningContext.getContingency().getId());
+            }
+
+            @Override
+            public void postContingencyAnalysisNetworkLoaded(RunningContext runningContext) {
+                // overload the line
+                setCurrent(runningContext, 300);
+            }
+
+            @Override
+            public void beforeAction(RunningContext runningContext, String actionId) {
+                // simulate the effect of the action
+                setCurrent(runningContext, 100);
+            }
+
+            @Override
+            public void afterAction(RunningContext runningContext, String actionId) {
+                assertEquals(700, runningContext.getNetwork().getLoad("LOAD").getP0(), 0);
+                actions.computeIfAbsent(runningContext.getContingency().getId(), k -> new ArrayList<>()).add(actionId);
+            }
+
+            @Override
+            public void noMoreViolations(RunningContext runningContext) {
+                if (runningContext.getContingency() != null) {
+                    events.add("end " + runningContext.getContingency().getId());
+                }
+            }
+
+            @Override
+            public void afterPostContingencyAnalysis() {
+                postContingencyAnalysisDone = true;
+            }
+        };
+    }
+
+    @Override
+    protected String getDslFile() {
+        return "/parallel-contingencies.groovy";
+    }
+
+    @Test
+    public void test() {
+        engine.start(actionDb, CONTINGENCY_IDS);
+
+        assertTrue(postContingencyAnalysisDone);
+        assertEquals(CONTINGENCY_IDS.size(), actions.size());
+        for (String contingencyId : CONTINGENCY_IDS) {
+            assertEquals(Collections.singletonList("action"), actions.get(contingencyId));
+            // notifications of a contingency are sent in order
+            assertTrue(events.indexOf("begin " + contingencyId) < events.indexOf("end " + contingencyId));
+        }
+        assertEquals(2 * CONTINGENCY_IDS.size(), events.size());
+
+        // the pre-contingency network is left untouched
+        assertEquals(600, network.getLoad("LOAD").getP0(), 0);
+    }
+}
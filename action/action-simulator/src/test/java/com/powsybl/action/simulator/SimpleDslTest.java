@@ -6,10 +6,15 @@
  */
 package com.powsybl.action.simulator;
 
+import com.powsybl.action.dsl.ConditionType;
+import com.powsybl.action.dsl.Rule;
+import com.powsybl.commons.PowsyblException;
 import com.powsybl.iidm.network.Network;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -35,4 +40,15 @@ public class SimpleDslTest extends AbstractLoadFlowRulesEngineTest {
         engine.start(actionDb);
         assertTrue(network.getLoad("LOAD").getP0() == 601);
     }
+
+    @Test
+    public void unsupportedConditionTest() {
+        actionDb.addRule(new Rule("predefined", () -> ConditionType.PREDEFINED, 1, "action1"));
+        try {
+            engine.start(actionDb);
+            fail();
+        } catch (PowsyblException e) {
+            assertEquals("Rule 'predefined': condition type PREDEFINED is not supported", e.getMessage());
+        }
+    }
 }
@@ -45,6 +45,7 @@ public class LoadFlowActionSimulatorConfigTest {
             moduleConfig.setStringProperty("max-iterations", "15");
             moduleConfig.setStringProperty("ignore-pre-contingency-violations", "true");
             moduleConfig.setStringProperty("copy-strategy", CopyStrategy.DEEP.name());
+            moduleConfig.setStringProperty("concurrency", "4");
 
             LoadFlowActionSimulatorConfig config = LoadFlowActionSimulatorConfig.load(platformConfig);
 
@@ -65,6 +66,14 @@ public class LoadFlowActionSimulatorConfigTest {
             assertFalse(config.isDebug());
             config.setDebug(true);
             assertTrue(config.isDebug());
+            assertEquals(4, config.getConcurrency());
+            config.setConcurrency(0);
+            assertEquals(0, config.getConcurrency());
         }
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidConcurrencyTest() {
+        new LoadFlowActionSimulatorConfig(LoadFlowFactoryMock.class, 10, false, false, CopyStrategy.DEEP, -1);
+    }
 }
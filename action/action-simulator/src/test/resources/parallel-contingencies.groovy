@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+contingency('contingency1') {
+    equipments 'NHV1_NHV2_1'
+}
+
+contingency('contingency2') {
+    equipments 'GEN'
+}
+
+contingency('contingency3') {
+    equipments 'NGEN_NHV1'
+}
+
+contingency('contingency4') {
+    equipments 'NHV2_NLOAD'
+}
+
+rule('rule') {
+    when contingencyOccurred()
+    apply 'action'
+}
+
+action('action') {
+    tasks {
+        script {
+            load('LOAD').p0 = 700
+        }
+    }
+}
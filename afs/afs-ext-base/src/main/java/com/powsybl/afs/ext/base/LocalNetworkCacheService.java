@@ -11,6 +11,7 @@ import com.powsybl.afs.ProjectFile;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
 import com.powsybl.iidm.import_.Importer;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.xml.NetworkXml;
 import groovy.json.JsonOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,14 +65,17 @@ public class LocalNetworkCacheService implements NetworkCacheService {
         }
     }
 
-    private static ScriptResult<Network> loadNetworkFromVirtualCase(VirtualCase virtualCase) {
-        ProjectCase baseCase = (ProjectCase) virtualCase.getCase()
-                                                        .orElseThrow(() -> new AfsException("Case link is dead"));
+    private ScriptResult<Network> loadNetworkFromVirtualCase(VirtualCase virtualCase) {
+        ProjectFile baseCase = virtualCase.getCase()
+                                          .orElseThrow(() -> new AfsException("Case link is dead"));
 
-        ScriptResult<Network> network = loadNetworkFromProjectCase(baseCase);
+        // base case network is shared through the cache, so that a chain of virtual cases only imports the
+        // root case once; invalidating the base case also invalidates this virtual case
+        ScriptResult<Network> baseNetwork = cache.get(baseCase);
+        cache.addDependency(baseCase, virtualCase);
 
-        if (network.getError() != null) {
-            return network;
+        if (baseNetwork.getError() != null) {
+            return baseNetwork;
         }
 
         ModificationScript script = virtualCase.getScript()
@@ -79,10 +83,30 @@ public class LocalNetworkCacheService implements NetworkCacheService {
 
         LOGGER.info("Applying script to network of project case {}", virtualCase.getId());
 
-        return applyScript(network.getValue(), network.getOutput(), script);
+        // script is applied to a copy, cached base case network must not be modified
+        Network network = copyNetwork(baseNetwork.getValue());
+        if (network == null) {
+            // the cached network cannot be copied, so the base case is loaded again from scratch
+            baseNetwork = loadNetworkFromProjectCase((ProjectCase) baseCase);
+            if (baseNetwork.getError() != null) {
+                return baseNetwork;
+            }
+            network = baseNetwork.getValue();
+        }
+
+        return applyScript(network, baseNetwork.getOutput(), script);
+    }
+
+    private static Network copyNetwork(Network network) {
+        try {
+            return NetworkXml.copy(network);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cannot copy network {}: {}", network.getId(), e.toString());
+            return null;
+        }
     }
 
-    private static ScriptResult<Network> loadNetworkFromProjectCase(ProjectCase projectCase) {
+    private ScriptResult<Network> loadNetworkFromProjectCase(ProjectCase projectCase) {
         if (projectCase instanceof ImportedCase) {
             return loadNetworkFromImportedCase((ImportedCase) projectCase);
         } else if (projectCase instanceof VirtualCase) {
@@ -14,9 +14,11 @@ import com.powsybl.commons.util.WeakListenerList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -35,6 +37,12 @@ public class ScriptCache<F extends ProjectFile, V, L> {
 
     private final Map<String, WeakListenerList<L>> listeners = new ConcurrentHashMap<>();
 
+    /**
+     * Project file ids whose cached value has been derived from the value of another project file, indexed by the
+     * id of this other project file.
+     */
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+
     private final Function<F, ScriptResult<V>> loader;
 
     public ScriptCache(int maximumSize, int hoursExpiration, Function<F, ScriptResult<V>> loader,
@@ -64,9 +72,34 @@ public class ScriptCache<F extends ProjectFile, V, L> {
         }
     }
 
+    /**
+     * Record that the cached value of {@code dependent} has been derived from the cached value of {@code parent}, so that
+     * invalidating {@code parent} also invalidates {@code dependent}.
+     */
+    public void addDependency(F parent, F dependent) {
+        Objects.requireNonNull(parent);
+        Objects.requireNonNull(dependent);
+        dependents.computeIfAbsent(parent.getId(), s -> ConcurrentHashMap.newKeySet()).add(dependent.getId());
+    }
+
+    /**
+     * Invalidate the cached value of a project file and, transitively, the cached values derived from it.
+     */
     public void invalidate(F projectFile) {
         Objects.requireNonNull(projectFile);
-        cache.invalidate(projectFile.getId());
+        invalidate(projectFile.getId(), new HashSet<>());
+    }
+
+    private void invalidate(String projectFileId, Set<String> invalidated) {
+        if (invalidated.add(projectFileId)) {
+            cache.invalidate(projectFileId);
+            Set<String> dependentIds = dependents.remove(projectFileId);
+            if (dependentIds != null) {
+                for (String dependentId : dependentIds) {
+                    invalidate(dependentId, invalidated);
+                }
+            }
+        }
     }
 
     private WeakListenerList<L> getListeners(String projectFileId) {
@@ -6,8 +6,10 @@
  */
 package com.powsybl.afs.ext.base;
 
+import com.powsybl.commons.groovy.GroovyScriptCache;
 import com.powsybl.iidm.network.Network;
 import groovy.lang.Binding;
+import groovy.lang.GroovyCodeSource;
 import groovy.lang.GroovyShell;
 import groovy.lang.MissingMethodException;
 import groovy.lang.MissingPropertyException;
@@ -27,7 +29,7 @@ public final class ScriptUtils {
     private ScriptUtils() {
     }
 
-    private static ScriptResult<Object> runGroovyScript(Network network, Reader reader) {
+    private static ScriptResult<Object> runGroovyScript(Network network, String scriptContent) {
         String output = "";
         ScriptError error = null;
         Object value = null;
@@ -37,9 +39,9 @@ public final class ScriptUtils {
             binding.setProperty("network", network);
             binding.setProperty("out", outputWriter);
 
-            CompilerConfiguration config = new CompilerConfiguration();
-            GroovyShell shell = new GroovyShell(binding, config);
-            value = shell.evaluate(reader, SCRIPT_FILE_NAME);
+            // scripts are compiled once and then reused for each network of the cache
+            GroovyCodeSource codeSource = new GroovyCodeSource(scriptContent, SCRIPT_FILE_NAME, GroovyShell.DEFAULT_CODE_BASE);
+            value = GroovyScriptCache.getDefault().evaluate(codeSource, binding, ScriptUtils.class.getName(), CompilerConfiguration::new);
             outputWriter.flush();
             output = outputWriter.toString();
         } catch (MultipleCompilationErrorsException e) {
@@ -53,14 +55,10 @@ public final class ScriptUtils {
     }
 
     static ScriptResult<Object> runScript(Network network, ScriptType scriptType, String scriptContent) {
-        try (Reader reader = new StringReader(scriptContent)) {
-            if (scriptType == ScriptType.GROOVY) {
-                return runGroovyScript(network, reader);
-            } else {
-                throw new AssertionError("Script type " + scriptType + " not supported");
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        if (scriptType == ScriptType.GROOVY) {
+            return runGroovyScript(network, scriptContent);
+        } else {
+            throw new AssertionError("Script type " + scriptType + " not supported");
         }
     }
 }
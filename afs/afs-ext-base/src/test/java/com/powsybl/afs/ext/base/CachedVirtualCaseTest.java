@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.afs.ext.base;
+
+import com.google.common.collect.ImmutableList;
+import com.powsybl.afs.*;
+import com.powsybl.afs.mapdb.storage.MapDbAppStorage;
+import com.powsybl.afs.storage.AppStorage;
+import com.powsybl.afs.storage.NodeGenericMetadata;
+import com.powsybl.afs.storage.NodeInfo;
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.iidm.import_.ImportConfig;
+import com.powsybl.iidm.import_.ImportersLoader;
+import com.powsybl.iidm.import_.ImportersLoaderList;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.NetworkFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Virtual cases derived from the cached network of their base case, which requires a network that can be copied.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class CachedVirtualCaseTest extends AbstractProjectFileTest {
+
+    private final AtomicInteger importCount = new AtomicInteger();
+
+    private ImportersLoader createImportersLoader() {
+        Network realNetwork = NetworkFactory.create("network", "test");
+        TestImporter importer = new TestImporter(realNetwork) {
+            @Override
+            public Network importData(ReadOnlyDataSource dataSource, Properties parameters) {
+                importCount.incrementAndGet();
+                return super.importData(dataSource, parameters);
+            }
+        };
+        return new ImportersLoaderList(Collections.singletonList(importer), Collections.emptyList());
+    }
+
+    @Override
+    protected AppStorage createStorage() {
+        return MapDbAppStorage.createMem("mem");
+    }
+
+    @Override
+    protected List<FileExtension> getFileExtensions() {
+        return ImmutableList.of(new CaseExtension(createImportersLoader()));
+    }
+
+    @Override
+    protected List<ProjectFileExtension> getProjectFileExtensions() {
+        return ImmutableList.of(new ImportedCaseExtension(createImportersLoader(), new ImportConfig()),
+                                new ModificationScriptExtension(),
+                                new VirtualCaseExtension());
+    }
+
+    @Override
+    protected List<ServiceExtension> getServiceExtensions() {
+        return ImmutableList.of(new LocalNetworkCacheServiceExtension());
+    }
+
+    @Before
+    public void setup() throws IOException {
+        super.setup();
+        NodeInfo rootFolderInfo = storage.createRootNodeIfNotExists("root", Folder.PSEUDO_CLASS);
+        storage.createNode(rootFolderInfo.getId(), "network", Case.PSEUDO_CLASS, "", Case.VERSION,
+                new NodeGenericMetadata().setString(Case.FORMAT, TestImporter.FORMAT));
+    }
+
+    @Test
+    public void chainedVirtualCasesTest() {
+        Case aCase = (Case) afs.getRootFolder().getChildren().get(0);
+        Project project = afs.getRootFolder().createProject("project");
+        ProjectFolder folder = project.getRootFolder().createFolder("folder");
+        ImportedCase importedCase = folder.fileBuilder(ImportedCaseBuilder.class)
+                .withCase(aCase)
+                .build();
+        ModificationScript script = folder.fileBuilder(ModificationScriptBuilder.class)
+                .withName("script")
+                .withType(ScriptType.GROOVY)
+                .withContent("network.setForecastDistance(network.getForecastDistance() + 1)")
+                .build();
+        VirtualCase virtualCase = folder.fileBuilder(VirtualCaseBuilder.class)
+                .withName("network2")
+                .withCase(importedCase)
+                .withScript(script)
+                .build();
+        VirtualCase virtualCase2 = folder.fileBuilder(VirtualCaseBuilder.class)
+                .withName("network3")
+                .withCase(virtualCase)
+                .withScript(script)
+                .build();
+
+        // each virtual case applies its script on a copy of its base case network
+        int importCountBefore = importCount.get();
+        assertEquals(2, virtualCase2.getNetwork().getForecastDistance());
+        assertEquals(1, virtualCase.getNetwork().getForecastDistance());
+        assertEquals(0, importedCase.getNetwork().getForecastDistance());
+        assertNotSame(virtualCase.getNetwork(), virtualCase2.getNetwork());
+
+        // the root case has only been imported once for the whole chain
+        assertEquals(importCountBefore + 1, importCount.get());
+
+        // invalidating the imported case cascades to the whole chain
+        AtomicInteger updateCount = new AtomicInteger();
+        ProjectCaseListener listener = updateCount::incrementAndGet;
+        virtualCase2.addListener(listener);
+        importedCase.invalidateNetworkCache();
+        assertEquals(1, updateCount.get());
+        assertEquals(2, virtualCase2.getNetwork().getForecastDistance());
+        assertEquals(importCountBefore + 2, importCount.get());
+    }
+}
@@ -221,6 +221,36 @@ public class LocalAppStorage implements AppStorage {
         }
     }
 
+    @Override
+    public Map<String, List<NodeInfo>> getChildNodes(String nodeId, int depth) {
+        Path path = nodeIdToPath(nodeId);
+        if (depth < 1) {
+            throw new IllegalArgumentException("Invalid depth: " + depth);
+        }
+        Map<String, List<NodeInfo>> childNodes = new HashMap<>();
+        List<Path> parentPaths = Collections.singletonList(path);
+        for (int level = 0; level < depth && !parentPaths.isEmpty(); level++) {
+            List<Path> nextParentPaths = new ArrayList<>();
+            for (Path parentPath : parentPaths) {
+                LocalFolder folder = scanFolder(parentPath, false);
+                List<NodeInfo> children = new ArrayList<>();
+                if (folder != null) {
+                    for (Path childPath : folder.getChildPaths()) {
+                        if (isLocalNode(childPath)) {
+                            children.add(getNodeInfo(childPath));
+                            nextParentPaths.add(childPath);
+                        }
+                    }
+                } else if (level == 0) {
+                    throw new AssertionError();
+                }
+                childNodes.put(pathToNodeId(parentPath), children);
+            }
+            parentPaths = nextParentPaths;
+        }
+        return childNodes;
+    }
+
     @Override
     public Optional<NodeInfo> getChildNode(String nodeId, String name) {
         Path path = nodeIdToPath(nodeId);
@@ -386,6 +416,11 @@ public class LocalAppStorage implements AppStorage {
         throw new AssertionError();
     }
 
+    @Override
+    public Map<String, Set<NodeDependency>> getDependencies(Set<String> nodeIds) {
+        throw new AssertionError();
+    }
+
     @Override
     public Set<NodeInfo> getBackwardDependencies(String nodeId) {
         throw new AssertionError();
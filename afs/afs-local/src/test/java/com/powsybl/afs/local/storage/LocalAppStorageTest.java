@@ -7,6 +7,7 @@
 package com.powsybl.afs.local.storage;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
 import com.powsybl.afs.Folder;
@@ -29,6 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -92,5 +94,15 @@ public class LocalAppStorageTest {
         assertEquals("Test format", case1.get().getDescription());
         DataSource ds = new AppStorageDataSource(storage, case1.get().getId(), case1.get().getName());
         assertNotNull(ds);
+
+        // bulk queries
+        Map<String, List<NodeInfo>> childNodes = storage.getChildNodes(rootNodeInfo.getId(), 2);
+        assertEquals(ImmutableSet.of(rootNodeInfo.getId(), case1.get().getId(), case2.get().getId()), childNodes.keySet());
+        assertEquals(2, childNodes.get(rootNodeInfo.getId()).size());
+        assertTrue(childNodes.get(case1.get().getId()).isEmpty());
+        assertEquals(ImmutableSet.of(rootNodeInfo.getId()), storage.getChildNodes(rootNodeInfo.getId(), 1).keySet());
+        Map<String, NodeInfo> nodeInfos = storage.getNodeInfos(ImmutableSet.of(case1.get().getId(), case2.get().getId()));
+        assertEquals(case1.get(), nodeInfos.get(case1.get().getId()));
+        assertEquals("n2.tst", nodeInfos.get(case2.get().getId()).getName());
     }
 }
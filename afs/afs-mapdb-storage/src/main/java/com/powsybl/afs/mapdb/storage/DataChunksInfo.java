@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.afs.mapdb.storage;
+
+/**
+ * Generation of the chunks of a binary data and size of the data.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class DataChunksInfo {
+
+    private final long generation;
+
+    private final long size;
+
+    public DataChunksInfo(long generation, long size) {
+        this.generation = generation;
+        this.size = size;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "DataChunksInfo(generation=" + generation + ", size=" + size + ")";
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.afs.mapdb.storage;
+
+import org.mapdb.DataInput2;
+import org.mapdb.DataOutput2;
+import org.mapdb.Serializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class DataChunksInfoSerializer implements Serializer<DataChunksInfo>, Serializable {
+
+    public static final DataChunksInfoSerializer INSTANCE = new DataChunksInfoSerializer();
+
+    @Override
+    public void serialize(DataOutput2 out, DataChunksInfo info) throws IOException {
+        out.writeLong(info.getGeneration());
+        out.writeLong(info.getSize());
+    }
+
+    @Override
+    public DataChunksInfo deserialize(DataInput2 input, int available) throws IOException {
+        long generation = input.readLong();
+        long size = input.readLong();
+        return new DataChunksInfo(generation, size);
+    }
+}
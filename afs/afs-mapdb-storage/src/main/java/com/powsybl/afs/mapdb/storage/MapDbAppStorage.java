@@ -29,6 +29,8 @@ import java.util.stream.Stream;
  */
 public class MapDbAppStorage implements AppStorage {
 
+    private static final int DEFAULT_DATA_CHUNK_SIZE = 1024 * 1024;
+
     public static MapDbAppStorage createMem(String fileSystemName) {
         DBMaker.Maker maker = DBMaker.memoryDB();
         return new MapDbAppStorage(fileSystemName, maker::make);
@@ -67,7 +69,23 @@ public class MapDbAppStorage implements AppStorage {
 
     private final ConcurrentMap<UUID, NodeInfo> nodeInfoMap;
 
-    private final ConcurrentMap<NamedLink, byte[]> dataMap;
+    private final ConcurrentMap<NamedLink, byte[]> dataMap; // data written by previous versions, as one value
+
+    private final ConcurrentMap<DataChunkKey, byte[]> dataChunksMap;
+
+    private final ConcurrentMap<NamedLink, DataChunksInfo> dataChunksInfoMap;
+
+    private final Atomic.Long dataGeneration;
+
+    private final int dataChunkSize;
+
+    private final Object dataReadersLock = new Object();
+
+    // number of open readers by data generation
+    private final Map<Long, Integer> dataReaderCounts = new HashMap<>();
+
+    // generations replaced or removed while being read, their chunks are removed when the last reader is closed
+    private final Set<Long> supersededDataGenerations = new HashSet<>();
 
     private final ConcurrentMap<UUID, Set<String>> dataNamesMap;
 
@@ -88,7 +106,17 @@ public class MapDbAppStorage implements AppStorage {
     private final ConcurrentMap<UUID, List<UUID>> backwardDependencyNodesMap;
 
     protected MapDbAppStorage(String fileSystemName, Supplier<DB> db) {
+        this(fileSystemName, db, DEFAULT_DATA_CHUNK_SIZE);
+    }
+
+    /**
+     * @param dataChunkSize size of the chunks binary data are split into, only used when the database is created
+     */
+    protected MapDbAppStorage(String fileSystemName, Supplier<DB> db, int dataChunkSize) {
         this.fileSystemName = Objects.requireNonNull(fileSystemName);
+        if (dataChunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid data chunk size: " + dataChunkSize);
+        }
         this.db = db.get();
 
         rootNodeVar = this.db.atomicVar("rootNode", NodeInfoSerializer.INSTANCE)
@@ -114,6 +142,21 @@ public class MapDbAppStorage implements AppStorage {
                 .hashMap("data", NamedLinkSerializer.INSTANCE, Serializer.BYTE_ARRAY)
                 .createOrOpen();
 
+        dataChunksMap = this.db
+                .hashMap("dataChunks", DataChunkKeySerializer.INSTANCE, Serializer.BYTE_ARRAY)
+                .createOrOpen();
+
+        dataChunksInfoMap = this.db
+                .hashMap("dataChunksInfo", NamedLinkSerializer.INSTANCE, DataChunksInfoSerializer.INSTANCE)
+                .createOrOpen();
+
+        dataGeneration = this.db.atomicLong("dataGeneration")
+                .createOrOpen();
+
+        this.dataChunkSize = this.db.atomicInteger("dataChunkSize", dataChunkSize)
+                .createOrOpen()
+                .get();
+
         dataNamesMap = this.db
                 .hashMap("dataNames", UuidSerializer.INSTANCE, StringSetSerializer.INSTANCE)
                 .createOrOpen();
@@ -149,6 +192,8 @@ public class MapDbAppStorage implements AppStorage {
         backwardDependencyNodesMap = this.db
                 .hashMap("backwardDependencyNodes", UuidSerializer.INSTANCE, UuidListSerializer.INSTANCE)
                 .createOrOpen();
+
+        removeOrphanDataChunks();
     }
 
     private static <K, V> Map<K, Set<V>> addToSet(Map<K, Set<V>> map, K key, V value) {
@@ -278,6 +323,12 @@ public class MapDbAppStorage implements AppStorage {
         return getNodeInfo(nodeUuid);
     }
 
+    @Override
+    public Map<String, NodeInfo> getNodeInfos(Set<String> nodeIds) {
+        Objects.requireNonNull(nodeIds);
+        return nodeIds.stream().collect(Collectors.toMap(nodeId -> nodeId, this::getNodeInfo));
+    }
+
     @Override
     public void setDescription(String nodeId, String description) {
         UUID nodeUuid = checkNodeId(nodeId);
@@ -311,6 +362,29 @@ public class MapDbAppStorage implements AppStorage {
         return childNodes.stream().map(this::getNodeInfo).collect(Collectors.toList());
     }
 
+    @Override
+    public Map<String, List<NodeInfo>> getChildNodes(String nodeId, int depth) {
+        UUID nodeUuid = checkNodeId(nodeId);
+        if (depth < 1) {
+            throw new IllegalArgumentException("Invalid depth: " + depth);
+        }
+        Map<String, List<NodeInfo>> childNodesByParent = new HashMap<>();
+        List<UUID> parentNodeUuids = Collections.singletonList(nodeUuid);
+        for (int level = 0; level < depth && !parentNodeUuids.isEmpty(); level++) {
+            List<UUID> nextParentNodeUuids = new ArrayList<>();
+            for (UUID parentNodeUuid : parentNodeUuids) {
+                List<UUID> childNodeUuids = childNodesMap.get(parentNodeUuid);
+                if (childNodeUuids == null) {
+                    throw createNodeNotFoundException(parentNodeUuid);
+                }
+                childNodesByParent.put(parentNodeUuid.toString(), childNodeUuids.stream().map(this::getNodeInfo).collect(Collectors.toList()));
+                nextParentNodeUuids.addAll(childNodeUuids);
+            }
+            parentNodeUuids = nextParentNodeUuids;
+        }
+        return childNodesByParent;
+    }
+
     @Override
     public Optional<NodeInfo> getChildNode(String parentString, String name) {
         UUID parentNodeUuid = checkNodeId(parentString);
@@ -413,7 +487,7 @@ public class MapDbAppStorage implements AppStorage {
         }
         NodeInfo nodeInfo = nodeInfoMap.remove(nodeUuid);
         for (String dataName : dataNamesMap.get(nodeUuid)) {
-            dataMap.remove(new NamedLink(nodeUuid, dataName));
+            removeBinaryData(new NamedLink(nodeUuid, dataName));
         }
         dataNamesMap.remove(nodeUuid);
         childNodesMap.remove(nodeUuid);
@@ -444,12 +518,266 @@ public class MapDbAppStorage implements AppStorage {
         return parentNodeUuid;
     }
 
+    private int getDataChunkCount(long dataSize) {
+        return (int) ((dataSize + dataChunkSize - 1) / dataChunkSize);
+    }
+
+    private void removeDataChunks(NamedLink dataLink, DataChunksInfo info) {
+        synchronized (dataReadersLock) {
+            if (dataReaderCounts.containsKey(info.getGeneration())) {
+                supersededDataGenerations.add(info.getGeneration());
+                return;
+            }
+        }
+        int chunkCount = getDataChunkCount(info.getSize());
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            dataChunksMap.remove(new DataChunkKey(dataLink, info.getGeneration(), chunk));
+        }
+    }
+
+    private void removeBinaryData(NamedLink dataLink) {
+        dataMap.remove(dataLink);
+        DataChunksInfo info;
+        synchronized (dataReadersLock) {
+            info = dataChunksInfoMap.remove(dataLink);
+        }
+        if (info != null) {
+            removeDataChunks(dataLink, info);
+        }
+    }
+
+    /**
+     * Remove the chunks which do not belong to the current generation of a data, left by writes which have not been
+     * closed or by readers which have not been closed before the storage.
+     */
+    private void removeOrphanDataChunks() {
+        List<DataChunkKey> orphanKeys = dataChunksMap.keySet().stream()
+                .filter(key -> {
+                    DataChunksInfo info = dataChunksInfoMap.get(key.getDataLink());
+                    return info == null || info.getGeneration() != key.getGeneration();
+                })
+                .collect(Collectors.toList());
+        orphanKeys.forEach(dataChunksMap::remove);
+    }
+
+    int getStoredDataChunkCount() {
+        return dataChunksMap.size();
+    }
+
+    /**
+     * Read binary data chunk by chunk, only the current chunk is kept in memory and skipping bytes does not load the
+     * skipped chunks, so that any part of a large data can be accessed cheaply.
+     * <p>
+     * The generation being read is kept until the stream is closed, even if the data is overwritten or removed in the
+     * meantime.
+     */
+    private final class ChunkedDataInputStream extends InputStream {
+
+        private final NamedLink dataLink;
+
+        private final long generation;
+
+        private final long size;
+
+        private long position = 0;
+
+        private int chunkNum = -1;
+
+        private byte[] chunk;
+
+        private boolean closed = false;
+
+        private ChunkedDataInputStream(NamedLink dataLink, DataChunksInfo info) {
+            this.dataLink = dataLink;
+            this.generation = info.getGeneration();
+            this.size = info.getSize();
+        }
+
+        private void loadChunk() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            int newChunkNum = (int) (position / dataChunkSize);
+            if (newChunkNum != chunkNum) {
+                chunk = dataChunksMap.get(new DataChunkKey(dataLink, generation, newChunkNum));
+                if (chunk == null) {
+                    throw new IOException("Chunk " + newChunkNum + " of data '" + dataLink.getName() + "' of node "
+                            + dataLink.getNodeUuid() + " not found");
+                }
+                chunkNum = newChunkNum;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position >= size) {
+                return -1;
+            }
+            loadChunk();
+            int b = chunk[(int) (position % dataChunkSize)] & 0xff;
+            position++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.requireNonNull(b);
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int read = 0;
+            while (read < len && position < size) {
+                loadChunk();
+                int chunkOffset = (int) (position % dataChunkSize);
+                int n = (int) Math.min(Math.min(len - read, dataChunkSize - chunkOffset), size - position);
+                System.arraycopy(chunk, chunkOffset, b, off + read, n);
+                read += n;
+                position += n;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            if (n <= 0) {
+                return 0;
+            }
+            long skipped = Math.min(n, size - position);
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(size - position, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            chunk = null;
+            boolean superseded;
+            synchronized (dataReadersLock) {
+                dataReaderCounts.computeIfPresent(generation, (g, count) -> count > 1 ? count - 1 : null);
+                superseded = !dataReaderCounts.containsKey(generation) && supersededDataGenerations.remove(generation);
+            }
+            if (superseded) {
+                removeDataChunks(dataLink, new DataChunksInfo(generation, size));
+            }
+        }
+    }
+
+    /**
+     * Write binary data chunk by chunk, so that only one chunk is buffered in memory.
+     * <p>
+     * Chunks are written under a new generation, and the data only switches to this generation on close, so that
+     * the previous data stays readable and consistent until then, and is left unchanged if the write is aborted.
+     */
+    private final class ChunkedDataOutputStream extends OutputStream {
+
+        private final NamedLink dataLink;
+
+        private final long generation = dataGeneration.incrementAndGet();
+
+        private byte[] buffer = new byte[dataChunkSize];
+
+        private int count = 0;
+
+        private int chunkNum = 0;
+
+        private long size = 0;
+
+        private boolean closed = false;
+
+        private ChunkedDataOutputStream(NamedLink dataLink) {
+            this.dataLink = dataLink;
+        }
+
+        private void writeChunk() {
+            if (count == buffer.length) {
+                // chunk cannot be reused because a heap database keeps a reference on it
+                dataChunksMap.put(new DataChunkKey(dataLink, generation, chunkNum), buffer);
+                buffer = new byte[dataChunkSize];
+            } else {
+                dataChunksMap.put(new DataChunkKey(dataLink, generation, chunkNum), Arrays.copyOf(buffer, count));
+            }
+            chunkNum++;
+            size += count;
+            count = 0;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            buffer[count++] = (byte) b;
+            if (count == buffer.length) {
+                writeChunk();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.requireNonNull(b);
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            int written = 0;
+            while (written < len) {
+                int n = Math.min(len - written, buffer.length - count);
+                System.arraycopy(b, off + written, buffer, count, n);
+                count += n;
+                written += n;
+                if (count == buffer.length) {
+                    writeChunk();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (count > 0) {
+                writeChunk();
+            }
+
+            // switch to the new generation and then remove the chunks of the previous one
+            DataChunksInfo previousInfo;
+            synchronized (dataReadersLock) {
+                previousInfo = dataChunksInfoMap.put(dataLink, new DataChunksInfo(generation, size));
+            }
+            if (previousInfo != null) {
+                removeDataChunks(dataLink, previousInfo);
+            }
+            dataMap.remove(dataLink);
+            addToSet(dataNamesMap, dataLink.getNodeUuid(), dataLink.getName());
+        }
+    }
+
     @Override
     public Optional<InputStream> readBinaryData(String nodeId, String name) {
         UUID nodeUuid = checkNodeId(nodeId);
         Objects.requireNonNull(name);
         checkNodeExists(nodeUuid);
-        byte[] value = dataMap.get(new NamedLink(nodeUuid, name));
+        NamedLink dataLink = new NamedLink(nodeUuid, name);
+        synchronized (dataReadersLock) {
+            DataChunksInfo info = dataChunksInfoMap.get(dataLink);
+            if (info != null) {
+                dataReaderCounts.merge(info.getGeneration(), 1, Integer::sum);
+                return Optional.of(new ChunkedDataInputStream(dataLink, info));
+            }
+        }
+        byte[] value = dataMap.get(dataLink);
         return Optional.ofNullable(value).map(ByteArrayInputStream::new);
     }
 
@@ -458,16 +786,7 @@ public class MapDbAppStorage implements AppStorage {
         UUID nodeUuid = checkNodeId(nodeId);
         Objects.requireNonNull(name);
         checkNodeExists(nodeUuid);
-        return new ByteArrayOutputStream() {
-            @Override
-            public void close() throws IOException {
-                super.close();
-
-                // store the byte array
-                dataMap.put(new NamedLink(nodeUuid, name), toByteArray());
-                addToSet(dataNamesMap, nodeUuid, name);
-            }
-        };
+        return new ChunkedDataOutputStream(new NamedLink(nodeUuid, name));
     }
 
     @Override
@@ -488,7 +807,7 @@ public class MapDbAppStorage implements AppStorage {
         UUID nodeUuid = checkNodeId(nodeId);
         Objects.requireNonNull(name);
         boolean removed = removeFromSet(dataNamesMap, nodeUuid, name);
-        dataMap.remove(new NamedLink(nodeUuid, name));
+        removeBinaryData(new NamedLink(nodeUuid, name));
         return removed;
     }
 
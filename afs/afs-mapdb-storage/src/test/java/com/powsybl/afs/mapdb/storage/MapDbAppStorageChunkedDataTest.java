@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.afs.mapdb.storage;
+
+import com.google.common.io.ByteStreams;
+import com.powsybl.afs.storage.NodeGenericMetadata;
+import com.powsybl.afs.storage.NodeInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class MapDbAppStorageChunkedDataTest {
+
+    private MapDbAppStorage storage;
+
+    private NodeInfo nodeInfo;
+
+    @Before
+    public void setUp() {
+        // heap database to check chunks are not shared between writes
+        storage = new MapDbAppStorage("mem", DBMaker.heapDB()::make, 4);
+        NodeInfo rootFolderInfo = storage.createRootNodeIfNotExists("root", "folder");
+        nodeInfo = storage.createNode(rootFolderInfo.getId(), "data", "data", "", 0, new NodeGenericMetadata());
+    }
+
+    @After
+    public void tearDown() {
+        storage.close();
+    }
+
+    private void write(byte[] data) throws IOException {
+        try (OutputStream os = storage.writeBinaryData(nodeInfo.getId(), "blob")) {
+            os.write(data[0]);
+            os.write(data, 1, data.length - 1);
+        }
+    }
+
+    private byte[] read() throws IOException {
+        try (InputStream is = storage.readBinaryData(nodeInfo.getId(), "blob").orElseThrow(AssertionError::new)) {
+            return ByteStreams.toByteArray(is);
+        }
+    }
+
+    @Test
+    public void test() throws IOException {
+        byte[] data = new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        write(data);
+        assertArrayEquals(data, read());
+
+        // random access
+        try (InputStream is = storage.readBinaryData(nodeInfo.getId(), "blob").orElseThrow(AssertionError::new)) {
+            assertEquals(7, is.skip(7));
+            assertEquals(7, is.read());
+            byte[] end = new byte[4];
+            assertEquals(2, is.read(end));
+            assertEquals(8, end[0]);
+            assertEquals(9, end[1]);
+            assertEquals(-1, is.read());
+            assertEquals(0, is.skip(1));
+        }
+
+        // overwrite with a smaller data
+        byte[] data2 = new byte[] {10, 11, 12, 13, 14};
+        write(data2);
+        assertArrayEquals(data2, read());
+
+        assertTrue(storage.removeData(nodeInfo.getId(), "blob"));
+        assertFalse(storage.readBinaryData(nodeInfo.getId(), "blob").isPresent());
+        assertFalse(storage.dataExists(nodeInfo.getId(), "blob"));
+    }
+
+    @Test
+    public void emptyDataTest() throws IOException {
+        storage.writeBinaryData(nodeInfo.getId(), "blob").close();
+        assertTrue(storage.dataExists(nodeInfo.getId(), "blob"));
+        assertEquals(0, read().length);
+    }
+
+    @Test
+    public void overwriteTest() throws IOException {
+        byte[] data = new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        write(data);
+
+        // the previous data is readable until the new one is closed
+        try (OutputStream os = storage.writeBinaryData(nodeInfo.getId(), "blob")) {
+            os.write(new byte[] {10, 11, 12, 13, 14});
+            assertArrayEquals(data, read());
+        }
+        assertArrayEquals(new byte[] {10, 11, 12, 13, 14}, read());
+
+        // a reader opened before an overwrite keeps reading the previous data
+        try (InputStream is = storage.readBinaryData(nodeInfo.getId(), "blob").orElseThrow(AssertionError::new)) {
+            assertEquals(10, is.read());
+            write(new byte[] {20, 21, 22});
+            assertArrayEquals(new byte[] {20, 21, 22}, read());
+            assertArrayEquals(new byte[] {11, 12, 13, 14}, ByteStreams.toByteArray(is));
+            assertEquals(3, storage.getStoredDataChunkCount());
+        }
+
+        // previous data chunks are removed when the last reader is closed
+        assertEquals(1, storage.getStoredDataChunkCount());
+        assertArrayEquals(new byte[] {20, 21, 22}, read());
+    }
+
+    @Test
+    public void removeWhileReadingTest() throws IOException {
+        byte[] data = new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        write(data);
+        try (InputStream is = storage.readBinaryData(nodeInfo.getId(), "blob").orElseThrow(AssertionError::new);
+             InputStream is2 = storage.readBinaryData(nodeInfo.getId(), "blob").orElseThrow(AssertionError::new)) {
+            assertTrue(storage.removeData(nodeInfo.getId(), "blob"));
+            assertFalse(storage.readBinaryData(nodeInfo.getId(), "blob").isPresent());
+            assertArrayEquals(data, ByteStreams.toByteArray(is));
+            is.close();
+            assertEquals(3, storage.getStoredDataChunkCount());
+            assertArrayEquals(data, ByteStreams.toByteArray(is2));
+        }
+        assertEquals(0, storage.getStoredDataChunkCount());
+    }
+
+    @Test
+    public void abortedWriteTest() throws IOException {
+        byte[] data = new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        write(data);
+
+        // a write which is never closed leaves the previous data unchanged
+        OutputStream os = storage.writeBinaryData(nodeInfo.getId(), "blob");
+        os.write(new byte[] {10, 11, 12, 13, 14});
+        assertArrayEquals(data, read());
+
+        // following writes are not affected by the aborted one, which has written one chunk
+        byte[] data2 = new byte[] {20, 21, 22, 23, 24, 25};
+        write(data2);
+        assertArrayEquals(data2, read());
+        assertEquals(3, storage.getStoredDataChunkCount());
+    }
+
+    @Test
+    public void orphanChunksTest() throws IOException {
+        DB db = DBMaker.heapDB().make();
+        MapDbAppStorage storage2 = new MapDbAppStorage("mem", () -> db, 4);
+        NodeInfo rootFolderInfo = storage2.createRootNodeIfNotExists("root", "folder");
+        NodeInfo nodeInfo2 = storage2.createNode(rootFolderInfo.getId(), "data", "data", "", 0, new NodeGenericMetadata());
+        try (OutputStream os = storage2.writeBinaryData(nodeInfo2.getId(), "blob")) {
+            os.write(new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+        }
+
+        // aborted write and reader not closed
+        storage2.writeBinaryData(nodeInfo2.getId(), "blob").write(new byte[] {10, 11, 12, 13, 14});
+        storage2.readBinaryData(nodeInfo2.getId(), "blob").orElseThrow(AssertionError::new);
+        try (OutputStream os = storage2.writeBinaryData(nodeInfo2.getId(), "blob")) {
+            os.write(new byte[] {20, 21, 22});
+        }
+        assertEquals(5, storage2.getStoredDataChunkCount());
+
+        // chunks not belonging to the current generation of a data are removed when the database is opened
+        MapDbAppStorage storage3 = new MapDbAppStorage("mem", () -> db, 4);
+        try {
+            assertEquals(1, storage3.getStoredDataChunkCount());
+            try (InputStream is = storage3.readBinaryData(nodeInfo2.getId(), "blob").orElseThrow(AssertionError::new)) {
+                assertArrayEquals(new byte[] {20, 21, 22}, ByteStreams.toByteArray(is));
+            }
+        } finally {
+            storage3.close();
+        }
+    }
+}
@@ -10,10 +10,7 @@ import com.powsybl.timeseries.*;
 
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 
 /**
  *
@@ -50,6 +47,18 @@ public interface AppStorage extends AutoCloseable {
      */
     NodeInfo getNodeInfo(String nodeId);
 
+    /**
+     * Gets NodeInfo objects for all the nodes with IDs {@code nodeIds}, indexed by node ID.
+     */
+    default Map<String, NodeInfo> getNodeInfos(Set<String> nodeIds) {
+        Objects.requireNonNull(nodeIds);
+        Map<String, NodeInfo> nodeInfos = new HashMap<>(nodeIds.size());
+        for (String nodeId : nodeIds) {
+            nodeInfos.put(nodeId, getNodeInfo(nodeId));
+        }
+        return nodeInfos;
+    }
+
     void setDescription(String nodeId, String description);
 
     void updateModificationTime(String nodeId);
@@ -59,6 +68,29 @@ public interface AppStorage extends AutoCloseable {
      */
     List<NodeInfo> getChildNodes(String nodeId);
 
+    /**
+     * Gets {@code NodeInfo} for child nodes of the node with ID {@code nodeId} and of its descendants, down to
+     * {@code depth} levels, indexed by parent node ID. A depth of 1 only gives the child nodes of {@code nodeId}.
+     */
+    default Map<String, List<NodeInfo>> getChildNodes(String nodeId, int depth) {
+        Objects.requireNonNull(nodeId);
+        if (depth < 1) {
+            throw new IllegalArgumentException("Invalid depth: " + depth);
+        }
+        Map<String, List<NodeInfo>> childNodes = new HashMap<>();
+        List<String> parentNodeIds = Collections.singletonList(nodeId);
+        for (int level = 0; level < depth && !parentNodeIds.isEmpty(); level++) {
+            List<String> nextParentNodeIds = new ArrayList<>();
+            for (String parentNodeId : parentNodeIds) {
+                List<NodeInfo> children = getChildNodes(parentNodeId);
+                childNodes.put(parentNodeId, children);
+                children.forEach(child -> nextParentNodeIds.add(child.getId()));
+            }
+            parentNodeIds = nextParentNodeIds;
+        }
+        return childNodes;
+    }
+
     /**
      * Gets {@code NodeInfo} for child node with name {@code name} of the node with ID {@code nodeId}, empty if such a node does not exist.
      */
@@ -184,6 +216,18 @@ public interface AppStorage extends AutoCloseable {
      */
     Set<NodeDependency> getDependencies(String nodeId);
 
+    /**
+     * Gets all dependencies ({@code NodeDependency} objects) of all the nodes with IDs {@code nodeIds}, indexed by node ID.
+     */
+    default Map<String, Set<NodeDependency>> getDependencies(Set<String> nodeIds) {
+        Objects.requireNonNull(nodeIds);
+        Map<String, Set<NodeDependency>> dependencies = new HashMap<>(nodeIds.size());
+        for (String nodeId : nodeIds) {
+            dependencies.put(nodeId, getDependencies(nodeId));
+        }
+        return dependencies;
+    }
+
     /**
      * Gets {@code NodeInfo} objects of nodes which depend on the node with ID {@code nodeId}.
      */
@@ -57,6 +57,11 @@ public class ForwardingAppStorage implements AppStorage {
         return storage.getNodeInfo(nodeId);
     }
 
+    @Override
+    public Map<String, NodeInfo> getNodeInfos(Set<String> nodeIds) {
+        return storage.getNodeInfos(nodeIds);
+    }
+
     @Override
     public void setDescription(String nodeId, String description) {
         storage.setDescription(nodeId, description);
@@ -72,6 +77,11 @@ public class ForwardingAppStorage implements AppStorage {
         return storage.getChildNodes(nodeId);
     }
 
+    @Override
+    public Map<String, List<NodeInfo>> getChildNodes(String nodeId, int depth) {
+        return storage.getChildNodes(nodeId, depth);
+    }
+
     @Override
     public Optional<NodeInfo> getChildNode(String nodeId, String name) {
         return storage.getChildNode(nodeId, name);
@@ -192,6 +202,11 @@ public class ForwardingAppStorage implements AppStorage {
         return storage.getDependencies(nodeId);
     }
 
+    @Override
+    public Map<String, Set<NodeDependency>> getDependencies(Set<String> nodeIds) {
+        return storage.getDependencies(nodeIds);
+    }
+
     @Override
     public Set<NodeInfo> getBackwardDependencies(String nodeId) {
         return storage.getBackwardDependencies(nodeId);
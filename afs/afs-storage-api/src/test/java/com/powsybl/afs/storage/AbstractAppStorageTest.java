@@ -257,6 +257,19 @@ public abstract class AbstractAppStorageTest {
         assertEquals(ImmutableSet.of(testDataInfo), storage.getBackwardDependencies(testData2Info.getId()));
         assertEquals(ImmutableSet.of(testData2Info), storage.getDependencies(testDataInfo.getId(), "mylink"));
 
+        // check bulk queries
+        assertEquals(ImmutableMap.of(testDataInfo.getId(), testDataInfo, testData2Info.getId(), testData2Info),
+                     storage.getNodeInfos(ImmutableSet.of(testDataInfo.getId(), testData2Info.getId())));
+        assertEquals(ImmutableMap.of(testDataInfo.getId(), ImmutableSet.of(new NodeDependency("mylink", testData2Info)),
+                                     testData2Info.getId(), Collections.emptySet()),
+                     storage.getDependencies(ImmutableSet.of(testDataInfo.getId(), testData2Info.getId())));
+        Map<String, List<NodeInfo>> childNodes = storage.getChildNodes(rootFolderInfo.getId(), 2);
+        assertEquals(ImmutableSet.of(rootFolderInfo.getId(), testFolderInfo.getId()), childNodes.keySet());
+        assertEquals(storage.getChildNodes(rootFolderInfo.getId()), childNodes.get(rootFolderInfo.getId()));
+        assertEquals(storage.getChildNodes(testFolderInfo.getId()), childNodes.get(testFolderInfo.getId()));
+        assertEquals(ImmutableSet.of(rootFolderInfo.getId(), testFolderInfo.getId(), testDataInfo.getId(), testData2Info.getId(), testData3Info.getId()),
+                     storage.getChildNodes(rootFolderInfo.getId(), 3).keySet());
+
         // 8) delete data node
         assertEquals(testFolderInfo.getId(), storage.deleteNode(testDataInfo.getId()));
         storage.flush();
@@ -19,6 +19,7 @@ import com.powsybl.afs.storage.buffer.*;
 import com.powsybl.afs.ws.server.utils.JwtTokenNeeded;
 import com.powsybl.afs.ws.server.utils.AppDataBean;
 import com.powsybl.afs.ws.utils.AfsRestApi;
+import com.powsybl.afs.ws.utils.BinaryProvider;
 import com.powsybl.afs.ws.utils.gzip.Compress;
 import com.powsybl.timeseries.DoubleDataChunk;
 import com.powsybl.timeseries.StringDataChunk;
@@ -87,6 +88,51 @@ public class AppStorageServer {
         return Response.ok().entity(childNodes).build();
     }
 
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("fileSystems/{fileSystemName}/nodes/{nodeId}/tree")
+    @Compress
+    @ApiOperation (value = "Get child nodes of a node and of its descendants", response = Map.class)
+    @ApiResponses (value = {@ApiResponse(code = 200, message = "The child nodes indexed by parent node ID"), @ApiResponse(code = 400, message = "Invalid depth"), @ApiResponse(code = 404, message = "Node not found"), @ApiResponse(code = 500, message = "Error")})
+    public Response getChildNodesTree(@ApiParam(value = "File system name") @PathParam("fileSystemName") String fileSystemName,
+                                      @ApiParam(value = "Node ID") @PathParam("nodeId") String nodeId,
+                                      @ApiParam(value = "Depth, 1 to only get the child nodes of the node") @QueryParam("depth") @DefaultValue("1") int depth) {
+        if (depth < 1) {
+            return Response.status(Status.BAD_REQUEST).entity("Invalid depth: " + depth).build();
+        }
+        AppStorage storage = appDataBean.getStorage(fileSystemName);
+        Map<String, List<NodeInfo>> childNodes = storage.getChildNodes(nodeId, depth);
+        return Response.ok().header(HttpHeaders.CONTENT_ENCODING, "gzip").entity(childNodes).build();
+    }
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("fileSystems/{fileSystemName}/nodeInfos")
+    @Compress
+    @ApiOperation (value = "Get node infos of several nodes", response = Map.class)
+    @ApiResponses (value = {@ApiResponse(code = 200, message = "The node infos indexed by node ID"), @ApiResponse(code = 404, message = "Node not found"), @ApiResponse(code = 500, message = "Error")})
+    public Response getNodeInfos(@ApiParam(value = "File system name") @PathParam("fileSystemName") String fileSystemName,
+                                 @ApiParam(value = "Node IDs") Set<String> nodeIds) {
+        AppStorage storage = appDataBean.getStorage(fileSystemName);
+        Map<String, NodeInfo> nodeInfos = storage.getNodeInfos(nodeIds);
+        return Response.ok().header(HttpHeaders.CONTENT_ENCODING, "gzip").entity(nodeInfos).build();
+    }
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("fileSystems/{fileSystemName}/dependencies")
+    @Compress
+    @ApiOperation (value = "Get dependencies of several nodes", response = Map.class)
+    @ApiResponses (value = {@ApiResponse(code = 200, message = "The dependencies indexed by node ID"), @ApiResponse(code = 404, message = "Node not found"), @ApiResponse(code = 500, message = "Error")})
+    public Response getDependencies(@ApiParam(value = "File system name") @PathParam("fileSystemName") String fileSystemName,
+                                    @ApiParam(value = "Node IDs") Set<String> nodeIds) {
+        AppStorage storage = appDataBean.getStorage(fileSystemName);
+        Map<String, Set<NodeDependency>> dependencies = storage.getDependencies(nodeIds);
+        return Response.ok().header(HttpHeaders.CONTENT_ENCODING, "gzip").entity(dependencies).build();
+    }
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
@@ -353,7 +399,7 @@ public class AppStorageServer {
     }
 
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, BinaryProvider.APPLICATION_BINARY})
     @Path("fileSystems/{fileSystemName}/flush")
     @ApiOperation (value = "")
     @ApiResponses (value = {@ApiResponse(code = 200, message = ""), @ApiResponse(code = 500, message = "Error")})
@@ -466,7 +512,7 @@ public class AppStorageServer {
     }
 
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, BinaryProvider.APPLICATION_BINARY})
     @Path("fileSystems/{fileSystemName}/nodes/{nodeId}/timeSeries/double/{version}/{timeSeriesName}")
     @ApiOperation (value = "")
     @ApiResponses (value = {@ApiResponse(code = 200, message = ""), @ApiResponse(code = 500, message = "Error")})
@@ -482,7 +528,7 @@ public class AppStorageServer {
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, BinaryProvider.APPLICATION_BINARY})
     @Path("fileSystems/{fileSystemName}/nodes/{nodeId}/timeSeries/double/{version}")
     @Compress
     @ApiOperation (value = "", response = List.class)
@@ -500,7 +546,7 @@ public class AppStorageServer {
     }
 
     @POST
-    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    @Consumes({MediaType.APPLICATION_OCTET_STREAM, BinaryProvider.APPLICATION_BINARY})
     @Path("fileSystems/{fileSystemName}/nodes/{nodeId}/timeSeries/string/{version}/{timeSeriesName}")
     @ApiOperation (value = "")
     @ApiResponses (value = {@ApiResponse(code = 200, message = ""), @ApiResponse(code = 500, message = "Error")})
@@ -516,7 +562,7 @@ public class AppStorageServer {
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, BinaryProvider.APPLICATION_BINARY})
     @Path("fileSystems/{fileSystemName}/nodes/{nodeId}/timeSeries/string/{version}")
     @Compress
     @ApiOperation (value = "", response = List.class)
@@ -7,7 +7,9 @@
 package com.powsybl.afs.ws.server;
 
 import com.powsybl.afs.storage.AbstractAppStorageTest;
+import com.powsybl.afs.storage.AfsStorageException;
 import com.powsybl.afs.storage.ListenableAppStorage;
+import com.powsybl.afs.storage.NodeInfo;
 import com.powsybl.afs.ws.client.utils.ClientUtils;
 import com.powsybl.afs.ws.client.utils.UserSession;
 import com.powsybl.afs.ws.storage.RemoteAppStorage;
@@ -32,6 +34,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * @author Ali Tahanout <ali.tahanout at rte-france.com>
@@ -86,6 +89,18 @@ public class AppStorageServerTest extends AbstractAppStorageTest {
         return new RemoteListenableAppStorage(storage, restUri);
     }
 
+    @Test
+    public void getChildNodesInvalidDepthTest() {
+        RemoteAppStorage storage = new RemoteAppStorage(AppDataBeanMock.TEST_FS_NAME, getRestUri(), userSession.getToken());
+        NodeInfo rootFolderInfo = storage.createRootNodeIfNotExists(storage.getFileSystemName(), "folder");
+        try {
+            storage.getChildNodes(rootFolderInfo.getId(), 0);
+            fail();
+        } catch (AfsStorageException e) {
+            assertEquals("Unexpected response status: 'Bad Request'", e.getMessage());
+        }
+    }
+
     @Test
     public void getFileSystemNamesTest() {
         List<String> fileSystemNames = RemoteAppStorage.getFileSystemNames(getRestUri(), userSession.getToken());
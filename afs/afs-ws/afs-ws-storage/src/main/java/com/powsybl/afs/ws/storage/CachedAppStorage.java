@@ -0,0 +1,476 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.afs.ws.storage;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.powsybl.afs.storage.*;
+import com.powsybl.afs.storage.events.*;
+import com.powsybl.timeseries.TimeSeriesMetadata;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A storage implementation which keeps in a bounded cache node infos, child node lists, time series metadata and
+ * dependencies of another underlying storage, so that repeated navigation in a remote file system does not need a
+ * request to the server each time.
+ * <p>
+ * Cache entries are invalidated by local modifications and by node events of the underlying storage, which have to be
+ * forwarded to {@link #onEvents(NodeEventList)}.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class CachedAppStorage extends ForwardingAppStorage implements AppStorageListener {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private static final class NamedKey {
+
+        private final String nodeId;
+
+        private final String name;
+
+        private NamedKey(String nodeId, String name) {
+            this.nodeId = Objects.requireNonNull(nodeId);
+            this.name = Objects.requireNonNull(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nodeId, name);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof NamedKey) {
+                NamedKey other = (NamedKey) obj;
+                return nodeId.equals(other.nodeId) && name.equals(other.name);
+            }
+            return false;
+        }
+    }
+
+    private final Cache<String, NodeInfo> nodeInfos;
+
+    private final Cache<String, List<NodeInfo>> childNodes;
+
+    private final Cache<NamedKey, Optional<TimeSeriesMetadata>> timeSeriesMetadata;
+
+    private final Cache<NamedKey, Set<NodeInfo>> namedDependencies;
+
+    private final Cache<String, Set<NodeDependency>> dependencies;
+
+    private final Cache<String, Set<NodeInfo>> backwardDependencies;
+
+    /**
+     * Incremented on each invalidation, so that a value loaded from the underlying storage while an invalidation
+     * occurred is not put in the cache as it could already be outdated.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Nodes with time series created since the last flush: the underlying storage may buffer the creation until the
+     * flush, so that missing time series metadata cached in between would be outdated once flushed.
+     */
+    private final Set<String> unflushedTimeSeriesNodeIds = ConcurrentHashMap.newKeySet();
+
+    public CachedAppStorage(AppStorage storage) {
+        this(storage, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public CachedAppStorage(AppStorage storage, int maximumSize) {
+        super(storage);
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maximumSize);
+        }
+        nodeInfos = createCache(maximumSize);
+        childNodes = createCache(maximumSize);
+        timeSeriesMetadata = createCache(maximumSize);
+        namedDependencies = createCache(maximumSize);
+        dependencies = createCache(maximumSize);
+        backwardDependencies = createCache(maximumSize);
+    }
+
+    private static <K, V> Cache<K, V> createCache(int maximumSize) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    private static NodeInfo copy(NodeInfo nodeInfo) {
+        NodeGenericMetadata genericMetadata = nodeInfo.getGenericMetadata();
+        return new NodeInfo(nodeInfo.getId(), nodeInfo.getName(), nodeInfo.getPseudoClass(), nodeInfo.getDescription(),
+                            nodeInfo.getCreationTime(), nodeInfo.getModificationTime(), nodeInfo.getVersion(),
+                            new NodeGenericMetadata(new HashMap<>(genericMetadata.getStrings()),
+                                                    new HashMap<>(genericMetadata.getDoubles()),
+                                                    new HashMap<>(genericMetadata.getInts()),
+                                                    new HashMap<>(genericMetadata.getBooleans())));
+    }
+
+    private static List<NodeInfo> copy(List<NodeInfo> nodeInfos) {
+        return nodeInfos.stream().map(CachedAppStorage::copy).collect(Collectors.toList());
+    }
+
+    private static Set<NodeInfo> copy(Set<NodeInfo> nodeInfos) {
+        return nodeInfos.stream().map(CachedAppStorage::copy).collect(Collectors.toSet());
+    }
+
+    private static Map<String, NodeInfo> copyValues(Map<String, NodeInfo> nodeInfos) {
+        return nodeInfos.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> copy(e.getValue())));
+    }
+
+    private static Set<NodeDependency> copyDependencies(Set<NodeDependency> dependencies) {
+        return dependencies.stream()
+                .map(dependency -> new NodeDependency(dependency.getName(), copy(dependency.getNodeInfo())))
+                .collect(Collectors.toSet());
+    }
+
+    private <K, V> void putAll(Cache<K, V> cache, Map<K, V> values, long loadGeneration) {
+        if (generation.get() == loadGeneration) {
+            cache.putAll(values);
+            // an invalidation could have occurred just before the put
+            if (generation.get() != loadGeneration) {
+                cache.invalidateAll(values.keySet());
+            }
+        }
+    }
+
+    private <K, V> V get(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            long loadGeneration = generation.get();
+            value = loader.get();
+            putAll(cache, Collections.singletonMap(key, value), loadGeneration);
+        }
+        return value;
+    }
+
+    private <V> Map<String, V> getAll(Cache<String, V> cache, Set<String> keys, Function<Set<String>, Map<String, V>> loader) {
+        Objects.requireNonNull(keys);
+        Map<String, V> values = new HashMap<>(cache.getAllPresent(keys));
+        // all the missing values are requested at once
+        Set<String> missingKeys = new HashSet<>(keys);
+        missingKeys.removeAll(values.keySet());
+        if (!missingKeys.isEmpty()) {
+            long loadGeneration = generation.get();
+            Map<String, V> missingValues = loader.apply(missingKeys);
+            putAll(cache, missingValues, loadGeneration);
+            values.putAll(missingValues);
+        }
+        return values;
+    }
+
+    private void invalidateNodeInfo(String nodeId) {
+        generation.incrementAndGet();
+        nodeInfos.invalidate(nodeId);
+
+        // node infos are also cached as part of child node lists and dependencies
+        Predicate<NodeInfo> matches = nodeInfo -> nodeInfo.getId().equals(nodeId);
+        childNodes.asMap().values().removeIf(infos -> infos.stream().anyMatch(matches));
+        namedDependencies.asMap().values().removeIf(infos -> infos.stream().anyMatch(matches));
+        dependencies.asMap().values().removeIf(nodeDependencies -> nodeDependencies.stream().map(NodeDependency::getNodeInfo).anyMatch(matches));
+        backwardDependencies.asMap().values().removeIf(infos -> infos.stream().anyMatch(matches));
+    }
+
+    private void invalidateChildNodes(String nodeId) {
+        if (nodeId != null) {
+            generation.incrementAndGet();
+            childNodes.invalidate(nodeId);
+        }
+    }
+
+    private void invalidateAllChildNodes() {
+        generation.incrementAndGet();
+        childNodes.invalidateAll();
+    }
+
+    private void invalidateDependencies(String nodeId) {
+        generation.incrementAndGet();
+        dependencies.invalidate(nodeId);
+        namedDependencies.asMap().keySet().removeIf(key -> key.nodeId.equals(nodeId));
+    }
+
+    private void invalidateBackwardDependencies(String nodeId) {
+        generation.incrementAndGet();
+        backwardDependencies.invalidate(nodeId);
+    }
+
+    private void invalidateTimeSeriesMetadata(String nodeId, String timeSeriesName) {
+        generation.incrementAndGet();
+        timeSeriesMetadata.invalidate(new NamedKey(nodeId, timeSeriesName));
+    }
+
+    private void invalidateTimeSeriesMetadata(String nodeId) {
+        generation.incrementAndGet();
+        timeSeriesMetadata.asMap().keySet().removeIf(key -> key.nodeId.equals(nodeId));
+    }
+
+    private void invalidateNode(String nodeId) {
+        invalidateNodeInfo(nodeId);
+        invalidateChildNodes(nodeId);
+        invalidateDependencies(nodeId);
+        invalidateBackwardDependencies(nodeId);
+        invalidateTimeSeriesMetadata(nodeId);
+    }
+
+    /**
+     * Discard all the cache entries.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        nodeInfos.invalidateAll();
+        childNodes.invalidateAll();
+        timeSeriesMetadata.invalidateAll();
+        namedDependencies.invalidateAll();
+        dependencies.invalidateAll();
+        backwardDependencies.invalidateAll();
+    }
+
+    /**
+     * Get hit and miss statistics of all the caches.
+     */
+    public CacheStats getStats() {
+        return nodeInfos.stats()
+                .plus(childNodes.stats())
+                .plus(timeSeriesMetadata.stats())
+                .plus(namedDependencies.stats())
+                .plus(dependencies.stats())
+                .plus(backwardDependencies.stats());
+    }
+
+    @Override
+    public void onEvents(NodeEventList eventList) {
+        Objects.requireNonNull(eventList);
+        for (NodeEvent event : eventList.getEvents()) {
+            switch (event.getType()) {
+                case NODE_CREATED:
+                    invalidateChildNodes(((NodeCreated) event).getParentId());
+                    break;
+                case NODE_REMOVED:
+                    invalidateNode(event.getId());
+                    invalidateChildNodes(((NodeRemoved) event).getParentId());
+                    break;
+                case NODE_DESCRIPTION_UPDATED:
+                case NODE_NAME_UPDATED:
+                    invalidateNodeInfo(event.getId());
+                    break;
+                case PARENT_CHANGED:
+                    // previous and new parents are not known
+                    invalidateAllChildNodes();
+                    break;
+                case DEPENDENCY_ADDED:
+                case DEPENDENCY_REMOVED:
+                    invalidateDependencies(event.getId());
+                    break;
+                case BACKWARD_DEPENDENCY_ADDED:
+                case BACKWARD_DEPENDENCY_REMOVED:
+                    invalidateBackwardDependencies(event.getId());
+                    break;
+                case TIME_SERIES_CREATED:
+                    invalidateTimeSeriesMetadata(event.getId(), ((TimeSeriesCreated) event).getTimeSeriesName());
+                    break;
+                case TIME_SERIES_CLEARED:
+                    invalidateTimeSeriesMetadata(event.getId());
+                    break;
+                case NODE_DATA_UPDATED:
+                case NODE_DATA_REMOVED:
+                case TIME_SERIES_DATA_UPDATED:
+                    // no cached information
+                    break;
+                default:
+                    throw new AssertionError("Unexpected event type: " + event.getType());
+            }
+        }
+    }
+
+    @Override
+    public NodeInfo createNode(String parentNodeId, String name, String nodePseudoClass, String description, int version, NodeGenericMetadata genericMetadata) {
+        NodeInfo nodeInfo = super.createNode(parentNodeId, name, nodePseudoClass, description, version, genericMetadata);
+        invalidateChildNodes(parentNodeId);
+        return nodeInfo;
+    }
+
+    @Override
+    public NodeInfo getNodeInfo(String nodeId) {
+        Objects.requireNonNull(nodeId);
+        return copy(get(nodeInfos, nodeId, () -> copy(super.getNodeInfo(nodeId))));
+    }
+
+    @Override
+    public Map<String, NodeInfo> getNodeInfos(Set<String> nodeIds) {
+        return getAll(nodeInfos, nodeIds, ids -> copyValues(super.getNodeInfos(ids))).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> copy(e.getValue())));
+    }
+
+    @Override
+    public void setDescription(String nodeId, String description) {
+        super.setDescription(nodeId, description);
+        invalidateNodeInfo(nodeId);
+    }
+
+    @Override
+    public void updateModificationTime(String nodeId) {
+        super.updateModificationTime(nodeId);
+        invalidateNodeInfo(nodeId);
+    }
+
+    @Override
+    public List<NodeInfo> getChildNodes(String nodeId) {
+        Objects.requireNonNull(nodeId);
+        return copy(get(childNodes, nodeId, () -> Collections.unmodifiableList(copy(super.getChildNodes(nodeId)))));
+    }
+
+    @Override
+    public Map<String, List<NodeInfo>> getChildNodes(String nodeId, int depth) {
+        long loadGeneration = generation.get();
+        Map<String, List<NodeInfo>> childNodesByParent = super.getChildNodes(nodeId, depth);
+        putAll(childNodes, childNodesByParent.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> Collections.unmodifiableList(copy(e.getValue())))), loadGeneration);
+        return childNodesByParent.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> copy(e.getValue())));
+    }
+
+    @Override
+    public Optional<NodeInfo> getChildNode(String nodeId, String name) {
+        Objects.requireNonNull(nodeId);
+        Objects.requireNonNull(name);
+        List<NodeInfo> cachedChildNodes = childNodes.getIfPresent(nodeId);
+        if (cachedChildNodes != null) {
+            return cachedChildNodes.stream()
+                    .filter(nodeInfo -> nodeInfo.getName().equals(name))
+                    .findFirst()
+                    .map(CachedAppStorage::copy);
+        }
+        return super.getChildNode(nodeId, name);
+    }
+
+    @Override
+    public void setParentNode(String nodeId, String newParentNodeId) {
+        super.setParentNode(nodeId, newParentNodeId);
+        invalidateAllChildNodes();
+    }
+
+    @Override
+    public String deleteNode(String nodeId) {
+        String parentNodeId = super.deleteNode(nodeId);
+        invalidateNode(nodeId);
+        invalidateChildNodes(parentNodeId);
+        return parentNodeId;
+    }
+
+    @Override
+    public void renameNode(String nodeId, String name) {
+        super.renameNode(nodeId, name);
+        invalidateNodeInfo(nodeId);
+    }
+
+    @Override
+    public void createTimeSeries(String nodeId, TimeSeriesMetadata metadata) {
+        super.createTimeSeries(nodeId, metadata);
+        unflushedTimeSeriesNodeIds.add(nodeId);
+        invalidateTimeSeriesMetadata(nodeId, metadata.getName());
+    }
+
+    @Override
+    public List<TimeSeriesMetadata> getTimeSeriesMetadata(String nodeId, Set<String> timeSeriesNames) {
+        Objects.requireNonNull(nodeId);
+        Objects.requireNonNull(timeSeriesNames);
+        List<TimeSeriesMetadata> metadataList = new ArrayList<>(timeSeriesNames.size());
+        Set<String> missingNames = new HashSet<>();
+        for (String timeSeriesName : timeSeriesNames) {
+            Optional<TimeSeriesMetadata> metadata = timeSeriesMetadata.getIfPresent(new NamedKey(nodeId, timeSeriesName));
+            if (metadata == null) {
+                missingNames.add(timeSeriesName);
+            } else {
+                metadata.ifPresent(metadataList::add);
+            }
+        }
+
+        // all the missing metadata are requested at once
+        if (!missingNames.isEmpty()) {
+            long loadGeneration = generation.get();
+            List<TimeSeriesMetadata> missingMetadataList = super.getTimeSeriesMetadata(nodeId, missingNames);
+            metadataList.addAll(missingMetadataList);
+            if (generation.get() == loadGeneration) {
+                for (TimeSeriesMetadata metadata : missingMetadataList) {
+                    missingNames.remove(metadata.getName());
+                    timeSeriesMetadata.put(new NamedKey(nodeId, metadata.getName()), Optional.of(metadata));
+                }
+                for (String missingName : missingNames) {
+                    timeSeriesMetadata.put(new NamedKey(nodeId, missingName), Optional.empty());
+                }
+                if (generation.get() != loadGeneration) {
+                    invalidateTimeSeriesMetadata(nodeId);
+                }
+            }
+        }
+        return metadataList;
+    }
+
+    @Override
+    public void clearTimeSeries(String nodeId) {
+        super.clearTimeSeries(nodeId);
+        invalidateTimeSeriesMetadata(nodeId);
+    }
+
+    @Override
+    public void addDependency(String nodeId, String name, String toNodeId) {
+        super.addDependency(nodeId, name, toNodeId);
+        invalidateDependencies(nodeId);
+        invalidateBackwardDependencies(toNodeId);
+    }
+
+    @Override
+    public Set<NodeInfo> getDependencies(String nodeId, String name) {
+        return copy(get(namedDependencies, new NamedKey(nodeId, name), () -> Collections.unmodifiableSet(copy(super.getDependencies(nodeId, name)))));
+    }
+
+    @Override
+    public Set<NodeDependency> getDependencies(String nodeId) {
+        Objects.requireNonNull(nodeId);
+        return copyDependencies(get(dependencies, nodeId, () -> Collections.unmodifiableSet(copyDependencies(super.getDependencies(nodeId)))));
+    }
+
+    @Override
+    public Map<String, Set<NodeDependency>> getDependencies(Set<String> nodeIds) {
+        return getAll(dependencies, nodeIds, ids -> super.getDependencies(ids).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> Collections.unmodifiableSet(copyDependencies(e.getValue()))))).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> copyDependencies(e.getValue())));
+    }
+
+    @Override
+    public Set<NodeInfo> getBackwardDependencies(String nodeId) {
+        Objects.requireNonNull(nodeId);
+        return copy(get(backwardDependencies, nodeId, () -> Collections.unmodifiableSet(copy(super.getBackwardDependencies(nodeId)))));
+    }
+
+    @Override
+    public void removeDependency(String nodeId, String name, String toNodeId) {
+        super.removeDependency(nodeId, name, toNodeId);
+        invalidateDependencies(nodeId);
+        invalidateBackwardDependencies(toNodeId);
+    }
+
+    @Override
+    public void flush() {
+        super.flush();
+        for (Iterator<String> it = unflushedTimeSeriesNodeIds.iterator(); it.hasNext();) {
+            String nodeId = it.next();
+            it.remove();
+            invalidateTimeSeriesMetadata(nodeId);
+        }
+    }
+}
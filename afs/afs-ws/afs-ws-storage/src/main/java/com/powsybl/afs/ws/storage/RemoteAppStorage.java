@@ -15,6 +15,7 @@ import com.powsybl.afs.storage.NodeInfo;
 import com.powsybl.afs.storage.buffer.StorageChangeBuffer;
 import com.powsybl.afs.ws.client.utils.ClientUtils;
 import com.powsybl.afs.ws.utils.AfsRestApi;
+import com.powsybl.afs.ws.utils.BinaryProvider;
 import com.powsybl.afs.ws.utils.JsonProvider;
 import com.powsybl.afs.ws.utils.gzip.ReaderInterceptorGzip;
 import com.powsybl.afs.ws.utils.gzip.WriterInterceptorGzipCli;
@@ -91,7 +92,7 @@ public class RemoteAppStorage implements AppStorage {
                     .header(HttpHeaders.AUTHORIZATION, token)
                     .header(HttpHeaders.CONTENT_ENCODING, "gzip")
                     .acceptEncoding("gzip")
-                    .post(Entity.json(changeSet));
+                    .post(Entity.entity(changeSet, BinaryProvider.APPLICATION_BINARY_TYPE));
             try {
                 checkOk(response);
             } finally {
@@ -102,7 +103,8 @@ public class RemoteAppStorage implements AppStorage {
 
     static Client createClient() {
         return ClientUtils.createClient()
-                .register(new JsonProvider());
+                .register(new JsonProvider())
+                .register(new BinaryProvider());
     }
 
     static WebTarget getWebTarget(Client client, URI baseUri) {
@@ -311,6 +313,27 @@ public class RemoteAppStorage implements AppStorage {
         }
     }
 
+    @Override
+    public Map<String, List<NodeInfo>> getChildNodes(String nodeId, int depth) {
+        Objects.requireNonNull(nodeId);
+
+        LOGGER.debug("getChildNodes(fileSystemName={}, nodeId={}, depth={})", fileSystemName, nodeId, depth);
+
+        Response response = webTarget.path("fileSystems/{fileSystemName}/nodes/{nodeId}/tree")
+                .resolveTemplate(FILE_SYSTEM_NAME, fileSystemName)
+                .resolveTemplate(NODE_ID, nodeId)
+                .queryParam("depth", depth)
+                .request(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .get();
+        try {
+            return readEntityIfOk(response, new GenericType<Map<String, List<NodeInfo>>>() {
+            });
+        } finally {
+            response.close();
+        }
+    }
+
     @Override
     public Optional<NodeInfo> getChildNode(String nodeId, String name) {
         Objects.requireNonNull(nodeId);
@@ -614,6 +637,27 @@ public class RemoteAppStorage implements AppStorage {
         }
     }
 
+    @Override
+    public Map<String, Set<NodeDependency>> getDependencies(Set<String> nodeIds) {
+        Objects.requireNonNull(nodeIds);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("getDependencies(fileSystemName={}, nodeIds={})", fileSystemName, nodeIds);
+        }
+
+        Response response = webTarget.path("fileSystems/{fileSystemName}/dependencies")
+                .resolveTemplate(FILE_SYSTEM_NAME, fileSystemName)
+                .request(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .post(Entity.json(nodeIds));
+        try {
+            return readEntityIfOk(response, new GenericType<Map<String, Set<NodeDependency>>>() {
+            });
+        } finally {
+            response.close();
+        }
+    }
+
     @Override
     public Set<NodeInfo> getBackwardDependencies(String nodeId) {
         Objects.requireNonNull(nodeId);
@@ -806,7 +850,7 @@ public class RemoteAppStorage implements AppStorage {
                 .resolveTemplate(FILE_SYSTEM_NAME, fileSystemName)
                 .resolveTemplate(NODE_ID, nodeId)
                 .resolveTemplate(VERSION, version)
-                .request()
+                .request(BinaryProvider.APPLICATION_BINARY_TYPE)
                 .header(HttpHeaders.AUTHORIZATION, token)
                 .post(Entity.json(timeSeriesNames));
         try {
@@ -847,7 +891,7 @@ public class RemoteAppStorage implements AppStorage {
                 .resolveTemplate(FILE_SYSTEM_NAME, fileSystemName)
                 .resolveTemplate(NODE_ID, nodeId)
                 .resolveTemplate(VERSION, version)
-                .request()
+                .request(BinaryProvider.APPLICATION_BINARY_TYPE)
                 .header(HttpHeaders.AUTHORIZATION, token)
                 .post(Entity.json(timeSeriesNames));
         try {
@@ -899,6 +943,27 @@ public class RemoteAppStorage implements AppStorage {
         }
     }
 
+    @Override
+    public Map<String, NodeInfo> getNodeInfos(Set<String> nodeIds) {
+        Objects.requireNonNull(nodeIds);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("getNodeInfos(fileSystemName={}, nodeIds={})", fileSystemName, nodeIds);
+        }
+
+        Response response = webTarget.path("fileSystems/{fileSystemName}/nodeInfos")
+                .resolveTemplate(FILE_SYSTEM_NAME, fileSystemName)
+                .request(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .post(Entity.json(nodeIds));
+        try {
+            return readEntityIfOk(response, new GenericType<Map<String, NodeInfo>>() {
+            });
+        } finally {
+            response.close();
+        }
+    }
+
     @Override
     public void flush() {
         changeBuffer.flush();
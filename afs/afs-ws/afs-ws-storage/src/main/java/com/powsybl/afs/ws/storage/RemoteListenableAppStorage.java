@@ -6,6 +6,7 @@
  */
 package com.powsybl.afs.ws.storage;
 
+import com.google.common.cache.CacheStats;
 import com.powsybl.afs.storage.ForwardingAppStorage;
 import com.powsybl.afs.storage.ListenableAppStorage;
 import com.powsybl.afs.storage.events.AppStorageListener;
@@ -33,17 +34,35 @@ public class RemoteListenableAppStorage extends ForwardingAppStorage implements
 
     private final WeakListenerList<AppStorageListener> listeners = new WeakListenerList<>();
 
+    private final CachedAppStorage cache;
+
+    /**
+     * Listener of the node event websocket, the cache has to be invalidated before notifying the other listeners.
+     */
+    private final AppStorageListener eventListener;
+
     public RemoteListenableAppStorage(RemoteAppStorage storage, URI restUri) {
-        super(storage);
+        this(new CachedAppStorage(storage), restUri);
+    }
+
+    private RemoteListenableAppStorage(CachedAppStorage cache, URI restUri) {
+        super(cache);
+        this.cache = cache;
+        eventListener = eventList -> {
+            cache.onEvents(eventList);
+            listeners.notify(l -> l.onEvents(eventList));
+        };
+        WeakListenerList<AppStorageListener> eventListeners = new WeakListenerList<>();
+        eventListeners.add(eventListener);
 
         URI wsUri = getWebSocketUri(restUri);
         URI endPointUri = URI.create(wsUri + "/messages/" + AfsRestApi.RESOURCE_ROOT + "/" +
-                AfsRestApi.VERSION + "/node_events/" + storage.getFileSystemName());
+                AfsRestApi.VERSION + "/node_events/" + cache.getFileSystemName());
         LOGGER.debug("Connecting to node event websocket at {}", endPointUri);
 
         WebSocketContainer container = ContainerProvider.getWebSocketContainer();
         try {
-            container.connectToServer(new NodeEventClient(storage.getFileSystemName(), listeners), endPointUri);
+            container.connectToServer(new NodeEventClient(cache.getFileSystemName(), eventListeners), endPointUri);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } catch (DeploymentException e) {
@@ -70,6 +89,13 @@ public class RemoteListenableAppStorage extends ForwardingAppStorage implements
         }
     }
 
+    /**
+     * Get hit and miss statistics of the node cache.
+     */
+    public CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
     @Override
     public void addListener(AppStorageListener l) {
         listeners.add(l);
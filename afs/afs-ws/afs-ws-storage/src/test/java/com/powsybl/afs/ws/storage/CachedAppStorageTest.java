@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.afs.ws.storage;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.powsybl.afs.mapdb.storage.MapDbAppStorage;
+import com.powsybl.afs.storage.AppStorage;
+import com.powsybl.afs.storage.ForwardingAppStorage;
+import com.powsybl.afs.storage.NodeGenericMetadata;
+import com.powsybl.afs.storage.NodeInfo;
+import com.powsybl.afs.storage.events.*;
+import com.powsybl.timeseries.RegularTimeSeriesIndex;
+import com.powsybl.timeseries.TimeSeriesDataType;
+import com.powsybl.timeseries.TimeSeriesMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.threeten.extra.Interval;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class CachedAppStorageTest {
+
+    /**
+     * Like a remote storage, time series creations are buffered until the flush.
+     */
+    private static class CountingAppStorage extends ForwardingAppStorage {
+
+        private final List<Runnable> changes = new ArrayList<>();
+
+        private int nodeInfoCount = 0;
+
+        private int childNodesCount = 0;
+
+        private int timeSeriesMetadataCount = 0;
+
+        private int dependenciesCount = 0;
+
+        CountingAppStorage(AppStorage storage) {
+            super(storage);
+        }
+
+        @Override
+        public NodeInfo getNodeInfo(String nodeId) {
+            nodeInfoCount++;
+            return super.getNodeInfo(nodeId);
+        }
+
+        @Override
+        public Map<String, NodeInfo> getNodeInfos(Set<String> nodeIds) {
+            nodeInfoCount++;
+            return super.getNodeInfos(nodeIds);
+        }
+
+        @Override
+        public List<NodeInfo> getChildNodes(String nodeId) {
+            childNodesCount++;
+            return super.getChildNodes(nodeId);
+        }
+
+        @Override
+        public List<TimeSeriesMetadata> getTimeSeriesMetadata(String nodeId, Set<String> timeSeriesNames) {
+            timeSeriesMetadataCount++;
+            return super.getTimeSeriesMetadata(nodeId, timeSeriesNames);
+        }
+
+        @Override
+        public Set<NodeInfo> getBackwardDependencies(String nodeId) {
+            dependenciesCount++;
+            return super.getBackwardDependencies(nodeId);
+        }
+
+        @Override
+        public void createTimeSeries(String nodeId, TimeSeriesMetadata metadata) {
+            changes.add(() -> super.createTimeSeries(nodeId, metadata));
+        }
+
+        @Override
+        public void flush() {
+            changes.forEach(Runnable::run);
+            changes.clear();
+            super.flush();
+        }
+    }
+
+    private CountingAppStorage storage;
+
+    private CachedAppStorage cachedStorage;
+
+    private NodeInfo rootNodeInfo;
+
+    private NodeInfo nodeInfo;
+
+    @Before
+    public void setUp() {
+        storage = new CountingAppStorage(MapDbAppStorage.createHeap("mem"));
+        cachedStorage = new CachedAppStorage(storage);
+        rootNodeInfo = storage.createRootNodeIfNotExists("root", "folder");
+        nodeInfo = storage.createNode(rootNodeInfo.getId(), "node", "data", "", 0, new NodeGenericMetadata());
+        storage.flush();
+    }
+
+    @After
+    public void tearDown() {
+        cachedStorage.close();
+    }
+
+    @Test
+    public void nodeInfoTest() {
+        assertEquals("node", cachedStorage.getNodeInfo(nodeInfo.getId()).getName());
+        assertEquals(1, storage.nodeInfoCount);
+
+        // second access is a cache hit and the cached value cannot be modified
+        NodeInfo nodeInfo2 = cachedStorage.getNodeInfo(nodeInfo.getId());
+        nodeInfo2.setDescription("modified");
+        assertEquals("", cachedStorage.getNodeInfo(nodeInfo.getId()).getDescription());
+        assertEquals(1, storage.nodeInfoCount);
+        assertEquals(2, cachedStorage.getStats().hitCount());
+        assertEquals(1, cachedStorage.getStats().missCount());
+
+        // a remote modification is only visible after the event
+        storage.setDescription(nodeInfo.getId(), "hello");
+        assertEquals("", cachedStorage.getNodeInfo(nodeInfo.getId()).getDescription());
+        cachedStorage.onEvents(new NodeEventList(new NodeDescriptionUpdated(nodeInfo.getId(), "hello")));
+        assertEquals("hello", cachedStorage.getNodeInfo(nodeInfo.getId()).getDescription());
+        assertEquals(2, storage.nodeInfoCount);
+
+        // a local modification directly invalidates the cache
+        cachedStorage.renameNode(nodeInfo.getId(), "node2");
+        assertEquals("node2", cachedStorage.getNodeInfo(nodeInfo.getId()).getName());
+        assertEquals(3, storage.nodeInfoCount);
+
+        // events of other nodes do not invalidate the cache
+        cachedStorage.onEvents(new NodeEventList(new NodeNameUpdated(rootNodeInfo.getId(), "root2")));
+        cachedStorage.getNodeInfo(nodeInfo.getId());
+        assertEquals(3, storage.nodeInfoCount);
+    }
+
+    @Test
+    public void bulkTest() {
+        cachedStorage.getNodeInfo(nodeInfo.getId());
+        Map<String, NodeInfo> nodeInfos = cachedStorage.getNodeInfos(Sets.newHashSet(rootNodeInfo.getId(), nodeInfo.getId()));
+        assertEquals(Sets.newHashSet(rootNodeInfo.getId(), nodeInfo.getId()), nodeInfos.keySet());
+        assertEquals("root", nodeInfos.get(rootNodeInfo.getId()).getName());
+        assertEquals(2, storage.nodeInfoCount);
+
+        // only the missing node info has been requested and is now cached
+        cachedStorage.getNodeInfos(Sets.newHashSet(rootNodeInfo.getId(), nodeInfo.getId()));
+        assertEquals(2, storage.nodeInfoCount);
+
+        // child nodes of the whole tree are cached
+        Map<String, List<NodeInfo>> childNodes = cachedStorage.getChildNodes(rootNodeInfo.getId(), 2);
+        assertEquals(Sets.newHashSet(rootNodeInfo.getId(), nodeInfo.getId()), childNodes.keySet());
+        assertTrue(cachedStorage.getChildNodes(nodeInfo.getId()).isEmpty());
+        assertEquals(1, cachedStorage.getChildNodes(rootNodeInfo.getId()).size());
+        assertEquals(0, storage.childNodesCount);
+    }
+
+    @Test
+    public void childNodesTest() {
+        assertEquals(Collections.singletonList("node"), cachedStorage.getChildNodes(rootNodeInfo.getId()).stream().map(NodeInfo::getName).collect(Collectors.toList()));
+        assertTrue(cachedStorage.getChildNode(rootNodeInfo.getId(), "node").isPresent());
+        assertFalse(cachedStorage.getChildNode(rootNodeInfo.getId(), "other").isPresent());
+        assertEquals(1, storage.childNodesCount);
+
+        NodeInfo otherNodeInfo = storage.createNode(rootNodeInfo.getId(), "other", "data", "", 0, new NodeGenericMetadata());
+        storage.flush();
+        assertEquals(1, cachedStorage.getChildNodes(rootNodeInfo.getId()).size());
+        cachedStorage.onEvents(new NodeEventList(new NodeCreated(otherNodeInfo.getId(), rootNodeInfo.getId())));
+        assertEquals(2, cachedStorage.getChildNodes(rootNodeInfo.getId()).size());
+        assertEquals(2, storage.childNodesCount);
+
+        // a node name update invalidates the child lists of its parent
+        cachedStorage.renameNode(otherNodeInfo.getId(), "other2");
+        assertTrue(cachedStorage.getChildNode(rootNodeInfo.getId(), "other2").isPresent());
+        cachedStorage.getChildNodes(rootNodeInfo.getId());
+        assertEquals(3, storage.childNodesCount);
+
+        cachedStorage.deleteNode(otherNodeInfo.getId());
+        assertEquals(1, cachedStorage.getChildNodes(rootNodeInfo.getId()).size());
+        assertEquals(4, storage.childNodesCount);
+    }
+
+    @Test
+    public void timeSeriesMetadataTest() {
+        TimeSeriesMetadata metadata1 = new TimeSeriesMetadata("ts1",
+                                                              TimeSeriesDataType.DOUBLE,
+                                                              ImmutableMap.of("var1", "value1"),
+                                                              RegularTimeSeriesIndex.create(Interval.parse("2015-01-01T00:00:00Z/2015-01-01T01:15:00Z"),
+                                                                                            Duration.ofMinutes(15)));
+        cachedStorage.createTimeSeries(nodeInfo.getId(), metadata1);
+        cachedStorage.flush();
+
+        assertEquals(Collections.singletonList(metadata1), cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Sets.newHashSet("ts1", "ts2")));
+        assertEquals(Collections.singletonList(metadata1), cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Sets.newHashSet("ts1", "ts2")));
+        assertEquals(1, storage.timeSeriesMetadataCount);
+
+        // missing time series are requested at once
+        cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Sets.newHashSet("ts1", "ts3", "ts4"));
+        assertEquals(2, storage.timeSeriesMetadataCount);
+
+        TimeSeriesMetadata metadata2 = new TimeSeriesMetadata("ts2", TimeSeriesDataType.STRING, metadata1.getIndex());
+        storage.createTimeSeries(nodeInfo.getId(), metadata2);
+        storage.flush();
+        cachedStorage.onEvents(new NodeEventList(new TimeSeriesCreated(nodeInfo.getId(), "ts2")));
+        assertEquals(Collections.singletonList(metadata2), cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Collections.singleton("ts2")));
+        assertEquals(3, storage.timeSeriesMetadataCount);
+
+        cachedStorage.onEvents(new NodeEventList(new TimeSeriesCleared(nodeInfo.getId())));
+        cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Collections.singleton("ts1"));
+        assertEquals(4, storage.timeSeriesMetadataCount);
+    }
+
+    @Test
+    public void dependenciesTest() {
+        assertTrue(cachedStorage.getBackwardDependencies(nodeInfo.getId()).isEmpty());
+        assertTrue(cachedStorage.getBackwardDependencies(nodeInfo.getId()).isEmpty());
+        assertEquals(1, storage.dependenciesCount);
+
+        cachedStorage.addDependency(rootNodeInfo.getId(), "dep", nodeInfo.getId());
+        assertEquals(1, cachedStorage.getDependencies(rootNodeInfo.getId(), "dep").size());
+        assertEquals(1, cachedStorage.getBackwardDependencies(nodeInfo.getId()).size());
+        assertEquals(2, storage.dependenciesCount);
+
+        storage.removeDependency(rootNodeInfo.getId(), "dep", nodeInfo.getId());
+        cachedStorage.onEvents(new NodeEventList(new DependencyRemoved(rootNodeInfo.getId(), "dep"),
+                                                 new BackwardDependencyRemoved(nodeInfo.getId(), "dep")));
+        assertTrue(cachedStorage.getDependencies(rootNodeInfo.getId(), "dep").isEmpty());
+        assertTrue(cachedStorage.getBackwardDependencies(nodeInfo.getId()).isEmpty());
+        assertEquals(3, storage.dependenciesCount);
+    }
+
+    @Test
+    public void flushTest() {
+        TimeSeriesMetadata metadata = new TimeSeriesMetadata("ts1",
+                                                             TimeSeriesDataType.DOUBLE,
+                                                             Collections.emptyMap(),
+                                                             RegularTimeSeriesIndex.create(Interval.parse("2015-01-01T00:00:00Z/2015-01-01T01:15:00Z"),
+                                                                                           Duration.ofMinutes(15)));
+        cachedStorage.createTimeSeries(nodeInfo.getId(), metadata);
+
+        // the creation is not yet flushed, so the time series is missing
+        assertTrue(cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Collections.singleton("ts1")).isEmpty());
+        assertTrue(cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Collections.singleton("ts1")).isEmpty());
+        assertEquals(1, storage.timeSeriesMetadataCount);
+
+        // the missing time series cached before the flush is invalidated by the flush
+        cachedStorage.flush();
+        assertEquals(Collections.singletonList(metadata), cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Collections.singleton("ts1")));
+        assertEquals(2, storage.timeSeriesMetadataCount);
+
+        // a flush without creation keeps the cache
+        cachedStorage.flush();
+        cachedStorage.getTimeSeriesMetadata(nodeInfo.getId(), Collections.singleton("ts1"));
+        assertEquals(2, storage.timeSeriesMetadataCount);
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.afs.ws.utils;
+
+import com.google.common.io.LittleEndianDataInputStream;
+import com.google.common.io.LittleEndianDataOutputStream;
+import com.powsybl.afs.storage.buffer.*;
+import com.powsybl.commons.json.JsonUtil;
+import com.powsybl.timeseries.*;
+import com.powsybl.timeseries.binary.DataChunkBinary;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.*;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * JAX-RS provider of a compact binary media type for the time series data exchanged with a remote storage: chunk
+ * lists, time series data maps and storage change sets. Values are little endian and encoded by
+ * {@link DataChunkBinary}.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@Provider
+@Consumes(BinaryProvider.APPLICATION_BINARY)
+@Produces(BinaryProvider.APPLICATION_BINARY)
+public class BinaryProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_BINARY = "application/vnd.powsybl.afs+binary";
+
+    public static final MediaType APPLICATION_BINARY_TYPE = MediaType.valueOf(APPLICATION_BINARY);
+
+    private static boolean isSupported(Class<?> type, MediaType mediaType) {
+        return APPLICATION_BINARY_TYPE.isCompatible(mediaType)
+                && (StorageChangeSet.class.isAssignableFrom(type)
+                    || Map.class.isAssignableFrom(type)
+                    || List.class.isAssignableFrom(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeChunks(DataOutput out, List<?> chunks) throws IOException {
+        TimeSeriesDataType dataType = chunks.isEmpty() ? TimeSeriesDataType.DOUBLE : ((DataChunk) chunks.get(0)).getDataType();
+        out.writeByte(dataType.ordinal());
+        switch (dataType) {
+            case DOUBLE:
+                DataChunkBinary.writeDoubleChunks(out, (List<DoubleDataChunk>) chunks);
+                break;
+            case STRING:
+                DataChunkBinary.writeStringChunks(out, (List<StringDataChunk>) chunks);
+                break;
+            default:
+                throw new AssertionError("Unexpected data type " + dataType);
+        }
+    }
+
+    private static List<?> readChunks(DataInput in) throws IOException {
+        TimeSeriesDataType dataType = readEnum(in, TimeSeriesDataType.values());
+        switch (dataType) {
+            case DOUBLE:
+                return DataChunkBinary.readDoubleChunks(in);
+            case STRING:
+                return DataChunkBinary.readStringChunks(in);
+            default:
+                throw new AssertionError("Unexpected data type " + dataType);
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+        int ordinal = in.readByte();
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Invalid enum ordinal: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static void writeTimeSeriesData(DataOutput out, Map<String, List<?>> timeSeriesData) throws IOException {
+        out.writeInt(timeSeriesData.size());
+        for (Map.Entry<String, List<?>> e : timeSeriesData.entrySet()) {
+            DataChunkBinary.writeString(out, e.getKey());
+            writeChunks(out, e.getValue());
+        }
+    }
+
+    private static Map<String, List<?>> readTimeSeriesData(DataInput in) throws IOException {
+        int size = in.readInt();
+        Map<String, List<?>> timeSeriesData = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            String timeSeriesName = DataChunkBinary.readString(in);
+            timeSeriesData.put(timeSeriesName, readChunks(in));
+        }
+        return timeSeriesData;
+    }
+
+    private static void writeChangeSet(DataOutput out, StorageChangeSet changeSet) throws IOException {
+        out.writeInt(changeSet.getChanges().size());
+        for (StorageChange change : changeSet.getChanges()) {
+            out.writeByte(change.getType().ordinal());
+            DataChunkBinary.writeString(out, change.getNodeId());
+            switch (change.getType()) {
+                case TIME_SERIES_CREATION:
+                    // metadata are small, reuse the json serialization
+                    TimeSeriesMetadata metadata = ((TimeSeriesCreation) change).getMetadata();
+                    DataChunkBinary.writeString(out, JsonUtil.toJson(metadata::writeJson));
+                    break;
+                case DOUBLE_TIME_SERIES_CHUNKS_ADDITION:
+                case STRING_TIME_SERIES_CHUNKS_ADDITION:
+                    AbstractTimeSeriesChunksAddition<?, ?> addition = (AbstractTimeSeriesChunksAddition<?, ?>) change;
+                    out.writeInt(addition.getVersion());
+                    DataChunkBinary.writeString(out, addition.getTimeSeriesName());
+                    writeChunks(out, addition.getChunks());
+                    break;
+                default:
+                    throw new AssertionError("Unknown change type " + change.getType());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StorageChangeSet readChangeSet(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<StorageChange> changes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StorageChangeType type = readEnum(in, StorageChangeType.values());
+            String nodeId = DataChunkBinary.readString(in);
+            switch (type) {
+                case TIME_SERIES_CREATION:
+                    TimeSeriesMetadata metadata = JsonUtil.parseJson(DataChunkBinary.readString(in), TimeSeriesMetadata::parseJson);
+                    changes.add(new TimeSeriesCreation(nodeId, metadata));
+                    break;
+                case DOUBLE_TIME_SERIES_CHUNKS_ADDITION:
+                    changes.add(new DoubleTimeSeriesChunksAddition(nodeId, in.readInt(), DataChunkBinary.readString(in),
+                                                                   (List<DoubleDataChunk>) readChunks(in)));
+                    break;
+                case STRING_TIME_SERIES_CHUNKS_ADDITION:
+                    changes.add(new StringTimeSeriesChunksAddition(nodeId, in.readInt(), DataChunkBinary.readString(in),
+                                                                   (List<StringDataChunk>) readChunks(in)));
+                    break;
+                default:
+                    throw new AssertionError("Unknown change type " + type);
+            }
+        }
+        return new StorageChangeSet(changes);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return isSupported(type, mediaType);
+    }
+
+    @Override
+    public long getSize(Object o, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void writeTo(Object o, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        // entity stream must not be closed by the provider
+        LittleEndianDataOutputStream out = new LittleEndianDataOutputStream(new BufferedOutputStream(entityStream));
+        if (o instanceof StorageChangeSet) {
+            writeChangeSet(out, (StorageChangeSet) o);
+        } else if (o instanceof Map) {
+            writeTimeSeriesData(out, (Map<String, List<?>>) o);
+        } else if (o instanceof List) {
+            writeChunks(out, (List<?>) o);
+        } else {
+            throw new AssertionError("Unexpected entity class: " + o.getClass());
+        }
+        out.flush();
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return isSupported(type, mediaType);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        LittleEndianDataInputStream in = new LittleEndianDataInputStream(new BufferedInputStream(entityStream));
+        if (StorageChangeSet.class.isAssignableFrom(type)) {
+            return readChangeSet(in);
+        } else if (Map.class.isAssignableFrom(type)) {
+            return readTimeSeriesData(in);
+        } else {
+            return readChunks(in);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.afs.ws.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.powsybl.afs.storage.buffer.DoubleTimeSeriesChunksAddition;
+import com.powsybl.afs.storage.buffer.StorageChangeSet;
+import com.powsybl.afs.storage.buffer.StringTimeSeriesChunksAddition;
+import com.powsybl.afs.storage.buffer.TimeSeriesCreation;
+import com.powsybl.timeseries.*;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class BinaryProviderTest {
+
+    private final BinaryProvider provider = new BinaryProvider();
+
+    @SuppressWarnings("unchecked")
+    private <T> T roundTrip(T entity, Class<?> type) throws IOException {
+        assertTrue(provider.isWriteable(type, type, null, BinaryProvider.APPLICATION_BINARY_TYPE));
+        assertTrue(provider.isReadable(type, type, null, BinaryProvider.APPLICATION_BINARY_TYPE));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        provider.writeTo(entity, type, type, null, BinaryProvider.APPLICATION_BINARY_TYPE, null, os);
+        return (T) provider.readFrom((Class<Object>) type, type, null, BinaryProvider.APPLICATION_BINARY_TYPE, null,
+                                     new ByteArrayInputStream(os.toByteArray()));
+    }
+
+    @Test
+    public void test() throws IOException {
+        assertFalse(provider.isWriteable(StorageChangeSet.class, StorageChangeSet.class, null, MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(provider.isReadable(String.class, String.class, null, BinaryProvider.APPLICATION_BINARY_TYPE));
+
+        List<DoubleDataChunk> doubleChunks = ImmutableList.of(new UncompressedDoubleDataChunk(0, new double[] {1, 2}),
+                                                              new CompressedDoubleDataChunk(2, 3, new double[] {3}, new int[] {3}));
+        List<StringDataChunk> stringChunks = ImmutableList.of(new UncompressedStringDataChunk(1, new String[] {"a", "b", "a"}));
+        assertEquals(doubleChunks, roundTrip(doubleChunks, List.class));
+        assertEquals(stringChunks, roundTrip(stringChunks, List.class));
+
+        Map<String, List<?>> timeSeriesData = ImmutableMap.of("ts1", doubleChunks, "ts2", stringChunks);
+        assertEquals(timeSeriesData, roundTrip(timeSeriesData, Map.class));
+
+        TimeSeriesMetadata metadata = new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, ImmutableMap.of("a", "b"),
+                                                             InfiniteTimeSeriesIndex.INSTANCE);
+        StorageChangeSet changeSet = new StorageChangeSet(ImmutableList.of(new TimeSeriesCreation("n", metadata),
+                                                                           new DoubleTimeSeriesChunksAddition("n", 1, "ts1", doubleChunks),
+                                                                           new StringTimeSeriesChunksAddition("n", 2, "ts2", stringChunks)));
+        assertEquals(changeSet, roundTrip(changeSet, StorageChangeSet.class));
+    }
+}
@@ -70,6 +70,10 @@ public class CgmesImport implements Importer {
                 String s = p.getProperty("createBusbarSectionForEveryConnectivityNode");
                 config.setCreateBusbarSectionForEveryConnectivityNode(Boolean.parseBoolean(s));
             }
+            if (p.containsKey("queryConcurrency")) {
+                String s = p.getProperty("queryConcurrency");
+                config.setQueryConcurrency(Integer.parseInt(s));
+            }
         }
         Network network = new Conversion(cgmes, config).convert();
 
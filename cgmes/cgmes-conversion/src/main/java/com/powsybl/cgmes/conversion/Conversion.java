@@ -9,6 +9,7 @@ package com.powsybl.cgmes.conversion;
 
 import com.powsybl.cgmes.conversion.elements.*;
 import com.powsybl.cgmes.model.CgmesModel;
+import com.powsybl.commons.concurrent.CleanableExecutors;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.NetworkFactory;
 import com.powsybl.triplestore.api.PropertyBag;
@@ -23,6 +24,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -76,6 +78,44 @@ public class Conversion {
         Context context = createContext(network);
         assignNetworkProperties(context);
 
+        // Element queries are run in advance while the previous elements are converted
+        ExecutorService queryExecutor = prefetchQueries(context);
+        try {
+            convertElements(context);
+        } finally {
+            cgmes.clearPrefetched();
+            if (queryExecutor != null) {
+                queryExecutor.shutdownNow();
+            }
+        }
+
+        profiling.report();
+        return network;
+    }
+
+    private ExecutorService prefetchQueries(Context context) {
+        int concurrency = config.queryConcurrency();
+        if (concurrency <= 1) {
+            return null;
+        }
+        // Named queries of the elements, in the order they are converted
+        List<String> queryNames = new ArrayList<>();
+        queryNames.add("substations");
+        queryNames.add("voltageLevels");
+        queryNames.add(context.nodeBreaker() ? "connectivityNodes" : "topologicalNodes");
+        if (!context.config().createBusbarSectionForEveryConnectivityNode()) {
+            queryNames.add("busbarSections");
+        }
+        queryNames.addAll(Arrays.asList("energyConsumers", "energySources", "equivalentInjections",
+                "externalNetworkInjections", "shuntCompensators", "staticVarCompensators", "asynchronousMachines",
+                "synchronousMachines", "switches", "acLineSegments", "equivalentBranches", "seriesCompensators",
+                "ratioTapChangers", "phaseTapChangers", "acDcConverters", "dcLineSegments", "operationalLimits"));
+        ExecutorService queryExecutor = CleanableExecutors.newFixedThreadPool("CGMES_QUERY_POOL", concurrency);
+        cgmes.prefetch(queryNames, queryExecutor, concurrency);
+        return queryExecutor;
+    }
+
+    private void convertElements(Context context) {
         Function<PropertyBag, AbstractObjectConversion> convf;
 
         convert(cgmes.substations(), s -> new SubstationConversion(s, context));
@@ -123,9 +163,6 @@ public class Conversion {
         if (context.config().debugTopology()) {
             debugTopology(context);
         }
-
-        profiling.report();
-        return network;
     }
 
     private void convert(
@@ -351,12 +388,26 @@ public class Conversion {
             createBusbarSectionForEveryConnectivityNode = b;
         }
 
+        public int queryConcurrency() {
+            return queryConcurrency;
+        }
+
+        public void setQueryConcurrency(int queryConcurrency) {
+            if (queryConcurrency < 1) {
+                throw new IllegalArgumentException("Invalid query concurrency: " + queryConcurrency);
+            }
+            this.queryConcurrency = queryConcurrency;
+        }
+
         private boolean convertBoundary = false;
         private boolean changeSignForShuntReactivePowerFlowInitialState;
         private double lowImpedanceLineR = 0.05;
         private double lowImpedanceLineX = 0.05;
 
         private boolean createBusbarSectionForEveryConnectivityNode = false;
+
+        // Number of queries evaluated concurrently during the conversion, 1 to evaluate them one after another
+        private int queryConcurrency = Math.min(4, Runtime.getRuntime().availableProcessors());
     }
 
     private final CgmesModel cgmes;
@@ -8,8 +8,10 @@
 package com.powsybl.cgmes.model;
 
 import java.io.PrintStream;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import org.joda.time.DateTime;
@@ -111,6 +113,17 @@ public interface CgmesModel {
 
     PropertyBags dcTerminalsTP();
 
+    // Hint that the given named queries are going to be requested in this order.
+    // Implementations may run them in advance using the executor,
+    // keeping at most maxPrefetched results waiting to be requested.
+    // Results of the queries skipped by the caller may be discarded
+
+    default void prefetch(List<String> queryNames, Executor executor, int maxPrefetched) {
+    }
+
+    default void clearPrefetched() {
+    }
+
     void clear(Subset subset);
 
     void add(String contextName, String type, PropertyBags objects);
@@ -9,8 +9,17 @@ package com.powsybl.cgmes.model.triplestore;
 
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import org.joda.time.DateTime;
@@ -334,7 +343,101 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
         return namedQuery("dcTerminalsTP");
     }
 
+    // Prefetch
+
+    @Override
+    public void prefetch(List<String> queryNames, Executor executor, int maxPrefetched) {
+        Objects.requireNonNull(queryNames);
+        Objects.requireNonNull(executor);
+        if (maxPrefetched < 1) {
+            throw new IllegalArgumentException("Invalid max prefetched queries: " + maxPrefetched);
+        }
+        if (!tripleStore.supportsConcurrentQueries()) {
+            // Queries run in advance would only wait for the ones requested by the caller
+            LOG.debug("Queries are not prefetched, triple store does not support concurrent queries");
+            return;
+        }
+        synchronized (prefetched) {
+            prefetchExecutor = executor;
+            maxPrefetchedQueries = maxPrefetched;
+            queryNames.stream()
+                    .filter(queryCatalog::containsKey)
+                    .forEach(pendingPrefetch::add);
+            schedulePrefetch();
+        }
+    }
+
+    @Override
+    public void clearPrefetched() {
+        synchronized (prefetched) {
+            pendingPrefetch.clear();
+            prefetched.values().forEach(f -> f.cancel(false));
+            prefetched.clear();
+        }
+    }
+
+    private void schedulePrefetch() {
+        // Queries are independent, the triple store only reads data
+        // and it supports concurrent queries, so they can be evaluated concurrently
+        while (prefetched.size() < maxPrefetchedQueries && !pendingPrefetch.isEmpty()) {
+            String name = pendingPrefetch.removeFirst();
+            prefetched.computeIfAbsent(name, n -> CompletableFuture.supplyAsync(() -> runNamedQuery(n), prefetchExecutor));
+        }
+    }
+
+    private PropertyBags prefetchedQuery(String name) {
+        CompletableFuture<PropertyBags> f;
+        synchronized (prefetched) {
+            f = removePrefetched(name);
+            if (f == null) {
+                // Requested before its turn, it will be run now
+                pendingPrefetch.remove(name);
+            }
+            schedulePrefetch();
+        }
+        if (f == null) {
+            return null;
+        }
+        try {
+            return f.join();
+        } catch (CompletionException x) {
+            if (x.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) x.getCause();
+            }
+            throw x;
+        }
+    }
+
+    private CompletableFuture<PropertyBags> removePrefetched(String name) {
+        if (!prefetched.containsKey(name)) {
+            return null;
+        }
+        // Queries scheduled before this one have been skipped by the caller,
+        // drop them so that they do not hold prefetch slots until cleared.
+        // If they are requested later they will be run at that moment
+        Iterator<Map.Entry<String, CompletableFuture<PropertyBags>>> it = prefetched.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CompletableFuture<PropertyBags>> e = it.next();
+            it.remove();
+            if (e.getKey().equals(name)) {
+                return e.getValue();
+            }
+            e.getValue().cancel(false);
+        }
+        return null;
+    }
+
     public PropertyBags namedQuery(String name, String... params) {
+        if (params.length == 0) {
+            PropertyBags r = prefetchedQuery(name);
+            if (r != null) {
+                return r;
+            }
+        }
+        return runNamedQuery(name, params);
+    }
+
+    private PropertyBags runNamedQuery(String name, String... params) {
         String queryText = queryCatalog.get(name);
         if (queryText == null) {
             LOG.warn("Query [{}] not found in catalog", name);
@@ -369,6 +472,7 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
         // For example for state variables:
         // <md:Model.profile>http://entsoe.eu/CIM/StateVariables/4/1</md:Model.profile>
         // For CIM14 data files we do not have the profile,
+        clearPrefetched();
         Set<String> contextNames = tripleStore.contextNames();
         for (String contextName : contextNames) {
             if (subset.isValidName(contextName)) {
@@ -379,6 +483,7 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
 
     @Override
     public void add(String contextName, String type, PropertyBags objects) {
+        clearPrefetched();
         try {
             tripleStore.add(contextName, cimNamespace + type, objects);
         } catch (TripleStoreException x) {
@@ -417,5 +522,11 @@ public class CgmesModelTripleStore extends AbstractCgmesModel {
     private final TripleStore tripleStore;
     private final QueryCatalog queryCatalog;
 
+    // Results of the queries run in advance, not yet requested, in scheduling order
+    private final Map<String, CompletableFuture<PropertyBags>> prefetched = new LinkedHashMap<>();
+    private final Deque<String> pendingPrefetch = new ArrayDeque<>();
+    private Executor prefetchExecutor;
+    private int maxPrefetchedQueries;
+
     private static final Logger LOG = LoggerFactory.getLogger(CgmesModelTripleStore.class);
 }
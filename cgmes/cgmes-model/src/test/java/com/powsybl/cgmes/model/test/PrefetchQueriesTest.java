@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.powsybl.cgmes.model.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.powsybl.cgmes.model.CgmesModelFactory;
+import com.powsybl.cgmes.model.CgmesNamespace;
+import com.powsybl.cgmes.model.test.cim14.Cim14SmallCasesCatalog;
+import com.powsybl.cgmes.model.triplestore.CgmesModelTripleStore;
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.triplestore.api.PropertyBag;
+import com.powsybl.triplestore.api.PropertyBags;
+import com.powsybl.triplestore.api.TripleStore;
+
+/**
+ * @author Luma Zamarreño <zamarrenolm at aia.es>
+ */
+public class PrefetchQueriesTest {
+
+    @Before
+    public void setUp() {
+        numQueries = new AtomicInteger();
+        cgmes = new CgmesModelTripleStore(CgmesNamespace.CIM_16_NAMESPACE, new CountingTripleStore());
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPrefetch() {
+        cgmes.prefetch(Arrays.asList("substations", "unknownQuery", "voltageLevels", "switches"), executor, 2);
+
+        String threadName = Thread.currentThread().getName();
+        assertNotEquals(threadName, cgmes.substations().get(0).get(THREAD));
+        assertNotEquals(threadName, cgmes.voltageLevels().get(0).get(THREAD));
+        assertNotEquals(threadName, cgmes.switches().get(0).get(THREAD));
+        assertEquals(3, numQueries.get());
+
+        // Results are only prefetched once
+        assertEquals(threadName, cgmes.substations().get(0).get(THREAD));
+        assertEquals(4, numQueries.get());
+    }
+
+    @Test
+    public void testRequestedBeforeItsTurn() {
+        cgmes.prefetch(Arrays.asList("substations", "voltageLevels", "switches"), executor, 1);
+
+        // Switches have not been scheduled yet, so they are evaluated now
+        assertEquals(Thread.currentThread().getName(), cgmes.switches().get(0).get(THREAD));
+        cgmes.substations();
+        cgmes.voltageLevels();
+        assertEquals(3, numQueries.get());
+        cgmes.switches();
+        assertEquals(4, numQueries.get());
+    }
+
+    @Test
+    public void testClearPrefetched() {
+        cgmes.prefetch(Arrays.asList("substations", "voltageLevels"), executor, 1);
+        cgmes.clearPrefetched();
+
+        assertEquals(Thread.currentThread().getName(), cgmes.substations().get(0).get(THREAD));
+        assertEquals(Thread.currentThread().getName(), cgmes.voltageLevels().get(0).get(THREAD));
+    }
+
+    @Test
+    public void testSkippedQueriesReleaseTheirSlots() {
+        cgmes.prefetch(Arrays.asList("substations", "voltageLevels", "switches"), executor, 2);
+
+        // Substations are skipped, switches take their place
+        String threadName = Thread.currentThread().getName();
+        assertNotEquals(threadName, cgmes.voltageLevels().get(0).get(THREAD));
+        assertNotEquals(threadName, cgmes.switches().get(0).get(THREAD));
+        assertEquals(threadName, cgmes.substations().get(0).get(THREAD));
+    }
+
+    @Test
+    public void testPrefetchRdf4j() {
+        testPrefetchWithRealTripleStore("rdf4j", true);
+    }
+
+    @Test
+    public void testPrefetchJena() {
+        testPrefetchWithRealTripleStore("jena", true);
+    }
+
+    @Test
+    public void testNoPrefetchBlazegraph() {
+        // Blazegraph serializes queries, they are not run in advance
+        testPrefetchWithRealTripleStore("blazegraph", false);
+    }
+
+    private void testPrefetchWithRealTripleStore(String impl, boolean prefetched) {
+        CgmesModelTripleStore model = CgmesModelFactory.create(new Cim14SmallCasesCatalog().small1().dataSource(), impl);
+        List<PropertyBags> expected = Arrays.asList(model.substations(), model.voltageLevels(), model.terminals());
+
+        AtomicInteger numTasks = new AtomicInteger();
+        Executor countingExecutor = command -> {
+            numTasks.incrementAndGet();
+            executor.execute(command);
+        };
+        model.prefetch(Arrays.asList("substations", "voltageLevels", "terminals"), countingExecutor, 2);
+
+        assertEquals(expected, Arrays.asList(model.substations(), model.voltageLevels(), model.terminals()));
+        assertEquals(prefetched ? 3 : 0, numTasks.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxPrefetched() {
+        cgmes.prefetch(Collections.singletonList("substations"), executor, 0);
+    }
+
+    private class CountingTripleStore implements TripleStore {
+
+        @Override
+        public void read(String base, String contextName, InputStream is) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void write(DataSource ds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void print(PrintStream out) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void print(Consumer<String> liner) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clear(String contextName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void defineQueryPrefix(String prefix, String namespace) {
+            // Nothing to do
+        }
+
+        @Override
+        public boolean supportsConcurrentQueries() {
+            return true;
+        }
+
+        @Override
+        public PropertyBags query(String query) {
+            numQueries.incrementAndGet();
+            PropertyBag result = new PropertyBag(Collections.singletonList(THREAD));
+            result.put(THREAD, Thread.currentThread().getName());
+            PropertyBags results = new PropertyBags();
+            results.add(result);
+            return results;
+        }
+
+        @Override
+        public void add(String contextName, String type, PropertyBags objects) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<String> contextNames() {
+            return Collections.emptySet();
+        }
+    }
+
+    private CgmesModelTripleStore cgmes;
+    private ExecutorService executor;
+    private AtomicInteger numQueries;
+
+    private static final String THREAD = "thread";
+}
@@ -0,0 +1,410 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.groovy;
+
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.powsybl.commons.config.ModuleConfig;
+import com.powsybl.commons.config.PlatformConfig;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.GroovySystem;
+import groovy.lang.Script;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A cache of compiled Groovy script classes, keyed by a hash of the script content, so that the same script is only
+ * compiled once and then instantiated for each evaluation with its own {@link Binding}.
+ *
+ * Compiled classes can also be stored in a directory, so that they are shared by several processes running the same
+ * scripts, for instance the sub-tasks of a distributed computation. As compiled scripts link to the classes of the
+ * class path, the key also includes a fingerprint of the class path, so that an upgrade does not reuse stale classes.
+ *
+ * The default cache is configured in the {@code groovy-script-cache} module of the platform configuration:
+ * <ul>
+ *     <li>{@code maximum-size}: the maximum number of script classes kept in memory</li>
+ *     <li>{@code directory}: the optional directory where compiled classes are stored</li>
+ * </ul>
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class GroovyScriptCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroovyScriptCache.class);
+
+    private static final String CONFIG_MODULE_NAME = "groovy-script-cache";
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private static final String MAIN_CLASS_FILE_NAME = "main-class";
+
+    private static final String COMPILE_TIME_FILE_NAME = "compile-time";
+
+    private static final com.google.common.base.Supplier<GroovyScriptCache> DEFAULT_CACHE
+            = Suppliers.memoize(() -> load(PlatformConfig.defaultConfig()));
+
+    private static final class CompiledScript {
+
+        private final Class<? extends Script> scriptClass;
+
+        // in nanoseconds
+        private final long compileTime;
+
+        private CompiledScript(Class<? extends Script> scriptClass, long compileTime) {
+            this.scriptClass = Objects.requireNonNull(scriptClass);
+            this.compileTime = compileTime;
+        }
+    }
+
+    private static final class ScriptClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        private ScriptClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = Objects.requireNonNull(classes);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    private final Cache<String, CompiledScript> cache;
+
+    private final Path directory;
+
+    private final com.google.common.base.Supplier<String> classPathFingerprint
+            = Suppliers.memoize(() -> computeClassPathFingerprint(getParentClassLoader()));
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong diskHitCount = new AtomicLong();
+
+    private final AtomicLong compilationCount = new AtomicLong();
+
+    private final AtomicLong compileTime = new AtomicLong();
+
+    private final AtomicLong savedCompileTime = new AtomicLong();
+
+    public static GroovyScriptCache getDefault() {
+        return DEFAULT_CACHE.get();
+    }
+
+    public static GroovyScriptCache load(PlatformConfig platformConfig) {
+        Objects.requireNonNull(platformConfig);
+        Optional<ModuleConfig> config = platformConfig.getOptionalModuleConfig(CONFIG_MODULE_NAME);
+        int maximumSize = config.map(c -> c.getIntProperty("maximum-size", DEFAULT_MAXIMUM_SIZE))
+                                .orElse(DEFAULT_MAXIMUM_SIZE);
+        Path directory = config.flatMap(c -> c.getOptionalPathProperty("directory"))
+                               .orElse(null);
+        return new GroovyScriptCache(maximumSize, directory);
+    }
+
+    public GroovyScriptCache(int maximumSize) {
+        this(maximumSize, null);
+    }
+
+    /**
+     * @param maximumSize the maximum number of script classes kept in memory
+     * @param directory the directory where compiled classes are stored, or {@code null} to only cache them in memory
+     */
+    public GroovyScriptCache(int maximumSize, Path directory) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maximumSize);
+        }
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.directory = directory;
+    }
+
+    private static void putString(Hasher hasher, String str) {
+        hasher.putInt(str.length())
+              .putString(str, StandardCharsets.UTF_8);
+    }
+
+    private static void putClassPathEntry(Hasher hasher, String entry) {
+        putString(hasher, entry);
+        try {
+            Path path = Paths.get(entry);
+            if (Files.exists(path)) {
+                hasher.putLong(Files.size(path))
+                      .putLong(Files.getLastModifiedTime(path).toMillis());
+            }
+        } catch (InvalidPathException | IOException e) {
+            // only the name of the entry is taken into account
+            LOGGER.trace(e.toString(), e);
+        }
+    }
+
+    private static String toClassPathEntry(URL url) {
+        try {
+            return Paths.get(url.toURI()).toString();
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return url.toString();
+        }
+    }
+
+    /**
+     * Hash the entries of the class path with their size and modification time.
+     */
+    static String computeClassPathFingerprint(ClassLoader classLoader) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+            if (cl instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) cl).getURLs()) {
+                    putClassPathEntry(hasher, toClassPathEntry(url));
+                }
+            }
+        }
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            putClassPathEntry(hasher, entry);
+        }
+        return hasher.hash().toString();
+    }
+
+    private String computeKey(GroovyCodeSource codeSource, String configurationId) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String str : Arrays.asList(GroovySystem.getVersion(), classPathFingerprint.get(), configurationId, codeSource.getName(), codeSource.getScriptText())) {
+            putString(hasher, str);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static ClassLoader getParentClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : GroovyScriptCache.class.getClassLoader();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Script> defineClasses(String mainClassName, Map<String, byte[]> classes) {
+        try {
+            return (Class<? extends Script>) new ScriptClassLoader(getParentClassLoader(), classes).loadClass(mainClassName);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CompiledScript compile(GroovyCodeSource codeSource, CompilerConfiguration configuration, Map<String, byte[]> classes) {
+        long start = System.nanoTime();
+        CompilationUnit unit = new CompilationUnit(configuration, null, new GroovyClassLoader(getParentClassLoader(), configuration));
+        unit.addSource(codeSource.getName(), codeSource.getScriptText());
+        unit.compile(Phases.CLASS_GENERATION);
+        for (Object o : unit.getClasses()) {
+            GroovyClass groovyClass = (GroovyClass) o;
+            classes.put(groovyClass.getName(), groovyClass.getBytes());
+        }
+        Class<? extends Script> scriptClass = defineClasses(unit.getFirstClassNode().getName(), classes);
+        return new CompiledScript(scriptClass, System.nanoTime() - start);
+    }
+
+    private CompiledScript read(Path scriptDir) throws IOException {
+        String mainClassName = new String(Files.readAllBytes(scriptDir.resolve(MAIN_CLASS_FILE_NAME)), StandardCharsets.UTF_8);
+        long scriptCompileTime = Long.parseLong(new String(Files.readAllBytes(scriptDir.resolve(COMPILE_TIME_FILE_NAME)), StandardCharsets.UTF_8));
+        Map<String, byte[]> classes = new HashMap<>();
+        try (Stream<Path> files = Files.list(scriptDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(CLASS_FILE_EXTENSION)) {
+                    classes.put(fileName.substring(0, fileName.length() - CLASS_FILE_EXTENSION.length()), Files.readAllBytes(file));
+                }
+            }
+        }
+        return new CompiledScript(defineClasses(mainClassName, classes), scriptCompileTime);
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private void write(Path scriptDir, CompiledScript compiledScript, Map<String, byte[]> classes) throws IOException {
+        // classes are written to a temporary directory which is then atomically renamed, so that another process
+        // never reads a partially written script
+        Files.createDirectories(directory);
+        Path tmpDir = Files.createTempDirectory(directory, scriptDir.getFileName().toString());
+        for (Map.Entry<String, byte[]> e : classes.entrySet()) {
+            Files.write(tmpDir.resolve(e.getKey() + CLASS_FILE_EXTENSION), e.getValue());
+        }
+        Files.write(tmpDir.resolve(MAIN_CLASS_FILE_NAME), compiledScript.scriptClass.getName().getBytes(StandardCharsets.UTF_8));
+        Files.write(tmpDir.resolve(COMPILE_TIME_FILE_NAME), Long.toString(compiledScript.compileTime).getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(tmpDir, scriptDir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // already stored by another process
+            delete(tmpDir);
+        }
+    }
+
+    private CompiledScript load(String key, GroovyCodeSource codeSource, Supplier<CompilerConfiguration> configurationSupplier) {
+        Path scriptDir = directory != null ? directory.resolve(key) : null;
+        if (scriptDir != null && Files.isDirectory(scriptDir)) {
+            try {
+                CompiledScript compiledScript = read(scriptDir);
+                diskHitCount.incrementAndGet();
+                savedCompileTime.addAndGet(compiledScript.compileTime);
+                LOGGER.debug("Script '{}' loaded from {}", codeSource.getName(), scriptDir);
+                return compiledScript;
+            } catch (IOException | UncheckedIOException | IllegalStateException | LinkageError | NumberFormatException e) {
+                LOGGER.warn("Failed to load script '{}' from {}, compiling it again", codeSource.getName(), scriptDir, e);
+            }
+        }
+
+        Map<String, byte[]> classes = new HashMap<>();
+        CompiledScript compiledScript = compile(codeSource, configurationSupplier.get(), classes);
+        compilationCount.incrementAndGet();
+        compileTime.addAndGet(compiledScript.compileTime);
+        LOGGER.debug("Script '{}' compiled in {} ms", codeSource.getName(), TimeUnit.NANOSECONDS.toMillis(compiledScript.compileTime));
+
+        if (scriptDir != null) {
+            try {
+                write(scriptDir, compiledScript, classes);
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.warn("Failed to store script '{}' to {}", codeSource.getName(), scriptDir, e);
+            }
+        }
+
+        return compiledScript;
+    }
+
+    /**
+     * Get the compiled class of a script, compiling it if necessary.
+     *
+     * @param codeSource the script
+     * @param configurationId an id of the compiler configuration, scripts compiled with different configurations have
+     *                        to use different ids
+     * @param configurationSupplier the compiler configuration, only created if the script has to be compiled
+     */
+    public Class<? extends Script> getScriptClass(GroovyCodeSource codeSource, String configurationId,
+                                                  Supplier<CompilerConfiguration> configurationSupplier) {
+        Objects.requireNonNull(codeSource);
+        Objects.requireNonNull(configurationId);
+        Objects.requireNonNull(configurationSupplier);
+
+        String key = computeKey(codeSource, configurationId);
+        boolean[] loaded = new boolean[1];
+        CompiledScript compiledScript;
+        try {
+            compiledScript = cache.get(key, () -> {
+                loaded[0] = true;
+                return load(key, codeSource, configurationSupplier);
+            });
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            // let compilation errors propagate unchanged
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new UncheckedExecutionException(e.getCause());
+        }
+        if (!loaded[0]) {
+            hitCount.incrementAndGet();
+            savedCompileTime.addAndGet(compiledScript.compileTime);
+        }
+        return compiledScript.scriptClass;
+    }
+
+    /**
+     * Create a new instance of a script, bound to {@code binding}.
+     */
+    public Script createScript(GroovyCodeSource codeSource, Binding binding, String configurationId,
+                               Supplier<CompilerConfiguration> configurationSupplier) {
+        Objects.requireNonNull(binding);
+        return InvokerHelper.createScript(getScriptClass(codeSource, configurationId, configurationSupplier), binding);
+    }
+
+    /**
+     * Evaluate a script, the equivalent of {@link groovy.lang.GroovyShell#evaluate(GroovyCodeSource)} without
+     * compiling the script again if it has already been evaluated.
+     */
+    public Object evaluate(GroovyCodeSource codeSource, Binding binding, String configurationId,
+                           Supplier<CompilerConfiguration> configurationSupplier) {
+        return createScript(codeSource, binding, configurationId, configurationSupplier).run();
+    }
+
+    /**
+     * Get the number of scripts found in memory.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of scripts loaded from the directory.
+     */
+    public long getDiskHitCount() {
+        return diskHitCount.get();
+    }
+
+    /**
+     * Get the number of scripts compiled.
+     */
+    public long getCompilationCount() {
+        return compilationCount.get();
+    }
+
+    /**
+     * Get the time spent compiling scripts, in milliseconds.
+     */
+    public long getCompileTime() {
+        return TimeUnit.NANOSECONDS.toMillis(compileTime.get());
+    }
+
+    /**
+     * Get the compilation time saved by the cache, in milliseconds.
+     */
+    public long getSavedCompileTime() {
+        return TimeUnit.NANOSECONDS.toMillis(savedCompileTime.get());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
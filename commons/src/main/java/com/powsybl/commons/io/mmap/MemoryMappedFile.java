@@ -19,6 +19,13 @@ public interface MemoryMappedFile extends AutoCloseable {
 
     ByteBuffer getBuffer(int size) throws IOException;
 
+    /**
+     * If the file is read only, buffers are mapped in read only mode and cannot be modified.
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+
     @Override
     void close() throws IOException;
 
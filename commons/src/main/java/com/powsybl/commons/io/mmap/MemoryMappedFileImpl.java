@@ -21,10 +21,17 @@ public class MemoryMappedFileImpl implements MemoryMappedFile {
 
     private final File file;
 
+    private final boolean readOnly;
+
     private RandomAccessFile raf;
 
     public MemoryMappedFileImpl(File file) {
+        this(file, false);
+    }
+
+    public MemoryMappedFileImpl(File file, boolean readOnly) {
         this.file = Objects.requireNonNull(file);
+        this.readOnly = readOnly;
     }
 
     @Override
@@ -35,9 +42,14 @@ public class MemoryMappedFileImpl implements MemoryMappedFile {
     @Override
     public ByteBuffer getBuffer(int size) throws IOException {
         if (raf == null) {
-            raf = new RandomAccessFile(file, "rw");
+            raf = new RandomAccessFile(file, readOnly ? "r" : "rw");
         }
-        return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return raf.getChannel().map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
     }
 
     @Override
@@ -0,0 +1,595 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.xml;
+
+import com.powsybl.commons.PowsyblException;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A {@link XMLStreamReader} decoding documents written by {@link BinaryXmlStreamWriter}.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class BinaryXmlStreamReader implements XMLStreamReader {
+
+    private static final Location LOCATION = new Location() {
+        @Override
+        public int getLineNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getCharacterOffset() {
+            return -1;
+        }
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            return null;
+        }
+    };
+
+    private static final class Element {
+
+        private final String prefix;
+
+        private final String namespaceUri;
+
+        private final String localName;
+
+        private final String[] namespaces;
+
+        private final String[] attributes;
+
+        private Element(String prefix, String namespaceUri, String localName, String[] namespaces, String[] attributes) {
+            this.prefix = prefix;
+            this.namespaceUri = namespaceUri;
+            this.localName = localName;
+            this.namespaces = namespaces;
+            this.attributes = attributes;
+        }
+    }
+
+    private final InputStream is;
+
+    // input is buffered here rather than with a BufferedInputStream to avoid its synchronized single byte reads
+    private final byte[] input = new byte[8192];
+
+    private int inputPosition = 0;
+
+    private int inputLimit = 0;
+
+    private final List<String> names = new ArrayList<>();
+
+    private byte[] buffer = new byte[256];
+
+    private final Deque<Element> elements = new ArrayDeque<>();
+
+    private int eventType = XMLStreamConstants.START_DOCUMENT;
+
+    private Element element;
+
+    // text of characters, comment and DTD events, data of processing instructions, replacement text of entity references
+    private String text;
+
+    // target of processing instructions, name of entity references
+    private String name;
+
+    public BinaryXmlStreamReader(InputStream is) {
+        this.is = Objects.requireNonNull(is);
+        try {
+            byte[] magic = new byte[BinaryXmlStreamWriter.MAGIC.length];
+            readFully(magic, magic.length);
+            if (!Arrays.equals(magic, BinaryXmlStreamWriter.MAGIC)) {
+                throw new PowsyblException("Not a binary XML stream");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        inputLimit = is.read(input);
+        inputPosition = 0;
+        return inputLimit > 0;
+    }
+
+    private int readByte() throws IOException {
+        if (inputPosition == inputLimit && !fill()) {
+            throw new EOFException();
+        }
+        return input[inputPosition++] & 0xFF;
+    }
+
+    private void readFully(byte[] bytes, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            if (inputPosition == inputLimit && !fill()) {
+                throw new EOFException();
+            }
+            int count = Math.min(length - read, inputLimit - inputPosition);
+            System.arraycopy(input, inputPosition, bytes, read, count);
+            inputPosition += count;
+            read += count;
+        }
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private String readString() throws IOException {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        readFully(buffer, length);
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String readName() throws IOException {
+        int index = readVarInt();
+        switch (index) {
+            case 0:
+                return null;
+            case 1:
+                String name = readString();
+                names.add(name);
+                return name;
+            default:
+                return names.get(index - 2);
+        }
+    }
+
+    private Element readElement() throws IOException {
+        String prefix = readName();
+        String namespaceUri = readName();
+        String localName = readName();
+        String[] namespaces = new String[readVarInt() * 2];
+        for (int i = 0; i < namespaces.length; i++) {
+            namespaces[i] = readName();
+        }
+        String[] attributes = new String[readVarInt() * 4];
+        for (int i = 0; i < attributes.length; i += 4) {
+            attributes[i] = readName();
+            attributes[i + 1] = readName();
+            attributes[i + 2] = readName();
+            attributes[i + 3] = readString();
+        }
+        return new Element(prefix, namespaceUri, localName, namespaces, attributes);
+    }
+
+    private static String getEntityReplacementText(String entityName) {
+        switch (entityName) {
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            default:
+                // entities declared in the DTD are not resolved
+                return null;
+        }
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        if (eventType == XMLStreamConstants.END_DOCUMENT) {
+            throw new NoSuchElementException("End of document reached");
+        }
+        text = null;
+        name = null;
+        try {
+            int token = readByte();
+            switch (token) {
+                case BinaryXmlStreamWriter.START_ELEMENT:
+                    element = readElement();
+                    elements.push(element);
+                    eventType = XMLStreamConstants.START_ELEMENT;
+                    break;
+
+                case BinaryXmlStreamWriter.END_ELEMENT:
+                    element = elements.pop();
+                    eventType = XMLStreamConstants.END_ELEMENT;
+                    break;
+
+                case BinaryXmlStreamWriter.CHARACTERS:
+                    text = readString();
+                    eventType = XMLStreamConstants.CHARACTERS;
+                    break;
+
+                case BinaryXmlStreamWriter.END_DOCUMENT:
+                    element = null;
+                    eventType = XMLStreamConstants.END_DOCUMENT;
+                    break;
+
+                case BinaryXmlStreamWriter.COMMENT:
+                    text = readString();
+                    eventType = XMLStreamConstants.COMMENT;
+                    break;
+
+                case BinaryXmlStreamWriter.PROCESSING_INSTRUCTION:
+                    name = readName();
+                    text = readString();
+                    eventType = XMLStreamConstants.PROCESSING_INSTRUCTION;
+                    break;
+
+                case BinaryXmlStreamWriter.DTD:
+                    text = readString();
+                    eventType = XMLStreamConstants.DTD;
+                    break;
+
+                case BinaryXmlStreamWriter.ENTITY_REFERENCE:
+                    name = readName();
+                    text = getEntityReplacementText(name);
+                    eventType = XMLStreamConstants.ENTITY_REFERENCE;
+                    break;
+
+                default:
+                    throw new XMLStreamException("Unexpected token " + token);
+            }
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+        return eventType;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return eventType != XMLStreamConstants.END_DOCUMENT;
+    }
+
+    @Override
+    public void require(int type, String namespaceURI, String localName) throws XMLStreamException {
+        if (type != eventType
+                || (namespaceURI != null && !namespaceURI.equals(getNamespaceURI()))
+                || (localName != null && !localName.equals(getLocalName()))) {
+            throw new XMLStreamException("Unexpected event " + eventType);
+        }
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        if (eventType != XMLStreamConstants.START_ELEMENT) {
+            throw new XMLStreamException("Current event is not a start element");
+        }
+        StringBuilder builder = new StringBuilder();
+        while (next() != XMLStreamConstants.END_ELEMENT) {
+            if (eventType == XMLStreamConstants.CHARACTERS || eventType == XMLStreamConstants.ENTITY_REFERENCE) {
+                if (text != null) {
+                    builder.append(text);
+                }
+            } else if (eventType != XMLStreamConstants.COMMENT && eventType != XMLStreamConstants.PROCESSING_INSTRUCTION) {
+                throw new XMLStreamException("Element text only is expected");
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        next();
+        while (isWhiteSpace() || eventType == XMLStreamConstants.COMMENT || eventType == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+            next();
+        }
+        if (eventType != XMLStreamConstants.START_ELEMENT && eventType != XMLStreamConstants.END_ELEMENT) {
+            throw new XMLStreamException("Start or end element is expected");
+        }
+        return eventType;
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        // the underlying input stream is owned by the caller
+    }
+
+    private String lookupNamespaceUri(String prefix) {
+        for (Element e : elements) {
+            for (int i = 0; i < e.namespaces.length; i += 2) {
+                if (e.namespaces[i].equals(prefix)) {
+                    return e.namespaces[i + 1];
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getNamespaceURI(String prefix) {
+        return lookupNamespaceUri(prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX);
+    }
+
+    @Override
+    public boolean isStartElement() {
+        return eventType == XMLStreamConstants.START_ELEMENT;
+    }
+
+    @Override
+    public boolean isEndElement() {
+        return eventType == XMLStreamConstants.END_ELEMENT;
+    }
+
+    @Override
+    public boolean isCharacters() {
+        return eventType == XMLStreamConstants.CHARACTERS;
+    }
+
+    @Override
+    public boolean isWhiteSpace() {
+        return isCharacters() && text != null && text.trim().isEmpty();
+    }
+
+    private Element getStartElement() {
+        if (eventType != XMLStreamConstants.START_ELEMENT) {
+            throw new IllegalStateException("Current event is not a start element");
+        }
+        return element;
+    }
+
+    private Element getElement() {
+        if (eventType != XMLStreamConstants.START_ELEMENT && eventType != XMLStreamConstants.END_ELEMENT) {
+            throw new IllegalStateException("Current event is not a start or an end element");
+        }
+        return element;
+    }
+
+    @Override
+    public String getAttributeValue(String namespaceURI, String localName) {
+        String[] attributes = getStartElement().attributes;
+        for (int i = 0; i < attributes.length; i += 4) {
+            if (attributes[i + 2].equals(localName) && (namespaceURI == null || namespaceURI.equals(attributes[i + 1]))) {
+                return attributes[i + 3];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return getStartElement().attributes.length / 4;
+    }
+
+    @Override
+    public QName getAttributeName(int index) {
+        String localName = getAttributeLocalName(index);
+        String namespaceUri = getAttributeNamespace(index);
+        String prefix = getAttributePrefix(index);
+        return new QName(namespaceUri != null ? namespaceUri : XMLConstants.NULL_NS_URI, localName,
+                prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX);
+    }
+
+    @Override
+    public String getAttributeNamespace(int index) {
+        return getStartElement().attributes[index * 4 + 1];
+    }
+
+    @Override
+    public String getAttributeLocalName(int index) {
+        return getStartElement().attributes[index * 4 + 2];
+    }
+
+    @Override
+    public String getAttributePrefix(int index) {
+        return getStartElement().attributes[index * 4];
+    }
+
+    @Override
+    public String getAttributeType(int index) {
+        return "CDATA";
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+        return getStartElement().attributes[index * 4 + 3];
+    }
+
+    @Override
+    public boolean isAttributeSpecified(int index) {
+        return true;
+    }
+
+    @Override
+    public int getNamespaceCount() {
+        return getElement().namespaces.length / 2;
+    }
+
+    @Override
+    public String getNamespacePrefix(int index) {
+        String prefix = getElement().namespaces[index * 2];
+        return prefix.isEmpty() ? null : prefix;
+    }
+
+    @Override
+    public String getNamespaceURI(int index) {
+        return getElement().namespaces[index * 2 + 1];
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return new NamespaceContext() {
+            @Override
+            public String getNamespaceURI(String prefix) {
+                String namespaceUri = lookupNamespaceUri(prefix);
+                return namespaceUri != null ? namespaceUri : XMLConstants.NULL_NS_URI;
+            }
+
+            @Override
+            public String getPrefix(String namespaceURI) {
+                for (Element e : elements) {
+                    for (int i = 0; i < e.namespaces.length; i += 2) {
+                        if (e.namespaces[i + 1].equals(namespaceURI)) {
+                            return e.namespaces[i];
+                        }
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public Iterator getPrefixes(String namespaceURI) {
+                String prefix = getPrefix(namespaceURI);
+                return prefix != null ? Collections.singleton(prefix).iterator() : Collections.emptyIterator();
+            }
+        };
+    }
+
+    @Override
+    public int getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public String getText() {
+        if (!hasText()) {
+            throw new IllegalStateException("Current event has no text");
+        }
+        return text;
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        return getText().toCharArray();
+    }
+
+    @Override
+    public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) throws XMLStreamException {
+        String t = getText();
+        int count = Math.min(length, t.length() - sourceStart);
+        t.getChars(sourceStart, sourceStart + count, target, targetStart);
+        return count;
+    }
+
+    @Override
+    public int getTextStart() {
+        return 0;
+    }
+
+    @Override
+    public int getTextLength() {
+        return getText().length();
+    }
+
+    @Override
+    public String getEncoding() {
+        return null;
+    }
+
+    @Override
+    public boolean hasText() {
+        return eventType == XMLStreamConstants.CHARACTERS
+                || eventType == XMLStreamConstants.COMMENT
+                || eventType == XMLStreamConstants.DTD
+                || eventType == XMLStreamConstants.ENTITY_REFERENCE;
+    }
+
+    @Override
+    public Location getLocation() {
+        return LOCATION;
+    }
+
+    @Override
+    public QName getName() {
+        Element e = getElement();
+        return new QName(e.namespaceUri != null ? e.namespaceUri : XMLConstants.NULL_NS_URI, e.localName,
+                e.prefix != null ? e.prefix : XMLConstants.DEFAULT_NS_PREFIX);
+    }
+
+    @Override
+    public String getLocalName() {
+        if (eventType == XMLStreamConstants.ENTITY_REFERENCE) {
+            return name;
+        }
+        return getElement().localName;
+    }
+
+    @Override
+    public boolean hasName() {
+        return eventType == XMLStreamConstants.START_ELEMENT || eventType == XMLStreamConstants.END_ELEMENT;
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        return getElement().namespaceUri;
+    }
+
+    @Override
+    public String getPrefix() {
+        return getElement().prefix;
+    }
+
+    @Override
+    public String getVersion() {
+        return null;
+    }
+
+    @Override
+    public boolean isStandalone() {
+        return false;
+    }
+
+    @Override
+    public boolean standaloneSet() {
+        return false;
+    }
+
+    @Override
+    public String getCharacterEncodingScheme() {
+        return null;
+    }
+
+    @Override
+    public String getPITarget() {
+        return eventType == XMLStreamConstants.PROCESSING_INSTRUCTION ? name : null;
+    }
+
+    @Override
+    public String getPIData() {
+        return eventType == XMLStreamConstants.PROCESSING_INSTRUCTION ? text : null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return null;
+    }
+}
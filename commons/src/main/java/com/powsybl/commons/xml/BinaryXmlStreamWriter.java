@@ -0,0 +1,421 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.xml;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A {@link XMLStreamWriter} encoding the XML infoset in a compact binary form, to be read by
+ * {@link BinaryXmlStreamReader}.
+ *
+ * Element, attribute, prefix and namespace names are written once and then referenced by their index, values are
+ * written as length prefixed UTF-8 strings. Nothing has to be escaped or compressed, so this encoding is much faster
+ * to write and to read than textual XML and is intended for in-memory snapshots of documents. Comments, processing
+ * instructions, DTD and entity references are kept as events, CDATA sections are written as characters.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class BinaryXmlStreamWriter implements XMLStreamWriter {
+
+    static final byte[] MAGIC = {'P', 'B', 'X', '1'};
+
+    static final byte START_ELEMENT = 1;
+    static final byte END_ELEMENT = 2;
+    static final byte CHARACTERS = 3;
+    static final byte END_DOCUMENT = 4;
+    static final byte COMMENT = 5;
+    static final byte PROCESSING_INSTRUCTION = 6;
+    static final byte DTD = 7;
+    static final byte ENTITY_REFERENCE = 8;
+
+    private final OutputStream os;
+
+    // output is buffered here rather than with a BufferedOutputStream to avoid its synchronized single byte writes
+    private final byte[] output = new byte[8192];
+
+    private int outputPosition = 0;
+
+    private final Map<String, Integer> names = new HashMap<>();
+
+    private final Map<String, String> prefixes = new HashMap<>();
+
+    // bindings not set with setPrefix or setDefaultNamespace are looked up in this context
+    private NamespaceContext rootNamespaceContext;
+
+    private boolean started = false;
+
+    private int depth = 0;
+
+    // the start element is buffered until its attributes and namespaces are known
+    private boolean pendingElement = false;
+    private boolean pendingEmpty;
+    private String pendingPrefix;
+    private String pendingNamespaceUri;
+    private String pendingLocalName;
+    private final List<String> pendingNamespaces = new ArrayList<>();
+    private final List<String> pendingAttributes = new ArrayList<>();
+
+    public BinaryXmlStreamWriter(OutputStream os) {
+        this.os = Objects.requireNonNull(os);
+        try {
+            write(MAGIC, MAGIC.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flushOutput() throws IOException {
+        os.write(output, 0, outputPosition);
+        outputPosition = 0;
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (outputPosition == output.length) {
+            flushOutput();
+        }
+        output[outputPosition++] = (byte) b;
+    }
+
+    private void write(byte[] bytes, int length) throws IOException {
+        if (length > output.length - outputPosition) {
+            flushOutput();
+            if (length > output.length) {
+                os.write(bytes, 0, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, output, outputPosition, length);
+        outputPosition += length;
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        writeByte(v);
+    }
+
+    private void writeName(String name) throws IOException {
+        if (name == null) {
+            writeVarInt(0);
+        } else {
+            Integer index = names.get(name);
+            if (index != null) {
+                writeVarInt(index + 2);
+            } else {
+                names.put(name, names.size());
+                writeVarInt(1);
+                writeString(name);
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            write(bytes, bytes.length);
+        }
+    }
+
+    private void flushPendingElement() throws XMLStreamException {
+        if (!pendingElement) {
+            return;
+        }
+        pendingElement = false;
+        try {
+            writeByte(START_ELEMENT);
+            writeName(pendingPrefix);
+            writeName(pendingNamespaceUri);
+            writeName(pendingLocalName);
+            writeVarInt(pendingNamespaces.size() / 2);
+            for (String name : pendingNamespaces) {
+                writeName(name);
+            }
+            writeVarInt(pendingAttributes.size() / 4);
+            for (int i = 0; i < pendingAttributes.size(); i += 4) {
+                writeName(pendingAttributes.get(i));
+                writeName(pendingAttributes.get(i + 1));
+                writeName(pendingAttributes.get(i + 2));
+                writeString(pendingAttributes.get(i + 3));
+            }
+            if (pendingEmpty) {
+                writeByte(END_ELEMENT);
+            }
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+        pendingNamespaces.clear();
+        pendingAttributes.clear();
+    }
+
+    private void writeEvent(byte event, String name, String value) throws XMLStreamException {
+        flushPendingElement();
+        started = true;
+        try {
+            writeByte(event);
+            if (event == PROCESSING_INSTRUCTION || event == ENTITY_REFERENCE) {
+                writeName(name);
+            }
+            if (event != ENTITY_REFERENCE) {
+                writeString(value);
+            }
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    private void startElement(String prefix, String localName, String namespaceURI, boolean empty) throws XMLStreamException {
+        Objects.requireNonNull(localName);
+        flushPendingElement();
+        started = true;
+        pendingElement = true;
+        pendingEmpty = empty;
+        pendingPrefix = prefix;
+        pendingNamespaceUri = namespaceURI;
+        pendingLocalName = localName;
+        if (!empty) {
+            depth++;
+        }
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        startElement(null, localName, null, false);
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        startElement(getPrefix(namespaceURI), localName, namespaceURI, false);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        startElement(prefix, localName, namespaceURI, false);
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        startElement(getPrefix(namespaceURI), localName, namespaceURI, true);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        startElement(prefix, localName, namespaceURI, true);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        startElement(null, localName, null, true);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        flushPendingElement();
+        if (depth == 0) {
+            throw new XMLStreamException("No element to end");
+        }
+        depth--;
+        try {
+            writeByte(END_ELEMENT);
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        while (depth > 0) {
+            writeEndElement();
+        }
+        flushPendingElement();
+        try {
+            writeByte(END_DOCUMENT);
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        flush();
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        try {
+            flushOutput();
+            os.flush();
+        } catch (IOException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    private void attribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+        if (!pendingElement) {
+            throw new XMLStreamException("Attribute " + localName + " written outside of a start element");
+        }
+        pendingAttributes.add(prefix);
+        pendingAttributes.add(namespaceURI);
+        pendingAttributes.add(Objects.requireNonNull(localName));
+        pendingAttributes.add(value);
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) throws XMLStreamException {
+        attribute(null, null, localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+        attribute(prefix, namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+        attribute(getPrefix(namespaceURI), namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+        if (!pendingElement) {
+            throw new XMLStreamException("Namespace " + namespaceURI + " written outside of a start element");
+        }
+        pendingNamespaces.add(prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX);
+        pendingNamespaces.add(namespaceURI);
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+        writeNamespace(XMLConstants.DEFAULT_NS_PREFIX, namespaceURI);
+    }
+
+    @Override
+    public void writeComment(String data) throws XMLStreamException {
+        writeEvent(COMMENT, null, data);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) throws XMLStreamException {
+        writeEvent(PROCESSING_INSTRUCTION, Objects.requireNonNull(target), null);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+        writeEvent(PROCESSING_INSTRUCTION, Objects.requireNonNull(target), data);
+    }
+
+    @Override
+    public void writeCData(String data) throws XMLStreamException {
+        writeCharacters(data);
+    }
+
+    @Override
+    public void writeDTD(String dtd) throws XMLStreamException {
+        writeEvent(DTD, null, Objects.requireNonNull(dtd));
+    }
+
+    @Override
+    public void writeEntityRef(String name) throws XMLStreamException {
+        writeEvent(ENTITY_REFERENCE, Objects.requireNonNull(name), null);
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        // nothing to write, the header has already been written
+    }
+
+    @Override
+    public void writeStartDocument(String version) throws XMLStreamException {
+        // nothing to write, the header has already been written
+    }
+
+    @Override
+    public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+        // nothing to write, the header has already been written
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        writeEvent(CHARACTERS, null, text);
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        writeCharacters(new String(text, start, len));
+    }
+
+    @Override
+    public String getPrefix(String uri) {
+        String prefix = prefixes.get(uri);
+        if (prefix == null && rootNamespaceContext != null) {
+            prefix = rootNamespaceContext.getPrefix(uri);
+        }
+        return prefix;
+    }
+
+    @Override
+    public void setPrefix(String prefix, String uri) {
+        prefixes.put(uri, prefix);
+    }
+
+    @Override
+    public void setDefaultNamespace(String uri) {
+        prefixes.put(uri, XMLConstants.DEFAULT_NS_PREFIX);
+    }
+
+    /**
+     * Set the root namespace context, which can only be done before the first event of the document.
+     */
+    @Override
+    public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+        if (started) {
+            throw new XMLStreamException("Namespace context can only be set at the start of the document");
+        }
+        rootNamespaceContext = Objects.requireNonNull(context);
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return new NamespaceContext() {
+            @Override
+            public String getNamespaceURI(String prefix) {
+                return prefixes.entrySet().stream()
+                        .filter(e -> e.getValue().equals(prefix))
+                        .map(Map.Entry::getKey)
+                        .findFirst()
+                        .orElseGet(() -> rootNamespaceContext != null ? rootNamespaceContext.getNamespaceURI(prefix) : XMLConstants.NULL_NS_URI);
+            }
+
+            @Override
+            public String getPrefix(String namespaceURI) {
+                return BinaryXmlStreamWriter.this.getPrefix(namespaceURI);
+            }
+
+            @Override
+            public Iterator getPrefixes(String namespaceURI) {
+                String prefix = BinaryXmlStreamWriter.this.getPrefix(namespaceURI);
+                return prefix != null ? Collections.singleton(prefix).iterator() : Collections.emptyIterator();
+            }
+        };
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        throw new IllegalArgumentException("Property " + name + " is not supported");
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.groovy;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.commons.config.InMemoryPlatformConfig;
+import com.powsybl.commons.config.MapModuleConfig;
+import groovy.lang.Binding;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class GroovyScriptCacheTest {
+
+    private static final String CONFIGURATION_ID = "test";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private FileSystem fileSystem;
+
+    @Before
+    public void setUp() {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        fileSystem.close();
+    }
+
+    private static GroovyCodeSource createCodeSource(String script) {
+        return new GroovyCodeSource(script, "script", GroovyShell.DEFAULT_CODE_BASE);
+    }
+
+    private static Object evaluate(GroovyScriptCache cache, String script, int x) {
+        Binding binding = new Binding();
+        binding.setVariable("x", x);
+        return cache.evaluate(createCodeSource(script), binding, CONFIGURATION_ID, CompilerConfiguration::new);
+    }
+
+    @Test
+    public void test() {
+        GroovyScriptCache cache = new GroovyScriptCache(10);
+        String script = "def square = { it * it }\nsquare(x)";
+
+        // each evaluation has its own binding
+        assertEquals(4, evaluate(cache, script, 2));
+        assertEquals(9, evaluate(cache, script, 3));
+        assertEquals(1, cache.getCompilationCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getDiskHitCount());
+
+        // same script with another configuration
+        Class<? extends Script> scriptClass = cache.getScriptClass(createCodeSource(script), CONFIGURATION_ID, CompilerConfiguration::new);
+        assertNotSame(scriptClass, cache.getScriptClass(createCodeSource(script), "other", CompilerConfiguration::new));
+        assertEquals(2, cache.getCompilationCount());
+
+        // another script
+        assertEquals(3, evaluate(cache, "x + 1", 2));
+        assertEquals(3, cache.getCompilationCount());
+
+        cache.invalidateAll();
+        assertEquals(4, evaluate(cache, script, 2));
+        assertEquals(4, cache.getCompilationCount());
+    }
+
+    @Test
+    public void compilationErrorTest() {
+        GroovyScriptCache cache = new GroovyScriptCache(10);
+        try {
+            evaluate(cache, "x +", 1);
+            fail();
+        } catch (CompilationFailedException ignored) {
+        }
+        assertEquals(0, cache.getCompilationCount());
+    }
+
+    @Test
+    public void directoryTest() throws IOException {
+        Path directory = fileSystem.getPath("/cache");
+        String script = "class Point { int x }\nnew Point(x: x).x * 2";
+
+        GroovyScriptCache cache = new GroovyScriptCache(10, directory);
+        assertEquals(4, evaluate(cache, script, 2));
+        assertEquals(1, cache.getCompilationCount());
+        try (Stream<Path> dirs = Files.list(directory)) {
+            assertEquals(1, dirs.count());
+        }
+
+        // a new cache, for instance in another process, reuses the stored classes
+        GroovyScriptCache otherCache = new GroovyScriptCache(10, directory);
+        assertEquals(6, evaluate(otherCache, script, 3));
+        assertEquals(0, otherCache.getCompilationCount());
+        assertEquals(1, otherCache.getDiskHitCount());
+        assertEquals(cache.getCompileTime(), otherCache.getSavedCompileTime());
+    }
+
+    @Test
+    public void loadTest() {
+        InMemoryPlatformConfig platformConfig = new InMemoryPlatformConfig(fileSystem);
+        MapModuleConfig moduleConfig = platformConfig.createModuleConfig("groovy-script-cache");
+        moduleConfig.setStringProperty("maximum-size", "0");
+        moduleConfig.setPathProperty("directory", fileSystem.getPath("/cache"));
+
+        GroovyScriptCache cache = GroovyScriptCache.load(platformConfig);
+        assertEquals(2, evaluate(cache, "x", 2));
+        assertEquals(2, evaluate(cache, "x", 2));
+        // nothing is kept in memory, classes are loaded from the directory
+        assertEquals(1, cache.getCompilationCount());
+        assertEquals(1, cache.getDiskHitCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void classPathFingerprintTest() throws IOException {
+        Path jar = temporaryFolder.newFile("lib.jar").toPath();
+        Files.write(jar, new byte[] {1, 2, 3});
+        String fingerprint;
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+            fingerprint = GroovyScriptCache.computeClassPathFingerprint(classLoader);
+            assertEquals(fingerprint, GroovyScriptCache.computeClassPathFingerprint(classLoader));
+        }
+
+        // an upgraded library changes the fingerprint
+        Files.write(jar, new byte[] {1, 2, 3, 4});
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+            assertNotEquals(fingerprint, GroovyScriptCache.computeClassPathFingerprint(classLoader));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMaximumSizeTest() {
+        new GroovyScriptCache(-1);
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
@@ -25,11 +26,14 @@ public class MemoryMappedFileImplTest {
     @Rule
     public final TemporaryFolder folder = new TemporaryFolder();
 
+    private File file;
+
     private MemoryMappedFile memoryMappedFile;
 
     @Before
     public void setUp() throws IOException {
-        memoryMappedFile = new MemoryMappedFileImpl(folder.newFile());
+        file = folder.newFile();
+        memoryMappedFile = new MemoryMappedFileImpl(file);
     }
 
     @After
@@ -49,4 +53,16 @@ public class MemoryMappedFileImplTest {
         assertEquals(100, buffer.remaining());
     }
 
+    @Test
+    public void getReadOnlyBuffer() throws IOException {
+        memoryMappedFile.getBuffer(100).put(0, (byte) 1);
+        try (MemoryMappedFile readOnlyFile = new MemoryMappedFileImpl(file, true)) {
+            assertTrue(readOnlyFile.isReadOnly());
+            ByteBuffer buffer = readOnlyFile.getBuffer(100);
+            assertTrue(buffer.isReadOnly());
+            assertEquals(1, buffer.get(0));
+        }
+        assertFalse(memoryMappedFile.isReadOnly());
+    }
+
 }
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.commons.xml;
+
+import com.powsybl.commons.PowsyblException;
+import org.junit.Test;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class BinaryXmlStreamTest {
+
+    private static final String NS = "http://www.powsybl.org/test";
+
+    private static final String EXT_NS = "http://www.powsybl.org/test/ext";
+
+    @Test
+    public void writeReadTest() throws XMLStreamException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        XMLStreamWriter writer = new BinaryXmlStreamWriter(os);
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.setPrefix("t", NS);
+        writer.writeStartElement(NS, "root");
+        writer.writeNamespace("t", NS);
+        writer.writeNamespace("e", EXT_NS);
+        writer.writeAttribute("id", "r1");
+        writer.writeComment("comment");
+        for (int i = 0; i < 3; i++) {
+            writer.writeEmptyElement(NS, "item");
+            writer.writeAttribute("id", "i" + i);
+            writer.writeAttribute("value", Double.toString(i / 3.0));
+        }
+        writer.writeStartElement("e", "ext", EXT_NS);
+        writer.writeCharacters("héllo");
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.close();
+
+        XMLStreamReader reader = new BinaryXmlStreamReader(new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(XMLStreamConstants.START_DOCUMENT, reader.getEventType());
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals("root", reader.getLocalName());
+        assertEquals(NS, reader.getNamespaceURI());
+        assertEquals("t", reader.getPrefix());
+        assertEquals(2, reader.getNamespaceCount());
+        assertEquals(EXT_NS, reader.getNamespaceURI("e"));
+        assertEquals("r1", reader.getAttributeValue(null, "id"));
+        assertNull(reader.getAttributeValue(null, "other"));
+        assertEquals(XMLStreamConstants.COMMENT, reader.next());
+        assertEquals("comment", reader.getText());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+            assertEquals("item", reader.getLocalName());
+            assertEquals(2, reader.getAttributeCount());
+            assertEquals("i" + i, reader.getAttributeValue(null, "id"));
+            assertEquals(i / 3.0, XmlUtil.readDoubleAttribute(reader, "value"), 0);
+            assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+            assertEquals("item", reader.getLocalName());
+        }
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals("ext", reader.getLocalName());
+        assertEquals(EXT_NS, reader.getNamespaceURI());
+        assertEquals("héllo", reader.getElementText());
+        assertEquals("ext", reader.getLocalName());
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+        assertEquals("root", reader.getLocalName());
+        assertTrue(reader.hasNext());
+        assertEquals(XMLStreamConstants.END_DOCUMENT, reader.next());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void readUntilEndElementTest() throws XMLStreamException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        XMLStreamWriter writer = new BinaryXmlStreamWriter(os);
+        writer.writeStartElement("a");
+        writer.writeStartElement("b");
+        writer.writeEmptyElement("c");
+        writer.writeEndElement();
+        writer.writeStartElement("d");
+        writer.writeCharacters("text");
+        writer.writeEndDocument();
+        writer.close();
+
+        XMLStreamReader reader = new BinaryXmlStreamReader(new ByteArrayInputStream(os.toByteArray()));
+        reader.next();
+        StringBuilder names = new StringBuilder();
+        XmlUtil.readUntilEndElement("a", reader, () -> names.append(reader.getLocalName()));
+        assertEquals("bcd", names.toString());
+        assertEquals(XMLStreamConstants.END_DOCUMENT, reader.next());
+    }
+
+    @Test
+    public void eventsTest() throws XMLStreamException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        XMLStreamWriter writer = new BinaryXmlStreamWriter(os);
+        writer.writeStartDocument();
+        writer.writeDTD("<!DOCTYPE a>");
+        writer.writeProcessingInstruction("target", "data");
+        writer.writeStartElement("a");
+        writer.writeComment("comment");
+        writer.writeProcessingInstruction("target");
+        writer.writeStartElement("b");
+        writer.writeCharacters("x ");
+        writer.writeEntityRef("amp");
+        writer.writeComment("comment");
+        writer.writeCData(" y");
+        writer.writeEndElement();
+        writer.writeEntityRef("custom");
+        writer.writeEndDocument();
+        writer.close();
+
+        XMLStreamReader reader = new BinaryXmlStreamReader(new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(XMLStreamConstants.DTD, reader.next());
+        assertEquals("<!DOCTYPE a>", reader.getText());
+        assertEquals(XMLStreamConstants.PROCESSING_INSTRUCTION, reader.next());
+        assertEquals("target", reader.getPITarget());
+        assertEquals("data", reader.getPIData());
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals("a", reader.getLocalName());
+
+        // comments and processing instructions are skipped when looking for the next tag or reading an element text
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+        assertEquals("b", reader.getLocalName());
+        assertEquals("x & y", reader.getElementText());
+
+        assertEquals(XMLStreamConstants.ENTITY_REFERENCE, reader.next());
+        assertEquals("custom", reader.getLocalName());
+        assertNull(reader.getText());
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+        assertEquals(XMLStreamConstants.END_DOCUMENT, reader.next());
+    }
+
+    @Test
+    public void namespaceContextTest() throws XMLStreamException {
+        NamespaceContext context = new NamespaceContext() {
+            @Override
+            public String getNamespaceURI(String prefix) {
+                return "t".equals(prefix) ? NS : XMLConstants.NULL_NS_URI;
+            }
+
+            @Override
+            public String getPrefix(String namespaceURI) {
+                return NS.equals(namespaceURI) ? "t" : null;
+            }
+
+            @Override
+            public Iterator getPrefixes(String namespaceURI) {
+                return Collections.emptyIterator();
+            }
+        };
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        XMLStreamWriter writer = new BinaryXmlStreamWriter(os);
+        writer.setNamespaceContext(context);
+        writer.setPrefix("e", EXT_NS);
+        assertEquals("t", writer.getPrefix(NS));
+        assertEquals("e", writer.getPrefix(EXT_NS));
+        assertEquals(NS, writer.getNamespaceContext().getNamespaceURI("t"));
+        assertEquals(EXT_NS, writer.getNamespaceContext().getNamespaceURI("e"));
+        writer.writeStartElement(NS, "root");
+        writer.writeNamespace("t", NS);
+        writer.writeEndDocument();
+        writer.close();
+
+        try {
+            writer.setNamespaceContext(context);
+            fail();
+        } catch (XMLStreamException ignored) {
+        }
+
+        XMLStreamReader reader = new BinaryXmlStreamReader(new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+        assertEquals("t", reader.getPrefix());
+        assertEquals(NS, reader.getNamespaceURI());
+    }
+
+    @Test(expected = PowsyblException.class)
+    public void notBinaryTest() {
+        new BinaryXmlStreamReader(new ByteArrayInputStream("<?xml version=\"1.0\"?>".getBytes()));
+    }
+}
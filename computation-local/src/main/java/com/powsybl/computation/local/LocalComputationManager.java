@@ -7,6 +7,7 @@
 package com.powsybl.computation.local;
 
 import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.config.PlatformConfig;
 import com.powsybl.commons.io.WorkingDirectory;
@@ -25,9 +26,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.IntStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -51,6 +53,8 @@ public class LocalComputationManager implements ComputationManager {
 
     private final Executor threadPools;
 
+    private final ExecutorService executionPool;
+
     private final LocalCommandExecutor localCommandExecutor;
 
     private static final Lock LOCK = new ReentrantLock();
@@ -114,6 +118,10 @@ public class LocalComputationManager implements ComputationManager {
         this.threadPools = Objects.requireNonNull(executor);
         status = new LocalComputationResourcesStatus(config.getAvailableCore());
         permits = new Semaphore(config.getAvailableCore());
+        executionPool = Executors.newFixedThreadPool(config.getAvailableCore(), new ThreadFactoryBuilder()
+                .setNameFormat("local-computation-%d")
+                .setDaemon(true)
+                .build());
         //make sure the localdir exists
         Files.createDirectories(config.getLocalDir());
         commonDir = new WorkingDirectory(config.getLocalDir(), "itools_common_", false);
@@ -143,46 +151,188 @@ public class LocalComputationManager implements ComputationManager {
 
     }
 
+    /**
+     * A node of the execution graph: one execution of a command, or a barrier waiting for all the executions of the
+     * previous commands.
+     */
+    private final class ExecutionNode {
+
+        private final Runnable task;
+
+        private final AtomicInteger pendingDependencies = new AtomicInteger(1);
+
+        private final List<ExecutionNode> dependents = new ArrayList<>();
+
+        private ExecutionNode(Runnable task) {
+            this.task = task;
+        }
+
+        private void dependsOn(ExecutionNode dependency) {
+            pendingDependencies.incrementAndGet();
+            dependency.dependents.add(this);
+        }
+
+        /**
+         * Called once all the dependencies have been added, and then each time a dependency completes.
+         */
+        private void release() {
+            if (pendingDependencies.decrementAndGet() == 0) {
+                if (task != null) {
+                    executionPool.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            complete();
+                        }
+                    });
+                } else {
+                    complete();
+                }
+            }
+        }
+
+        private void complete() {
+            dependents.forEach(ExecutionNode::release);
+        }
+    }
+
+    /**
+     * Execution time statistics of all the executions of a command.
+     */
+    private static final class StageStatistics {
+
+        private long startTime = Long.MAX_VALUE;
+
+        private long endTime = Long.MIN_VALUE;
+
+        private long busyTime = 0;
+
+        private synchronized void add(long executionStartTime, long executionEndTime) {
+            startTime = Math.min(startTime, executionStartTime);
+            endTime = Math.max(endTime, executionEndTime);
+            busyTime += executionEndTime - executionStartTime;
+        }
+    }
+
+    private static Set<String> getOutputFileNames(Command command, int executionIndex) {
+        Set<String> fileNames = new HashSet<>();
+        for (OutputFile file : command.getOutputFiles()) {
+            String fileName = file.getName(executionIndex);
+            fileNames.add(fileName);
+            if (file.getPostProcessor() == FilePostProcessor.FILE_GZIP) {
+                fileNames.add(fileName + ".gz");
+            }
+        }
+        return fileNames;
+    }
+
     private ExecutionReport execute(Path workingDir, List<CommandExecution> commandExecutionList, Map<String, String> variables, ExecutionMonitor monitor)
             throws InterruptedException {
-        // TODO concurrent
-        List<ExecutionError> errors = new ArrayList<>();
-        ExecutorService executionSubmitter = Executors.newCachedThreadPool();
-
+        List<ExecutionError> errors = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        int executionCount = commandExecutionList.stream().mapToInt(CommandExecution::getExecutionCount).sum();
+        CountDownLatch latch = new CountDownLatch(executionCount);
+        List<StageStatistics> statistics = new ArrayList<>(commandExecutionList.size());
+
+        // build the execution graph, each execution depends either on all the executions of the previous commands or,
+        // if pipelined, only on the ones producing its input files
+        List<ExecutionNode> nodes = new ArrayList<>(executionCount);
+        List<ExecutionNode> previousNodes = new ArrayList<>();
+        Map<String, List<ExecutionNode>> producers = new HashMap<>();
         for (CommandExecution commandExecution : commandExecutionList) {
             Command command = commandExecution.getCommand();
-            CountDownLatch latch = new CountDownLatch(commandExecution.getExecutionCount());
-            IntStream.range(0, commandExecution.getExecutionCount()).forEach(idx ->
-                    executionSubmitter.execute(() -> {
-                        try {
+            StageStatistics stageStatistics = new StageStatistics();
+            statistics.add(stageStatistics);
+
+            ExecutionNode barrier = null;
+            if (!commandExecution.isPipelined() && !previousNodes.isEmpty()) {
+                barrier = new ExecutionNode(null);
+                for (ExecutionNode previousNode : previousNodes) {
+                    barrier.dependsOn(previousNode);
+                }
+                nodes.add(barrier);
+            }
+
+            List<ExecutionNode> commandNodes = new ArrayList<>(commandExecution.getExecutionCount());
+            Map<String, List<ExecutionNode>> commandProducers = new HashMap<>();
+            for (int idx = 0; idx < commandExecution.getExecutionCount(); idx++) {
+                int executionIndex = idx;
+                ExecutionNode node = new ExecutionNode(() -> {
+                    try {
+                        if (!cancelled.get()) {
                             enter();
-                            logExecutingCommand(workingDir, command, idx);
-                            preProcess(workingDir, command, idx);
-                            int exitValue = process(workingDir, commandExecution, idx, variables);
-                            postProcess(workingDir, commandExecution, idx, exitValue, errors, monitor);
-                        } catch (Exception e) {
-                            LOGGER.warn(e.getMessage());
-                        } finally {
-                            latch.countDown();
-                            exit();
+                            try {
+                                long startTime = System.currentTimeMillis();
+                                logExecutingCommand(workingDir, command, executionIndex);
+                                preProcess(workingDir, command, executionIndex);
+                                int exitValue = process(workingDir, commandExecution, executionIndex, variables);
+                                postProcess(workingDir, commandExecution, executionIndex, exitValue, errors, monitor);
+                                stageStatistics.add(startTime, System.currentTimeMillis());
+                            } finally {
+                                exit();
+                            }
                         }
-                    })
-            );
-            latch.await();
+                    } catch (InterruptedException e) {
+                        LOGGER.warn(e.getMessage());
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        LOGGER.warn(e.getMessage());
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+                if (barrier != null) {
+                    node.dependsOn(barrier);
+                } else {
+                    command.getInputFiles().stream()
+                            .map(file -> file.getName(executionIndex))
+                            .distinct()
+                            .flatMap(fileName -> producers.getOrDefault(fileName, Collections.emptyList()).stream())
+                            .distinct()
+                            .forEach(node::dependsOn);
+                }
+                for (String fileName : getOutputFileNames(command, executionIndex)) {
+                    commandProducers.computeIfAbsent(fileName, k -> new ArrayList<>()).add(node);
+                }
+                commandNodes.add(node);
+            }
+            commandProducers.forEach((fileName, fileProducers) -> producers.computeIfAbsent(fileName, k -> new ArrayList<>()).addAll(fileProducers));
+            nodes.addAll(commandNodes);
+            previousNodes.addAll(commandNodes);
         }
 
-        // TODO remove duplicated code
-        executionSubmitter.shutdown();
-        if (!executionSubmitter.awaitTermination(20, TimeUnit.SECONDS)) {
-            executionSubmitter.shutdownNow();
-            if (!executionSubmitter.awaitTermination(20, TimeUnit.SECONDS)) {
-                LOGGER.error("Thread pool did not terminate");
-            }
+        // start the executions without any pending dependency
+        nodes.forEach(ExecutionNode::release);
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            // executions not yet started will be skipped
+            cancelled.set(true);
+            throw e;
         }
 
+        logStatistics(commandExecutionList, statistics);
+
         return new DefaultExecutionReport(errors);
     }
 
+    private void logStatistics(List<CommandExecution> commandExecutionList, List<StageStatistics> statistics) {
+        if (LOGGER.isDebugEnabled()) {
+            for (int i = 0; i < commandExecutionList.size(); i++) {
+                CommandExecution commandExecution = commandExecutionList.get(i);
+                StageStatistics stageStatistics = statistics.get(i);
+                if (stageStatistics.endTime >= stageStatistics.startTime) {
+                    long elapsedTime = stageStatistics.endTime - stageStatistics.startTime;
+                    double utilization = elapsedTime > 0 ? (double) stageStatistics.busyTime / (elapsedTime * config.getAvailableCore()) : 1;
+                    LOGGER.debug("Command {}: {} executions in {} ms, busy time {} ms, core utilization {} %",
+                            commandExecution.getCommand().getId(), commandExecution.getExecutionCount(), elapsedTime,
+                            stageStatistics.busyTime, String.format("%.1f", utilization * 100));
+                }
+            }
+        }
+    }
+
     private void logExecutingCommand(Path workingDir, Command command, int executionIndex) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Executing command {} in working directory {}",
@@ -362,6 +512,7 @@ public class LocalComputationManager implements ComputationManager {
 
     @Override
     public void close() {
+        executionPool.shutdownNow();
         try {
             commonDir.close();
         } catch (IOException e) {
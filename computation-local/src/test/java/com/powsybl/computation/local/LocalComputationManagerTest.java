@@ -20,10 +20,13 @@ import java.io.OutputStream;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -215,4 +218,91 @@ public class LocalComputationManagerTest {
         }
     }
 
+    @Test
+    public void testPipelined() throws Exception {
+        // execution 1 of the first command is blocked until execution 0 of the second command has completed, which is
+        // only possible if the second command does not wait for all the executions of the first one
+        CountDownLatch secondCommandLatch = new CountDownLatch(1);
+        List<String> executions = Collections.synchronizedList(new ArrayList<>());
+        // executions run on the executor threads, so failures are checked on the test thread
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        LocalCommandExecutor localCommandExecutor = new AbstractLocalCommandExecutor() {
+            @Override
+            void nonZeroLog(List<String> cmdLs, int exitCode) {
+            }
+
+            @Override
+            public int execute(String program, List<String> args, Path outFile, Path errFile, Path workingDir, Map<String, String> env) throws IOException, InterruptedException {
+                String fileName = args.get(0);
+                switch (program) {
+                    case "prepare":
+                        if (fileName.equals("a1") && !secondCommandLatch.await(10, TimeUnit.SECONDS)) {
+                            failures.add("simulate a0 has not been executed before prepare a1");
+                        }
+                        Files.createFile(workingDir.resolve(fileName));
+                        break;
+
+                    case "simulate":
+                        if (!Files.exists(workingDir.resolve(fileName))) {
+                            failures.add("Input file " + fileName + " of simulate is missing");
+                        }
+                        executions.add(program + " " + fileName);
+                        if (fileName.equals("a0")) {
+                            secondCommandLatch.countDown();
+                        }
+                        return 0;
+
+                    case "report":
+                        if (!Files.exists(workingDir.resolve("a0")) || !Files.exists(workingDir.resolve("a1"))) {
+                            failures.add("Input files of report are missing");
+                        }
+                        break;
+
+                    default:
+                        failures.add("Unexpected program " + program);
+                }
+                executions.add(program + " " + fileName);
+                return 0;
+            }
+        };
+        List<ExecutionError> errors;
+        try (ComputationManager computationManager = new LocalComputationManager(new LocalComputationConfig(localDir, 2), localCommandExecutor, ForkJoinPool.commonPool())) {
+            errors = computationManager.execute(new ExecutionEnvironment(ImmutableMap.of(), PREFIX, false),
+                    new AbstractExecutionHandler<List<ExecutionError>>() {
+                        @Override
+                        public List<CommandExecution> before(Path workingDir) {
+                            Command prepare = new SimpleCommandBuilder()
+                                    .id("prepare")
+                                    .program("prepare")
+                                    .args(executionNumber -> ImmutableList.of("a" + executionNumber))
+                                    .outputFiles(new OutputFile(executionNumber -> "a" + executionNumber, null))
+                                    .build();
+                            Command simulate = new SimpleCommandBuilder()
+                                    .id("simulate")
+                                    .program("simulate")
+                                    .args(executionNumber -> ImmutableList.of("a" + executionNumber))
+                                    .inputFiles(new InputFile(executionNumber -> "a" + executionNumber, null))
+                                    .build();
+                            Command report = new SimpleCommandBuilder()
+                                    .id("report")
+                                    .program("report")
+                                    .args("all")
+                                    .build();
+                            return ImmutableList.of(new CommandExecution(prepare, 2),
+                                                    new CommandExecution(simulate, 2, Integer.MAX_VALUE, null, null, true),
+                                                    new CommandExecution(report, 1));
+                        }
+
+                        @Override
+                        public List<ExecutionError> after(Path workingDir, ExecutionReport report) {
+                            return report.getErrors();
+                        }
+                    }).join();
+        }
+        assertEquals(Collections.emptyList(), failures);
+        assertTrue(errors.isEmpty());
+        assertEquals(5, executions.size());
+        assertTrue(executions.indexOf("simulate a0") < executions.indexOf("prepare a1"));
+        assertEquals("report all", executions.get(4));
+    }
 }
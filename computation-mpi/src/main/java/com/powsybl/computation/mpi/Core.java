@@ -16,6 +16,9 @@ class Core {
 
     int thread;
 
+    // System.nanoTime() of the last release of the core by the job scheduler
+    long releaseTime = 0;
+
     Core(MpiRank rank, int thread) {
         this.rank = rank;
         this.thread = thread;
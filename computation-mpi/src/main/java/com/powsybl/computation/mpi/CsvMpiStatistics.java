@@ -35,6 +35,7 @@ public class CsvMpiStatistics implements MpiStatistics {
     private static final String JOB_START_KEY = "JOB_START";
     private static final String JOB_END_KEY = "JOB_END";
     private static final String TASK_START_KEY = "TASK_START";
+    private static final String TASK_DISPATCH_KEY = "TASK_DISPATCH";
     private static final String TASK_END_KEY = "TASK_END";
 
     private static final String CSV_SEPARATOR = ";";
@@ -75,6 +76,7 @@ public class CsvMpiStatistics implements MpiStatistics {
             final int slaveRank;
             final int slaveThread;
             final long inputMessageSize;
+            Long dispatchLatency;
             Long taskDuration;
             List<Long> commandsDuration;
             Long dataTransferDuration;
@@ -183,6 +185,12 @@ public class CsvMpiStatistics implements MpiStatistics {
                         tasks.put(taskId, new TaskExecution(taskId, jobId, taskIndex, startTime, slaveRank, slaveThread, inputMessageSize));
                         break;
 
+                    case TASK_DISPATCH_KEY:
+                        checkTokenSize(3, tokens.length, line, key);
+                        taskId = Integer.parseInt(tokens[1]);
+                        tasks.get(taskId).dispatchLatency = Long.parseLong(tokens[2]);
+                        break;
+
                     case TASK_END_KEY:
                         checkTokenSize(8, tokens.length, line, key);
                         taskId = Integer.parseInt(tokens[1]);
@@ -319,6 +327,20 @@ public class CsvMpiStatistics implements MpiStatistics {
         }
     }
 
+    @Override
+    public void logTaskDispatch(int taskId, long dispatchLatency) {
+        try {
+            internalWriter.write(TASK_DISPATCH_KEY);
+            internalWriter.write(CSV_SEPARATOR);
+            internalWriter.write(Integer.toString(taskId));
+            internalWriter.write(CSV_SEPARATOR);
+            internalWriter.write(Long.toString(dispatchLatency));
+            internalWriter.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public void logTaskEnd(int taskId, long taskDuration, List<Long> commandsDuration, long dataTransferDuration, long outputMessageSize, long workingDataSize, int exitCode) {
         try {
@@ -488,6 +510,65 @@ public class CsvMpiStatistics implements MpiStatistics {
         }
     }
 
+    private static long percentile(long[] sortedValues, double p) {
+        // nearest-rank method
+        int rank = (int) Math.ceil(p / 100 * sortedValues.length);
+        return sortedValues[Math.max(rank, 1) - 1];
+    }
+
+    private static void writeDispatchLatency(BufferedWriter writer, String id, List<Long> latencies) throws IOException {
+        long[] sortedLatencies = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        writer.write(id + CSV_SEPARATOR
+                + sortedLatencies.length + CSV_SEPARATOR
+                + percentile(sortedLatencies, 50) + CSV_SEPARATOR
+                + percentile(sortedLatencies, 90) + CSV_SEPARATOR
+                + percentile(sortedLatencies, 99) + CSV_SEPARATOR
+                + sortedLatencies[sortedLatencies.length - 1]);
+        writer.newLine();
+    }
+
+    public static void exportDispatchLatency(Path dbDir, String dbName) throws IOException {
+        Objects.requireNonNull(dbDir);
+        Objects.requireNonNull(dbName);
+
+        Path csv = dbDir.resolve(dbName + ".csv");
+
+        Path dispatchLatencyCsv = dbDir.resolve("dispatch-latency.csv");
+        logWritingPath(dispatchLatencyCsv);
+
+        final Map<String, List<Long>> latenciesPerCommandId = new TreeMap<>();
+        final List<Long> allLatencies = new ArrayList<>();
+        try (StatisticsReader reader = new StatisticsReader(csv)) {
+            reader.read(new StatisticsReader.AbstractHandler() {
+
+                @Override
+                public void onTaskEnd(StatisticsReader.TaskExecution task, StatisticsReader.JobExecution job) {
+                    if (task.dispatchLatency != null) {
+                        latenciesPerCommandId.computeIfAbsent(job.commandId, k -> new ArrayList<>()).add(task.dispatchLatency);
+                        allLatencies.add(task.dispatchLatency);
+                    }
+                }
+
+            });
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(dispatchLatencyCsv, StandardCharsets.UTF_8)) {
+            writer.write("Command Id" + CSV_SEPARATOR
+                    + "Tasks" + CSV_SEPARATOR
+                    + "P50 (us)" + CSV_SEPARATOR
+                    + "P90 (us)" + CSV_SEPARATOR
+                    + "P99 (us)" + CSV_SEPARATOR
+                    + "Max (us)");
+            writer.newLine();
+            for (Map.Entry<String, List<Long>> entry : latenciesPerCommandId.entrySet()) {
+                writeDispatchLatency(writer, entry.getKey(), entry.getValue());
+            }
+            if (!allLatencies.isEmpty()) {
+                writeDispatchLatency(writer, "All", allLatencies);
+            }
+        }
+    }
+
     public static void exportBusyCores(Path dbDir, String dbName) throws IOException {
         Objects.requireNonNull(dbDir);
         Objects.requireNonNull(dbName);
@@ -33,6 +33,8 @@ public class MpiJob {
 
     private final Map<String, String> variables;
 
+    private final long submissionTime = System.nanoTime();
+
     private int taskIndex = 0;
 
     private final List<MpiTask> runningTasks = new ArrayList<>();
@@ -78,6 +80,10 @@ public class MpiJob {
         return future;
     }
 
+    long getSubmissionTime() {
+        return submissionTime;
+    }
+
     int getTaskIndex() {
         return taskIndex;
     }
@@ -29,6 +29,7 @@ import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -41,7 +42,10 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MpiJobSchedulerImpl.class);
 
-    private static final int TIMEOUT = 10; // ms
+    // bounds of the interval between two checks of task completion, completion is polled on the native side so the
+    // interval grows while nothing completes and is reset as soon as some work has been done
+    private static final long MIN_POLLING_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_POLLING_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
 
     private static final Map<String, String> ZIP_FS_ENV = ImmutableMap.of("create", "true");
 
@@ -61,6 +65,13 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
 
     private final Lock newJobsLock = new ReentrantLock();
 
+    // to wake up the scheduler on job submission, common file sending or shutdown
+    private final Lock wakeUpLock = new ReentrantLock();
+
+    private final Condition wakeUpCondition = wakeUpLock.newCondition();
+
+    private boolean wakeUpRequested = false;
+
     // active contexts ordered by priority
     private final Set<MpiJob> jobs = new TreeSet<>((c1, c2) -> {
         if (c1.getExecution().getPriority() != c2.getExecution().getPriority()) {
@@ -106,18 +117,11 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
 
                 initialized.countDown();
 
-                long time = System.currentTimeMillis();
+                long pollingInterval = MIN_POLLING_INTERVAL;
 
                 List<MpiTask> completedTasks = new ArrayList<>();
                 while (!stopRequested || !jobs.isEmpty()) {
-                    // check performances
-                    long oldTime = time;
-                    time = System.currentTimeMillis();
-                    long diff = time - oldTime;
-                    if (diff > 1000) { // 1s
-                        LOGGER.warn("Slowness ({} ms) has been detected in the job scheduler (startTasksTime={}, startTasksJniTime={}, processCompletedTasksTime={}, checkTaskCompletionTime={})",
-                                diff, startTasksTime, startTasksJniTime, processCompletedTasksTime, checkTaskCompletionTime);
-                    }
+                    long time = System.currentTimeMillis();
                     startTasksTime = 0;
                     startTasksJniTime = 0;
                     processCompletedTasksTime = 0;
@@ -134,9 +138,24 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
                         newJobsLock.unlock();
                     }
 
-                    // just sleep in the case nothing has been done in the loop
-                    if (processJobs(completedTasks)) {
-                        TimeUnit.MILLISECONDS.sleep(TIMEOUT);
+                    boolean idle = processJobs(completedTasks);
+
+                    // check performances, waiting time excluded
+                    long diff = System.currentTimeMillis() - time;
+                    if (diff > 1000) { // 1s
+                        LOGGER.warn("Slowness ({} ms) has been detected in the job scheduler (startTasksTime={}, startTasksJniTime={}, processCompletedTasksTime={}, checkTaskCompletionTime={})",
+                                diff, startTasksTime, startTasksJniTime, processCompletedTasksTime, checkTaskCompletionTime);
+                    }
+
+                    if (!idle) {
+                        pollingInterval = MIN_POLLING_INTERVAL;
+                    } else if (jobs.isEmpty()) {
+                        // nothing to poll, wait for a new job
+                        waitForWakeUp(Long.MAX_VALUE);
+                    } else {
+                        // nothing has been done in the loop, wait for a new job or the next completion check
+                        waitForWakeUp(pollingInterval);
+                        pollingInterval = Math.min(pollingInterval * 2, MAX_POLLING_INTERVAL);
                     }
                 }
 
@@ -153,6 +172,29 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
         initialized.await();
     }
 
+    private void wakeUp() {
+        wakeUpLock.lock();
+        try {
+            wakeUpRequested = true;
+            wakeUpCondition.signal();
+        } finally {
+            wakeUpLock.unlock();
+        }
+    }
+
+    private void waitForWakeUp(long timeout) throws InterruptedException {
+        wakeUpLock.lock();
+        try {
+            long remaining = timeout;
+            while (!wakeUpRequested && remaining > 0) {
+                remaining = wakeUpCondition.awaitNanos(remaining);
+            }
+            wakeUpRequested = false;
+        } finally {
+            wakeUpLock.unlock();
+        }
+    }
+
     private static Path checkOutputArchive(Path stdOutArchive) throws IOException {
         if (stdOutArchive != null) {
             if (Files.exists(stdOutArchive)) {
@@ -355,13 +397,18 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
         }
     }
 
+    /**
+     * @return true if nothing has been done (no task started nor completed)
+     */
     private boolean processJobs(List<MpiTask> completedTasks) throws IOException {
-        boolean sleep = true;
+        boolean idle = true;
 
         for (Iterator<MpiJob> it = jobs.iterator(); it.hasNext(); ) {
             MpiJob job = it.next();
 
-            sleep = startTasks(job);
+            if (!startTasks(job)) {
+                idle = false;
+            }
 
             long t0 = System.currentTimeMillis();
             try {
@@ -392,11 +439,11 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
                     processCompletedJob(job);
                 }
 
-                sleep = false;
+                idle = false;
             }
         }
 
-        return sleep;
+        return idle;
     }
 
     private boolean startTasks(MpiJob job) throws IOException {
@@ -424,6 +471,7 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
                 }
 
                 DateTime startTime = DateTime.now();
+                long dispatchTime = System.nanoTime();
 
                 // encode task messages
                 int oldTaskIndex = taskIndex;
@@ -442,6 +490,10 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
                             core.thread,
                             message.length);
 
+                    // the task could have been started as soon as the job has been submitted and the core released
+                    long readyTime = Math.max(job.getSubmissionTime(), core.releaseTime);
+                    statistics.logTaskDispatch(task.getId(), TimeUnit.NANOSECONDS.toMicros(Math.max(dispatchTime - readyTime, 0)));
+
                     taskIndex++;
 
                     // update used ranks
@@ -587,6 +639,7 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
         } finally {
             newCommonFileLock.unlock();
         }
+        wakeUp();
     }
 
     private void sendCommonFilesChunks() throws IOException {
@@ -634,6 +687,7 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
         } finally {
             newJobsLock.unlock();
         }
+        wakeUp();
         return report;
     }
 
@@ -645,6 +699,7 @@ class MpiJobSchedulerImpl implements MpiJobScheduler {
             LOGGER.error(e.toString(), e);
         }
         stopRequested = true;
+        wakeUp();
         future.get();
     }
 
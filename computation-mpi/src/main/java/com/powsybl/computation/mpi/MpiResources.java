@@ -82,12 +82,15 @@ class MpiResources {
     }
 
     void releaseCore(Core reservedCore) {
+        reservedCore.releaseTime = System.nanoTime();
         idleCores.returnCore(reservedCore);
         semaphore.release();
         LOGGER.debug("MPI core {} released", reservedCore);
     }
 
     void releaseCores(List<Core> reservedCores) {
+        long releaseTime = System.nanoTime();
+        reservedCores.forEach(core -> core.releaseTime = releaseTime);
         idleCores.returnCores(reservedCores);
         semaphore.release(reservedCores.size());
         LOGGER.debug("MPI cores {} released", reservedCores);
@@ -56,6 +56,17 @@ public interface MpiStatistics extends AutoCloseable {
      */
     void logTaskStart(int taskId, int jobId, int taskIndex, DateTime startTime, int slaveRank, int slaveThread, long inputMessageSize);
 
+    /**
+     * Log a task dispatch.
+     *
+     * @param taskId the task id
+     * @param dispatchLatency time in us between the moment the task could have been started (job submitted and core
+     *                        available) and the moment it has been sent to the slave
+     */
+    default void logTaskDispatch(int taskId, long dispatchLatency) {
+        // nothing to log by default
+    }
+
     /**
      * Log a task end.
      *
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.computation.mpi;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class CsvMpiStatisticsTest {
+
+    private FileSystem fileSystem;
+
+    private Path dbDir;
+
+    @Before
+    public void setUp() throws IOException {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        dbDir = Files.createDirectory(fileSystem.getPath("/db"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        fileSystem.close();
+    }
+
+    @Test
+    public void exportDispatchLatencyTest() throws IOException {
+        DateTime startTime = DateTime.parse("2018-01-01T00:00:00Z");
+        try (MpiStatistics statistics = new CsvMpiStatistics(dbDir, "stats")) {
+            statistics.logJobStart(0, "cmd1", null);
+            for (int i = 0; i < 10; i++) {
+                statistics.logTaskStart(i, 0, i, startTime, 1, 0, 10);
+                statistics.logTaskDispatch(i, (i + 1) * 100L);
+                statistics.logTaskEnd(i, 1000, Collections.singletonList(900L), 100, 10, 0, 0);
+            }
+            statistics.logJobEnd(0);
+            statistics.logJobStart(1, "cmd2", null);
+            statistics.logTaskStart(10, 1, 0, startTime, 1, 0, 10);
+            statistics.logTaskDispatch(10, 50);
+            statistics.logTaskEnd(10, 1000, Collections.singletonList(900L), 100, 10, 0, 0);
+            // a task without dispatch latency is ignored
+            statistics.logTaskStart(11, 1, 1, startTime, 1, 0, 10);
+            statistics.logTaskEnd(11, 1000, Collections.singletonList(900L), 100, 10, 0, 0);
+            statistics.logJobEnd(1);
+        }
+
+        CsvMpiStatistics.exportDispatchLatency(dbDir, "stats");
+
+        List<String> lines = Files.readAllLines(dbDir.resolve("dispatch-latency.csv"), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("Command Id;Tasks;P50 (us);P90 (us);P99 (us);Max (us)",
+                                   "cmd1;10;500;900;1000;1000",
+                                   "cmd2;1;50;50;50;50",
+                                   "All;11;500;900;1000;1000"),
+                     lines);
+    }
+}
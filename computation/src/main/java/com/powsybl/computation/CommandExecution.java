@@ -40,6 +40,8 @@ public class CommandExecution {
 
     private final Map<String, String> overloadedVariables; // variables overloaded for this execution
 
+    private final boolean pipelined;
+
     public CommandExecution(Command command, int executionCount) {
         this(command, executionCount, Integer.MAX_VALUE);
     }
@@ -53,6 +55,15 @@ public class CommandExecution {
     }
 
     public CommandExecution(Command command, int executionCount, int priority, Map<String, String> tags, Map<String, String> overloadedVariables) {
+        this(command, executionCount, priority, tags, overloadedVariables, false);
+    }
+
+    /**
+     * @param pipelined if true, each execution of the command only waits for the executions of the previous commands
+     *                  producing its input files, instead of waiting for all the executions of the previous commands
+     */
+    public CommandExecution(Command command, int executionCount, int priority, Map<String, String> tags, Map<String, String> overloadedVariables,
+                            boolean pipelined) {
         this.command = Objects.requireNonNull(command, "command is null");
         if (executionCount < 1) {
             throw new IllegalArgumentException("execution count must be > 0");
@@ -61,6 +72,7 @@ public class CommandExecution {
         this.priority = priority;
         this.tags = tags;
         this.overloadedVariables = overloadedVariables;
+        this.pipelined = pipelined;
     }
 
     public Command getCommand() {
@@ -82,4 +94,13 @@ public class CommandExecution {
     public Map<String, String> getOverloadedVariables() {
         return overloadedVariables;
     }
+
+    /**
+     * Dependencies of a pipelined command execution are only the executions of previous commands having as output
+     * file one of its input files. All the other files it needs have to be available before the start of the whole
+     * command execution list.
+     */
+    public boolean isPipelined() {
+        return pipelined;
+    }
 }
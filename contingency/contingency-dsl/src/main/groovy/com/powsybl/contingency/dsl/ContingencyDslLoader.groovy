@@ -102,9 +102,7 @@ class ContingencyDslLoader extends DslLoader {
             // set base network
             binding.setVariable("network", network)
 
-            def shell = createShell(binding)
-
-            shell.evaluate(dslSrc)
+            evaluate(binding)
 
             observer?.end()
 
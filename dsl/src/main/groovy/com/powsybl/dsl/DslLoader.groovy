@@ -6,10 +6,13 @@
  */
 package com.powsybl.dsl
 
+import com.powsybl.commons.groovy.GroovyScriptCache
 import org.codehaus.groovy.control.CompilerConfiguration
 import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer
 import org.codehaus.groovy.control.customizers.ImportCustomizer
 
+import java.util.function.Supplier
+
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
@@ -29,12 +32,24 @@ class DslLoader {
         this(new GroovyCodeSource(script, "script", GroovyShell.DEFAULT_CODE_BASE))
     }
 
-    static GroovyShell createShell(Binding binding) {
+    static CompilerConfiguration createCompilerConfiguration() {
         def astCustomizer = new ASTTransformationCustomizer(new PowsyblDslAstTransformation())
         def imports = new ImportCustomizer()
         def config = new CompilerConfiguration()
         config.addCompilationCustomizers(astCustomizer, imports)
-        new GroovyShell(binding, config)
+        config
+    }
+
+    static GroovyShell createShell(Binding binding) {
+        new GroovyShell(binding, createCompilerConfiguration())
+    }
+
+    /**
+     * Evaluate the DSL script, compiled classes are shared by all loaders through the default script cache.
+     */
+    protected Object evaluate(Binding binding) {
+        GroovyScriptCache.getDefault().evaluate(dslSrc, binding, DslLoader.class.getName(),
+                { createCompilerConfiguration() } as Supplier<CompilerConfiguration>)
     }
 
 }
@@ -208,9 +208,7 @@ class ExpressionDslLoader extends DslLoader {
 
             prepareClosures(binding)
 
-            def shell = createShell(binding)
-
-            def value = shell.evaluate(dslSrc)
+            def value = evaluate(binding)
             createExpressionNode(value)
         } catch (CompilationFailedException e) {
             throw new PowsyblException(e.getMessage(), e)
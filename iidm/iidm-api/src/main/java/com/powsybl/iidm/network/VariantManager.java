@@ -8,6 +8,7 @@ package com.powsybl.iidm.network;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.OptionalLong;
 /**
  * This class provides methods to manage variants of the network (create and
  * remove a variant, set the working variant, etc).
@@ -66,6 +67,19 @@ public interface VariantManager {
      */
     void cloneVariant(String sourceVariantId, String targetVariantId);
 
+    /**
+     * Reset an existing variant to the state of another one. This is equivalent to removing the target variant and
+     * cloning it again from the source variant, but implementations may reuse the storage of the target variant.
+     *
+     * @param sourceVariantId the source variant id
+     * @param targetVariantId the id of the variant to reset
+     * @throws com.powsybl.commons.PowsyblException if the source or the target variant is not found
+     */
+    default void resetVariant(String sourceVariantId, String targetVariantId) {
+        removeVariant(targetVariantId);
+        cloneVariant(sourceVariantId, targetVariantId);
+    }
+
     /**
      * Remove a variant.
      *
@@ -88,4 +102,17 @@ public interface VariantManager {
      * simulaneously by different threads.
      */
     boolean isVariantMultiThreadAccessAllowed();
+
+    /**
+     * Get an estimation of the memory, in bytes, of the variant dependent attributes only held by a variant. Depending on
+     * the implementation, attributes of a cloned variant may be shared with its source variant until they are
+     * modified, in which case a freshly cloned variant only holds a small amount of memory.
+     *
+     * @param variantId the id of the variant
+     * @return the estimated memory in bytes, or an empty optional if the implementation does not provide any estimation
+     * @throws com.powsybl.commons.PowsyblException if the variant is not found
+     */
+    default OptionalLong getVariantMemoryUsage(String variantId) {
+        return OptionalLong.empty();
+    }
 }
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class VariantManagerTest {
+
+    private static class VariantManagerMock implements VariantManager {
+
+        @Override
+        public Collection<String> getVariantIds() {
+            return Collections.singletonList(VariantManagerConstants.INITIAL_VARIANT_ID);
+        }
+
+        @Override
+        public String getWorkingVariantId() {
+            return VariantManagerConstants.INITIAL_VARIANT_ID;
+        }
+
+        @Override
+        public void setWorkingVariant(String variantId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cloneVariant(String sourceVariantId, List<String> targetVariantIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cloneVariant(String sourceVariantId, String targetVariantId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeVariant(String variantId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void allowVariantMultiThreadAccess(boolean allow) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isVariantMultiThreadAccessAllowed() {
+            return false;
+        }
+    }
+
+    @Test
+    public void defaultVariantMemoryUsageTest() {
+        // no estimation by default
+        assertFalse(new VariantManagerMock().getVariantMemoryUsage(VariantManagerConstants.INITIAL_VARIANT_ID).isPresent());
+    }
+}
@@ -56,6 +56,15 @@ abstract class AbstractConnectable<I extends Connectable<I>> extends AbstractIde
         getNetwork().getListeners().notifyUpdate(this, attribute, oldValue, newValue);
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        long memory = 0;
+        for (TerminalExt t : terminals) {
+            memory += t.getVariantMemoryUsage(index);
+        }
+        return memory;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         for (TerminalExt t : terminals) {
@@ -23,11 +23,24 @@ abstract class AbstractIdentifiable<I extends Identifiable<I>> extends AbstractE
 
     protected Properties properties;
 
+    /**
+     * Index of this object in the array of objects of the same class of the object store, -1 if not stored.
+     */
+    private int storeIndex = -1;
+
     AbstractIdentifiable(String id, String name) {
         this.id = id;
         this.name = name;
     }
 
+    int getStoreIndex() {
+        return storeIndex;
+    }
+
+    void setStoreIndex(int storeIndex) {
+        this.storeIndex = storeIndex;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -121,6 +121,11 @@ abstract class AbstractTapChanger<H extends TapChangerParent, C extends Abstract
         return (C) this;
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return (long) Integer.BYTES + 1;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         regulating.ensureCapacity(regulating.size() + number);
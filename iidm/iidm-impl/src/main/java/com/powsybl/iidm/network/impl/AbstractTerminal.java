@@ -122,6 +122,11 @@ abstract class AbstractTerminal implements TerminalExt {
         return voltageLevel.disconnect(this);
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return 2L * Double.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         p.ensureCapacity(p.size() + number);
@@ -133,6 +133,12 @@ class BusTerminal extends AbstractTerminal {
         return getClass().getSimpleName() + "[" + getConnectableBusId() + "]";
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        // the connectable bus id string is shared between variants, only its reference is counted
+        return super.getVariantMemoryUsage(index) + 1 + REFERENCE_BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
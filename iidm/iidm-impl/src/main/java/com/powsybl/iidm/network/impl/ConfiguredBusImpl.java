@@ -145,6 +145,12 @@ class ConfiguredBusImpl extends AbstractBus implements ConfiguredBus, MultiVaria
         return scm.getComponent(synchronousComponentNumber.get(network.get().getVariantIndex()));
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        // terminals are shared between variants, only the references of the list of the variant are counted
+        return (long) REFERENCE_BYTES * terminals.get(index).size() + 2L * Double.BYTES + 2L * Integer.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         terminals.ensureCapacity(terminals.size() + number);
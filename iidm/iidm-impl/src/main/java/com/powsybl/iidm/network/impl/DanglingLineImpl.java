@@ -172,6 +172,11 @@ class DanglingLineImpl extends AbstractConnectable<DanglingLine> implements Dang
         return new CurrentLimitsAdderImpl<>(null, this);
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return super.getVariantMemoryUsage(index) + 2L * Double.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
@@ -6,10 +6,8 @@
  */
 package com.powsybl.iidm.network.impl;
 
-import com.powsybl.commons.util.trove.TBooleanArrayList;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 /**
  *
@@ -29,15 +27,19 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
 
     private TerminalExt regulatingTerminal;
 
-    // attributes depending on the variant
+    // attributes depending on the variant, stored in the generators variant columns
 
-    private final TBooleanArrayList voltageRegulatorOn;
+    private static final int TARGET_P = 0;
 
-    private final TDoubleArrayList targetP;
+    private static final int TARGET_Q = 1;
 
-    private final TDoubleArrayList targetQ;
+    private static final int TARGET_V = 2;
 
-    private final TDoubleArrayList targetV;
+    private static final int VOLTAGE_REGULATOR_ON = 0;
+
+    private VariantColumns columns;
+
+    private int slot;
 
     GeneratorImpl(Ref<? extends VariantManagerHolder> ref,
                   String id, String name, EnergySource energySource,
@@ -52,17 +54,25 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
         reactiveLimits = new MinMaxReactiveLimitsImpl(-Double.MAX_VALUE, Double.MAX_VALUE);
         this.regulatingTerminal = regulatingTerminal;
         this.ratedS = ratedS;
-        int variantArraySize = ref.get().getVariantManager().getVariantArraySize();
-        this.voltageRegulatorOn = new TBooleanArrayList(variantArraySize);
-        this.targetP = new TDoubleArrayList(variantArraySize);
-        this.targetQ = new TDoubleArrayList(variantArraySize);
-        this.targetV = new TDoubleArrayList(variantArraySize);
-        for (int i = 0; i < variantArraySize; i++) {
-            this.voltageRegulatorOn.add(voltageRegulatorOn);
-            this.targetP.add(targetP);
-            this.targetQ.add(targetQ);
-            this.targetV.add(targetV);
-        }
+        columns = getColumns(ref.get().getVariantManager());
+        slot = columns.allocateSlot();
+        columns.fillBoolean(VOLTAGE_REGULATOR_ON, slot, voltageRegulatorOn);
+        columns.fillDouble(TARGET_P, slot, targetP);
+        columns.fillDouble(TARGET_Q, slot, targetQ);
+        columns.fillDouble(TARGET_V, slot, targetV);
+    }
+
+    static VariantColumns getColumns(VariantManagerImpl variantManager) {
+        return variantManager.getColumns(GeneratorImpl.class, 3, 1);
+    }
+
+    /**
+     * Called on network merge, when the variant columns of the merged network have been appended to the ones of
+     * this network.
+     */
+    void moveToColumns(VariantColumns columns, int slotOffset) {
+        this.columns = columns;
+        slot += slotOffset;
     }
 
     @Override
@@ -121,14 +131,15 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
 
     @Override
     public boolean isVoltageRegulatorOn() {
-        return voltageRegulatorOn.get(getNetwork().getVariantIndex());
+        return columns.getBoolean(VOLTAGE_REGULATOR_ON, getNetwork().getVariantIndex(), slot);
     }
 
     @Override
     public GeneratorImpl setVoltageRegulatorOn(boolean voltageRegulatorOn) {
         int variantIndex = getNetwork().getVariantIndex();
-        ValidationUtil.checkVoltageControl(this, voltageRegulatorOn, targetV.get(variantIndex), targetQ.get(variantIndex));
-        boolean oldValue = this.voltageRegulatorOn.set(variantIndex, voltageRegulatorOn);
+        ValidationUtil.checkVoltageControl(this, voltageRegulatorOn, columns.getDouble(TARGET_V, variantIndex, slot),
+                columns.getDouble(TARGET_Q, variantIndex, slot));
+        boolean oldValue = columns.setBoolean(VOLTAGE_REGULATOR_ON, variantIndex, slot, voltageRegulatorOn);
         notifyUpdate("voltageRegulatorOn", oldValue, voltageRegulatorOn);
         return this;
     }
@@ -147,41 +158,43 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
 
     @Override
     public double getTargetP() {
-        return targetP.get(getNetwork().getVariantIndex());
+        return columns.getDouble(TARGET_P, getNetwork().getVariantIndex(), slot);
     }
 
     @Override
     public GeneratorImpl setTargetP(double targetP) {
         ValidationUtil.checkActivePowerSetpoint(this, targetP);
-        double oldValue = this.targetP.set(getNetwork().getVariantIndex(), targetP);
+        double oldValue = columns.setDouble(TARGET_P, getNetwork().getVariantIndex(), slot, targetP);
         notifyUpdate("targetP", oldValue, targetP);
         return this;
     }
 
     @Override
     public double getTargetQ() {
-        return targetQ.get(getNetwork().getVariantIndex());
+        return columns.getDouble(TARGET_Q, getNetwork().getVariantIndex(), slot);
     }
 
     @Override
     public GeneratorImpl setTargetQ(double targetQ) {
         int variantIndex = getNetwork().getVariantIndex();
-        ValidationUtil.checkVoltageControl(this, voltageRegulatorOn.get(variantIndex), targetV.get(variantIndex), targetQ);
-        double oldValue = this.targetQ.set(variantIndex, targetQ);
+        ValidationUtil.checkVoltageControl(this, columns.getBoolean(VOLTAGE_REGULATOR_ON, variantIndex, slot),
+                columns.getDouble(TARGET_V, variantIndex, slot), targetQ);
+        double oldValue = columns.setDouble(TARGET_Q, variantIndex, slot, targetQ);
         notifyUpdate("targetQ", oldValue, targetQ);
         return this;
     }
 
     @Override
     public double getTargetV() {
-        return this.targetV.get(getNetwork().getVariantIndex());
+        return columns.getDouble(TARGET_V, getNetwork().getVariantIndex(), slot);
     }
 
     @Override
     public GeneratorImpl setTargetV(double targetV) {
         int variantIndex = getNetwork().getVariantIndex();
-        ValidationUtil.checkVoltageControl(this, voltageRegulatorOn.get(variantIndex), targetV, targetQ.get(variantIndex));
-        double oldValue = this.targetV.set(variantIndex, targetV);
+        ValidationUtil.checkVoltageControl(this, columns.getBoolean(VOLTAGE_REGULATOR_ON, variantIndex, slot),
+                targetV, columns.getDouble(TARGET_Q, variantIndex, slot));
+        double oldValue = columns.setDouble(TARGET_V, variantIndex, slot, targetV);
         notifyUpdate("targetV", oldValue, targetV);
         return this;
     }
@@ -234,44 +247,9 @@ class GeneratorImpl extends AbstractConnectable<Generator> implements Generator,
     }
 
     @Override
-    public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
-        super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
-        voltageRegulatorOn.ensureCapacity(voltageRegulatorOn.size() + number);
-        targetP.ensureCapacity(targetP.size() + number);
-        targetQ.ensureCapacity(targetQ.size() + number);
-        targetV.ensureCapacity(targetV.size() + number);
-        for (int i = 0; i < number; i++) {
-            voltageRegulatorOn.add(voltageRegulatorOn.get(sourceIndex));
-            targetP.add(targetP.get(sourceIndex));
-            targetQ.add(targetQ.get(sourceIndex));
-            targetV.add(targetV.get(sourceIndex));
-        }
-    }
-
-    @Override
-    public void reduceVariantArraySize(int number) {
-        super.reduceVariantArraySize(number);
-        voltageRegulatorOn.remove(voltageRegulatorOn.size() - number, number);
-        targetP.remove(targetP.size() - number, number);
-        targetQ.remove(targetQ.size() - number, number);
-        targetV.remove(targetV.size() - number, number);
-    }
-
-    @Override
-    public void deleteVariantArrayElement(int index) {
-        super.deleteVariantArrayElement(index);
-        // nothing to do
-    }
-
-    @Override
-    public void allocateVariantArrayElement(int[] indexes, int sourceIndex) {
-        super.allocateVariantArrayElement(indexes, sourceIndex);
-        for (int index : indexes) {
-            voltageRegulatorOn.set(index, voltageRegulatorOn.get(sourceIndex));
-            targetP.set(index, targetP.get(sourceIndex));
-            targetQ.set(index, targetQ.get(sourceIndex));
-            targetV.set(index, targetV.get(sourceIndex));
-        }
+    public void remove() {
+        super.remove();
+        columns.releaseSlot(slot);
     }
 
     @Override
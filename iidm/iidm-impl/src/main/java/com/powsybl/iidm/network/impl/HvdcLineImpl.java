@@ -155,6 +155,11 @@ class HvdcLineImpl extends AbstractIdentifiable<HvdcLine> implements HvdcLine, M
         return converterStation2;
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return 1L + Double.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         convertersMode.ensureCapacity(convertersMode.size() + number);
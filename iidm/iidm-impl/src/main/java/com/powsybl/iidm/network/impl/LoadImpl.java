@@ -10,7 +10,6 @@ import com.powsybl.iidm.network.ConnectableType;
 import com.powsybl.iidm.network.Load;
 import com.powsybl.iidm.network.LoadType;
 import com.powsybl.iidm.network.impl.util.Ref;
-import gnu.trove.list.array.TDoubleArrayList;
 
 /**
  *
@@ -22,24 +21,38 @@ class LoadImpl extends AbstractConnectable<Load> implements Load {
 
     private LoadType loadType;
 
-    // attributes depending on the variant
+    // attributes depending on the variant, stored in the loads variant columns
 
-    private final TDoubleArrayList p0;
+    private static final int P0 = 0;
 
-    private final TDoubleArrayList q0;
+    private static final int Q0 = 1;
+
+    private VariantColumns columns;
+
+    private int slot;
 
     LoadImpl(Ref<? extends VariantManagerHolder> network,
              String id, String name, LoadType loadType, double p0, double q0) {
         super(id, name);
         this.network = network;
         this.loadType = loadType;
-        int variantArraySize = network.get().getVariantManager().getVariantArraySize();
-        this.p0 = new TDoubleArrayList(variantArraySize);
-        this.q0 = new TDoubleArrayList(variantArraySize);
-        for (int i = 0; i < variantArraySize; i++) {
-            this.p0.add(p0);
-            this.q0.add(q0);
-        }
+        columns = getColumns(network.get().getVariantManager());
+        slot = columns.allocateSlot();
+        columns.fillDouble(P0, slot, p0);
+        columns.fillDouble(Q0, slot, q0);
+    }
+
+    static VariantColumns getColumns(VariantManagerImpl variantManager) {
+        return variantManager.getColumns(LoadImpl.class, 2, 0);
+    }
+
+    /**
+     * Called on network merge, when the variant columns of the merged network have been appended to the ones of
+     * this network.
+     */
+    void moveToColumns(VariantColumns columns, int slotOffset) {
+        this.columns = columns;
+        slot += slotOffset;
     }
 
     @Override
@@ -73,61 +86,34 @@ class LoadImpl extends AbstractConnectable<Load> implements Load {
 
     @Override
     public double getP0() {
-        return p0.get(network.get().getVariantIndex());
+        return columns.getDouble(P0, network.get().getVariantIndex(), slot);
     }
 
     @Override
     public LoadImpl setP0(double p0) {
         ValidationUtil.checkP0(this, p0);
-        double oldValue = this.p0.set(network.get().getVariantIndex(), p0);
+        double oldValue = columns.setDouble(P0, network.get().getVariantIndex(), slot, p0);
         notifyUpdate("p0", oldValue, p0);
         return this;
     }
 
     @Override
     public double getQ0() {
-        return q0.get(network.get().getVariantIndex());
+        return columns.getDouble(Q0, network.get().getVariantIndex(), slot);
     }
 
     @Override
     public LoadImpl setQ0(double q0) {
         ValidationUtil.checkQ0(this, q0);
-        double oldValue = this.q0.set(network.get().getVariantIndex(), q0);
+        double oldValue = columns.setDouble(Q0, network.get().getVariantIndex(), slot, q0);
         notifyUpdate("q0", oldValue, q0);
         return this;
     }
 
     @Override
-    public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
-        super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
-        p0.ensureCapacity(p0.size() + number);
-        q0.ensureCapacity(q0.size() + number);
-        for (int i = 0; i < number; i++) {
-            p0.add(p0.get(sourceIndex));
-            q0.add(q0.get(sourceIndex));
-        }
-    }
-
-    @Override
-    public void reduceVariantArraySize(int number) {
-        super.reduceVariantArraySize(number);
-        p0.remove(p0.size() - number, number);
-        q0.remove(q0.size() - number, number);
-    }
-
-    @Override
-    public void deleteVariantArrayElement(int index) {
-        super.deleteVariantArrayElement(index);
-        // nothing to do
-    }
-
-    @Override
-    public void allocateVariantArrayElement(int[] indexes, int sourceIndex) {
-        super.allocateVariantArrayElement(indexes, sourceIndex);
-        for (int index : indexes) {
-            p0.set(index, p0.get(sourceIndex));
-            q0.set(index, q0.get(sourceIndex));
-        }
+    public void remove() {
+        super.remove();
+        columns.releaseSlot(slot);
     }
 
 }
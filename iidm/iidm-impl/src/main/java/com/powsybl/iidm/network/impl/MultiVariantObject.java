@@ -18,6 +18,11 @@ package com.powsybl.iidm.network.impl;
  */
 interface MultiVariantObject {
 
+    /**
+     * Estimated size in bytes of an object reference, used for memory usage estimations.
+     */
+    int REFERENCE_BYTES = 8;
+
     /**
      * Called to extend the variant array.
      *
@@ -48,4 +53,14 @@ interface MultiVariantObject {
      * @param sourceIndex
      */
     void allocateVariantArrayElement(int[] indexes, int sourceIndex);
+
+    /**
+     * Estimate the memory in bytes of the attributes of a variant that are not shared with other variants. The
+     * default implementation is for objects that only keep computation caches per variant, which are not counted.
+     *
+     * @param index the index of the variant
+     */
+    default long getVariantMemoryUsage(int index) {
+        return 0;
+    }
 }
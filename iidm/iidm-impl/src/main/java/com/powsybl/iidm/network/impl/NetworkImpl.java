@@ -846,6 +846,9 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
             mergeDanglingLines(lines, dl1, dl2);
         }
 
+        // move variant dependent attributes of the other network objects to this network columns
+        mergeVariantColumns(otherNetwork);
+
         // do not forget to remove the other network from its store!!!
         otherNetwork.objectStore.remove(otherNetwork);
 
@@ -874,6 +877,19 @@ class NetworkImpl extends AbstractIdentifiable<Network> implements Network, Vari
         LOGGER.info("Merging of {} done in {} ms", id, System.currentTimeMillis() - start);
     }
 
+    private void mergeVariantColumns(NetworkImpl otherNetwork) {
+        VariantColumns loadColumns = LoadImpl.getColumns(variantManager);
+        int loadSlotOffset = loadColumns.append(LoadImpl.getColumns(otherNetwork.variantManager));
+        for (LoadImpl load : otherNetwork.objectStore.getAll(LoadImpl.class)) {
+            load.moveToColumns(loadColumns, loadSlotOffset);
+        }
+        VariantColumns generatorColumns = GeneratorImpl.getColumns(variantManager);
+        int generatorSlotOffset = generatorColumns.append(GeneratorImpl.getColumns(otherNetwork.variantManager));
+        for (GeneratorImpl generator : otherNetwork.objectStore.getAll(GeneratorImpl.class)) {
+            generator.moveToColumns(generatorColumns, generatorSlotOffset);
+        }
+    }
+
     private DanglingLine getDanglingLineByTheOther(DanglingLine dl2, Map<String, DanglingLine> dl1byXnodeCode) {
         DanglingLine dl1 = getDanglingLine(dl2.getId());
         if (dl1 == null) {
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.*;
+
+import java.util.Objects;
+
+/**
+ * Dense integer indexes of the equipments of a network, for hot loops that would otherwise look up equipments by id.
+ * <p>
+ * Each equipment type has its own index space, from 0 to the index limit (exclusive) of the type. Indexes of removed
+ * equipments are empty, and indexes of a type are only stable as long as no equipment of this type is removed.
+ *
+ * <pre>
+ * NetworkIndexes indexes = NetworkIndexes.of(network);
+ * for (int i = 0; i < indexes.getGeneratorIndexLimit(); i++) {
+ *     Generator generator = indexes.getGeneratorByIndex(i);
+ *     if (generator != null) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class NetworkIndexes {
+
+    private final ObjectStore objectStore;
+
+    private final ObjectStore.IndexedObjects<GeneratorImpl> generators;
+
+    private final ObjectStore.IndexedObjects<LoadImpl> loads;
+
+    private final ObjectStore.IndexedObjects<LineImpl> lines;
+
+    private final ObjectStore.IndexedObjects<TwoWindingsTransformerImpl> twoWindingsTransformers;
+
+    private NetworkIndexes(NetworkImpl network) {
+        objectStore = network.getObjectStore();
+        generators = objectStore.getIndexedObjects(GeneratorImpl.class);
+        loads = objectStore.getIndexedObjects(LoadImpl.class);
+        lines = objectStore.getIndexedObjects(LineImpl.class);
+        twoWindingsTransformers = objectStore.getIndexedObjects(TwoWindingsTransformerImpl.class);
+    }
+
+    public static NetworkIndexes of(Network network) {
+        Objects.requireNonNull(network);
+        if (!(network instanceof NetworkImpl)) {
+            throw new IllegalArgumentException("Network implementation " + network.getClass().getName() + " is not supported");
+        }
+        return new NetworkIndexes((NetworkImpl) network);
+    }
+
+    /**
+     * Get the index of an identifiable in the index space of its type.
+     *
+     * @return the index, or -1 if the identifiable does not belong to this network
+     */
+    public int getIndex(Identifiable<?> identifiable) {
+        Objects.requireNonNull(identifiable);
+        return objectStore.getIndex(identifiable);
+    }
+
+    public int getGeneratorIndexLimit() {
+        return generators.getIndexLimit();
+    }
+
+    public Generator getGeneratorByIndex(int index) {
+        return generators.get(index);
+    }
+
+    public int getLoadIndexLimit() {
+        return loads.getIndexLimit();
+    }
+
+    public Load getLoadByIndex(int index) {
+        return loads.get(index);
+    }
+
+    /**
+     * Tie lines have their own index space and are not indexed as lines.
+     */
+    public int getLineIndexLimit() {
+        return lines.getIndexLimit();
+    }
+
+    public Line getLineByIndex(int index) {
+        return lines.get(index);
+    }
+
+    public int getTwoWindingsTransformerIndexLimit() {
+        return twoWindingsTransformers.getIndexLimit();
+    }
+
+    public TwoWindingsTransformer getTwoWindingsTransformerByIndex(int index) {
+        return twoWindingsTransformers.get(index);
+    }
+}
@@ -349,6 +349,10 @@ class NodeBreakerVoltageLevel extends AbstractVoltageLevel {
             LOGGER.trace("Found buses {}", id2bus.values());
         }
 
+        boolean isCacheValid() {
+            return busCache != null;
+        }
+
         protected void invalidateCache() {
             // detach buses
             if (busCache != null) {
@@ -554,6 +558,53 @@ class NodeBreakerVoltageLevel extends AbstractVoltageLevel {
         getNetwork().getConnectedComponentsManager().invalidate();
     }
 
+    @Override
+    public void invalidateCache(SwitchImpl changedSwitch, boolean wasOpen, boolean wasRetained) {
+        Integer edge = switches.get(changedSwitch.getId());
+        if (edge == null) {
+            invalidateCache();
+            return;
+        }
+        VariantImpl variant = variants.get();
+        boolean busCacheValid = variant.calculatedBusTopology.isCacheValid();
+        boolean busBreakerCacheValid = variant.calculatedBusBreakerTopology.isCacheValid();
+        if (!busCacheValid && !busBreakerCacheValid) {
+            // nothing to invalidate, connected components have been invalidated with the bus topology
+            return;
+        }
+        // a calculated topology is only modified if the switch has changed from a traversable edge to a boundary (or
+        // the opposite) and if its nodes are not connected by another path, which is only checked for a valid cache
+        boolean busTopologyModified = busCacheValid
+                && wasOpen != changedSwitch.isOpen()
+                && !areConnectedWithoutEdge(edge, Switch::isOpen);
+        boolean busBreakerTopologyModified = busBreakerCacheValid
+                && (wasOpen || wasRetained) != (changedSwitch.isOpen() || changedSwitch.isRetained())
+                && !areConnectedWithoutEdge(edge, sw -> sw.isOpen() || sw.isRetained());
+        if (busBreakerTopologyModified) {
+            variant.calculatedBusBreakerTopology.invalidateCache();
+        }
+        if (busTopologyModified) {
+            variant.calculatedBusTopology.invalidateCache();
+        }
+        if (busTopologyModified || busBreakerTopologyModified) {
+            getNetwork().getConnectedComponentsManager().invalidate();
+        }
+    }
+
+    private boolean areConnectedWithoutEdge(int edge, Predicate<SwitchImpl> terminate) {
+        int node1 = graph.getEdgeVertex1(edge);
+        int node2 = graph.getEdgeVertex2(edge);
+        boolean[] encountered = new boolean[graph.getMaxVertex()];
+        graph.traverse(node1, (n1, e, n2) -> {
+            SwitchImpl aSwitch = graph.getEdgeObject(e);
+            if (e == edge || (aSwitch != null && terminate.apply(aSwitch))) {
+                return TraverseResult.TERMINATE;
+            }
+            return TraverseResult.CONTINUE;
+        }, encountered);
+        return encountered[node2];
+    }
+
     private Integer getEdge(String switchId, boolean throwException) {
         Integer edge = switches.get(switchId);
         if (throwException && edge == null) {
@@ -160,6 +160,11 @@ class NodeTerminal extends AbstractTerminal {
         ((NodeBreakerVoltageLevel) voltageLevel).traverse(this, traverser);
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return super.getVariantMemoryUsage(index) + 2L * Double.BYTES + 2L * Integer.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
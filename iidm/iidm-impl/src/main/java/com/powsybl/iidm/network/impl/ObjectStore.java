@@ -24,9 +24,166 @@ class ObjectStore {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectStore.class);
 
+    /**
+     * Objects of a concrete class, accessed by their index.
+     */
+    interface IndexedObjects<T> {
+
+        /**
+         * @return the object at this index, or null if there is no object at this index
+         */
+        T get(int index);
+
+        /**
+         * Get the upper bound (exclusive) of the indexes. Some indexes lower than this bound can be empty when
+         * objects have been removed.
+         */
+        int getIndexLimit();
+    }
+
+    /**
+     * Removed objects leave an empty slot in their class array, slots are compacted when there are more empty slots
+     * than this threshold and than objects.
+     */
+    private static final int COMPACTION_THRESHOLD = 16;
+
+    /**
+     * Objects of a same class, stored in insertion order in a dense array so that iteration and index based lookups
+     * are fast and memory efficient. The index of each object in the array is kept by the object itself, other
+     * implementations of {@link Identifiable} are searched in the array.
+     */
+    private static final class ClassObjects extends AbstractSet<Identifiable<?>> implements IndexedObjects<Identifiable<?>> {
+
+        private Identifiable<?>[] objects = new Identifiable<?>[8];
+
+        private int end = 0;
+
+        private int size = 0;
+
+        private int modCount = 0;
+
+        private void append(Identifiable<?> obj) {
+            if (end == objects.length) {
+                objects = Arrays.copyOf(objects, objects.length * 2);
+            }
+            objects[end] = obj;
+            setIndex(obj, end);
+            end++;
+            size++;
+            modCount++;
+        }
+
+        private void remove(int index) {
+            setIndex(objects[index], -1);
+            objects[index] = null;
+            size--;
+            modCount++;
+            if (end - size > COMPACTION_THRESHOLD && end - size > size) {
+                compact();
+            }
+        }
+
+        private void compact() {
+            int j = 0;
+            for (int i = 0; i < end; i++) {
+                Identifiable<?> obj = objects[i];
+                if (obj != null) {
+                    objects[j] = obj;
+                    setIndex(obj, j);
+                    j++;
+                }
+            }
+            Arrays.fill(objects, j, end, null);
+            end = j;
+        }
+
+        @Override
+        public Identifiable<?> get(int index) {
+            return index >= 0 && index < end ? objects[index] : null;
+        }
+
+        @Override
+        public int getIndexLimit() {
+            return end;
+        }
+
+        private void removeAll() {
+            // indexes kept by the objects are not reset, they could already belong to another store
+            objects = new Identifiable<?>[8];
+            end = 0;
+            size = 0;
+            modCount++;
+        }
+
+        private void setIndex(Identifiable<?> obj, int index) {
+            if (obj instanceof AbstractIdentifiable) {
+                ((AbstractIdentifiable<?>) obj).setStoreIndex(index);
+            }
+        }
+
+        private int indexOf(Object o) {
+            if (o instanceof AbstractIdentifiable) {
+                int index = ((AbstractIdentifiable<?>) o).getStoreIndex();
+                return get(index) == o ? index : -1;
+            }
+            for (int i = 0; i < end; i++) {
+                if (objects[i] == o) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && indexOf(o) != -1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Identifiable<?>> iterator() {
+            return new Iterator<Identifiable<?>>() {
+
+                private final int expectedModCount = modCount;
+
+                private int next = skipEmptySlots(0);
+
+                private int skipEmptySlots(int i) {
+                    int j = i;
+                    while (j < end && objects[j] == null) {
+                        j++;
+                    }
+                    return j;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < end;
+                }
+
+                @Override
+                public Identifiable<?> next() {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next >= end) {
+                        throw new NoSuchElementException();
+                    }
+                    Identifiable<?> obj = objects[next];
+                    next = skipEmptySlots(next + 1);
+                    return obj;
+                }
+            };
+        }
+    }
+
     private final Map<String, Identifiable<?>> objectsById = new HashMap<>();
 
-    private final Map<Class<? extends Identifiable>, Set<Identifiable<?>>> objectsByClass = new HashMap<>();
+    private final Map<Class<? extends Identifiable>, ClassObjects> objectsByClass = new HashMap<>();
 
     static void checkId(String id) {
         if (id == null || id.isEmpty()) {
@@ -66,12 +223,7 @@ class ObjectStore {
                     + ") '" + obj.getId() + "' already exists");
         }
         objectsById.put(obj.getId(), obj);
-        Set<Identifiable<?>> all = objectsByClass.get(obj.getClass());
-        if (all == null) {
-            all = new LinkedHashSet<>();
-            objectsByClass.put(obj.getClass(), all);
-        }
-        all.add(obj);
+        objectsByClass.computeIfAbsent(obj.getClass(), c -> new ClassObjects()).append(obj);
     }
 
     Identifiable get(String id) {
@@ -82,13 +234,32 @@ class ObjectStore {
     <T extends Identifiable> T get(String id, Class<T> clazz) {
         checkId(id);
         Identifiable obj = objectsById.get(id);
-        if (obj != null && clazz.isAssignableFrom(obj.getClass())) {
+        if (obj != null && (obj.getClass() == clazz || clazz.isInstance(obj))) {
             return (T) obj;
         } else {
             return null;
         }
     }
 
+    /**
+     * Get the index of an object in the array of objects of its class. Indexes are dense, so they can be used to
+     * store data about objects in arrays, and {@link #get(Class, int)} is a lookup without any hashing.
+     * Indexes are stable as long as no object of the same class is removed.
+     *
+     * @return the index of the object, or -1 if the object is not in this store
+     */
+    int getIndex(Identifiable<?> obj) {
+        ClassObjects all = objectsByClass.get(obj.getClass());
+        return all != null ? all.indexOf(obj) : -1;
+    }
+
+    /**
+     * Get the objects of a concrete class, accessed by index. The returned view reflects later changes of the store.
+     */
+    <T extends Identifiable> IndexedObjects<T> getIndexedObjects(Class<T> clazz) {
+        return (IndexedObjects<T>) objectsByClass.computeIfAbsent(clazz, c -> new ClassObjects());
+    }
+
     Collection<Identifiable<?>> getAll() {
         return objectsById.values();
     }
@@ -108,20 +279,25 @@ class ObjectStore {
 
     void remove(Identifiable obj) {
         checkId(obj.getId());
-        Identifiable old = objectsById.remove(obj.getId());
+        Identifiable old = objectsById.get(obj.getId());
         if (old == null || old != obj) {
             throw new PowsyblException("Object (" + obj.getClass().getName()
                     + ") '" + obj.getId() + "' not found");
         }
-        Set<Identifiable<?>> all = objectsByClass.get(obj.getClass());
+        objectsById.remove(obj.getId());
+        ClassObjects all = objectsByClass.get(obj.getClass());
         if (all != null) {
-            all.remove(obj);
+            int index = all.indexOf(obj);
+            if (index != -1) {
+                all.remove(index);
+            }
         }
     }
 
     void clean() {
         objectsById.clear();
-        objectsByClass.clear();
+        // class objects are emptied rather than removed, as they could be referenced by indexed views
+        objectsByClass.values().forEach(ClassObjects::removeAll);
     }
 
     /**
@@ -131,7 +307,7 @@ class ObjectStore {
      */
     Multimap<Class<? extends Identifiable>, String> intersection(ObjectStore other) {
         Multimap<Class<? extends Identifiable>, String> intersection = HashMultimap.create();
-        for (Map.Entry<Class<? extends Identifiable>, Set<Identifiable<?>>> entry : other.objectsByClass.entrySet()) {
+        for (Map.Entry<Class<? extends Identifiable>, ClassObjects> entry : other.objectsByClass.entrySet()) {
             Class<? extends Identifiable> clazz = entry.getKey();
             Set<Identifiable<?>> objects = entry.getValue();
             for (Identifiable obj : objects) {
@@ -159,7 +335,7 @@ class ObjectStore {
         for (Map.Entry<String, Identifiable<?>> entry : objectsById.entrySet()) {
             System.out.println(entry.getKey() + " " + System.identityHashCode(entry.getValue()));
         }
-        for (Map.Entry<Class<? extends Identifiable>, Set<Identifiable<?>>> entry : objectsByClass.entrySet()) {
+        for (Map.Entry<Class<? extends Identifiable>, ClassObjects> entry : objectsByClass.entrySet()) {
             System.out.println(entry.getKey() + " " + entry.getValue().stream().map(System::identityHashCode).collect(Collectors.toList()));
         }
     }
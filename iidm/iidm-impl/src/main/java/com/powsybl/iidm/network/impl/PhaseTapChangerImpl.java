@@ -77,6 +77,11 @@ class PhaseTapChangerImpl extends AbstractTapChanger<TwoWindingsTransformerImpl,
         parent.setPhaseTapChanger(null);
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return super.getVariantMemoryUsage(index) + Double.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
@@ -74,6 +74,11 @@ class RatioTapChangerImpl extends AbstractTapChanger<RatioTapChangerParent, Rati
         parent.setRatioTapChanger(null);
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return super.getVariantMemoryUsage(index) + Double.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
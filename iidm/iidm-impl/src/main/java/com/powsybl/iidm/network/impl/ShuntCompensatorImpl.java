@@ -105,6 +105,11 @@ class ShuntCompensatorImpl extends AbstractConnectable<ShuntCompensator> impleme
         return bPerSection * maximumSectionCount;
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return super.getVariantMemoryUsage(index) + Integer.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
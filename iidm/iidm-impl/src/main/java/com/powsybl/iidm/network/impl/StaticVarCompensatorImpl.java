@@ -126,6 +126,11 @@ class StaticVarCompensatorImpl extends AbstractConnectable<StaticVarCompensator>
         return this;
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return super.getVariantMemoryUsage(index) + 2L * Double.BYTES + Integer.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
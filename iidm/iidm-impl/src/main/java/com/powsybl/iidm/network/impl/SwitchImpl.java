@@ -64,7 +64,7 @@ class SwitchImpl extends AbstractIdentifiable<Switch> implements Switch, MultiVa
         boolean oldValue = this.open.get(index);
         if (oldValue != open) {
             this.open.set(index, open);
-            voltageLevel.invalidateCache();
+            voltageLevel.invalidateCache(this, oldValue, this.retained.get(index));
             network.getListeners().notifyUpdate(this, "open", oldValue, open);
         }
     }
@@ -84,7 +84,7 @@ class SwitchImpl extends AbstractIdentifiable<Switch> implements Switch, MultiVa
         boolean oldValue = this.retained.get(index);
         if (oldValue != retained) {
             this.retained.set(index, retained);
-            voltageLevel.invalidateCache();
+            voltageLevel.invalidateCache(this, this.open.get(index), oldValue);
             network.getListeners().notifyUpdate(this, "retained", oldValue, retained);
         }
     }
@@ -105,6 +105,11 @@ class SwitchImpl extends AbstractIdentifiable<Switch> implements Switch, MultiVa
         }
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return 2;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         open.ensureCapacity(open.size() + number);
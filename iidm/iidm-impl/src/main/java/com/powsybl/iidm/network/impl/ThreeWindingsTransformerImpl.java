@@ -315,6 +315,18 @@ class ThreeWindingsTransformerImpl extends AbstractConnectable<ThreeWindingsTran
         }
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        long memory = super.getVariantMemoryUsage(index);
+        if (leg2.getRatioTapChanger() != null) {
+            memory += leg2.getRatioTapChanger().getVariantMemoryUsage(index);
+        }
+        if (leg3.getRatioTapChanger() != null) {
+            memory += leg3.getRatioTapChanger().getVariantMemoryUsage(index);
+        }
+        return memory;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
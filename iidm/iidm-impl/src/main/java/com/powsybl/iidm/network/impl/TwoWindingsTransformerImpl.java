@@ -175,6 +175,18 @@ class TwoWindingsTransformerImpl extends AbstractBranch<TwoWindingsTransformer>
         this.phaseTapChanger = phaseTapChanger;
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        long memory = super.getVariantMemoryUsage(index);
+        if (ratioTapChanger != null) {
+            memory += ratioTapChanger.getVariantMemoryUsage(index);
+        }
+        if (phaseTapChanger != null) {
+            memory += phaseTapChanger.getVariantMemoryUsage(index);
+        }
+        return memory;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
@@ -0,0 +1,313 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Column wise storage of the variant dependent attributes of all the objects of a same type.
+ * <p>
+ * Each object is given a slot and each attribute is a column holding one array per variant indexed by slot, so
+ * cloning a variant is one array copy per attribute instead of one callback per object, and removing a variant
+ * releases one array per attribute.
+ * <p>
+ * Arrays are copied on write: a cloned variant shares the arrays of its source variant and an attribute array is only
+ * copied the first time one of its values is modified in one of the variants sharing it.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class VariantColumns implements MultiVariantObject {
+
+    private static final int INITIAL_SLOT_CAPACITY = 16;
+
+    // [column][variant][slot]
+    private double[][][] doubleValues;
+
+    private boolean[][][] booleanValues;
+
+    // [column][variant], true if the array may be shared with another variant and has to be copied before a write
+    private boolean[][] doubleShared;
+
+    private boolean[][] booleanShared;
+
+    private int slotCapacity = INITIAL_SLOT_CAPACITY;
+
+    private int slotCount = 0;
+
+    private final TIntArrayList freeSlots = new TIntArrayList();
+
+    VariantColumns(int variantArraySize, int doubleColumnCount, int booleanColumnCount) {
+        doubleValues = new double[doubleColumnCount][variantArraySize][slotCapacity];
+        booleanValues = new boolean[booleanColumnCount][variantArraySize][slotCapacity];
+        doubleShared = new boolean[doubleColumnCount][variantArraySize];
+        booleanShared = new boolean[booleanColumnCount][variantArraySize];
+    }
+
+    int getSlotCount() {
+        return slotCount - freeSlots.size();
+    }
+
+    /**
+     * Allocate a slot for a new object.
+     */
+    int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.removeAt(freeSlots.size() - 1);
+        }
+        if (slotCount == slotCapacity) {
+            ensureSlotCapacity(slotCapacity * 2);
+        }
+        return slotCount++;
+    }
+
+    /**
+     * Release the slot of a removed object so that it can be reused. The values of the slot are reset in all the
+     * variants, so that the next object of the slot does not see the values of the removed one.
+     */
+    void releaseSlot(int slot) {
+        for (int c = 0; c < doubleValues.length; c++) {
+            fillDouble(c, slot, 0);
+        }
+        for (int c = 0; c < booleanValues.length; c++) {
+            fillBoolean(c, slot, false);
+        }
+        freeSlots.add(slot);
+    }
+
+    private void ensureSlotCapacity(int capacity) {
+        if (capacity > slotCapacity) {
+            // variants sharing an array must still share the resized one
+            Map<Object, Object> resized = new IdentityHashMap<>();
+            for (double[][] column : doubleValues) {
+                for (int v = 0; v < column.length; v++) {
+                    if (column[v] != null) {
+                        column[v] = (double[]) resized.computeIfAbsent(column[v], a -> Arrays.copyOf((double[]) a, capacity));
+                    }
+                }
+            }
+            for (boolean[][] column : booleanValues) {
+                for (int v = 0; v < column.length; v++) {
+                    if (column[v] != null) {
+                        column[v] = (boolean[]) resized.computeIfAbsent(column[v], a -> Arrays.copyOf((boolean[]) a, capacity));
+                    }
+                }
+            }
+            slotCapacity = capacity;
+        }
+    }
+
+    private double[] getDoubleValuesForWrite(int column, int variantIndex) {
+        double[] values = doubleValues[column][variantIndex];
+        if (doubleShared[column][variantIndex]) {
+            values = values.clone();
+            doubleValues[column][variantIndex] = values;
+            doubleShared[column][variantIndex] = false;
+        }
+        return values;
+    }
+
+    private boolean[] getBooleanValuesForWrite(int column, int variantIndex) {
+        boolean[] values = booleanValues[column][variantIndex];
+        if (booleanShared[column][variantIndex]) {
+            values = values.clone();
+            booleanValues[column][variantIndex] = values;
+            booleanShared[column][variantIndex] = false;
+        }
+        return values;
+    }
+
+    double getDouble(int column, int variantIndex, int slot) {
+        return doubleValues[column][variantIndex][slot];
+    }
+
+    /**
+     * @return the previous value
+     */
+    double setDouble(int column, int variantIndex, int slot, double value) {
+        double[] values = getDoubleValuesForWrite(column, variantIndex);
+        double oldValue = values[slot];
+        values[slot] = value;
+        return oldValue;
+    }
+
+    /**
+     * Set the value of an object attribute for all the variants. As all the variants get the same value, arrays shared
+     * between variants do not need to be copied.
+     */
+    void fillDouble(int column, int slot, double value) {
+        for (double[] values : doubleValues[column]) {
+            if (values != null) {
+                values[slot] = value;
+            }
+        }
+    }
+
+    boolean getBoolean(int column, int variantIndex, int slot) {
+        return booleanValues[column][variantIndex][slot];
+    }
+
+    /**
+     * @return the previous value
+     */
+    boolean setBoolean(int column, int variantIndex, int slot, boolean value) {
+        boolean[] values = getBooleanValuesForWrite(column, variantIndex);
+        boolean oldValue = values[slot];
+        values[slot] = value;
+        return oldValue;
+    }
+
+    /**
+     * Set the value of an object attribute for all the variants. As all the variants get the same value, arrays shared
+     * between variants do not need to be copied.
+     */
+    void fillBoolean(int column, int slot, boolean value) {
+        for (boolean[] values : booleanValues[column]) {
+            if (values != null) {
+                values[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Append the slots of other columns with the same layout to these ones, for the variants existing in both.
+     *
+     * @return the offset to add to the slots of the other columns objects
+     */
+    int append(VariantColumns other) {
+        if (other.doubleValues.length != doubleValues.length || other.booleanValues.length != booleanValues.length) {
+            throw new IllegalArgumentException("Incompatible variant columns");
+        }
+        int offset = slotCount;
+        int newSlotCount = slotCount + other.slotCount;
+        int newSlotCapacity = slotCapacity;
+        while (newSlotCapacity < newSlotCount) {
+            newSlotCapacity *= 2;
+        }
+        ensureSlotCapacity(newSlotCapacity);
+        for (int c = 0; c < doubleValues.length; c++) {
+            for (int v = 0; v < Math.min(doubleValues[c].length, other.doubleValues[c].length); v++) {
+                if (doubleValues[c][v] != null && other.doubleValues[c][v] != null) {
+                    System.arraycopy(other.doubleValues[c][v], 0, getDoubleValuesForWrite(c, v), offset, other.slotCount);
+                }
+            }
+        }
+        for (int c = 0; c < booleanValues.length; c++) {
+            for (int v = 0; v < Math.min(booleanValues[c].length, other.booleanValues[c].length); v++) {
+                if (booleanValues[c][v] != null && other.booleanValues[c][v] != null) {
+                    System.arraycopy(other.booleanValues[c][v], 0, getBooleanValuesForWrite(c, v), offset, other.slotCount);
+                }
+            }
+        }
+        for (int i = 0; i < other.freeSlots.size(); i++) {
+            freeSlots.add(other.freeSlots.get(i) + offset);
+        }
+        slotCount = newSlotCount;
+        return offset;
+    }
+
+    /**
+     * Estimate the memory in bytes of the arrays only referenced by a variant.
+     */
+    long getOwnedMemoryUsage(int variantIndex) {
+        long memory = 0;
+        for (double[][] column : doubleValues) {
+            if (isOwned(column, variantIndex)) {
+                memory += (long) Double.BYTES * column[variantIndex].length;
+            }
+        }
+        for (boolean[][] column : booleanValues) {
+            if (isOwned(column, variantIndex)) {
+                memory += column[variantIndex].length;
+            }
+        }
+        return memory;
+    }
+
+    private static boolean isOwned(Object[] column, int variantIndex) {
+        if (variantIndex >= column.length || column[variantIndex] == null) {
+            return false;
+        }
+        for (int v = 0; v < column.length; v++) {
+            if (v != variantIndex && column[v] == column[variantIndex]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void share(Object[] column, boolean[] shared, int index, int sourceIndex) {
+        column[index] = column[sourceIndex];
+        shared[index] = true;
+        shared[sourceIndex] = true;
+    }
+
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return getOwnedMemoryUsage(index);
+    }
+
+    @Override
+    public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
+        for (int c = 0; c < doubleValues.length; c++) {
+            doubleValues[c] = Arrays.copyOf(doubleValues[c], initVariantArraySize + number);
+            doubleShared[c] = Arrays.copyOf(doubleShared[c], initVariantArraySize + number);
+            for (int v = initVariantArraySize; v < doubleValues[c].length; v++) {
+                share(doubleValues[c], doubleShared[c], v, sourceIndex);
+            }
+        }
+        for (int c = 0; c < booleanValues.length; c++) {
+            booleanValues[c] = Arrays.copyOf(booleanValues[c], initVariantArraySize + number);
+            booleanShared[c] = Arrays.copyOf(booleanShared[c], initVariantArraySize + number);
+            for (int v = initVariantArraySize; v < booleanValues[c].length; v++) {
+                share(booleanValues[c], booleanShared[c], v, sourceIndex);
+            }
+        }
+    }
+
+    @Override
+    public void reduceVariantArraySize(int number) {
+        for (int c = 0; c < doubleValues.length; c++) {
+            doubleValues[c] = Arrays.copyOf(doubleValues[c], doubleValues[c].length - number);
+            doubleShared[c] = Arrays.copyOf(doubleShared[c], doubleShared[c].length - number);
+        }
+        for (int c = 0; c < booleanValues.length; c++) {
+            booleanValues[c] = Arrays.copyOf(booleanValues[c], booleanValues[c].length - number);
+            booleanShared[c] = Arrays.copyOf(booleanShared[c], booleanShared[c].length - number);
+        }
+    }
+
+    @Override
+    public void deleteVariantArrayElement(int index) {
+        // release variant arrays so that they can be garbage collected
+        for (int c = 0; c < doubleValues.length; c++) {
+            doubleValues[c][index] = null;
+            doubleShared[c][index] = false;
+        }
+        for (int c = 0; c < booleanValues.length; c++) {
+            booleanValues[c][index] = null;
+            booleanShared[c][index] = false;
+        }
+    }
+
+    @Override
+    public void allocateVariantArrayElement(int[] indexes, int sourceIndex) {
+        for (int c = 0; c < doubleValues.length; c++) {
+            for (int index : indexes) {
+                share(doubleValues[c], doubleShared[c], index, sourceIndex);
+            }
+        }
+        for (int c = 0; c < booleanValues.length; c++) {
+            for (int index : indexes) {
+                share(booleanValues[c], booleanShared[c], index, sourceIndex);
+            }
+        }
+    }
+}
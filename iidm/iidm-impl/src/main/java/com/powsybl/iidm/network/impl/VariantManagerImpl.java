@@ -38,6 +38,8 @@ class VariantManagerImpl implements VariantManager {
 
     private final Deque<Integer> unusedIndexes = new ArrayDeque<>();
 
+    private final Map<Class<?>, VariantColumns> columnsByType = new HashMap<>();
+
     VariantManagerImpl(ObjectStore objectStore) {
         this.variantContext = new MultiVariantContext(INITIAL_VARIANT_INDEX);
         this.objectStore = objectStore;
@@ -87,8 +89,18 @@ class VariantManagerImpl implements VariantManager {
         variantContext.setVariantIndex(index);
     }
 
+    /**
+     * Get the column wise storage of the variant dependent attributes of objects of a given type, creating it if it
+     * does not exist yet.
+     */
+    VariantColumns getColumns(Class<?> type, int doubleColumnCount, int booleanColumnCount) {
+        return columnsByType.computeIfAbsent(type, t -> new VariantColumns(variantArraySize, doubleColumnCount, booleanColumnCount));
+    }
+
     private Iterable<MultiVariantObject> getStafulObjects() {
-        return FluentIterable.from(objectStore.getAll()).filter(MultiVariantObject.class);
+        return FluentIterable.from(objectStore.getAll())
+                .filter(MultiVariantObject.class)
+                .append(columnsByType.values());
     }
 
     @Override
@@ -139,6 +151,25 @@ class VariantManagerImpl implements VariantManager {
         }
     }
 
+    @Override
+    public void resetVariant(String sourceVariantId, String targetVariantId) {
+        if (VariantManagerConstants.INITIAL_VARIANT_ID.equals(targetVariantId)) {
+            throw new PowsyblException("Resetting initial variant is forbidden");
+        }
+        int sourceIndex = getVariantIndex(sourceVariantId);
+        int targetIndex = getVariantIndex(targetVariantId);
+        if (sourceIndex == targetIndex) {
+            return;
+        }
+        LOGGER.debug("Resetting variant '{}' from '{}'", targetVariantId, sourceVariantId);
+        // same as recycling the index of a removed variant but without changing the variant array size
+        int[] indexes = {targetIndex};
+        for (MultiVariantObject obj : getStafulObjects()) {
+            obj.deleteVariantArrayElement(targetIndex);
+            obj.allocateVariantArrayElement(indexes, sourceIndex);
+        }
+    }
+
     @Override
     public void removeVariant(String variantId) {
         if (VariantManagerConstants.INITIAL_VARIANT_ID.equals(variantId)) {
@@ -193,6 +224,20 @@ class VariantManagerImpl implements VariantManager {
         return variantContext instanceof ThreadLocalMultiVariantContext;
     }
 
+    /**
+     * Variant columns are shared with the source variant until modified, while the other variant dependent attributes
+     * are copied when a variant is cloned and so always count. Topology caches are not counted.
+     */
+    @Override
+    public OptionalLong getVariantMemoryUsage(String variantId) {
+        int index = getVariantIndex(variantId);
+        long memory = 0;
+        for (MultiVariantObject obj : getStafulObjects()) {
+            memory += obj.getVariantMemoryUsage(index);
+        }
+        return OptionalLong.of(memory);
+    }
+
     void forEachVariant(Runnable r) {
         int currentVariantIndex = variantContext.getVariantIndex();
         try {
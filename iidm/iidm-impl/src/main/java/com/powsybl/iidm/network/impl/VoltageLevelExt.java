@@ -57,4 +57,12 @@ interface VoltageLevelExt extends VoltageLevel, MultiVariantObject {
     boolean disconnect(TerminalExt terminal);
 
     void invalidateCache();
+
+    /**
+     * Invalidate the topology cache after a change of the open or retained status of a switch. Implementations may only
+     * invalidate the parts of the cache impacted by the change.
+     */
+    default void invalidateCache(SwitchImpl changedSwitch, boolean wasOpen, boolean wasRetained) {
+        invalidateCache();
+    }
 }
@@ -127,6 +127,11 @@ class VscConverterStationImpl extends AbstractHvdcConverterStation<VscConverterS
         }
     }
 
+    @Override
+    public long getVariantMemoryUsage(int index) {
+        return super.getVariantMemoryUsage(index) + 1 + 2L * Double.BYTES;
+    }
+
     @Override
     public void extendVariantArraySize(int initVariantArraySize, int number, int sourceIndex) {
         super.extendVariantArraySize(initVariantArraySize, number, sourceIndex);
@@ -198,6 +198,29 @@ public class GeneratorTest {
         assertNull(network.getGenerator("toRemove"));
     }
 
+    @Test
+    public void testRemoveAndAddInMultiVariants() {
+        VariantManager variantManager = network.getVariantManager();
+        createGenerator("toRemove", EnergySource.HYDRO, 20.0, 11., 2.0,
+                30.0, 40.0, true, 2.0);
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "s1");
+        variantManager.setWorkingVariant("s1");
+        network.getGenerator("toRemove").setTargetP(15.0);
+        network.getGenerator("toRemove").remove();
+
+        // the new generator reuses the slot of the removed one and only sees its own values
+        createGenerator("added", EnergySource.HYDRO, 20.0, 11., 2.0,
+                12.0, 13.0, false, Double.NaN);
+        Generator generator = network.getGenerator("added");
+        for (String variantId : Arrays.asList(VariantManagerConstants.INITIAL_VARIANT_ID, "s1")) {
+            variantManager.setWorkingVariant(variantId);
+            assertFalse(generator.isVoltageRegulatorOn());
+            assertEquals(12.0, generator.getTargetP(), 0.0);
+            assertEquals(13.0, generator.getTargetQ(), 0.0);
+            assertTrue(Double.isNaN(generator.getTargetV()));
+        }
+    }
+
     @Test
     public void testSetterGetterInMultiVariants() {
         VariantManager variantManager = network.getVariantManager();
@@ -110,6 +110,25 @@ public class LoadTest {
         assertEquals(loadCount - 1, network.getLoadCount());
     }
 
+    @Test
+    public void testRemoveAndAddInMultiVariants() {
+        VariantManager variantManager = network.getVariantManager();
+        createLoad("toRemove", 2.0, 1.0);
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "s1");
+        variantManager.setWorkingVariant("s1");
+        network.getLoad("toRemove").setP0(5.0);
+        network.getLoad("toRemove").remove();
+
+        // the new load reuses the slot of the removed one and only sees its own values
+        createLoad("added", 3.0, 4.0);
+        Load load = network.getLoad("added");
+        for (String variantId : Arrays.asList(VariantManagerConstants.INITIAL_VARIANT_ID, "s1")) {
+            variantManager.setWorkingVariant(variantId);
+            assertEquals(3.0, load.getP0(), 0.0);
+            assertEquals(4.0, load.getQ0(), 0.0);
+        }
+    }
+
     @Test
     public void testSetterGetterInMultiVariants() {
         VariantManager variantManager = network.getVariantManager();
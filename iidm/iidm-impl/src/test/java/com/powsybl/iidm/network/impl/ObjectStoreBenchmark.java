@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generator lookups and iteration of the object store with the previous store, based on a hash map and
+ * linked hash sets.
+ * <p>
+ * Not run by the tests, launch {@link #main(String[])} from the test class path.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectStoreBenchmark {
+
+    /**
+     * The object store before identifiables were stored in dense arrays.
+     */
+    private static final class HashObjectStore {
+
+        private final Map<String, Identifiable<?>> objectsById = new HashMap<>();
+
+        private final Map<Class<? extends Identifiable>, Set<Identifiable<?>>> objectsByClass = new HashMap<>();
+
+        private void checkAndAdd(Identifiable<?> obj) {
+            ObjectStore.checkId(obj.getId());
+            objectsById.put(obj.getId(), obj);
+            objectsByClass.computeIfAbsent(obj.getClass(), c -> new LinkedHashSet<>()).add(obj);
+        }
+
+        private <T extends Identifiable> T get(String id, Class<T> clazz) {
+            ObjectStore.checkId(id);
+            Identifiable obj = objectsById.get(id);
+            if (obj != null && clazz.isAssignableFrom(obj.getClass())) {
+                return (T) obj;
+            } else {
+                return null;
+            }
+        }
+
+        private <T extends Identifiable> Set<T> getAll(Class<T> clazz) {
+            Set<Identifiable<?>> all = objectsByClass.get(clazz);
+            return all != null ? (Set<T>) all : Collections.emptySet();
+        }
+    }
+
+    @Param({"100000"})
+    private int generatorCount;
+
+    private String[] ids;
+
+    private ObjectStore objectStore;
+
+    private NetworkIndexes indexes;
+
+    private HashObjectStore hashObjectStore;
+
+    @Setup
+    public void setUp() {
+        Network network = NetworkFactory.create("benchmark", "test");
+        Substation s = network.newSubstation()
+                .setId("S")
+                .setCountry(Country.FR)
+            .add();
+        VoltageLevel vl = s.newVoltageLevel()
+                .setId("VL")
+                .setNominalV(400)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+            .add();
+        vl.getBusBreakerView().newBus()
+                .setId("B")
+            .add();
+        ids = new String[generatorCount];
+        for (int i = 0; i < generatorCount; i++) {
+            ids[i] = "G" + i;
+            vl.newGenerator()
+                    .setId(ids[i])
+                    .setBus("B")
+                    .setConnectableBus("B")
+                    .setMinP(0)
+                    .setMaxP(100)
+                    .setTargetP(50)
+                    .setVoltageRegulatorOn(false)
+                    .setTargetQ(0)
+                .add();
+        }
+        objectStore = ((NetworkImpl) network).getObjectStore();
+        indexes = NetworkIndexes.of(network);
+        hashObjectStore = new HashObjectStore();
+        for (Identifiable<?> identifiable : objectStore.getAll()) {
+            hashObjectStore.checkAndAdd(identifiable);
+        }
+    }
+
+    @Benchmark
+    public void hashStoreLookupById(Blackhole blackhole) {
+        for (String id : ids) {
+            blackhole.consume(hashObjectStore.get(id, GeneratorImpl.class));
+        }
+    }
+
+    @Benchmark
+    public void lookupById(Blackhole blackhole) {
+        for (String id : ids) {
+            blackhole.consume(objectStore.get(id, GeneratorImpl.class));
+        }
+    }
+
+    @Benchmark
+    public void lookupByIndex(Blackhole blackhole) {
+        int limit = indexes.getGeneratorIndexLimit();
+        for (int i = 0; i < limit; i++) {
+            blackhole.consume(indexes.getGeneratorByIndex(i));
+        }
+    }
+
+    @Benchmark
+    public void hashStoreIteration(Blackhole blackhole) {
+        for (GeneratorImpl generator : hashObjectStore.getAll(GeneratorImpl.class)) {
+            blackhole.consume(generator);
+        }
+    }
+
+    @Benchmark
+    public void iteration(Blackhole blackhole) {
+        for (GeneratorImpl generator : objectStore.getAll(GeneratorImpl.class)) {
+            blackhole.consume(generator);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ObjectStoreBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Load;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class ObjectStoreTest {
+
+    private static void addLoad(VoltageLevel vl, String id) {
+        vl.newLoad()
+                .setId(id)
+                .setBus("NLOAD")
+                .setConnectableBus("NLOAD")
+                .setP0(1)
+                .setQ0(0)
+                .add();
+    }
+
+    @Test
+    public void typedLookupTest() {
+        NetworkImpl network = (NetworkImpl) EurostagTutorialExample1Factory.create();
+        ObjectStore objectStore = network.getObjectStore();
+
+        GeneratorImpl generator = (GeneratorImpl) network.getGenerator("GEN");
+        assertSame(generator, objectStore.get("GEN", GeneratorImpl.class));
+        assertSame(generator, objectStore.get("GEN", Identifiable.class));
+        assertNull(objectStore.get("GEN", LoadImpl.class));
+    }
+
+    @Test
+    public void removeAndCompactTest() {
+        Network network = EurostagTutorialExample1Factory.create();
+        ObjectStore objectStore = ((NetworkImpl) network).getObjectStore();
+        VoltageLevel vl = network.getVoltageLevel("VLLOAD");
+        List<String> expectedIds = new ArrayList<>();
+        expectedIds.add("LOAD");
+        for (int i = 0; i < 50; i++) {
+            addLoad(vl, "L" + i);
+            expectedIds.add("L" + i);
+        }
+        assertEquals(51, network.getLoadCount());
+
+        // remove enough loads to trigger slots compaction
+        for (int i = 0; i < 40; i++) {
+            network.getLoad("L" + i).remove();
+            expectedIds.remove("L" + i);
+        }
+        assertEquals(11, network.getLoadCount());
+        assertEquals(expectedIds, network.getLoadStream().map(Load::getId).collect(Collectors.toList()));
+
+        // lookups are still consistent after compaction
+        for (Load load : network.getLoads()) {
+            LoadImpl loadImpl = (LoadImpl) load;
+            assertSame(loadImpl, objectStore.get(loadImpl.getId(), LoadImpl.class));
+            assertTrue(objectStore.getAll(LoadImpl.class).contains(loadImpl));
+        }
+        assertFalse(objectStore.getAll(LoadImpl.class).contains(network.getGenerator("GEN")));
+
+        // removed ids can be reused
+        addLoad(vl, "L0");
+        assertNotNull(network.getLoad("L0"));
+        assertEquals(12, network.getLoadCount());
+    }
+
+    @Test
+    public void indexTest() {
+        Network network = EurostagTutorialExample1Factory.create();
+        NetworkIndexes indexes = NetworkIndexes.of(network);
+        VoltageLevel vl = network.getVoltageLevel("VLLOAD");
+        for (int i = 0; i < 50; i++) {
+            addLoad(vl, "L" + i);
+        }
+
+        // indexes are dense and typed
+        assertEquals(51, indexes.getLoadIndexLimit());
+        for (int i = 0; i < indexes.getLoadIndexLimit(); i++) {
+            assertEquals(i, indexes.getIndex(indexes.getLoadByIndex(i)));
+        }
+        assertEquals(1, indexes.getGeneratorIndexLimit());
+        assertSame(network.getGenerator("GEN"), indexes.getGeneratorByIndex(0));
+        assertNull(indexes.getGeneratorByIndex(1));
+        assertNull(indexes.getGeneratorByIndex(-1));
+        assertEquals(2, indexes.getLineIndexLimit());
+        assertEquals(2, indexes.getTwoWindingsTransformerIndexLimit());
+
+        // a removed load leaves an empty index
+        Load load = network.getLoad("L0");
+        int index = indexes.getIndex(load);
+        load.remove();
+        assertNull(indexes.getLoadByIndex(index));
+        assertEquals(-1, indexes.getIndex(load));
+
+        // after compaction indexes are dense again
+        for (int i = 1; i < 40; i++) {
+            network.getLoad("L" + i).remove();
+        }
+        assertTrue(indexes.getLoadIndexLimit() < 51);
+        for (Load l : network.getLoads()) {
+            assertSame(l, indexes.getLoadByIndex(indexes.getIndex(l)));
+        }
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void concurrentModificationTest() {
+        Network network = EurostagTutorialExample1Factory.create();
+        addLoad(network.getVoltageLevel("VLLOAD"), "L0");
+        Iterator<Load> it = network.getLoads().iterator();
+        it.next().remove();
+        it.next();
+    }
+}
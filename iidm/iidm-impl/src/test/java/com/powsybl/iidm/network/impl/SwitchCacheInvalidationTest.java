@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SwitchCacheInvalidationTest {
+
+    private Network network;
+
+    private VoltageLevel vl;
+
+    @Before
+    public void setUp() {
+        // two busbar sections linked by two parallel couplers
+        network = NetworkFactory.create("test", "test");
+        Substation s = network.newSubstation()
+                .setId("S")
+                .setCountry(Country.FR)
+                .add();
+        vl = s.newVoltageLevel()
+                .setId("VL")
+                .setNominalV(400)
+                .setTopologyKind(TopologyKind.NODE_BREAKER)
+                .add();
+        vl.getNodeBreakerView().setNodeCount(4);
+        vl.getNodeBreakerView().newBusbarSection()
+                .setId("BBS1")
+                .setNode(0)
+                .add();
+        vl.getNodeBreakerView().newBusbarSection()
+                .setId("BBS2")
+                .setNode(1)
+                .add();
+        vl.getNodeBreakerView().newBreaker()
+                .setId("C1")
+                .setNode1(0)
+                .setNode2(1)
+                .setOpen(false)
+                .add();
+        vl.getNodeBreakerView().newBreaker()
+                .setId("C2")
+                .setNode1(0)
+                .setNode2(1)
+                .setOpen(false)
+                .add();
+        vl.newLoad()
+                .setId("L")
+                .setNode(2)
+                .setP0(1)
+                .setQ0(0)
+                .add();
+        vl.getNodeBreakerView().newBreaker()
+                .setId("LB")
+                .setNode1(2)
+                .setNode2(0)
+                .setOpen(false)
+                .add();
+        vl.newGenerator()
+                .setId("G")
+                .setNode(3)
+                .setMinP(0)
+                .setMaxP(1)
+                .setTargetP(1)
+                .setTargetQ(0)
+                .setVoltageRegulatorOn(false)
+                .add();
+        vl.getNodeBreakerView().newBreaker()
+                .setId("GB")
+                .setNode1(3)
+                .setNode2(1)
+                .setOpen(false)
+                .add();
+    }
+
+    @Test
+    public void test() {
+        Bus bus = network.getLoad("L").getTerminal().getBusView().getBus();
+        assertNotNull(bus);
+        assertSame(bus, network.getGenerator("G").getTerminal().getBusView().getBus());
+        assertEquals(1, bus.getConnectedComponent().getSize());
+
+        // opening one of the parallel couplers does not modify the buses
+        vl.getNodeBreakerView().getSwitch("C1").setOpen(true);
+        assertSame(bus, network.getLoad("L").getTerminal().getBusView().getBus());
+        assertEquals("VL_0", bus.getId());
+        assertEquals(1, vl.getBusView().getBusStream().count());
+
+        // opening the second one splits the bus
+        vl.getNodeBreakerView().getSwitch("C2").setOpen(true);
+        Bus loadBus = network.getLoad("L").getTerminal().getBusView().getBus();
+        Bus generatorBus = network.getGenerator("G").getTerminal().getBusView().getBus();
+        assertNotNull(loadBus);
+        assertNotNull(generatorBus);
+        assertNotSame(loadBus, generatorBus);
+        assertEquals(2, vl.getBusView().getBusStream().count());
+        assertNotEquals(loadBus.getConnectedComponent().getNum(), generatorBus.getConnectedComponent().getNum());
+
+        // retaining an open switch does not modify the bus breaker topology
+        int busBreakerBusCount = (int) vl.getBusBreakerView().getBusStream().count();
+        Bus busBreakerBus = network.getLoad("L").getTerminal().getBusBreakerView().getBus();
+        vl.getNodeBreakerView().getSwitch("C2").setRetained(true);
+        assertSame(busBreakerBus, network.getLoad("L").getTerminal().getBusBreakerView().getBus());
+        assertEquals(busBreakerBusCount, vl.getBusBreakerView().getBusStream().count());
+
+        // closing a coupler merges the buses again
+        vl.getNodeBreakerView().getSwitch("C1").setOpen(false);
+        assertSame(network.getLoad("L").getTerminal().getBusView().getBus(),
+                   network.getGenerator("G").getTerminal().getBusView().getBus());
+        assertEquals(1, vl.getBusView().getBusStream().count());
+
+        // retaining the only closed coupler splits the bus breaker topology only
+        Bus mergedBus = network.getLoad("L").getTerminal().getBusView().getBus();
+        vl.getNodeBreakerView().getSwitch("C1").setRetained(true);
+        assertSame(mergedBus, network.getLoad("L").getTerminal().getBusView().getBus());
+        assertNotSame(network.getLoad("L").getTerminal().getBusBreakerView().getBus(),
+                      network.getGenerator("G").getTerminal().getBusBreakerView().getBus());
+    }
+
+    @Test
+    public void invalidCacheTest() {
+        assertEquals(1, vl.getBusView().getBusStream().count());
+        Bus bus = network.getLoad("L").getTerminal().getBusView().getBus();
+
+        // once the caches are invalidated, following switch changes are not checked until the topology is computed again
+        vl.getNodeBreakerView().getSwitch("C1").setOpen(true);
+        vl.getNodeBreakerView().getSwitch("C2").setOpen(true);
+        vl.getNodeBreakerView().getSwitch("LB").setOpen(true);
+        vl.getNodeBreakerView().getSwitch("LB").setOpen(false);
+        vl.getNodeBreakerView().getSwitch("C1").setOpen(false);
+        assertEquals(1, vl.getBusView().getBusStream().count());
+        assertNotSame(bus, network.getLoad("L").getTerminal().getBusView().getBus());
+        assertSame(network.getLoad("L").getTerminal().getBusView().getBus(),
+                   network.getGenerator("G").getTerminal().getBusView().getBus());
+        assertEquals(1, network.getLoad("L").getTerminal().getBusView().getBus().getConnectedComponent().getSize());
+
+        vl.getNodeBreakerView().getSwitch("C1").setOpen(true);
+        assertNotSame(network.getLoad("L").getTerminal().getBusView().getBus(),
+                      network.getGenerator("G").getTerminal().getBusView().getBus());
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.iidm.network.impl;
+
+import com.powsybl.iidm.network.Load;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class VariantColumnsTest {
+
+    @Test
+    public void test() {
+        VariantColumns columns = new VariantColumns(1, 1, 1);
+        int slot0 = columns.allocateSlot();
+        int slot1 = columns.allocateSlot();
+        assertEquals(2, columns.getSlotCount());
+        columns.fillDouble(0, slot0, 1.0);
+        columns.fillDouble(0, slot1, 2.0);
+        columns.fillBoolean(0, slot1, true);
+
+        // clone variant 0 to 1 and 2
+        columns.extendVariantArraySize(1, 2, 0);
+        assertEquals(2.0, columns.getDouble(0, 2, slot1), 0.0);
+        assertTrue(columns.getBoolean(0, 1, slot1));
+        assertEquals(1.0, columns.setDouble(0, 1, slot0, 10.0), 0.0);
+        assertFalse(columns.setBoolean(0, 1, slot0, true));
+        assertEquals(1.0, columns.getDouble(0, 0, slot0), 0.0);
+        assertEquals(10.0, columns.getDouble(0, 1, slot0), 0.0);
+
+        // delete variant 1 and reallocate it from variant 0
+        columns.deleteVariantArrayElement(1);
+        columns.allocateVariantArrayElement(new int[] {1}, 0);
+        assertEquals(1.0, columns.getDouble(0, 1, slot0), 0.0);
+        assertFalse(columns.getBoolean(0, 1, slot0));
+
+        columns.reduceVariantArraySize(1);
+        try {
+            columns.getDouble(0, 2, slot0);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException ignored) {
+        }
+
+        // slot reuse and growth
+        columns.releaseSlot(slot0);
+        assertEquals(slot0, columns.allocateSlot());
+        for (int i = 0; i < 100; i++) {
+            columns.fillDouble(0, columns.allocateSlot(), i);
+        }
+        assertEquals(102, columns.getSlotCount());
+        assertEquals(99.0, columns.getDouble(0, 1, 101), 0.0);
+        assertEquals(2.0, columns.getDouble(0, 1, slot1), 0.0);
+    }
+
+    @Test
+    public void releaseSlotTest() {
+        VariantColumns columns = new VariantColumns(1, 1, 1);
+        int slot = columns.allocateSlot();
+        columns.fillDouble(0, slot, 1.0);
+        columns.fillBoolean(0, slot, true);
+        columns.extendVariantArraySize(1, 1, 0);
+        columns.setDouble(0, 1, slot, 2.0);
+
+        // a reused slot does not hold the values of the released one, in any variant
+        columns.releaseSlot(slot);
+        assertEquals(slot, columns.allocateSlot());
+        for (int v = 0; v < 2; v++) {
+            assertEquals(0.0, columns.getDouble(0, v, slot), 0.0);
+            assertFalse(columns.getBoolean(0, v, slot));
+        }
+    }
+
+    @Test
+    public void appendTest() {
+        VariantColumns columns = new VariantColumns(1, 1, 0);
+        columns.fillDouble(0, columns.allocateSlot(), 1.0);
+        VariantColumns other = new VariantColumns(1, 1, 0);
+        other.fillDouble(0, other.allocateSlot(), 2.0);
+        other.releaseSlot(other.allocateSlot());
+        int offset = columns.append(other);
+        assertEquals(1, offset);
+        assertEquals(2, columns.getSlotCount());
+        assertEquals(2.0, columns.getDouble(0, 0, offset), 0.0);
+        assertEquals(2, columns.allocateSlot());
+
+        try {
+            columns.append(new VariantColumns(1, 2, 0));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void networkVariantsTest() {
+        Network network = EurostagTutorialExample1Factory.create();
+        VariantManager variantManager = network.getVariantManager();
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, Arrays.asList("v1", "v2"));
+        variantManager.setWorkingVariant("v1");
+        network.getLoad("LOAD").setP0(100);
+        network.getGenerator("GEN").setTargetP(200).setVoltageRegulatorOn(false).setTargetQ(10);
+        variantManager.setWorkingVariant("v2");
+        Load load = network.getLoad("LOAD");
+        assertEquals(600.0, load.getP0(), 0.0);
+        assertEquals(607.0, network.getGenerator("GEN").getTargetP(), 0.0);
+        assertTrue(network.getGenerator("GEN").isVoltageRegulatorOn());
+        variantManager.removeVariant("v2");
+        variantManager.setWorkingVariant("v1");
+        assertEquals(100.0, load.getP0(), 0.0);
+        assertFalse(network.getGenerator("GEN").isVoltageRegulatorOn());
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertEquals(600.0, load.getP0(), 0.0);
+    }
+
+    @Test
+    public void copyOnWriteTest() {
+        VariantColumns columns = new VariantColumns(1, 2, 1);
+        int slot = columns.allocateSlot();
+        columns.fillDouble(0, slot, 1.0);
+        assertEquals(2 * 16 * Double.BYTES + 16, columns.getOwnedMemoryUsage(0));
+
+        // cloned variants share all the arrays of the source variant
+        columns.extendVariantArraySize(1, 2, 0);
+        assertEquals(0, columns.getOwnedMemoryUsage(0));
+        assertEquals(0, columns.getOwnedMemoryUsage(1));
+
+        // only the modified column is copied
+        columns.setDouble(0, 1, slot, 2.0);
+        assertEquals(16 * Double.BYTES, columns.getOwnedMemoryUsage(1));
+        assertEquals(0, columns.getOwnedMemoryUsage(2));
+        assertEquals(1.0, columns.getDouble(0, 0, slot), 0.0);
+        assertEquals(1.0, columns.getDouble(0, 2, slot), 0.0);
+
+        // sharing is kept when slots are added
+        for (int i = 0; i < 20; i++) {
+            columns.fillDouble(1, columns.allocateSlot(), i);
+        }
+        assertEquals(19.0, columns.getDouble(1, 2, 20), 0.0);
+        assertEquals(32 * Double.BYTES, columns.getOwnedMemoryUsage(1));
+
+        // writing to a variant does not modify the other ones
+        columns.setBoolean(0, 0, slot, true);
+        assertFalse(columns.getBoolean(0, 1, slot));
+        assertFalse(columns.getBoolean(0, 2, slot));
+
+        columns.deleteVariantArrayElement(1);
+        assertEquals(0, columns.getOwnedMemoryUsage(1));
+    }
+
+    @Test
+    public void variantMemoryUsageTest() {
+        Network network = EurostagTutorialExample1Factory.create();
+        VariantManager variantManager = network.getVariantManager();
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "v1");
+
+        // attributes not stored in columns, like terminal flows, are copied on clone
+        long clonedMemory = variantManager.getVariantMemoryUsage("v1").getAsLong();
+        assertTrue(clonedMemory > 0);
+        assertEquals(clonedMemory, variantManager.getVariantMemoryUsage(VariantManagerConstants.INITIAL_VARIANT_ID).getAsLong());
+
+        // a modified column is copied for the variant
+        variantManager.setWorkingVariant("v1");
+        network.getLoad("LOAD").setP0(100);
+        assertEquals(clonedMemory + 16 * Double.BYTES, variantManager.getVariantMemoryUsage("v1").getAsLong());
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertEquals(600.0, network.getLoad("LOAD").getP0(), 0.0);
+    }
+}
@@ -10,7 +10,10 @@ import com.google.common.collect.Sets;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.extensions.AbstractExtendable;
 import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Load;
+import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import org.junit.Test;
 
 import java.util.Collections;
@@ -149,4 +152,33 @@ public class VariantManagerImplTest {
         assertEquals(Collections.singleton(0), variantManager.getVariantIndexes());
         assertEquals(2, identifiable1.reducedCount);
     }
+
+    @Test
+    public void testResetVariant() {
+        Network network = EurostagTutorialExample1Factory.create();
+        VariantManagerImpl variantManager = (VariantManagerImpl) network.getVariantManager();
+        variantManager.cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "s1");
+        variantManager.setWorkingVariant("s1");
+        Load load = network.getLoad("LOAD");
+        load.setP0(1000.0);
+        network.getLine("NHV1_NHV2_1").getTerminal1().disconnect();
+        assertFalse(network.getLine("NHV1_NHV2_1").getTerminal1().isConnected());
+
+        variantManager.resetVariant(VariantManagerConstants.INITIAL_VARIANT_ID, "s1");
+        assertEquals("s1", variantManager.getWorkingVariantId());
+        assertEquals(600.0, load.getP0(), 0.0);
+        assertTrue(network.getLine("NHV1_NHV2_1").getTerminal1().isConnected());
+        assertEquals(2, variantManager.getVariantArraySize());
+
+        // the source variant is not impacted by a modification of the reset variant
+        load.setP0(1000.0);
+        variantManager.setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
+        assertEquals(600.0, load.getP0(), 0.0);
+
+        try {
+            variantManager.resetVariant("s1", VariantManagerConstants.INITIAL_VARIANT_ID);
+            fail();
+        } catch (PowsyblException ignored) {
+        }
+    }
 }
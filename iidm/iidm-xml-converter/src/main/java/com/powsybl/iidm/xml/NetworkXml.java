@@ -14,6 +14,8 @@ import com.powsybl.commons.exceptions.UncheckedXmlStreamException;
 import com.powsybl.commons.extensions.Extension;
 import com.powsybl.commons.extensions.ExtensionProviders;
 import com.powsybl.commons.extensions.ExtensionXmlSerializer;
+import com.powsybl.commons.xml.BinaryXmlStreamReader;
+import com.powsybl.commons.xml.BinaryXmlStreamWriter;
 import com.powsybl.commons.xml.XmlUtil;
 import com.powsybl.iidm.anonymizer.Anonymizer;
 import com.powsybl.iidm.anonymizer.SimpleAnonymizer;
@@ -207,7 +209,14 @@ public final class NetworkXml {
 
     public static Anonymizer write(Network n, ExportOptions options, OutputStream os) {
         try {
-            final XMLStreamWriter writer = createXmlStreamWriter(options, os);
+            return write(n, options, createXmlStreamWriter(options, os));
+        } catch (XMLStreamException e) {
+            throw new UncheckedXmlStreamException(e);
+        }
+    }
+
+    private static Anonymizer write(Network n, ExportOptions options, XMLStreamWriter writer) {
+        try {
             writer.writeStartDocument(StandardCharsets.UTF_8.toString(), "1.0");
 
             writer.setPrefix(IIDM_PREFIX, IIDM_URI);
@@ -291,7 +300,14 @@ public final class NetworkXml {
 
     public static Network read(InputStream is, ImportOptions config, Anonymizer anonymizer) {
         try {
-            XMLStreamReader reader = XML_INPUT_FACTORY_SUPPLIER.get().createXMLStreamReader(is);
+            return read(XML_INPUT_FACTORY_SUPPLIER.get().createXMLStreamReader(is), config, anonymizer);
+        } catch (XMLStreamException e) {
+            throw new UncheckedXmlStreamException(e);
+        }
+    }
+
+    private static Network read(XMLStreamReader reader, ImportOptions config, Anonymizer anonymizer) {
+        try {
             int state = reader.next();
             while (state == XMLStreamReader.COMMENT) {
                 state = reader.next();
@@ -509,7 +525,39 @@ public final class NetworkXml {
     }
 
     /**
-     * Deep copy of the network using XML converter.
+     * Write the network in the binary encoding of the XML document, which is much faster to write and read than
+     * textual XML, to take in-memory snapshots of networks.
+     */
+    public static void writeBinary(Network network, ExportOptions options, OutputStream os) {
+        XMLStreamWriter writer = new BinaryXmlStreamWriter(os);
+        write(network, options, writer);
+        try {
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new UncheckedXmlStreamException(e);
+        }
+    }
+
+    public static Network readBinary(InputStream is) {
+        return read(new BinaryXmlStreamReader(is), new ImportOptions(), null);
+    }
+
+    public static byte[] toBinary(Network network) {
+        return toBinary(network, new ExportOptions());
+    }
+
+    public static byte[] toBinary(Network network, ExportOptions options) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        writeBinary(network, options, bos);
+        return bos.toByteArray();
+    }
+
+    public static Network fromBinary(byte[] bytes) {
+        return readBinary(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Deep copy of the network using the binary encoding of the XML converter.
      * @param network the network to copy
      * @return the copy of the network
      */
@@ -524,7 +572,7 @@ public final class NetworkXml {
         try (InputStream is = new PipedInputStream(pos)) {
             executor.execute(() -> {
                 try {
-                    write(network, pos);
+                    writeBinary(network, new ExportOptions(), pos);
                 } catch (Exception t) {
                     LOGGER.error(t.toString(), t);
                 } finally {
@@ -535,7 +583,7 @@ public final class NetworkXml {
                     }
                 }
             });
-            return read(is);
+            return readBinary(is);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -15,9 +15,7 @@ import com.powsybl.iidm.export.ExportOptions;
 import com.powsybl.iidm.network.BusbarSection;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.TopologyLevel;
-import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
-import com.powsybl.iidm.network.test.BusbarSectionExt;
-import com.powsybl.iidm.network.test.NetworkTest1Factory;
+import com.powsybl.iidm.network.test.*;
 import org.joda.time.DateTime;
 import org.junit.Test;
 
@@ -28,6 +26,7 @@ import static org.junit.Assert.*;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -67,6 +66,38 @@ public class NetworkXmlTest extends AbstractConverterTest {
         assertArrayEquals(Files.readAllBytes(file1), Files.readAllBytes(file2));
     }
 
+    private static byte[] toXml(Network network) throws IOException {
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            NetworkXml.write(network, os);
+            return os.toByteArray();
+        }
+    }
+
+    @Test
+    public void testBinary() throws IOException {
+        for (Network network : Arrays.asList(createEurostagTutorialExample1(),
+                                             NetworkTest1Factory.create(),
+                                             PhaseShifterTestCaseFactory.create(),
+                                             ThreeWindingsTransformerNetworkFactory.create(),
+                                             HvdcTestNetwork.createVsc(),
+                                             HvdcTestNetwork.createLcc())) {
+            byte[] snapshot = NetworkXml.toBinary(network);
+            assertTrue(snapshot.length < toXml(network).length);
+            Network network2 = NetworkXml.fromBinary(snapshot);
+            assertNotSame(network, network2);
+            assertArrayEquals(toXml(network), toXml(network2));
+        }
+
+        // extensions are kept unless skipped
+        Network network = NetworkTest1Factory.create();
+        BusbarSection bb = network.getBusbarSection("voltageLevel1BusbarSection1");
+        bb.addExtension(BusbarSectionExt.class, new BusbarSectionExt(bb));
+        assertNotNull(NetworkXml.fromBinary(NetworkXml.toBinary(network))
+                .getBusbarSection("voltageLevel1BusbarSection1").getExtension(BusbarSectionExt.class));
+        assertNull(NetworkXml.fromBinary(NetworkXml.toBinary(network, new ExportOptions().setSkipExtensions(true)))
+                .getBusbarSection("voltageLevel1BusbarSection1").getExtension(BusbarSectionExt.class));
+    }
+
 
     @AutoService(ExtensionXmlSerializer.class)
     public static class BusbarSectionExtXmlSerializer implements ExtensionXmlSerializer<BusbarSection, BusbarSectionExt> {
@@ -0,0 +1,421 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.dc;
+
+import com.google.common.collect.ImmutableMap;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.iidm.network.*;
+import com.powsybl.loadflow.LoadFlow;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.loadflow.LoadFlowResultImpl;
+import com.powsybl.math.matrix.LUDecomposition;
+import com.powsybl.math.matrix.Matrix;
+import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.math.matrix.SparseMatrixFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A DC load flow: voltage magnitudes are assumed to be nominal, resistances and shunt admittances are neglected and
+ * the active flow of each branch is linearized with respect to the voltage angles:
+ * <pre>
+ * p1 = rho * nominalV1 * nominalV2 / x * (theta1 - theta2 + alpha)
+ * </pre>
+ * The susceptance matrix of the network is built and factorized once, then solved to get the voltage angles of the
+ * buses. Angles and active flows are written to the working variant.
+ *
+ * In each connected component, the slack bus is the bus having the largest generation capacity, or the most
+ * connected bus if there is no generator. The active power mismatch of the component is taken by the generators of
+ * the slack bus.
+ *
+ * Load flow parameters:
+ * <ul>
+ *     <li>the voltage initialization mode is ignored, the DC equations being solved directly without any
+ *     iteration,</li>
+ *     <li>tap changers stay at their current position and phase shifters apply the phase shift of their current
+ *     step, voltage control of transformers and phase shifter regulation are not supported,</li>
+ *     <li>generator reactive limits and specific compatibility only concern reactive power and are ignored.</li>
+ * </ul>
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class DcLoadFlow implements LoadFlow {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DcLoadFlow.class);
+
+    /**
+     * Reactances lower than this value, in ohm, are replaced by it to avoid infinite susceptances.
+     */
+    private static final double EPSILON_X = 0.1;
+
+    /**
+     * A branch of the DC network, between two nodes which are either buses or star nodes of 3 windings transformers.
+     */
+    private static final class DcBranch {
+
+        private final int node1;
+
+        private final int node2;
+
+        private final double b;
+
+        private final double alpha;
+
+        private final Terminal terminal1;
+
+        private final Terminal terminal2;
+
+        private DcBranch(int node1, int node2, double b, double alpha, Terminal terminal1, Terminal terminal2) {
+            this.node1 = node1;
+            this.node2 = node2;
+            this.b = b;
+            this.alpha = alpha;
+            this.terminal1 = terminal1;
+            this.terminal2 = terminal2;
+        }
+
+        private double p1(double[] theta) {
+            return b * (theta[node1] - theta[node2] + alpha);
+        }
+    }
+
+    private static final class DcNetwork {
+
+        private final List<Bus> buses = new ArrayList<>();
+
+        private final Map<String, Integer> busNums = new HashMap<>();
+
+        private int nodeCount;
+
+        private final List<DcBranch> branches = new ArrayList<>();
+
+        private double[] injections;
+
+        private final Map<Integer, List<Generator>> generatorsByNode = new HashMap<>();
+    }
+
+    private final Network network;
+
+    private final ComputationManager computationManager;
+
+    private final MatrixFactory matrixFactory;
+
+    public DcLoadFlow(Network network, ComputationManager computationManager, MatrixFactory matrixFactory) {
+        this.network = Objects.requireNonNull(network);
+        this.computationManager = Objects.requireNonNull(computationManager);
+        this.matrixFactory = Objects.requireNonNull(matrixFactory);
+    }
+
+    public DcLoadFlow(Network network, ComputationManager computationManager) {
+        this(network, computationManager, new SparseMatrixFactory());
+    }
+
+    @Override
+    public String getName() {
+        return "DC load flow";
+    }
+
+    @Override
+    public String getVersion() {
+        return "1.0";
+    }
+
+    private static Integer getNode(DcNetwork dcNetwork, Terminal terminal) {
+        Bus bus = terminal.getBusView().getBus();
+        return bus != null ? dcNetwork.busNums.get(bus.getId()) : null;
+    }
+
+    private static double fixX(double x) {
+        return Math.abs(x) < EPSILON_X ? EPSILON_X : x;
+    }
+
+    private static double getValue(double initialValue, double rtcStepValue, double ptcStepValue) {
+        return initialValue * (1 + rtcStepValue / 100 + ptcStepValue / 100);
+    }
+
+    private static void addLine(DcNetwork dcNetwork, Line line) {
+        Integer node1 = getNode(dcNetwork, line.getTerminal1());
+        Integer node2 = getNode(dcNetwork, line.getTerminal2());
+        if (node1 != null && node2 != null) {
+            double b = line.getTerminal1().getVoltageLevel().getNominalV() * line.getTerminal2().getVoltageLevel().getNominalV() / fixX(line.getX());
+            dcNetwork.branches.add(new DcBranch(node1, node2, b, 0, line.getTerminal1(), line.getTerminal2()));
+        }
+    }
+
+    private static void addTransformer(DcNetwork dcNetwork, TwoWindingsTransformer twt) {
+        Integer node1 = getNode(dcNetwork, twt.getTerminal1());
+        Integer node2 = getNode(dcNetwork, twt.getTerminal2());
+        if (node1 != null && node2 != null) {
+            RatioTapChangerStep rtcStep = twt.getRatioTapChanger() != null ? twt.getRatioTapChanger().getCurrentStep() : null;
+            PhaseTapChangerStep ptcStep = twt.getPhaseTapChanger() != null ? twt.getPhaseTapChanger().getCurrentStep() : null;
+            double x = getValue(twt.getX(), rtcStep != null ? rtcStep.getX() : 0, ptcStep != null ? ptcStep.getX() : 0);
+            double rho = twt.getRatedU2() / twt.getRatedU1()
+                    * (rtcStep != null ? rtcStep.getRho() : 1)
+                    * (ptcStep != null ? ptcStep.getRho() : 1);
+            double alpha = ptcStep != null ? Math.toRadians(ptcStep.getAlpha()) : 0;
+            double b = rho * twt.getTerminal1().getVoltageLevel().getNominalV() * twt.getTerminal2().getVoltageLevel().getNominalV() / fixX(x);
+            dcNetwork.branches.add(new DcBranch(node1, node2, b, alpha, twt.getTerminal1(), twt.getTerminal2()));
+        }
+    }
+
+    private static void addLeg(DcNetwork dcNetwork, ThreeWindingsTransformer.LegBase<?> leg, Integer node, RatioTapChanger rtc, double ratedU0, int starNode) {
+        if (node != null) {
+            // as in the star model of TwtData, the rated voltage of the star bus is the one of leg 1
+            double rho = ratedU0 / leg.getRatedU() * (rtc != null ? rtc.getCurrentStep().getRho() : 1);
+            double b = rho * leg.getTerminal().getVoltageLevel().getNominalV() * ratedU0 / fixX(leg.getX());
+            dcNetwork.branches.add(new DcBranch(node, starNode, b, 0, leg.getTerminal(), null));
+        }
+    }
+
+    private static void addTransformer(DcNetwork dcNetwork, ThreeWindingsTransformer twt) {
+        Integer node1 = getNode(dcNetwork, twt.getLeg1().getTerminal());
+        Integer node2 = getNode(dcNetwork, twt.getLeg2().getTerminal());
+        Integer node3 = getNode(dcNetwork, twt.getLeg3().getTerminal());
+        // a star node without any branch would make the matrix singular
+        if (node1 != null || node2 != null || node3 != null) {
+            int starNode = dcNetwork.nodeCount++;
+            double ratedU0 = twt.getLeg1().getRatedU();
+            addLeg(dcNetwork, twt.getLeg1(), node1, null, ratedU0, starNode);
+            addLeg(dcNetwork, twt.getLeg2(), node2, twt.getLeg2().getRatioTapChanger(), ratedU0, starNode);
+            addLeg(dcNetwork, twt.getLeg3(), node3, twt.getLeg3().getRatioTapChanger(), ratedU0, starNode);
+        }
+    }
+
+    private static void addInjection(DcNetwork dcNetwork, Terminal terminal, double p) {
+        Integer node = getNode(dcNetwork, terminal);
+        if (node != null) {
+            dcNetwork.injections[node] += p;
+        }
+    }
+
+    private DcNetwork createDcNetwork() {
+        DcNetwork dcNetwork = new DcNetwork();
+
+        for (Bus bus : network.getBusView().getBuses()) {
+            dcNetwork.busNums.put(bus.getId(), dcNetwork.buses.size());
+            dcNetwork.buses.add(bus);
+        }
+        dcNetwork.nodeCount = dcNetwork.buses.size();
+
+        network.getLineStream().forEach(line -> addLine(dcNetwork, line));
+        network.getTwoWindingsTransformerStream().forEach(twt -> addTransformer(dcNetwork, twt));
+        network.getThreeWindingsTransformerStream().forEach(twt -> addTransformer(dcNetwork, twt));
+
+        dcNetwork.injections = new double[dcNetwork.nodeCount];
+        for (Generator generator : network.getGenerators()) {
+            Integer node = getNode(dcNetwork, generator.getTerminal());
+            if (node != null) {
+                dcNetwork.injections[node] += generator.getTargetP();
+                dcNetwork.generatorsByNode.computeIfAbsent(node, k -> new ArrayList<>()).add(generator);
+            }
+        }
+        network.getLoadStream().forEach(load -> addInjection(dcNetwork, load.getTerminal(), -load.getP0()));
+        network.getDanglingLineStream().forEach(danglingLine -> addInjection(dcNetwork, danglingLine.getTerminal(), -danglingLine.getP0()));
+        network.getHvdcLineStream().forEach(hvdcLine -> {
+            double p = hvdcLine.getActivePowerSetpoint();
+            boolean side1Rectifier = hvdcLine.getConvertersMode() == HvdcLine.ConvertersMode.SIDE_1_RECTIFIER_SIDE_2_INVERTER;
+            addInjection(dcNetwork, hvdcLine.getConverterStation1().getTerminal(), side1Rectifier ? -p : p);
+            addInjection(dcNetwork, hvdcLine.getConverterStation2().getTerminal(), side1Rectifier ? p : -p);
+        });
+
+        return dcNetwork;
+    }
+
+    /**
+     * Choose a slack bus in each connected component.
+     */
+    private static Set<Integer> selectSlackNodes(DcNetwork dcNetwork) {
+        int[] branchCount = new int[dcNetwork.nodeCount];
+        for (DcBranch branch : dcNetwork.branches) {
+            branchCount[branch.node1]++;
+            branchCount[branch.node2]++;
+        }
+        Map<Integer, Integer> slackByComponent = new HashMap<>();
+        for (int node = 0; node < dcNetwork.buses.size(); node++) {
+            int componentNum = dcNetwork.buses.get(node).getConnectedComponent().getNum();
+            Integer slack = slackByComponent.get(componentNum);
+            if (slack == null || compareSlackCandidates(dcNetwork, branchCount, node, slack) > 0) {
+                slackByComponent.put(componentNum, node);
+            }
+        }
+        return new HashSet<>(slackByComponent.values());
+    }
+
+    private static double getMaxP(DcNetwork dcNetwork, int node) {
+        return dcNetwork.generatorsByNode.getOrDefault(node, Collections.emptyList()).stream()
+                .mapToDouble(Generator::getMaxP)
+                .sum();
+    }
+
+    private static int compareSlackCandidates(DcNetwork dcNetwork, int[] branchCount, int node1, int node2) {
+        int c = Double.compare(getMaxP(dcNetwork, node1), getMaxP(dcNetwork, node2));
+        return c != 0 ? c : Integer.compare(branchCount[node1], branchCount[node2]);
+    }
+
+    /**
+     * Build the susceptance matrix, the rows and columns of slack nodes being replaced by the identity so that the
+     * angle of slack nodes is fixed to zero.
+     */
+    private Matrix buildMatrix(DcNetwork dcNetwork, Set<Integer> slackNodes) {
+        List<SortedMap<Integer, Double>> columns = new ArrayList<>(dcNetwork.nodeCount);
+        for (int node = 0; node < dcNetwork.nodeCount; node++) {
+            SortedMap<Integer, Double> column = new TreeMap<>();
+            if (slackNodes.contains(node)) {
+                column.put(node, 1d);
+            }
+            columns.add(column);
+        }
+        for (DcBranch branch : dcNetwork.branches) {
+            boolean slack1 = slackNodes.contains(branch.node1);
+            boolean slack2 = slackNodes.contains(branch.node2);
+            if (!slack1) {
+                columns.get(branch.node1).merge(branch.node1, branch.b, Double::sum);
+            }
+            if (!slack2) {
+                columns.get(branch.node2).merge(branch.node2, branch.b, Double::sum);
+            }
+            if (!slack1 && !slack2) {
+                columns.get(branch.node2).merge(branch.node1, -branch.b, Double::sum);
+                columns.get(branch.node1).merge(branch.node2, -branch.b, Double::sum);
+            }
+        }
+        int nonZeroCount = columns.stream().mapToInt(Map::size).sum();
+        Matrix matrix = matrixFactory.create(dcNetwork.nodeCount, dcNetwork.nodeCount, nonZeroCount);
+        for (int j = 0; j < columns.size(); j++) {
+            for (Map.Entry<Integer, Double> e : columns.get(j).entrySet()) {
+                matrix.setValue(e.getKey(), j, e.getValue());
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Right hand side of the equations: injections minus the phase shift contributions of the branches.
+     */
+    private static double[] buildRhs(DcNetwork dcNetwork, Set<Integer> slackNodes) {
+        double[] rhs = Arrays.copyOf(dcNetwork.injections, dcNetwork.nodeCount);
+        for (DcBranch branch : dcNetwork.branches) {
+            if (branch.alpha != 0) {
+                rhs[branch.node1] -= branch.b * branch.alpha;
+                rhs[branch.node2] += branch.b * branch.alpha;
+            }
+        }
+        for (int slackNode : slackNodes) {
+            rhs[slackNode] = 0;
+        }
+        return rhs;
+    }
+
+    private static void updateNetwork(DcNetwork dcNetwork, Set<Integer> slackNodes, double[] theta) {
+        for (int node = 0; node < dcNetwork.buses.size(); node++) {
+            dcNetwork.buses.get(node).setAngle(Math.toDegrees(theta[node]));
+        }
+
+        // compute flows and the mismatch of the slack buses
+        double[] slackMismatch = new double[dcNetwork.nodeCount];
+        for (int slackNode : slackNodes) {
+            slackMismatch[slackNode] = -dcNetwork.injections[slackNode];
+        }
+        for (DcBranch branch : dcNetwork.branches) {
+            double p1 = branch.p1(theta);
+            branch.terminal1.setP(p1);
+            if (branch.terminal2 != null) {
+                branch.terminal2.setP(-p1);
+            }
+            slackMismatch[branch.node1] += p1;
+            slackMismatch[branch.node2] -= p1;
+        }
+
+        for (Map.Entry<Integer, List<Generator>> e : dcNetwork.generatorsByNode.entrySet()) {
+            List<Generator> generators = e.getValue();
+            double mismatch = slackNodes.contains(e.getKey()) ? slackMismatch[e.getKey()] : 0;
+            double maxP = generators.stream().mapToDouble(Generator::getMaxP).sum();
+            for (Generator generator : generators) {
+                double share = maxP > 0 ? generator.getMaxP() / maxP : 1d / generators.size();
+                generator.getTerminal().setP(-(generator.getTargetP() + mismatch * share));
+            }
+        }
+        for (int slackNode : slackNodes) {
+            if (Math.abs(slackMismatch[slackNode]) > 0 && !dcNetwork.generatorsByNode.containsKey(slackNode)) {
+                LOGGER.warn("Active power mismatch of {} MW at slack bus {} without generator",
+                        slackMismatch[slackNode], dcNetwork.buses.get(slackNode).getId());
+            }
+        }
+    }
+
+    private void updateInjections(DcNetwork dcNetwork) {
+        network.getLoadStream()
+                .filter(load -> getNode(dcNetwork, load.getTerminal()) != null)
+                .forEach(load -> load.getTerminal().setP(load.getP0()));
+        network.getDanglingLineStream()
+                .filter(danglingLine -> getNode(dcNetwork, danglingLine.getTerminal()) != null)
+                .forEach(danglingLine -> danglingLine.getTerminal().setP(danglingLine.getP0()));
+        network.getHvdcLineStream().forEach(hvdcLine -> {
+            double p = hvdcLine.getActivePowerSetpoint();
+            boolean side1Rectifier = hvdcLine.getConvertersMode() == HvdcLine.ConvertersMode.SIDE_1_RECTIFIER_SIDE_2_INVERTER;
+            hvdcLine.getConverterStation1().getTerminal().setP(side1Rectifier ? p : -p);
+            hvdcLine.getConverterStation2().getTerminal().setP(side1Rectifier ? -p : p);
+        });
+    }
+
+    private LoadFlowResult run() {
+        long start = System.currentTimeMillis();
+
+        DcNetwork dcNetwork = createDcNetwork();
+        Set<Integer> slackNodes = selectSlackNodes(dcNetwork);
+
+        Matrix matrix = buildMatrix(dcNetwork, slackNodes);
+        double[] theta = buildRhs(dcNetwork, slackNodes);
+        boolean ok = true;
+        try (LUDecomposition lu = matrix.decomposeLU()) {
+            lu.solve(theta);
+        } catch (RuntimeException e) {
+            LOGGER.error(e.toString(), e);
+            ok = false;
+        }
+
+        if (ok) {
+            updateNetwork(dcNetwork, slackNodes, theta);
+            updateInjections(dcNetwork);
+        }
+
+        long time = System.currentTimeMillis() - start;
+        LOGGER.info("DC load flow of network {} done in {} ms ({} buses, {} branches)", network.getId(), time,
+                dcNetwork.buses.size(), dcNetwork.branches.size());
+
+        Map<String, String> metrics = ImmutableMap.of("busCount", Integer.toString(dcNetwork.buses.size()),
+                                                      "branchCount", Integer.toString(dcNetwork.branches.size()),
+                                                      "componentCount", Integer.toString(slackNodes.size()));
+        return new LoadFlowResultImpl(ok, metrics, "");
+    }
+
+    private static void checkParameters(LoadFlowParameters parameters) {
+        if (parameters.isTransformerVoltageControlOn()) {
+            throw new PowsyblException("Transformer voltage control is not supported by the DC load flow");
+        }
+        if (parameters.isPhaseShifterRegulationOn()) {
+            throw new PowsyblException("Phase shifter regulation is not supported by the DC load flow");
+        }
+    }
+
+    @Override
+    public CompletableFuture<LoadFlowResult> run(String workingStateId, LoadFlowParameters parameters) {
+        Objects.requireNonNull(workingStateId);
+        Objects.requireNonNull(parameters);
+        checkParameters(parameters);
+        return CompletableFuture.supplyAsync(() -> {
+            // working variant is set in the thread running the computation
+            network.getVariantManager().setWorkingVariant(workingStateId);
+            return run();
+        }, computationManager.getExecutor());
+    }
+}
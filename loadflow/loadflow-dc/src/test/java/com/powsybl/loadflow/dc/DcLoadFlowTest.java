@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.loadflow.dc;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.computation.local.LocalComputationManager;
+import com.powsybl.iidm.network.*;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.iidm.network.test.PhaseShifterTestCaseFactory;
+import com.powsybl.iidm.network.test.ThreeWindingsTransformerNetworkFactory;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class DcLoadFlowTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DcLoadFlowTest.class);
+
+    private FileSystem fileSystem;
+
+    private ComputationManager computationManager;
+
+    @Before
+    public void setUp() throws IOException {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        computationManager = new LocalComputationManager(Files.createDirectory(fileSystem.getPath("/tmp")));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        computationManager.close();
+        fileSystem.close();
+    }
+
+    private LoadFlowResult runLoadFlow(Network network) {
+        return runLoadFlow(network, new LoadFlowParameters());
+    }
+
+    private LoadFlowResult runLoadFlow(Network network, LoadFlowParameters parameters) {
+        return new DcLoadFlowFactory().create(network, computationManager, 0)
+                .run(network.getVariantManager().getWorkingVariantId(), parameters)
+                .join();
+    }
+
+    private static void addP(Map<String, Double> balance, Terminal terminal) {
+        Bus bus = terminal.getBusView().getBus();
+        if (bus != null) {
+            balance.merge(bus.getId(), terminal.getP(), Double::sum);
+        }
+    }
+
+    private static void assertActivePowerBalance(Network network) {
+        Map<String, Double> balance = new HashMap<>();
+        network.getLineStream().forEach(l -> {
+            addP(balance, l.getTerminal1());
+            addP(balance, l.getTerminal2());
+        });
+        network.getTwoWindingsTransformerStream().forEach(twt -> {
+            addP(balance, twt.getTerminal1());
+            addP(balance, twt.getTerminal2());
+        });
+        network.getGeneratorStream().forEach(g -> addP(balance, g.getTerminal()));
+        network.getLoadStream().forEach(l -> addP(balance, l.getTerminal()));
+        balance.forEach((busId, p) -> assertEquals("Active power balance of bus " + busId, 0, p, 1e-6));
+    }
+
+    @Test
+    public void eurostagTest() {
+        Network network = EurostagTutorialExample1Factory.create();
+
+        LoadFlowResult result = runLoadFlow(network);
+        assertTrue(result.isOk());
+        assertEquals("4", result.getMetrics().get("busCount"));
+        assertEquals("1", result.getMetrics().get("componentCount"));
+
+        assertEquals(0, network.getGenerator("GEN").getTerminal().getBusView().getBus().getAngle(), 0);
+        assertEquals(300, network.getLine("NHV1_NHV2_1").getTerminal1().getP(), 1e-6);
+        assertEquals(-300, network.getLine("NHV1_NHV2_1").getTerminal2().getP(), 1e-6);
+        assertEquals(300, network.getLine("NHV1_NHV2_2").getTerminal1().getP(), 1e-6);
+        assertEquals(600, network.getTwoWindingsTransformer("NGEN_NHV1").getTerminal1().getP(), 1e-6);
+        assertEquals(600, network.getTwoWindingsTransformer("NHV2_NLOAD").getTerminal1().getP(), 1e-6);
+        assertEquals(600, network.getLoad("LOAD").getTerminal().getP(), 0);
+        // the losses being neglected, the generator of the slack bus takes the mismatch
+        assertEquals(-600, network.getGenerator("GEN").getTerminal().getP(), 1e-6);
+        TwoWindingsTransformer nhv2Nload = network.getTwoWindingsTransformer("NHV2_NLOAD");
+        assertTrue(nhv2Nload.getTerminal2().getBusView().getBus().getAngle() < nhv2Nload.getTerminal1().getBusView().getBus().getAngle());
+        assertActivePowerBalance(network);
+    }
+
+    @Test
+    public void phaseShifterTest() {
+        Network network = PhaseShifterTestCaseFactory.create();
+
+        assertTrue(runLoadFlow(network).isOk());
+        assertEquals(50, network.getLine("L1").getTerminal1().getP(), 1e-6);
+        assertEquals(50, network.getTwoWindingsTransformer("PS1").getTerminal1().getP(), 1e-6);
+        assertActivePowerBalance(network);
+
+        // a 20 degrees phase shift reverses the flow of the parallel line
+        network.getTwoWindingsTransformer("PS1").getPhaseTapChanger().setTapPosition(2);
+        assertTrue(runLoadFlow(network).isOk());
+        assertEquals(-76.013, network.getLine("L1").getTerminal1().getP(), 1e-3);
+        assertEquals(176.013, network.getTwoWindingsTransformer("PS1").getTerminal1().getP(), 1e-3);
+        assertActivePowerBalance(network);
+    }
+
+    @Test
+    public void parametersTest() {
+        Network network = PhaseShifterTestCaseFactory.create();
+        network.getTwoWindingsTransformer("PS1").getPhaseTapChanger().setTapPosition(2);
+
+        // voltage initialization and reactive power parameters do not change the result
+        for (LoadFlowParameters.VoltageInitMode voltageInitMode : LoadFlowParameters.VoltageInitMode.values()) {
+            LoadFlowParameters parameters = new LoadFlowParameters(voltageInitMode)
+                    .setNoGeneratorReactiveLimits(true)
+                    .setSpecificCompatibility(true);
+            assertTrue(runLoadFlow(network, parameters).isOk());
+            assertEquals(-76.013, network.getLine("L1").getTerminal1().getP(), 1e-3);
+        }
+
+        try {
+            runLoadFlow(network, new LoadFlowParameters().setTransformerVoltageControlOn(true));
+            fail();
+        } catch (PowsyblException ignored) {
+        }
+        try {
+            runLoadFlow(network, new LoadFlowParameters().setPhaseShifterRegulationOn(true));
+            fail();
+        } catch (PowsyblException ignored) {
+        }
+    }
+
+    @Test
+    public void threeWindingsTransformerTest() {
+        Network network = ThreeWindingsTransformerNetworkFactory.create();
+        ThreeWindingsTransformer twt = network.getThreeWindingsTransformer("3WT");
+
+        LoadFlowResult result = runLoadFlow(network);
+        assertTrue(result.isOk());
+        assertEquals("1", result.getMetrics().get("componentCount"));
+        // the slack bus is the one of leg 1, the transformer feeds the loads of the other legs
+        assertEquals(11.2, twt.getLeg1().getTerminal().getP(), 1e-6);
+        assertEquals(-11.2, twt.getLeg2().getTerminal().getP(), 1e-6);
+        assertEquals(0, twt.getLeg3().getTerminal().getP(), 1e-6);
+    }
+
+    @Test
+    public void disconnectedThreeWindingsTransformerTest() {
+        Network network = ThreeWindingsTransformerNetworkFactory.create();
+        ThreeWindingsTransformer twt = network.getThreeWindingsTransformer("3WT");
+        twt.getLeg1().getTerminal().disconnect();
+        twt.getLeg2().getTerminal().disconnect();
+        twt.getLeg3().getTerminal().disconnect();
+
+        LoadFlowResult result = runLoadFlow(network);
+        // buses only connected to a load are not valid, so no star node must be left alone in the matrix
+        assertTrue(result.isOk());
+        assertEquals("0", result.getMetrics().get("busCount"));
+        assertEquals("0", result.getMetrics().get("componentCount"));
+    }
+
+    private static Network createGridNetwork(int size) {
+        Network network = NetworkFactory.create("grid", "test");
+        Substation s = network.newSubstation()
+                .setId("S")
+                .setCountry(Country.FR)
+            .add();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                String id = i + "_" + j;
+                VoltageLevel vl = s.newVoltageLevel()
+                        .setId("VL" + id)
+                        .setNominalV(380.0)
+                        .setTopologyKind(TopologyKind.BUS_BREAKER)
+                    .add();
+                vl.getBusBreakerView().newBus()
+                        .setId("B" + id)
+                    .add();
+                vl.newLoad()
+                        .setId("LD" + id)
+                        .setBus("B" + id)
+                        .setConnectableBus("B" + id)
+                        .setP0(10.0)
+                        .setQ0(0.0)
+                    .add();
+                if ((i + j) % 7 == 0) {
+                    vl.newGenerator()
+                            .setId("G" + id)
+                            .setBus("B" + id)
+                            .setConnectableBus("B" + id)
+                            .setMinP(0.0)
+                            .setMaxP(1000.0 + i)
+                            .setVoltageRegulatorOn(false)
+                            .setTargetP(70.0)
+                            .setTargetQ(0.0)
+                        .add();
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i + 1 < size) {
+                    createLine(network, i + "_" + j, (i + 1) + "_" + j, 10.0 + j);
+                }
+                if (j + 1 < size) {
+                    createLine(network, i + "_" + j, i + "_" + (j + 1), 10.0 + i);
+                }
+            }
+        }
+        return network;
+    }
+
+    private static void createLine(Network network, String id1, String id2, double x) {
+        network.newLine()
+                .setId("L" + id1 + "-" + id2)
+                .setVoltageLevel1("VL" + id1)
+                .setBus1("B" + id1)
+                .setConnectableBus1("B" + id1)
+                .setVoltageLevel2("VL" + id2)
+                .setBus2("B" + id2)
+                .setConnectableBus2("B" + id2)
+                .setR(0.0)
+                .setX(x)
+                .setG1(0.0)
+                .setB1(0.0)
+                .setG2(0.0)
+                .setB2(0.0)
+            .add();
+    }
+
+    @Test
+    public void gridTest() {
+        int size = 50;
+        Network network = createGridNetwork(size);
+
+        long start = System.currentTimeMillis();
+        LoadFlowResult result = runLoadFlow(network);
+        LOGGER.info("DC load flow of a {} buses grid done in {} ms", size * size, System.currentTimeMillis() - start);
+
+        assertTrue(result.isOk());
+        assertEquals(Integer.toString(size * size), result.getMetrics().get("busCount"));
+        assertEquals("1", result.getMetrics().get("componentCount"));
+        assertActivePowerBalance(network);
+    }
+}
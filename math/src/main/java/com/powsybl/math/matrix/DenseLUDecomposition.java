@@ -13,12 +13,33 @@ import java.util.Objects;
  */
 public class DenseLUDecomposition implements LUDecomposition {
 
-    private final Jama.LUDecomposition decomposition;
+    private final DenseMatrix matrix;
 
+    private Jama.LUDecomposition decomposition;
+
+    public DenseLUDecomposition(DenseMatrix matrix) {
+        this.matrix = Objects.requireNonNull(matrix);
+        decomposition = matrix.toJamaMatrix().lu();
+    }
+
+    /**
+     * @deprecated Use {@link #DenseLUDecomposition(DenseMatrix)} instead, a decomposition created from a Jama
+     * decomposition cannot be updated.
+     */
+    @Deprecated
     public DenseLUDecomposition(Jama.LUDecomposition decomposition) {
+        this.matrix = null;
         this.decomposition = Objects.requireNonNull(decomposition);
     }
 
+    @Override
+    public void update() {
+        if (matrix == null) {
+            throw new UnsupportedOperationException("LU decomposition created from a Jama decomposition cannot be updated");
+        }
+        decomposition = matrix.toJamaMatrix().lu();
+    }
+
     @Override
     public void solve(double[] b) {
         Jama.Matrix x = decomposition.solve(new Jama.Matrix(b, b.length));
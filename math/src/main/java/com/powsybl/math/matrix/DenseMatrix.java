@@ -121,7 +121,7 @@ public class DenseMatrix extends AbstractMatrix {
 
     @Override
     public LUDecomposition decomposeLU() {
-        return new DenseLUDecomposition(toJamaMatrix().lu());
+        return new DenseLUDecomposition(this);
     }
 
     @Override
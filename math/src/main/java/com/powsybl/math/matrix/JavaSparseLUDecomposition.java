@@ -0,0 +1,445 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+import com.powsybl.commons.PowsyblException;
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Pure Java sparse LU decomposition, used when the native KLU library is not available.
+ * <p>
+ * Columns are ordered with a minimum degree heuristic on the pattern of A + A<sup>T</sup>, then the matrix is factorized
+ * column by column with a left-looking (Gilbert-Peierls) algorithm and threshold partial pivoting, the diagonal being
+ * preferred as a pivot to preserve the ordering.
+ * <p>
+ * On {@link #update()}, if the sparsity pattern of the matrix is unchanged, the ordering, the pivot sequence and the
+ * L and U patterns are reused and only the values are recomputed. If a reused pivot becomes too small, a new pivot
+ * sequence is computed keeping the column ordering.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class JavaSparseLUDecomposition implements LUDecomposition {
+
+    private static final double PIVOT_TOLERANCE = 0.001;
+
+    private final SparseMatrix matrix;
+
+    private final int n;
+
+    // structure of the matrix the analysis has been done for
+    private int[] ap;
+    private int[] ai;
+
+    // column ordering
+    private int[] q;
+
+    // row i of the matrix is the pinv[i]-th pivot
+    private int[] pinv;
+
+    // L (unit diagonal stored first in each column) and U (diagonal stored last in each column), row indexes are
+    // pivot indexes
+    private int[] lp;
+    private int[] li;
+    private double[] lx;
+    private int[] up;
+    private int[] ui;
+    private double[] ux;
+
+    // always reset to zero after use
+    private final double[] work;
+
+    // depth first search arrays
+    private final int[] xi;
+    private final int[] stack;
+    private final int[] pstack;
+    private final int[] marks;
+    private int stamp = 0;
+
+    public JavaSparseLUDecomposition(SparseMatrix matrix) {
+        this.matrix = Objects.requireNonNull(matrix);
+        if (matrix.getM() != matrix.getN()) {
+            throw new IllegalArgumentException("matrix is not square");
+        }
+        n = matrix.getN();
+        work = new double[n];
+        xi = new int[n];
+        stack = new int[n];
+        pstack = new int[n];
+        marks = new int[n];
+        analyze();
+        factor(matrix.getValues());
+    }
+
+    private static int[] getColumnStart(SparseMatrix matrix) {
+        int[] columnStart = matrix.getColumnStart().clone();
+        // empty columns have a -1 start
+        for (int j = columnStart.length - 2; j >= 0; j--) {
+            if (columnStart[j] == -1) {
+                columnStart[j] = columnStart[j + 1];
+            }
+        }
+        return columnStart;
+    }
+
+    private boolean hasSameStructure() {
+        int[] columnStart = getColumnStart(matrix);
+        if (!Arrays.equals(columnStart, ap)) {
+            return false;
+        }
+        int[] rowIndices = matrix.getRowIndices();
+        for (int p = 0; p < ai.length; p++) {
+            if (rowIndices[p] != ai[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void analyze() {
+        ap = getColumnStart(matrix);
+        ai = Arrays.copyOf(matrix.getRowIndices(), ap[n]);
+        q = computeMinimumDegreeOrdering(n, ap, ai);
+    }
+
+    /**
+     * Minimum degree ordering of the undirected graph of A + A<sup>T</sup>: the node with the lowest degree is
+     * eliminated first and its neighbours are connected together.
+     */
+    private static int[] computeMinimumDegreeOrdering(int n, int[] ap, int[] ai) {
+        TIntHashSet[] adjacency = new TIntHashSet[n];
+        for (int j = 0; j < n; j++) {
+            adjacency[j] = new TIntHashSet();
+        }
+        for (int j = 0; j < n; j++) {
+            for (int p = ap[j]; p < ap[j + 1]; p++) {
+                int i = ai[p];
+                if (i != j) {
+                    adjacency[i].add(j);
+                    adjacency[j].add(i);
+                }
+            }
+        }
+
+        // nodes are chained in one doubly linked list per degree
+        int[] head = new int[n];
+        int[] next = new int[n];
+        int[] previous = new int[n];
+        int[] degree = new int[n];
+        Arrays.fill(head, -1);
+        for (int j = 0; j < n; j++) {
+            degree[j] = adjacency[j].size();
+            link(j, degree, head, next, previous);
+        }
+
+        int[] order = new int[n];
+        int minDegree = 0;
+        for (int k = 0; k < n; k++) {
+            while (head[minDegree] == -1) {
+                minDegree++;
+            }
+            int pivot = head[minDegree];
+            unlink(pivot, degree, head, next, previous);
+            order[k] = pivot;
+
+            int[] neighbours = adjacency[pivot].toArray();
+            adjacency[pivot] = null;
+            for (int u : neighbours) {
+                TIntHashSet uAdjacency = adjacency[u];
+                uAdjacency.remove(pivot);
+                for (int w : neighbours) {
+                    if (w != u) {
+                        uAdjacency.add(w);
+                    }
+                }
+                unlink(u, degree, head, next, previous);
+                degree[u] = uAdjacency.size();
+                link(u, degree, head, next, previous);
+                minDegree = Math.min(minDegree, degree[u]);
+            }
+        }
+        return order;
+    }
+
+    private static void link(int j, int[] degree, int[] head, int[] next, int[] previous) {
+        int first = head[degree[j]];
+        next[j] = first;
+        previous[j] = -1;
+        if (first != -1) {
+            previous[first] = j;
+        }
+        head[degree[j]] = j;
+    }
+
+    private static void unlink(int j, int[] degree, int[] head, int[] next, int[] previous) {
+        if (previous[j] != -1) {
+            next[previous[j]] = next[j];
+        } else {
+            head[degree[j]] = next[j];
+        }
+        if (next[j] != -1) {
+            previous[next[j]] = previous[j];
+        }
+    }
+
+    /**
+     * Compute in xi[top..n-1], in topological order, the rows reachable in the graph of L from the non zero rows of
+     * column col of the matrix, i.e the non zero pattern of L \ A(:, col).
+     */
+    private int reach(int col, int[] lStart, TIntArrayList lRows) {
+        stamp++;
+        int top = n;
+        for (int p = ap[col]; p < ap[col + 1]; p++) {
+            if (marks[ai[p]] != stamp) {
+                top = depthFirstSearch(ai[p], top, lStart, lRows);
+            }
+        }
+        return top;
+    }
+
+    private int depthFirstSearch(int root, int top, int[] lStart, TIntArrayList lRows) {
+        int newTop = top;
+        int head = 0;
+        stack[0] = root;
+        while (head >= 0) {
+            int j = stack[head];
+            int jPivot = pinv[j];
+            if (marks[j] != stamp) {
+                marks[j] = stamp;
+                pstack[head] = jPivot < 0 ? 0 : lStart[jPivot];
+            }
+            boolean done = true;
+            int end = jPivot < 0 ? 0 : lStart[jPivot + 1];
+            for (int p = pstack[head]; p < end; p++) {
+                int i = lRows.getQuick(p);
+                if (marks[i] != stamp) {
+                    pstack[head] = p;
+                    stack[++head] = i;
+                    done = false;
+                    break;
+                }
+            }
+            if (done) {
+                head--;
+                xi[--newTop] = j;
+            }
+        }
+        return newTop;
+    }
+
+    /**
+     * Numerical factorization with partial pivoting, following the column ordering computed by the analysis.
+     */
+    private void factor(double[] ax) {
+        int estimatedNonZeroValueCount = 4 * ap[n] + n;
+        TIntArrayList lRows = new TIntArrayList(estimatedNonZeroValueCount);
+        TDoubleArrayList lValues = new TDoubleArrayList(estimatedNonZeroValueCount);
+        TIntArrayList uRows = new TIntArrayList(estimatedNonZeroValueCount);
+        TDoubleArrayList uValues = new TDoubleArrayList(estimatedNonZeroValueCount);
+        int[] lStart = new int[n + 1];
+        int[] uStart = new int[n + 1];
+        pinv = new int[n];
+        Arrays.fill(pinv, -1);
+        Arrays.fill(marks, 0);
+        stamp = 0;
+
+        // work array is indexed by matrix row
+        double[] x = work;
+        for (int k = 0; k < n; k++) {
+            lStart[k] = lRows.size();
+            uStart[k] = uRows.size();
+            int col = q[k];
+
+            // x = L \ A(:, col)
+            int top = reach(col, lStart, lRows);
+            for (int p = ap[col]; p < ap[col + 1]; p++) {
+                x[ai[p]] += ax[p];
+            }
+            for (int px = top; px < n; px++) {
+                int j = xi[px];
+                int jPivot = pinv[j];
+                if (jPivot >= 0) {
+                    double xj = x[j];
+                    for (int p = lStart[jPivot] + 1; p < lStart[jPivot + 1]; p++) {
+                        x[lRows.getQuick(p)] -= lValues.getQuick(p) * xj;
+                    }
+                }
+            }
+
+            // choose the pivot among the rows not already pivotal, the diagonal being preferred
+            int pivotRow = -1;
+            double maxValue = -1;
+            for (int px = top; px < n; px++) {
+                int i = xi[px];
+                if (pinv[i] < 0) {
+                    if (Math.abs(x[i]) > maxValue) {
+                        maxValue = Math.abs(x[i]);
+                        pivotRow = i;
+                    }
+                } else {
+                    uRows.add(pinv[i]);
+                    uValues.add(x[i]);
+                }
+            }
+            if (pivotRow == -1 || maxValue <= 0) {
+                for (int px = top; px < n; px++) {
+                    x[xi[px]] = 0;
+                }
+                throw new PowsyblException("Matrix is singular");
+            }
+            if (pinv[col] < 0 && Math.abs(x[col]) >= maxValue * PIVOT_TOLERANCE) {
+                pivotRow = col;
+            }
+            double pivot = x[pivotRow];
+            uRows.add(k);
+            uValues.add(pivot);
+            pinv[pivotRow] = k;
+            lRows.add(pivotRow);
+            lValues.add(1);
+            for (int px = top; px < n; px++) {
+                int i = xi[px];
+                if (pinv[i] < 0) {
+                    lRows.add(i);
+                    lValues.add(x[i] / pivot);
+                }
+                x[i] = 0;
+            }
+        }
+        lStart[n] = lRows.size();
+        uStart[n] = uRows.size();
+
+        // switch L row indexes from matrix rows to pivot indexes
+        for (int p = 0; p < lRows.size(); p++) {
+            lRows.setQuick(p, pinv[lRows.getQuick(p)]);
+        }
+
+        lp = lStart;
+        li = lRows.toArray();
+        lx = lValues.toArray();
+        up = uStart;
+        ui = uRows.toArray();
+        ux = uValues.toArray();
+    }
+
+    /**
+     * Numerical factorization reusing the pivot sequence and the L and U patterns of the previous factorization.
+     *
+     * @return false if a pivot is too small, the factorization is then invalid
+     */
+    private boolean refactor(double[] ax) {
+        // work array is indexed by pivot
+        double[] x = work;
+        for (int k = 0; k < n; k++) {
+            int col = q[k];
+            for (int p = ap[col]; p < ap[col + 1]; p++) {
+                x[pinv[ai[p]]] += ax[p];
+            }
+
+            // U entries are stored in topological order
+            int diagonal = up[k + 1] - 1;
+            for (int p = up[k]; p < diagonal; p++) {
+                int j = ui[p];
+                double xj = x[j];
+                x[j] = 0;
+                ux[p] = xj;
+                for (int l = lp[j] + 1; l < lp[j + 1]; l++) {
+                    x[li[l]] -= lx[l] * xj;
+                }
+            }
+
+            double pivot = x[k];
+            x[k] = 0;
+            double maxValue = 0;
+            for (int l = lp[k] + 1; l < lp[k + 1]; l++) {
+                maxValue = Math.max(maxValue, Math.abs(x[li[l]]));
+            }
+            if (pivot == 0 || Math.abs(pivot) < maxValue * PIVOT_TOLERANCE) {
+                for (int l = lp[k] + 1; l < lp[k + 1]; l++) {
+                    x[li[l]] = 0;
+                }
+                return false;
+            }
+            ux[diagonal] = pivot;
+            for (int l = lp[k] + 1; l < lp[k + 1]; l++) {
+                lx[l] = x[li[l]] / pivot;
+                x[li[l]] = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void update() {
+        if (!hasSameStructure()) {
+            analyze();
+            factor(matrix.getValues());
+        } else if (!refactor(matrix.getValues())) {
+            factor(matrix.getValues());
+        }
+    }
+
+    @Override
+    public void solve(double[] b) {
+        Objects.requireNonNull(b);
+        if (b.length != n) {
+            throw new IllegalArgumentException("Incorrect vector size " + b.length + ", expected " + n);
+        }
+        double[] x = work;
+        for (int i = 0; i < n; i++) {
+            x[pinv[i]] = b[i];
+        }
+        // L * y = P * b
+        for (int j = 0; j < n; j++) {
+            double xj = x[j];
+            if (xj != 0) {
+                for (int p = lp[j] + 1; p < lp[j + 1]; p++) {
+                    x[li[p]] -= lx[p] * xj;
+                }
+            }
+        }
+        // U * z = y
+        for (int j = n - 1; j >= 0; j--) {
+            int diagonal = up[j + 1] - 1;
+            x[j] /= ux[diagonal];
+            double xj = x[j];
+            if (xj != 0) {
+                for (int p = up[j]; p < diagonal; p++) {
+                    x[ui[p]] -= ux[p] * xj;
+                }
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            b[q[k]] = x[k];
+            x[k] = 0;
+        }
+    }
+
+    @Override
+    public void solve(DenseMatrix b) {
+        Objects.requireNonNull(b);
+        if (b.getM() != n) {
+            throw new IllegalArgumentException("Incorrect matrix row count " + b.getM() + ", expected " + n);
+        }
+        double[] values = b.getValuesCopy();
+        double[] column = new double[n];
+        for (int j = 0; j < b.getN(); j++) {
+            System.arraycopy(values, j * n, column, 0, n);
+            solve(column);
+            System.arraycopy(column, 0, values, j * n, n);
+        }
+        b.setValues(values);
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+}
@@ -19,6 +19,16 @@ public interface LUDecomposition extends AutoCloseable {
 
     void solve(DenseMatrix b);
 
+    /**
+     * Update the decomposition after a modification of the values of the matrix, the sparsity pattern being unchanged,
+     * so that the analysis of the matrix structure can be reused.
+     *
+     * @throws UnsupportedOperationException if the implementation does not support refactorization
+     */
+    default void update() {
+        throw new UnsupportedOperationException("LU decomposition update is not supported by " + getClass().getName());
+    }
+
     @Override
     void close();
 }
@@ -7,6 +7,7 @@
 package com.powsybl.math.matrix;
 
 import java.nio.ByteBuffer;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -14,9 +15,12 @@ import java.util.UUID;
  */
 public class SparseLUDecomposition implements LUDecomposition {
 
+    private final SparseMatrix matrix;
+
     private final String id;
 
     public SparseLUDecomposition(SparseMatrix matrix) {
+        this.matrix = Objects.requireNonNull(matrix);
         if (matrix.getM() != matrix.getN()) {
             throw new IllegalArgumentException("matrix is not square");
         }
@@ -26,12 +30,19 @@ public class SparseLUDecomposition implements LUDecomposition {
 
     private native void init(String id, int[] ap, int[] ai, double[] ax);
 
+    private native void update(String id, int[] ap, int[] ai, double[] ax);
+
     private native void release(String id);
 
     private native void solve(String id, double[] b);
 
     private native void solve2(String id, int m, int n, ByteBuffer b);
 
+    @Override
+    public void update() {
+        update(id, matrix.getColumnStart(), matrix.getRowIndices(), matrix.getValues());
+    }
+
     @Override
     public void solve(double[] b) {
         solve(id, b);
@@ -16,6 +16,7 @@ import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -34,12 +35,25 @@ public class SparseMatrix extends AbstractMatrix {
             System.loadLibrary("mathjni");
             nativeInit();
         } catch (UnsatisfiedLinkError e) {
-            LOGGER.warn("Cannot load native math library");
+            LOGGER.warn("Cannot load native math library: {}", e.getMessage());
             pb = true;
         }
         NATIVE_INIT = !pb;
     }
 
+    private static final AtomicBoolean JAVA_LU_FALLBACK_LOGGED = new AtomicBoolean(false);
+
+    /**
+     * LU decomposition implementation used when not explicitly chosen: native if the library has been loaded, pure
+     * Java otherwise, which is logged once as it is significantly slower.
+     */
+    static boolean isNativeLUByDefault() {
+        if (!NATIVE_INIT && JAVA_LU_FALLBACK_LOGGED.compareAndSet(false, true)) {
+            LOGGER.warn("Sparse matrices LU decomposition falls back to the pure Java implementation");
+        }
+        return NATIVE_INIT;
+    }
+
     private static void checkNativeInit() {
         if (!NATIVE_INIT) {
             throw new PowsyblException("Native init has failed");
@@ -52,6 +66,8 @@ public class SparseMatrix extends AbstractMatrix {
     private final TIntArrayListHack rowIndices;
     private final TDoubleArrayListHack values;
 
+    private final boolean nativeLU;
+
     private int currentColumn = -1; // just for matrix filling
 
     public SparseMatrix(int m, int n, int[] columnStart, int[] rowIndices, double[] values) {
@@ -60,9 +76,18 @@ public class SparseMatrix extends AbstractMatrix {
         this.columnStart = Objects.requireNonNull(columnStart);
         this.rowIndices = new TIntArrayListHack(Objects.requireNonNull(rowIndices));
         this.values = new TDoubleArrayListHack(Objects.requireNonNull(values));
+        nativeLU = isNativeLUByDefault();
     }
 
     public SparseMatrix(int m, int n, int estimatedNonZeroValueCount) {
+        this(m, n, estimatedNonZeroValueCount, isNativeLUByDefault());
+    }
+
+    /**
+     * @param nativeLU if true the LU decomposition relies on the native KLU library, otherwise on a pure Java
+     *                 implementation
+     */
+    public SparseMatrix(int m, int n, int estimatedNonZeroValueCount, boolean nativeLU) {
         this.m = m;
         this.n = n;
         columnStart = new int[n + 1];
@@ -70,6 +95,7 @@ public class SparseMatrix extends AbstractMatrix {
         this.columnStart[n] = 0;
         rowIndices = new TIntArrayListHack(estimatedNonZeroValueCount);
         values = new TDoubleArrayListHack(estimatedNonZeroValueCount);
+        this.nativeLU = nativeLU;
     }
 
     int[] getColumnStart() {
@@ -96,6 +122,14 @@ public class SparseMatrix extends AbstractMatrix {
 
     @Override
     public void setValue(int m, int n, double value) {
+        setAndGetIndex(m, n, value);
+    }
+
+    /**
+     * Set a value and return its index, so that it can be later modified with {@link #setAtIndex(int, double)}
+     * without changing the matrix structure, for instance before an {@link LUDecomposition#update()}.
+     */
+    public int setAndGetIndex(int m, int n, double value) {
         if (n == currentColumn) {
             // ok, continue to fill row
         } else if (n > currentColumn) {
@@ -108,12 +142,26 @@ public class SparseMatrix extends AbstractMatrix {
         values.add(value);
         rowIndices.add(m);
         columnStart[columnStart.length - 1] = values.size();
+        return values.size() - 1;
+    }
+
+    /**
+     * Modify a value previously set, from its index.
+     */
+    public void setAtIndex(int index, double value) {
+        if (index < 0 || index >= values.size()) {
+            throw new IllegalArgumentException("Bad value index: " + index);
+        }
+        values.setQuick(index, value);
     }
 
     @Override
     public LUDecomposition decomposeLU() {
-        checkNativeInit();
-        return new SparseLUDecomposition(this);
+        if (nativeLU) {
+            checkNativeInit();
+            return new SparseLUDecomposition(this);
+        }
+        return new JavaSparseLUDecomposition(this);
     }
 
     private native SparseMatrix times(int m1, int n1, int[] ap1, int[] ai1, double[] ax1, int m2, int n2, int[] ap2, int[] ai2, double[] ax2);
@@ -11,8 +11,22 @@ package com.powsybl.math.matrix;
  */
 public class SparseMatrixFactory implements MatrixFactory {
 
+    private final boolean nativeLU;
+
+    /**
+     * Sparse matrices LU decomposition relies on the native KLU library if available, on a pure Java implementation
+     * otherwise, in which case a warning is logged on first use.
+     */
+    public SparseMatrixFactory() {
+        this(SparseMatrix.isNativeLUByDefault());
+    }
+
+    public SparseMatrixFactory(boolean nativeLU) {
+        this.nativeLU = nativeLU;
+    }
+
     @Override
     public SparseMatrix create(int m, int n, int estimatedNonZeroValueCount) {
-        return new SparseMatrix(m, n, estimatedNonZeroValueCount);
+        return new SparseMatrix(m, n, estimatedNonZeroValueCount, nativeLU);
     }
 }
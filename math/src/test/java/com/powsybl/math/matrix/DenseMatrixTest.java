@@ -11,7 +11,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -80,4 +80,28 @@ public class DenseMatrixTest extends AbstractMatrixTest {
         a.addValue(0, 0, 1d);
         assertEquals(1d, a.getValue(0, 0), 1d);
     }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDecompositionFromJama() {
+        DenseMatrix a = new DenseMatrix(2, 2);
+        a.setValue(0, 0, 2);
+        a.setValue(0, 1, 1);
+        a.setValue(1, 1, 4);
+        double[] x = {4, 8};
+        double[] expected = x.clone();
+        try (LUDecomposition decomposition = new DenseLUDecomposition(a.toJamaMatrix().lu())) {
+            decomposition.solve(x);
+            try (LUDecomposition decomposition2 = a.decomposeLU()) {
+                decomposition2.solve(expected);
+            }
+            assertArrayEquals(new double[] {1, 2}, x, EPSILON);
+            assertArrayEquals(expected, x, EPSILON);
+            try {
+                decomposition.update();
+                fail();
+            } catch (UnsupportedOperationException ignored) {
+            }
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+import com.powsybl.commons.PowsyblException;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class JavaSparseLUDecompositionTest {
+
+    private static final double EPSILON = Math.pow(10, -12);
+
+    private final MatrixFactory matrixFactory = new SparseMatrixFactory(false);
+
+    private static double[] multiply(Matrix a, double[] x) {
+        double[] b = new double[a.getM()];
+        a.iterateNonZeroValue((i, j, value) -> b[i] += value * x[j]);
+        return b;
+    }
+
+    @Test
+    public void testFactory() {
+        Matrix a = matrixFactory.create(1, 1, 1);
+        a.setValue(0, 0, 2);
+        try (LUDecomposition decomposition = a.decomposeLU()) {
+            assertTrue(decomposition instanceof JavaSparseLUDecomposition);
+        }
+    }
+
+    @Test
+    public void testDecompose() {
+        SparseMatrix a = (SparseMatrix) matrixFactory.create(5, 5, 12);
+        a.setValue(0, 0, 2);
+        a.setValue(1, 0, 3);
+        a.setValue(0, 1, 3);
+        a.setValue(2, 1, -1);
+        a.setValue(4, 1, 4);
+        a.setValue(1, 2, 4);
+        int index = a.setAndGetIndex(2, 2, -3);
+        a.setValue(3, 2, 1);
+        a.setValue(4, 2, 2);
+        a.setValue(2, 3, 2);
+        a.setValue(1, 4, 6);
+        a.setValue(4, 4, 1);
+
+        try (LUDecomposition decomposition = a.decomposeLU()) {
+            double[] x = {8, 45, -3, 3, 19};
+            decomposition.solve(x);
+            assertArrayEquals(new double[] {1, 2, 3, 4, 5}, x, EPSILON);
+
+            DenseMatrix x2 = new DenseMatrix(5, 2);
+            for (int j = 0; j < 2; j++) {
+                x2.setValue(0, j, 8);
+                x2.setValue(1, j, 45);
+                x2.setValue(2, j, -3);
+                x2.setValue(3, j, 3);
+                x2.setValue(4, j, 19);
+            }
+            decomposition.solve(x2);
+            for (int j = 0; j < 2; j++) {
+                for (int i = 0; i < 5; i++) {
+                    assertEquals(i + 1, x2.getValue(i, j), EPSILON);
+                }
+            }
+
+            // A(2, 2) from -3 to 1, only b(2) changes
+            a.setAtIndex(index, 1);
+            decomposition.update();
+            double[] x3 = {8, 45, 9, 3, 19};
+            decomposition.solve(x3);
+            assertArrayEquals(new double[] {1, 2, 3, 4, 5}, x3, EPSILON);
+        }
+    }
+
+    @Test
+    public void testUpdateWithPivotChange() {
+        // [1 1]
+        // [1 2]
+        SparseMatrix a = (SparseMatrix) matrixFactory.create(2, 2, 4);
+        int index = a.setAndGetIndex(0, 0, 1);
+        a.setValue(1, 0, 1);
+        a.setValue(0, 1, 1);
+        a.setValue(1, 1, 2);
+        try (LUDecomposition decomposition = a.decomposeLU()) {
+            double[] x = {3, 5};
+            decomposition.solve(x);
+            assertArrayEquals(new double[] {1, 2}, x, EPSILON);
+
+            // the previous pivot is now zero, a new pivot sequence has to be computed
+            a.setAtIndex(index, 0);
+            decomposition.update();
+            double[] x2 = {2, 5};
+            decomposition.solve(x2);
+            assertArrayEquals(new double[] {1, 2}, x2, EPSILON);
+        }
+    }
+
+    @Test(expected = PowsyblException.class)
+    public void testSingular() {
+        Matrix a = matrixFactory.create(2, 2, 4);
+        a.setValue(0, 0, 1);
+        a.setValue(1, 0, 2);
+        a.setValue(0, 1, 2);
+        a.setValue(1, 1, 4);
+        a.decomposeLU();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotSquare() {
+        matrixFactory.create(2, 3, 0).decomposeLU();
+    }
+
+    @Test
+    public void testRandomSystem() {
+        // diagonally dominant matrix with a random sparsity pattern
+        int n = 200;
+        Random random = new Random(0);
+        SparseMatrix a = (SparseMatrix) matrixFactory.create(n, n, 5 * n);
+        int[] diagonalIndexes = new int[n];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                if (i == j) {
+                    diagonalIndexes[j] = a.setAndGetIndex(i, j, 10);
+                } else if (random.nextInt(n) < 4) {
+                    a.setValue(i, j, random.nextDouble() - 0.5);
+                }
+            }
+        }
+        double[] expected = new double[n];
+        for (int i = 0; i < n; i++) {
+            expected[i] = random.nextDouble();
+        }
+
+        try (LUDecomposition decomposition = a.decomposeLU()) {
+            double[] x = multiply(a, expected);
+            decomposition.solve(x);
+            assertArrayEquals(expected, x, EPSILON);
+
+            for (int j = 0; j < n; j++) {
+                a.setAtIndex(diagonalIndexes[j], 5 + random.nextDouble());
+            }
+            decomposition.update();
+            double[] x2 = multiply(a, expected);
+            decomposition.solve(x2);
+            assertArrayEquals(expected, x2, EPSILON);
+        }
+    }
+}
@@ -38,12 +38,6 @@ public class SparseMatrixTest extends AbstractMatrixTest {
         super.testMultiplication();
     }
 
-    @Override
-    public void testDecompose() throws Exception {
-        assumeTrue(SparseMatrix.NATIVE_INIT);
-        super.testDecompose();
-    }
-
     @Test
     public void testSparsePrint() throws IOException {
         Matrix a = createA(matrixFactory);
@@ -30,6 +30,8 @@ public abstract class AbstractSecurityAnalysis implements SecurityAnalysis {
 
     protected final List<SecurityAnalysisInterceptor> interceptors;
 
+    protected SecurityAnalysisResultSink resultSink;
+
     protected AbstractSecurityAnalysis(Network network, LimitViolationFilter violationFilter) {
         this(network, new DefaultLimitViolationDetector(EnumSet.allOf(Security.CurrentLimitType.class)), violationFilter);
     }
@@ -51,7 +53,15 @@ public abstract class AbstractSecurityAnalysis implements SecurityAnalysis {
         return interceptors.remove(interceptor);
     }
 
+    /**
+     * Set a sink to which the results are streamed as soon as they are available, instead of being accumulated
+     * in the returned {@link SecurityAnalysisResult}.
+     */
+    public void setResultSink(SecurityAnalysisResultSink resultSink) {
+        this.resultSink = resultSink;
+    }
+
     protected SecurityAnalysisResultBuilder createResultBuilder(String initialWorkingStateId) {
-        return new SecurityAnalysisResultBuilder(violationFilter, new RunningContext(network, initialWorkingStateId), interceptors);
+        return new SecurityAnalysisResultBuilder(violationFilter, new RunningContext(network, initialWorkingStateId), interceptors, resultSink);
     }
 }
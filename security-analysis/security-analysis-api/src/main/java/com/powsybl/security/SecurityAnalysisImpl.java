@@ -17,10 +17,15 @@ import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.security.interceptors.CurrentLimitViolationInterceptor;
 import com.powsybl.security.interceptors.SecurityAnalysisInterceptor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -93,37 +98,10 @@ public class SecurityAnalysisImpl extends AbstractSecurityAnalysis {
 
                         List<Contingency> contingencies = contingenciesProvider.getContingencies(network);
 
-                        futures = new CompletableFuture[contingencies.size()];
-
-                        String hash = UUID.randomUUID().toString();
-                        for (int i = 0; i < contingencies.size(); i++) {
-                            Contingency contingency = contingencies.get(i);
-
-                            String postContStateId = hash + "_" + contingency.getId();
-
-                            // run one loadflow per contingency
-                            futures[i] = CompletableFuture
-                                    .supplyAsync(() -> {
-                                        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, postContStateId);
-                                        network.getVariantManager().setWorkingVariant(postContStateId);
-
-                                        // apply the contingency on the network
-                                        contingency.toTask().modify(network, computationManager);
-
-                                        return null;
-                                    }, computationManager.getExecutor())
-                                    .thenComposeAsync(aVoid -> loadFlow.run(postContStateId, postContParameters), computationManager.getExecutor())
-                                    .handleAsync((lfResult, throwable) -> {
-                                        network.getVariantManager().setWorkingVariant(postContStateId);
-
-                                        resultBuilder.contingency(contingency)
-                                                .setComputationOk(lfResult.isOk());
-                                        violationDetector.checkAll(network, resultBuilder::addViolation);
-                                        resultBuilder.endContingency();
-                                        network.getVariantManager().removeVariant(postContStateId);
-
-                                        return null;
-                                    }, computationManager.getExecutor());
+                        if (securityAnalysisParameters.getConcurrency() > 0) {
+                            futures = new CompletableFuture[] {runPooled(contingencies, securityAnalysisParameters.getConcurrency(), loadFlow, postContParameters, resultBuilder)};
+                        } else {
+                            futures = runOneVariantPerContingency(contingencies, loadFlow, postContParameters, resultBuilder);
                         }
                     } else {
                         resultBuilder.preContingency()
@@ -140,4 +118,109 @@ public class SecurityAnalysisImpl extends AbstractSecurityAnalysis {
                         });
                 }, computationManager.getExecutor());
     }
+
+    private CompletableFuture<Void>[] runOneVariantPerContingency(List<Contingency> contingencies, LoadFlow loadFlow, LoadFlowParameters postContParameters,
+                                                                  SecurityAnalysisResultBuilder resultBuilder) {
+        CompletableFuture<Void>[] futures = new CompletableFuture[contingencies.size()];
+
+        String hash = UUID.randomUUID().toString();
+        for (int i = 0; i < contingencies.size(); i++) {
+            Contingency contingency = contingencies.get(i);
+
+            String postContStateId = hash + "_" + contingency.getId();
+
+            // run one loadflow per contingency
+            futures[i] = CompletableFuture
+                    .supplyAsync(() -> {
+                        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, postContStateId);
+                        network.getVariantManager().setWorkingVariant(postContStateId);
+
+                        // apply the contingency on the network
+                        contingency.toTask().modify(network, computationManager);
+
+                        return null;
+                    }, computationManager.getExecutor())
+                    .thenComposeAsync(aVoid -> loadFlow.run(postContStateId, postContParameters), computationManager.getExecutor())
+                    .handleAsync((lfResult, throwable) -> {
+                        network.getVariantManager().setWorkingVariant(postContStateId);
+
+                        resultBuilder.contingency(contingency)
+                                .setComputationOk(lfResult.isOk());
+                        violationDetector.checkAll(network, resultBuilder::addViolation);
+                        resultBuilder.endContingency();
+                        network.getVariantManager().removeVariant(postContStateId);
+
+                        return null;
+                    }, computationManager.getExecutor());
+        }
+
+        return futures;
+    }
+
+    /**
+     * Simulate the contingencies on a fixed pool of worker variants, each worker taking the next contingency of the
+     * queue once the previous one is completed, so that at most {@code concurrency} contingencies are simulated at the
+     * same time and the variant array size does not change during the analysis.
+     */
+    private CompletableFuture<Void> runPooled(List<Contingency> contingencies, int concurrency, LoadFlow loadFlow, LoadFlowParameters postContParameters,
+                                              SecurityAnalysisResultBuilder resultBuilder) {
+        Queue<Contingency> queue = new ConcurrentLinkedQueue<>(contingencies);
+
+        String hash = UUID.randomUUID().toString();
+        List<String> workerStateIds = IntStream.range(0, Math.min(concurrency, contingencies.size()))
+                .mapToObj(i -> hash + "_worker_" + i)
+                .collect(Collectors.toList());
+        if (workerStateIds.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // all the worker variants are created up front so that the variant array is not resized by concurrent workers
+        network.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, workerStateIds);
+
+        CompletableFuture[] workers = workerStateIds.stream()
+                .map(workerStateId -> runWorker(workerStateId, queue, true, loadFlow, postContParameters, resultBuilder))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(workers)
+                .whenComplete((aVoid, throwable) -> workerStateIds.forEach(network.getVariantManager()::removeVariant));
+    }
+
+    private CompletableFuture<Void> runWorker(String workerStateId, Queue<Contingency> queue, boolean firstContingency, LoadFlow loadFlow,
+                                              LoadFlowParameters postContParameters, SecurityAnalysisResultBuilder resultBuilder) {
+        Contingency contingency = queue.poll();
+        if (contingency == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    // a freshly cloned variant does not need to be reset
+                    if (!firstContingency) {
+                        network.getVariantManager().resetVariant(VariantManagerConstants.INITIAL_VARIANT_ID, workerStateId);
+                    }
+                    network.getVariantManager().setWorkingVariant(workerStateId);
+
+                    // apply the contingency on the network
+                    contingency.toTask().modify(network, computationManager);
+
+                    return null;
+                }, computationManager.getExecutor())
+                .thenComposeAsync(aVoid -> loadFlow.run(workerStateId, postContParameters), computationManager.getExecutor())
+                .handleAsync((lfResult, throwable) -> {
+                    network.getVariantManager().setWorkingVariant(workerStateId);
+
+                    // violations are detected concurrently but the result builder can only build one result at a time
+                    List<LimitViolation> violations = new ArrayList<>();
+                    violationDetector.checkAll(network, violations::add);
+                    synchronized (resultBuilder) {
+                        resultBuilder.contingency(contingency)
+                                .setComputationOk(lfResult.isOk());
+                        violations.forEach(resultBuilder::addViolation);
+                        resultBuilder.endContingency();
+                    }
+
+                    return null;
+                }, computationManager.getExecutor())
+                .thenComposeAsync(aVoid -> runWorker(workerStateId, queue, false, loadFlow, postContParameters, resultBuilder), computationManager.getExecutor());
+    }
 }
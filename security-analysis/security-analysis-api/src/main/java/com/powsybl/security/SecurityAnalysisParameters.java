@@ -35,11 +35,18 @@ public class SecurityAnalysisParameters extends AbstractExtendable<SecurityAnaly
 
     public static final String VERSION = "1.0";
 
+    /**
+     * No concurrency limit: a variant is created for each contingency, and removed once its load flow is completed.
+     */
+    public static final int DEFAULT_CONCURRENCY = 0;
+
     private static final Supplier<ExtensionProviders<ConfigLoader>> SUPPLIER =
         Suppliers.memoize(() -> ExtensionProviders.createProvider(ConfigLoader.class, "security-analysis-parameters"));
 
     private LoadFlowParameters loadFlowParameters = new LoadFlowParameters();
 
+    private int concurrency = DEFAULT_CONCURRENCY;
+
     /**
      * Load parameters from platform default config.
      */
@@ -56,6 +63,9 @@ public class SecurityAnalysisParameters extends AbstractExtendable<SecurityAnaly
         SecurityAnalysisParameters parameters = new SecurityAnalysisParameters();
         parameters.readExtensions(platformConfig);
 
+        platformConfig.getOptionalModuleConfig("security-analysis-default-parameters")
+                .ifPresent(config -> parameters.setConcurrency(config.getIntProperty("concurrency", DEFAULT_CONCURRENCY)));
+
         parameters.setLoadFlowParameters(LoadFlowParameters.load(platformConfig));
 
         return parameters;
@@ -75,4 +85,21 @@ public class SecurityAnalysisParameters extends AbstractExtendable<SecurityAnaly
         this.loadFlowParameters = Objects.requireNonNull(loadFlowParameters);
         return this;
     }
+
+    /**
+     * Get the maximum number of contingencies simulated at the same time. When strictly positive, contingencies are
+     * simulated on a fixed pool of variants, one per concurrent simulation, reset from the base state between two
+     * contingencies.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public SecurityAnalysisParameters setConcurrency(int concurrency) {
+        if (concurrency < 0) {
+            throw new IllegalArgumentException("Invalid concurrency: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
 }
@@ -21,6 +21,10 @@ import java.util.*;
  * Encapsulates filtering of limit violations with a provided {@link LimitViolationFilter},
  * as well as notifications to {@link SecurityAnalysisInterceptor}s.
  *
+ * If a {@link SecurityAnalysisResultSink} is provided, the results are forwarded to it as soon as they are
+ * terminated and post-contingency results are not kept in memory: the result returned by {@link #build()}
+ * then only contains the pre-contingency result.
+ *
  * @author Sylvain Leclerc <sylvain.leclerc at rte-france.com>
  */
 public class SecurityAnalysisResultBuilder {
@@ -28,6 +32,7 @@ public class SecurityAnalysisResultBuilder {
     private final LimitViolationFilter filter;
     private final RunningContext context;
     private final List<SecurityAnalysisInterceptor> interceptors;
+    private final SecurityAnalysisResultSink sink;
 
     // Below are volatile objects used for building the actual complete result
     private LimitViolationsResult preContingencyResult;
@@ -36,13 +41,20 @@ public class SecurityAnalysisResultBuilder {
     private ResultBuilder currentBuilder = null;
 
     public SecurityAnalysisResultBuilder(LimitViolationFilter filter, RunningContext context,
-                                         Collection<SecurityAnalysisInterceptor> interceptors) {
+                                         Collection<SecurityAnalysisInterceptor> interceptors,
+                                         SecurityAnalysisResultSink sink) {
         this.filter = Objects.requireNonNull(filter);
         this.context = Objects.requireNonNull(context);
         this.interceptors = ImmutableList.copyOf(interceptors);
+        this.sink = sink;
         this.postContingencyResults = new ArrayList<>();
     }
 
+    public SecurityAnalysisResultBuilder(LimitViolationFilter filter, RunningContext context,
+                                         Collection<SecurityAnalysisInterceptor> interceptors) {
+        this(filter, context, interceptors, null);
+    }
+
     public SecurityAnalysisResultBuilder(LimitViolationFilter filter, RunningContext context) {
         this(filter, context, Collections.emptyList());
     }
@@ -135,8 +147,13 @@ public class SecurityAnalysisResultBuilder {
             throw new IllegalStateException("Pre-contingency result is not yet defined, cannot build security analysis result.");
         }
 
+        NetworkMetadata networkMetadata = new NetworkMetadata(context.getNetwork());
+        if (sink != null) {
+            sink.onNetworkMetadata(networkMetadata);
+        }
+
         SecurityAnalysisResult res = new SecurityAnalysisResult(preContingencyResult, postContingencyResults);
-        res.setNetworkMetadata(new NetworkMetadata(context.getNetwork()));
+        res.setNetworkMetadata(networkMetadata);
         interceptors.forEach(i -> i.onSecurityAnalysisResult(context, res));
 
         return res;
@@ -174,6 +191,9 @@ public class SecurityAnalysisResultBuilder {
             List<LimitViolation> filteredViolations = filter.apply(violations, context.getNetwork());
             LimitViolationsResult res = new LimitViolationsResult(computationOk, filteredViolations);
             interceptors.forEach(i -> i.onPreContingencyResult(context, res));
+            if (sink != null) {
+                sink.onPreContingencyResult(res);
+            }
             preContingencyResult = res;
         }
     }
@@ -190,7 +210,11 @@ public class SecurityAnalysisResultBuilder {
             List<LimitViolation> filteredViolations = filter.apply(violations, context.getNetwork());
             PostContingencyResult res = new PostContingencyResult(contingency, computationOk, filteredViolations);
             interceptors.forEach(i -> i.onPostContingencyResult(context, res));
-            postContingencyResults.add(res);
+            if (sink != null) {
+                sink.onPostContingencyResult(res);
+            } else {
+                postContingencyResults.add(res);
+            }
         }
     }
 }
@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security;
+
+/**
+ * Receives the parts of a security analysis result as soon as they are available, so that very large results
+ * can be written or processed without being entirely kept in memory.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public interface SecurityAnalysisResultSink {
+
+    default void onNetworkMetadata(NetworkMetadata networkMetadata) {
+        // Nothing to do
+    }
+
+    void onPreContingencyResult(LimitViolationsResult preContingencyResult);
+
+    void onPostContingencyResult(PostContingencyResult postContingencyResult);
+}
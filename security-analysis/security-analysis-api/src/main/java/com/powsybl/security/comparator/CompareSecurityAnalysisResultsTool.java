@@ -17,6 +17,7 @@ import org.apache.commons.cli.Options;
 import com.google.auto.service.AutoService;
 import com.powsybl.security.SecurityAnalysisResult;
 import com.powsybl.security.json.SecurityAnalysisResultDeserializer;
+import com.powsybl.security.json.SecurityAnalysisResultStreamReader;
 import com.powsybl.tools.Command;
 import com.powsybl.tools.Tool;
 import com.powsybl.tools.ToolRunningContext;
@@ -98,11 +99,23 @@ public class CompareSecurityAnalysisResultsTool implements Tool {
         Path outputFile = context.getFileSystem().getPath(line.getOptionValue(OUTPUT_FILE_OPTION));
         double threshold = line.hasOption(THRESHOLD_OPTION) ? Double.parseDouble(line.getOptionValue(THRESHOLD_OPTION)) : THRESHOLD_DEFAULT;
         try (Writer outputWriter = Files.newBufferedWriter(outputFile)) {
-            SecurityAnalysisResult result1 = SecurityAnalysisResultDeserializer.read(results1File);
-            SecurityAnalysisResult result2 = SecurityAnalysisResultDeserializer.read(results2File);
             SecurityAnalysisResultEquivalence resultEquivalence = new SecurityAnalysisResultEquivalence(threshold, outputWriter);
-            context.getOutputStream().println("Comparison result: " + (resultEquivalence.equivalent(result1, result2) ? "success" : "fail"));
+            boolean equivalent;
+            if (SecurityAnalysisResultStreamReader.isStream(results1File) && SecurityAnalysisResultStreamReader.isStream(results2File)) {
+                try (SecurityAnalysisResultStreamReader reader1 = new SecurityAnalysisResultStreamReader(results1File);
+                     SecurityAnalysisResultStreamReader reader2 = new SecurityAnalysisResultStreamReader(results2File)) {
+                    equivalent = resultEquivalence.equivalent(reader1, reader2);
+                }
+            } else {
+                equivalent = resultEquivalence.equivalent(readResult(results1File), readResult(results2File));
+            }
+            context.getOutputStream().println("Comparison result: " + (equivalent ? "success" : "fail"));
         }
     }
 
+    private static SecurityAnalysisResult readResult(Path resultFile) {
+        return SecurityAnalysisResultStreamReader.isStream(resultFile) ? SecurityAnalysisResultStreamReader.read(resultFile)
+                                                                       : SecurityAnalysisResultDeserializer.read(resultFile);
+    }
+
 }
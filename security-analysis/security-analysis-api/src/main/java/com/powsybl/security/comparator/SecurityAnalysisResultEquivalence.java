@@ -8,13 +8,18 @@ package com.powsybl.security.comparator;
 
 import java.io.Writer;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
 import com.google.common.base.Equivalence;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import com.powsybl.security.LimitViolation;
+import com.powsybl.security.LimitViolationsResult;
 import com.powsybl.security.PostContingencyResult;
 import com.powsybl.security.SecurityAnalysisResult;
+import com.powsybl.security.json.SecurityAnalysisResultStreamReader;
 
 /**
  *
@@ -32,46 +37,61 @@ public class SecurityAnalysisResultEquivalence extends Equivalence<SecurityAnaly
 
     @Override
     protected boolean doEquivalent(SecurityAnalysisResult result1, SecurityAnalysisResult result2) {
+        PostContingencyResultComparator postContingencyResultComparator = new PostContingencyResultComparator();
+        List<PostContingencyResult> postContingencyResults1 = result1.getPostContingencyResults();
+        List<PostContingencyResult> postContingencyResults2 = result2.getPostContingencyResults();
+        Collections.sort(postContingencyResults1, postContingencyResultComparator);
+        Collections.sort(postContingencyResults2, postContingencyResultComparator);
+        return equivalent(result1.getPreContingencyResult(), postContingencyResults1.iterator(),
+                          result2.getPreContingencyResult(), postContingencyResults2.iterator());
+    }
+
+    /**
+     * Compare two security analysis result streams, reading the post-contingency results one by one, so that the
+     * results are never entirely loaded in memory.
+     */
+    public boolean equivalent(SecurityAnalysisResultStreamReader reader1, SecurityAnalysisResultStreamReader reader2) {
+        Objects.requireNonNull(reader1);
+        Objects.requireNonNull(reader2);
+        return equivalent(reader1.getPreContingencyResult(), postContingencyResults(reader1),
+                          reader2.getPreContingencyResult(), postContingencyResults(reader2));
+    }
+
+    private static Iterator<PostContingencyResult> postContingencyResults(SecurityAnalysisResultStreamReader reader) {
+        // contingency ids are sorted, as expected by the comparison
+        return reader.getContingencyIds().stream().map(reader::getPostContingencyResult).iterator();
+    }
+
+    private boolean equivalent(LimitViolationsResult preContingencyResult1, Iterator<PostContingencyResult> postContingencyResults1,
+                               LimitViolationsResult preContingencyResult2, Iterator<PostContingencyResult> postContingencyResults2) {
         LimitViolationsResultEquivalence violationsResultEquivalence = new LimitViolationsResultEquivalence(threshold, comparisonWriter);
         PostContingencyResultComparator postContingencyResultComparator = new PostContingencyResultComparator();
 
         // compare precontingency results
-        boolean equivalent = violationsResultEquivalence.equivalent(result1.getPreContingencyResult(), result2.getPreContingencyResult());
+        boolean equivalent = violationsResultEquivalence.equivalent(preContingencyResult1, preContingencyResult2);
 
         // I still carry on the comparison even if equivalent is already false because I need to print the violations of the post contingency results
-        // compare postcontingency results
-        List<PostContingencyResult> postContingencyResults1 = result1.getPostContingencyResults();
-        List<PostContingencyResult> postContingencyResults2 = result2.getPostContingencyResults();
-        Collections.sort(postContingencyResults1, postContingencyResultComparator);
-        Collections.sort(postContingencyResults2, postContingencyResultComparator);
-        int index1 = 0;
-        int index2 = 0;
-        while (index1 < postContingencyResults1.size() && index2 < postContingencyResults2.size()) {
-            PostContingencyResult postContingencyResult1 = postContingencyResults1.get(index1);
-            PostContingencyResult postContingencyResult2 = postContingencyResults2.get(index2);
-            int postContingencyResultComparison = postContingencyResultComparator.compare(postContingencyResult1, postContingencyResult2);
+        // compare postcontingency results, both sorted by contingency id
+        PeekingIterator<PostContingencyResult> iterator1 = Iterators.peekingIterator(postContingencyResults1);
+        PeekingIterator<PostContingencyResult> iterator2 = Iterators.peekingIterator(postContingencyResults2);
+        while (iterator1.hasNext() && iterator2.hasNext()) {
+            int postContingencyResultComparison = postContingencyResultComparator.compare(iterator1.peek(), iterator2.peek());
             if (postContingencyResultComparison == 0) { // both results for the same contingency
+                PostContingencyResult postContingencyResult1 = iterator1.next();
+                PostContingencyResult postContingencyResult2 = iterator2.next();
                 comparisonWriter.setContingency(postContingencyResult1.getContingency().getId());
                 equivalent &= violationsResultEquivalence.equivalent(postContingencyResult1.getLimitViolationsResult(), postContingencyResult2.getLimitViolationsResult());
-                index1++;
-                index2++;
             } else if (postContingencyResultComparison < 0) { // contingency only in result1
-                equivalent &= onlySmallViolations(postContingencyResult1, false);
-                index1++;
+                equivalent &= onlySmallViolations(iterator1.next(), false);
             } else { // contingency only in result2
-                equivalent &= onlySmallViolations(postContingencyResult2, true);
-                index2++;
+                equivalent &= onlySmallViolations(iterator2.next(), true);
             }
         }
-        while (index1 < postContingencyResults1.size()) { // possibly remaining post contingency results in result1
-            PostContingencyResult postContingencyResult1 = postContingencyResults1.get(index1);
-            equivalent &= onlySmallViolations(postContingencyResult1, false);
-            index1++;
+        while (iterator1.hasNext()) { // possibly remaining post contingency results in result1
+            equivalent &= onlySmallViolations(iterator1.next(), false);
         }
-        while (index2 < postContingencyResults2.size()) { // possibly remaining post contingency results in result1
-            PostContingencyResult postContingencyResult2 = postContingencyResults2.get(index2);
-            equivalent &= onlySmallViolations(postContingencyResult2, true);
-            index2++;
+        while (iterator2.hasNext()) { // possibly remaining post contingency results in result2
+            equivalent &= onlySmallViolations(iterator2.next(), true);
         }
         return equivalent;
     }
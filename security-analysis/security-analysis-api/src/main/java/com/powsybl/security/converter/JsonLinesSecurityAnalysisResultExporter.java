@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.converter;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.security.SecurityAnalysisResult;
+import com.powsybl.security.json.SecurityAnalysisResultStreamWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * A SecurityAnalysisResultExporter implementation which export the result in JSON lines, one post-contingency result per line
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@AutoService(SecurityAnalysisResultExporter.class)
+public class JsonLinesSecurityAnalysisResultExporter implements SecurityAnalysisResultExporter {
+    @Override
+    public String getFormat() {
+        return "JSONL";
+    }
+
+    @Override
+    public String getComment() {
+        return "Export a security analysis result in JSON lines format";
+    }
+
+    @Override
+    public void export(SecurityAnalysisResult result, Writer writer) {
+        try {
+            SecurityAnalysisResultStreamWriter.write(result, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -17,8 +17,12 @@ import com.powsybl.security.json.SecurityAnalysisResultDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -29,6 +33,11 @@ import static com.powsybl.tools.ToolConstants.TASK;
  * Security analysis implementation which distributes the work through X
  * executions of the "itools security-analysis" command.
  *
+ * Contingencies may be split in more batches than the number of tasks (see
+ * {@link ExternalSecurityAnalysisConfig#getBatchesPerTask()}): the computation manager then
+ * dispatches the batches to the cores as soon as they become available, which balances the load
+ * when some contingencies are much slower to simulate than others.
+ *
  * @author Sylvain Leclerc <sylvain.leclerc at rte-france.com>
  */
 public class DistributedSecurityAnalysis extends ExternalSecurityAnalysis {
@@ -47,22 +56,92 @@ public class DistributedSecurityAnalysis extends ExternalSecurityAnalysis {
         ExecutionEnvironment itoolsEnv = new ExecutionEnvironment(Collections.emptyMap(), "security_analysis_task_", config.isDebug());
 
         List<Contingency> contingencies = contingenciesProvider.getContingencies(network);
-        int actualTaskCount = Math.min(taskCount, Math.max(1, contingencies.size()));
+        int actualTaskCount = (int) Math.min((long) taskCount * config.getBatchesPerTask(), Math.max(1, contingencies.size()));
         return computationManager.execute(itoolsEnv, new SubTaskHandler(workingStateId, parameters, contingenciesProvider, actualTaskCount));
     }
 
     /**
      * Execution handler for sub-tasks.
      * Extends the base handler to launch one itools command for each subtask.
-     * Finally, reads and merge results.
+     * Results of the subtasks are read as soon as they are completed, by the executor of the computation manager, and
+     * merged one by one, so that only the merged result is kept in memory. Post-contingency results are merged in the
+     * order the subtasks complete.
      */
     private class SubTaskHandler extends SecurityAnalysisExecutionHandler {
 
         private final int actualTaskCount;
 
+        private final CompletableFuture[] readings;
+
+        // merged result and merged subtasks, guarded by this
+        private SecurityAnalysisResult mergedResult;
+
+        private boolean failed = false;
+
+        private final BitSet mergedTasks;
+
+        private Path workingDir;
+
         SubTaskHandler(String workingStateId, SecurityAnalysisParameters parameters, ContingenciesProvider contingenciesProvider, int actualTaskCount) {
             super(workingStateId, parameters, contingenciesProvider);
             this.actualTaskCount = actualTaskCount;
+            readings = new CompletableFuture[actualTaskCount];
+            mergedTasks = new BitSet(actualTaskCount);
+        }
+
+        @Override
+        public List<CommandExecution> before(Path workingDir) throws IOException {
+            this.workingDir = workingDir;
+            return super.before(workingDir);
+        }
+
+        /**
+         * Reads the result of a subtask while the other ones are still running, without blocking the thread notifying
+         * the completion.
+         * If the result cannot be read yet, it will be read again once all subtasks are completed.
+         */
+        @Override
+        public void onExecutionCompletion(CommandExecution execution, int executionIndex) {
+            super.onExecutionCompletion(execution, executionIndex);
+            Path taskResultFile = workingDir.resolve(getOutputFileName(executionIndex));
+            readings[executionIndex] = CompletableFuture.runAsync(() -> {
+                if (Files.exists(taskResultFile)) {
+                    try {
+                        merge(executionIndex, SecurityAnalysisResultDeserializer.read(taskResultFile));
+                    } catch (UncheckedIOException e) {
+                        LOGGER.warn("Failed to read result of task {}: {}", executionIndex, e.toString());
+                    }
+                }
+            }, computationManager.getExecutor());
+        }
+
+        /**
+         * Merges the result of a subtask, same as {@link SecurityAnalysisResultMerger#merge(SecurityAnalysisResult[])}:
+         * the pre-contingency result and the network metadata are the ones of the first result, and if one of the
+         * subtasks has failed, the merged result is a failed one.
+         */
+        private synchronized void merge(int taskNum, SecurityAnalysisResult taskResult) {
+            if (mergedTasks.get(taskNum)) {
+                return;
+            }
+            mergedTasks.set(taskNum);
+            if (!taskResult.getPreContingencyResult().isComputationOk()) {
+                failed = true;
+                mergedResult = null;
+            }
+            if (failed) {
+                return;
+            }
+            if (mergedResult == null) {
+                mergedResult = new SecurityAnalysisResult(taskResult.getPreContingencyResult(), new ArrayList<>(taskResult.getPostContingencyResults()))
+                        .setNetworkMetadata(taskResult.getNetworkMetadata());
+            } else {
+                mergedResult.getPostContingencyResults().addAll(taskResult.getPostContingencyResults());
+            }
+        }
+
+        private synchronized boolean isMerged(int taskNum) {
+            return mergedTasks.get(taskNum);
         }
 
         private String getOutputFileName(int taskNumber) {
@@ -70,16 +149,24 @@ public class DistributedSecurityAnalysis extends ExternalSecurityAnalysis {
         }
 
         /**
-         * Merges the subtasks result files.
+         * Waits for the results being read and merges the subtasks results which have not been read yet.
          */
         @Override
         protected SecurityAnalysisResult readResults(Path workingDir) {
-            List<SecurityAnalysisResult> results = new ArrayList<>(actualTaskCount);
+            for (CompletableFuture reading : readings) {
+                if (reading != null) {
+                    reading.join();
+                }
+            }
             for (int taskNum = 0; taskNum < actualTaskCount; taskNum++) {
-                Path taskResultFile = workingDir.resolve(getOutputFileName(taskNum));
-                results.add(SecurityAnalysisResultDeserializer.read(taskResultFile));
+                if (!isMerged(taskNum)) {
+                    Path taskResultFile = workingDir.resolve(getOutputFileName(taskNum));
+                    merge(taskNum, SecurityAnalysisResultDeserializer.read(taskResultFile));
+                }
+            }
+            synchronized (this) {
+                return failed ? SecurityAnalysisResultMerger.FAILED_SECURITY_ANALYSIS_RESULT : mergedResult;
             }
-            return SecurityAnalysisResultMerger.merge(results);
         }
 
         /**
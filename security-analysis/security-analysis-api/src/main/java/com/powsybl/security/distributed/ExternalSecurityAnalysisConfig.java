@@ -18,9 +18,11 @@ public class ExternalSecurityAnalysisConfig {
 
     private static final boolean DEFAULT_DEBUG = false;
     private static final String DEFAULT_COMMAND = "itools";
+    private static final int DEFAULT_BATCHES_PER_TASK = 1;
 
     private final boolean debug;
     private final String itoolsCommand;
+    private final int batchesPerTask;
 
     public ExternalSecurityAnalysisConfig() {
         this(DEFAULT_DEBUG, DEFAULT_COMMAND);
@@ -31,12 +33,20 @@ public class ExternalSecurityAnalysisConfig {
     }
 
     public ExternalSecurityAnalysisConfig(boolean debug, String itoolsCommand) {
+        this(debug, itoolsCommand, DEFAULT_BATCHES_PER_TASK);
+    }
+
+    public ExternalSecurityAnalysisConfig(boolean debug, String itoolsCommand, int batchesPerTask) {
         this.debug = debug;
         Objects.requireNonNull(itoolsCommand);
         if (itoolsCommand.isEmpty()) {
             throw new ConfigurationException("itools command must not be empty.");
         }
+        if (batchesPerTask < 1) {
+            throw new ConfigurationException("Invalid batches per task count: " + batchesPerTask);
+        }
         this.itoolsCommand = itoolsCommand;
+        this.batchesPerTask = batchesPerTask;
     }
 
     public boolean isDebug() {
@@ -47,6 +57,15 @@ public class ExternalSecurityAnalysisConfig {
         return itoolsCommand;
     }
 
+    /**
+     * Number of contingency batches created for each task of a distributed security analysis. With more than one
+     * batch per task, the computation manager dynamically dispatches small batches to the available cores, so that
+     * a batch of slow contingencies does not delay the whole analysis.
+     */
+    public int getBatchesPerTask() {
+        return batchesPerTask;
+    }
+
     public static ExternalSecurityAnalysisConfig load() {
         return load(PlatformConfig.defaultConfig());
     }
@@ -57,9 +76,10 @@ public class ExternalSecurityAnalysisConfig {
                 .map(module -> {
                     boolean debug = module.getBooleanProperty("debug", DEFAULT_DEBUG);
                     String itoolsCommand = module.getStringProperty("itools-command", DEFAULT_COMMAND);
-                    return new ExternalSecurityAnalysisConfig(debug, itoolsCommand);
+                    int batchesPerTask = module.getIntProperty("batches-per-task", DEFAULT_BATCHES_PER_TASK);
+                    return new ExternalSecurityAnalysisConfig(debug, itoolsCommand, batchesPerTask);
                 })
-                .orElseGet(() -> new ExternalSecurityAnalysisConfig(DEFAULT_DEBUG, DEFAULT_COMMAND));
+                .orElseGet(() -> new ExternalSecurityAnalysisConfig(DEFAULT_DEBUG, DEFAULT_COMMAND, DEFAULT_BATCHES_PER_TASK));
 
     }
 }
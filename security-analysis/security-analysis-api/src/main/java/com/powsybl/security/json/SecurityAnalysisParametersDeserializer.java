@@ -44,6 +44,11 @@ public class SecurityAnalysisParametersDeserializer extends StdDeserializer<Secu
                     parser.nextToken();
                     break;
 
+                case "concurrency":
+                    parser.nextToken();
+                    parameters.setConcurrency(parser.readValueAs(Integer.class));
+                    break;
+
                 case "load-flow-parameters":
                     parser.nextToken();
                     JsonLoadFlowParameters.deserialize(parser, deserializationContext, parameters.getLoadFlowParameters());
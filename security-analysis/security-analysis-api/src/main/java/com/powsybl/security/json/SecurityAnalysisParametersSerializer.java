@@ -30,6 +30,7 @@ public class SecurityAnalysisParametersSerializer extends StdSerializer<Security
         jsonGenerator.writeStartObject();
 
         jsonGenerator.writeStringField("version", SecurityAnalysisParameters.VERSION);
+        jsonGenerator.writeNumberField("concurrency", parameters.getConcurrency());
 
         jsonGenerator.writeFieldName("load-flow-parameters");
         JsonLoadFlowParameters.serialize(parameters.getLoadFlowParameters(), jsonGenerator, serializerProvider);
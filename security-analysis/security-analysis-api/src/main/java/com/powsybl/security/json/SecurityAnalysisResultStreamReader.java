@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.json.JsonUtil;
+import com.powsybl.security.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reads a security analysis result written by {@link SecurityAnalysisResultStreamWriter}.
+ *
+ * Opening a reader on a file scans it once to index the post-contingency results by contingency id, only the
+ * network metadata, the pre-contingency result and the position of each post-contingency result are kept in
+ * memory. Post-contingency results are then read from the file one by one, on demand.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SecurityAnalysisResultStreamReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final class Location {
+
+        private final long position;
+
+        private final int length;
+
+        private Location(long position, int length) {
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    private final class IndexingSink implements SecurityAnalysisResultSink {
+
+        private long position;
+
+        private int length;
+
+        @Override
+        public void onNetworkMetadata(NetworkMetadata networkMetadata) {
+            SecurityAnalysisResultStreamReader.this.networkMetadata = networkMetadata;
+        }
+
+        @Override
+        public void onPreContingencyResult(LimitViolationsResult preContingencyResult) {
+            SecurityAnalysisResultStreamReader.this.preContingencyResult = preContingencyResult;
+        }
+
+        @Override
+        public void onPostContingencyResult(PostContingencyResult postContingencyResult) {
+            String contingencyId = postContingencyResult.getContingency().getId();
+            if (locations.put(contingencyId, new Location(position, length)) != null) {
+                throw new PowsyblException("Duplicate post-contingency result for contingency '" + contingencyId + "'");
+            }
+        }
+    }
+
+    /**
+     * A byte array output stream giving access to its internal buffer, to avoid a copy of each line.
+     */
+    private static final class LineBuffer extends ByteArrayOutputStream {
+
+        private byte[] getBuffer() {
+            return buf;
+        }
+    }
+
+    private interface LineHandler {
+
+        void onLine(byte[] bytes, int length, long position) throws IOException;
+    }
+
+    private final SeekableByteChannel channel;
+
+    private final ObjectMapper objectMapper = createObjectMapper();
+
+    private NetworkMetadata networkMetadata;
+
+    private LimitViolationsResult preContingencyResult;
+
+    // sorted by contingency id, the order used by the security analysis result comparison
+    private final SortedMap<String, Location> locations = new TreeMap<>();
+
+    public SecurityAnalysisResultStreamReader(Path file) throws IOException {
+        channel = Files.newByteChannel(file);
+        try {
+            IndexingSink indexingSink = new IndexingSink();
+            // the stream must not be closed as it would close the channel
+            InputStream is = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+            readLines(is, (bytes, length, position) -> {
+                indexingSink.position = position;
+                indexingSink.length = length;
+                parseLine(objectMapper, bytes, length, indexingSink);
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        return JsonUtil.createObjectMapper()
+                .registerModule(new SecurityAnalysisJsonModule());
+    }
+
+    private static void readLines(InputStream is, LineHandler handler) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        LineBuffer line = new LineBuffer();
+        long lineStart = 0;
+        long position = 0;
+        int n;
+        while ((n = is.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < n; i++) {
+                if (buffer[i] == '\n') {
+                    line.write(buffer, start, i - start);
+                    handler.onLine(line.getBuffer(), line.size(), lineStart);
+                    line.reset();
+                    start = i + 1;
+                    lineStart = position + start;
+                }
+            }
+            line.write(buffer, start, n - start);
+            position += n;
+        }
+        if (line.size() > 0) {
+            handler.onLine(line.getBuffer(), line.size(), lineStart);
+        }
+    }
+
+    private static void parseLine(ObjectMapper objectMapper, byte[] bytes, int length, SecurityAnalysisResultSink sink) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(bytes, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT || parser.nextToken() != JsonToken.FIELD_NAME) {
+                throw new PowsyblException("Invalid security analysis result stream line");
+            }
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case SecurityAnalysisResultStreamWriter.VERSION_FIELD:
+                    break;
+
+                case SecurityAnalysisResultStreamWriter.NETWORK_FIELD:
+                    sink.onNetworkMetadata(parser.readValueAs(NetworkMetadata.class));
+                    break;
+
+                case SecurityAnalysisResultStreamWriter.PRE_CONTINGENCY_RESULT_FIELD:
+                    sink.onPreContingencyResult(parser.readValueAs(LimitViolationsResult.class));
+                    break;
+
+                case SecurityAnalysisResultStreamWriter.POST_CONTINGENCY_RESULT_FIELD:
+                    sink.onPostContingencyResult(parser.readValueAs(PostContingencyResult.class));
+                    break;
+
+                default:
+                    throw new AssertionError("Unexpected field: " + field);
+            }
+        }
+    }
+
+    public NetworkMetadata getNetworkMetadata() {
+        return networkMetadata;
+    }
+
+    public LimitViolationsResult getPreContingencyResult() {
+        return preContingencyResult;
+    }
+
+    /**
+     * @return the ids of the contingencies having a post-contingency result, in ascending order
+     */
+    public Set<String> getContingencyIds() {
+        return Collections.unmodifiableSet(locations.keySet());
+    }
+
+    /**
+     * Read the post-contingency result of a contingency from the file.
+     *
+     * @return the post-contingency result or {@code null} if there is no result for this contingency
+     */
+    public PostContingencyResult getPostContingencyResult(String contingencyId) {
+        Objects.requireNonNull(contingencyId);
+        Location location = locations.get(contingencyId);
+        if (location == null) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(location.length);
+            channel.position(location.position);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    throw new EOFException();
+                }
+            }
+            PostContingencyResult[] result = new PostContingencyResult[1];
+            parseLine(objectMapper, buffer.array(), location.length, new SecurityAnalysisResultSink() {
+                @Override
+                public void onPreContingencyResult(LimitViolationsResult preContingencyResult) {
+                    throw new AssertionError();
+                }
+
+                @Override
+                public void onPostContingencyResult(PostContingencyResult postContingencyResult) {
+                    result[0] = postContingencyResult;
+                }
+            });
+            return result[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Read sequentially a security analysis result stream, each part of the result being forwarded to the sink as
+     * soon as it is read.
+     */
+    public static void read(InputStream is, SecurityAnalysisResultSink sink) {
+        Objects.requireNonNull(is);
+        Objects.requireNonNull(sink);
+        ObjectMapper objectMapper = createObjectMapper();
+        try {
+            readLines(is, (bytes, length, position) -> parseLine(objectMapper, bytes, length, sink));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void read(Path file, SecurityAnalysisResultSink sink) {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            read(is, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read a whole security analysis result stream in memory.
+     */
+    public static SecurityAnalysisResult read(Path file) {
+        NetworkMetadata[] networkMetadata = new NetworkMetadata[1];
+        LimitViolationsResult[] preContingencyResult = new LimitViolationsResult[1];
+        List<PostContingencyResult> postContingencyResults = new ArrayList<>();
+        read(file, new SecurityAnalysisResultSink() {
+            @Override
+            public void onNetworkMetadata(NetworkMetadata metadata) {
+                networkMetadata[0] = metadata;
+            }
+
+            @Override
+            public void onPreContingencyResult(LimitViolationsResult result) {
+                preContingencyResult[0] = result;
+            }
+
+            @Override
+            public void onPostContingencyResult(PostContingencyResult result) {
+                postContingencyResults.add(result);
+            }
+        });
+        SecurityAnalysisResult result = new SecurityAnalysisResult(preContingencyResult[0], postContingencyResults);
+        result.setNetworkMetadata(networkMetadata[0]);
+        return result;
+    }
+
+    /**
+     * @return true if the file is a security analysis result stream, i.e. if it starts with an object only made of
+     * the version. The file is parsed token by token, so that only its beginning is read.
+     */
+    public static boolean isStream(Path file) {
+        try (InputStream is = Files.newInputStream(file);
+             JsonParser parser = createObjectMapper().getFactory().createParser(is)) {
+            return parser.nextToken() == JsonToken.START_OBJECT
+                    && parser.nextToken() == JsonToken.FIELD_NAME
+                    && SecurityAnalysisResultStreamWriter.VERSION_FIELD.equals(parser.getCurrentName())
+                    && parser.nextToken().isScalarValue()
+                    && parser.nextToken() == JsonToken.END_OBJECT;
+        } catch (JsonProcessingException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
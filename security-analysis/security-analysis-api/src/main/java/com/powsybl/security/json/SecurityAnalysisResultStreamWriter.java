@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.json;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.powsybl.commons.json.JsonUtil;
+import com.powsybl.security.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * Writes a security analysis result in JSON lines format: each line is a JSON object with a single field,
+ * holding either the format version (always the first line), the network metadata, the pre-contingency result
+ * or one post-contingency result.
+ *
+ * Post-contingency results are written one by one as soon as they are received, so that the whole result is
+ * never kept in memory. This class is not thread safe.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SecurityAnalysisResultStreamWriter implements SecurityAnalysisResultSink, Closeable {
+
+    static final String VERSION = "1.0";
+
+    static final String VERSION_FIELD = "version";
+    static final String NETWORK_FIELD = "network";
+    static final String PRE_CONTINGENCY_RESULT_FIELD = "preContingencyResult";
+    static final String POST_CONTINGENCY_RESULT_FIELD = "postContingencyResult";
+
+    private final Writer writer;
+
+    private final ObjectWriter objectWriter;
+
+    public SecurityAnalysisResultStreamWriter(Writer writer) {
+        this.writer = Objects.requireNonNull(writer);
+        objectWriter = JsonUtil.createObjectMapper()
+                .registerModule(new SecurityAnalysisJsonModule())
+                .writer();
+        writeLine(VERSION_FIELD, VERSION);
+    }
+
+    public SecurityAnalysisResultStreamWriter(Path file) throws IOException {
+        this(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+
+    private void writeLine(String field, Object value) {
+        try {
+            writer.write(objectWriter.writeValueAsString(Collections.singletonMap(field, value)));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onNetworkMetadata(NetworkMetadata networkMetadata) {
+        writeLine(NETWORK_FIELD, Objects.requireNonNull(networkMetadata));
+    }
+
+    @Override
+    public void onPreContingencyResult(LimitViolationsResult preContingencyResult) {
+        writeLine(PRE_CONTINGENCY_RESULT_FIELD, Objects.requireNonNull(preContingencyResult));
+    }
+
+    @Override
+    public void onPostContingencyResult(PostContingencyResult postContingencyResult) {
+        writeLine(POST_CONTINGENCY_RESULT_FIELD, Objects.requireNonNull(postContingencyResult));
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Write a security analysis result already built in memory. Extensions of the result itself are not written.
+     */
+    public static void write(SecurityAnalysisResult result, Writer writer) throws IOException {
+        Objects.requireNonNull(result);
+        SecurityAnalysisResultStreamWriter streamWriter = new SecurityAnalysisResultStreamWriter(writer);
+        if (result.getNetworkMetadata() != null) {
+            streamWriter.onNetworkMetadata(result.getNetworkMetadata());
+        }
+        streamWriter.onPreContingencyResult(result.getPreContingencyResult());
+        result.getPostContingencyResults().forEach(streamWriter::onPostContingencyResult);
+        streamWriter.flush();
+    }
+}
@@ -7,6 +7,7 @@
 package com.powsybl.security;
 
 import com.google.auto.service.AutoService;
+import com.powsybl.commons.config.ModuleConfig;
 import com.powsybl.commons.config.PlatformConfig;
 import com.powsybl.commons.extensions.AbstractExtension;
 import org.junit.Before;
@@ -54,6 +55,7 @@ public class SecurityAnalysisParametersTest {
     @Test
     public void testExtensionFromConfig() {
         Mockito.when(config.getOptionalModuleConfig("load-flow-default-parameters")).thenReturn(Optional.empty());
+        Mockito.when(config.getOptionalModuleConfig("security-analysis-default-parameters")).thenReturn(Optional.empty());
         SecurityAnalysisParameters parameters = SecurityAnalysisParameters.load(config);
 
         assertEquals(1, parameters.getExtensions().size());
@@ -61,6 +63,23 @@ public class SecurityAnalysisParametersTest {
         assertNotNull(parameters.getExtension(DummyExtension.class));
     }
 
+    @Test
+    public void testConcurrency() {
+        ModuleConfig moduleConfig = Mockito.mock(ModuleConfig.class);
+        Mockito.when(moduleConfig.getIntProperty("concurrency", SecurityAnalysisParameters.DEFAULT_CONCURRENCY)).thenReturn(4);
+        Mockito.when(config.getOptionalModuleConfig("load-flow-default-parameters")).thenReturn(Optional.empty());
+        Mockito.when(config.getOptionalModuleConfig("security-analysis-default-parameters")).thenReturn(Optional.of(moduleConfig));
+        SecurityAnalysisParameters parameters = SecurityAnalysisParameters.load(config);
+        assertEquals(4, parameters.getConcurrency());
+
+        assertEquals(SecurityAnalysisParameters.DEFAULT_CONCURRENCY, new SecurityAnalysisParameters().getConcurrency());
+        try {
+            parameters.setConcurrency(-1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     private static class DummyExtension extends AbstractExtension<SecurityAnalysisParameters> {
 
         @Override
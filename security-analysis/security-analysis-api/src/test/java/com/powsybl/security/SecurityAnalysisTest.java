@@ -32,6 +32,7 @@ import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.nio.file.FileSystem;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.Executor;
 
@@ -122,4 +123,106 @@ public class SecurityAnalysisTest {
         assertNotNull(extension2);
         assertEquals(1192.5631358010583, extension2.getPreContingencyValue(), 0.0);
     }
+
+    private static Network createNetwork() {
+        Network network = EurostagTutorialExample1Factory.create();
+        ((Bus) network.getIdentifiable("NHV1")).setV(380.0);
+        ((Bus) network.getIdentifiable("NHV2")).setV(380.0);
+        network.getLine("NHV1_NHV2_1").getTerminal1().setP(560.0).setQ(550.0);
+        network.getLine("NHV1_NHV2_1").getTerminal2().setP(560.0).setQ(550.0);
+        network.getLine("NHV1_NHV2_1").newCurrentLimits1().setPermanentLimit(1500.0).add();
+        network.getLine("NHV1_NHV2_1").newCurrentLimits2()
+            .setPermanentLimit(1200.0)
+            .beginTemporaryLimit()
+                .setName("10'")
+                .setAcceptableDuration(10 * 60)
+                .setValue(1300.0)
+            .endTemporaryLimit()
+            .add();
+        return network;
+    }
+
+    private static ComputationManager createComputationManager() {
+        ComputationManager computationManager = Mockito.mock(ComputationManager.class);
+        Executor executor = Runnable::run;
+        Mockito.when(computationManager.getExecutor()).thenReturn(executor);
+        return computationManager;
+    }
+
+    private static Contingency createContingency(String id, ModificationTask task) {
+        Contingency contingency = Mockito.mock(Contingency.class);
+        Mockito.when(contingency.getId()).thenReturn(id);
+        Mockito.when(contingency.getElements()).thenReturn(Collections.singletonList(new BranchContingency("NHV1_NHV2_2")));
+        Mockito.when(contingency.toTask()).thenReturn(task);
+        return contingency;
+    }
+
+    private static Contingency createTrippingContingency(String id) {
+        return createContingency(id, (network, computationManager) -> {
+            network.getLine("NHV1_NHV2_2").getTerminal1().disconnect();
+            network.getLine("NHV1_NHV2_2").getTerminal2().disconnect();
+            network.getLine("NHV1_NHV2_1").getTerminal2().setP(600.0);
+        });
+    }
+
+    private static SecurityAnalysisResult runPooled(Network network, int concurrency, Contingency... contingencies) {
+        ContingenciesProvider contingenciesProvider = Mockito.mock(ContingenciesProvider.class);
+        Mockito.when(contingenciesProvider.getContingencies(network)).thenReturn(Arrays.asList(contingencies));
+
+        SecurityAnalysis securityAnalysis = new SecurityAnalysisImpl(network, new LimitViolationFilter(), createComputationManager(), new LoadFlowFactoryMock());
+
+        SecurityAnalysisParameters parameters = new SecurityAnalysisParameters().setConcurrency(concurrency);
+        return securityAnalysis.run(VariantManagerConstants.INITIAL_VARIANT_ID, parameters, contingenciesProvider).join();
+    }
+
+    private static void assertWorkerVariantsRemoved(Network network) {
+        assertEquals(Collections.singleton(VariantManagerConstants.INITIAL_VARIANT_ID), network.getVariantManager().getVariantIds());
+        assertEquals(VariantManagerConstants.INITIAL_VARIANT_ID, network.getVariantManager().getWorkingVariantId());
+    }
+
+    @Test
+    public void runPooledResetsWorkerVariant() {
+        Network network = createNetwork();
+
+        // with one worker, the second contingency is simulated on the variant of the first one, that has to be reset before
+        Contingency contingency2 = createContingency("contingency2", (n, cm) -> {
+            assertTrue(n.getLine("NHV1_NHV2_2").getTerminal1().isConnected());
+            assertEquals(560.0, n.getLine("NHV1_NHV2_1").getTerminal2().getP(), 0.0);
+        });
+        SecurityAnalysisResult result = runPooled(network, 1, createTrippingContingency("contingency1"), contingency2);
+
+        assertTrue(result.getPreContingencyResult().isComputationOk());
+        assertEquals(2, result.getPostContingencyResults().size());
+        for (PostContingencyResult postContingencyResult : result.getPostContingencyResults()) {
+            assertTrue(postContingencyResult.getLimitViolationsResult().isComputationOk());
+            int expectedViolationCount = postContingencyResult.getContingency().getId().equals("contingency1") ? 1 : 0;
+            assertEquals(expectedViolationCount, postContingencyResult.getLimitViolationsResult().getLimitViolations().size());
+        }
+        assertWorkerVariantsRemoved(network);
+    }
+
+    @Test
+    public void runPooledWithMoreWorkersThanContingencies() {
+        Network network = createNetwork();
+
+        SecurityAnalysisResult result = runPooled(network, 4, createTrippingContingency("contingency1"), createTrippingContingency("contingency2"));
+
+        assertEquals(2, result.getPostContingencyResults().size());
+        for (PostContingencyResult postContingencyResult : result.getPostContingencyResults()) {
+            assertTrue(postContingencyResult.getLimitViolationsResult().isComputationOk());
+            assertEquals(1, postContingencyResult.getLimitViolationsResult().getLimitViolations().size());
+        }
+        assertWorkerVariantsRemoved(network);
+    }
+
+    @Test
+    public void runPooledWithoutContingency() {
+        Network network = createNetwork();
+
+        SecurityAnalysisResult result = runPooled(network, 2);
+
+        assertTrue(result.getPreContingencyResult().isComputationOk());
+        assertTrue(result.getPostContingencyResults().isEmpty());
+        assertWorkerVariantsRemoved(network);
+    }
 }
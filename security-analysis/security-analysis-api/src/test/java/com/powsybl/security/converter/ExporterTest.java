@@ -15,6 +15,7 @@ import com.powsybl.security.*;
 import com.powsybl.security.extensions.ActivePowerExtension;
 import com.powsybl.security.extensions.CurrentExtension;
 import com.powsybl.security.json.SecurityAnalysisResultDeserializer;
+import com.powsybl.security.json.SecurityAnalysisResultStreamReader;
 import org.junit.Test;
 
 import java.io.*;
@@ -76,6 +77,16 @@ public class ExporterTest extends AbstractConverterTest {
         roundTripTest(result, exporter, SecurityAnalysisResultDeserializer::read, "/SecurityAnalysisResult.json");
     }
 
+    @Test
+    public void roundTripJsonLines() throws IOException {
+        SecurityAnalysisResult result = create();
+
+        BiConsumer<SecurityAnalysisResult, Path> exporter = (res, path) -> {
+            SecurityAnalysisResultExporters.export(res, path, "JSONL");
+        };
+        roundTripTest(result, exporter, SecurityAnalysisResultStreamReader::read, "/SecurityAnalysisResult.jsonl");
+    }
+
     private static void writeJson(SecurityAnalysisResult result, Path path) {
         SecurityAnalysisResultExporter exporter = SecurityAnalysisResultExporters.getExporter("JSON");
         assertNotNull(exporter);
@@ -12,20 +12,22 @@ import com.powsybl.commons.config.InMemoryPlatformConfig;
 import com.powsybl.commons.config.MapModuleConfig;
 import com.powsybl.computation.CommandExecution;
 import com.powsybl.computation.ComputationManager;
+import com.powsybl.computation.DefaultExecutionReport;
 import com.powsybl.computation.ExecutionHandler;
 import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
-import com.powsybl.security.SecurityAnalysis;
-import com.powsybl.security.SecurityAnalysisParameters;
+import com.powsybl.security.*;
+import com.powsybl.security.json.SecurityAnalysisResultSerializer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -105,6 +107,74 @@ public class DistributedSecurityAnalysisTest {
         assertEquals(5, cmd.get(0).getExecutionCount());
     }
 
+    /**
+     * Checks that contingencies are split in several batches per task
+     * and that results of completed batches are merged.
+     */
+    @Test
+    public void testDistributedWithBatches() throws IOException {
+        ExternalSecurityAnalysisConfig config = new ExternalSecurityAnalysisConfig(false, "itools", 2);
+        when(cm.getExecutor()).thenReturn(Runnable::run);
+        SecurityAnalysis analysis = new DistributedSecurityAnalysis(config, network, cm, Collections.emptyList(), 2);
+
+        analysis.run(VariantManagerConstants.INITIAL_VARIANT_ID, new SecurityAnalysisParameters(), contingencies);
+
+        ArgumentCaptor<ExecutionHandler> capt = ArgumentCaptor.forClass(ExecutionHandler.class);
+        verify(cm, times(1)).execute(any(), capt.capture());
+        ExecutionHandler<SecurityAnalysisResult> handler = capt.getValue();
+
+        List<CommandExecution> cmd = handler.before(workingDir);
+        assertEquals(1, cmd.size());
+        assertEquals(4, cmd.get(0).getExecutionCount());
+
+        for (int i = 0; i < 4; i++) {
+            Contingency contingency = new Contingency("contingency-" + i);
+            SecurityAnalysisResult taskResult = new SecurityAnalysisResult(new LimitViolationsResult(true, Collections.emptyList()),
+                                                                           Collections.singletonList(new PostContingencyResult(contingency, true, Collections.emptyList())));
+            try (Writer writer = Files.newBufferedWriter(workingDir.resolve("task_" + i + "_result.json"))) {
+                SecurityAnalysisResultSerializer.write(taskResult, writer);
+            }
+            // results of the first batches are read and merged as soon as the batches are completed
+            if (i < 2) {
+                handler.onExecutionCompletion(cmd.get(0), i);
+                Files.delete(workingDir.resolve("task_" + i + "_result.json"));
+            }
+        }
+
+        SecurityAnalysisResult result = handler.after(workingDir, new DefaultExecutionReport(Collections.emptyList()));
+        assertTrue(result.getPreContingencyResult().isComputationOk());
+        assertEquals(4, result.getPostContingencyResults().size());
+        assertEquals("contingency-0", result.getPostContingencyResults().get(0).getContingency().getId());
+    }
+
+    /**
+     * Checks that the merged result is a failed one if one of the batches has failed.
+     */
+    @Test
+    public void testDistributedWithFailedBatch() throws IOException {
+        ExternalSecurityAnalysisConfig config = new ExternalSecurityAnalysisConfig(false, "itools", 2);
+        when(cm.getExecutor()).thenReturn(Runnable::run);
+        SecurityAnalysis analysis = new DistributedSecurityAnalysis(config, network, cm, Collections.emptyList(), 2);
+
+        analysis.run(VariantManagerConstants.INITIAL_VARIANT_ID, new SecurityAnalysisParameters(), contingencies);
+
+        ArgumentCaptor<ExecutionHandler> capt = ArgumentCaptor.forClass(ExecutionHandler.class);
+        verify(cm, times(1)).execute(any(), capt.capture());
+        ExecutionHandler<SecurityAnalysisResult> handler = capt.getValue();
+
+        List<CommandExecution> cmd = handler.before(workingDir);
+        for (int i = 0; i < 4; i++) {
+            SecurityAnalysisResult taskResult = new SecurityAnalysisResult(new LimitViolationsResult(i != 1, Collections.emptyList()), Collections.emptyList());
+            try (Writer writer = Files.newBufferedWriter(workingDir.resolve("task_" + i + "_result.json"))) {
+                SecurityAnalysisResultSerializer.write(taskResult, writer);
+            }
+            handler.onExecutionCompletion(cmd.get(0), i);
+        }
+
+        SecurityAnalysisResult result = handler.after(workingDir, new DefaultExecutionReport(Collections.emptyList()));
+        assertSame(SecurityAnalysisResultMerger.FAILED_SECURITY_ANALYSIS_RESULT, result);
+    }
+
     private void checkWorkingDirContent() {
         assertTrue(Files.exists(workingDir.resolve("network.xiidm")));
         assertTrue(Files.exists(workingDir.resolve("contingencies.groovy")));
@@ -147,6 +217,10 @@ public class DistributedSecurityAnalysisTest {
         config = new ExternalSecurityAnalysisConfig(true, "/path/to/itools");
         assertTrue(config.isDebug());
         assertEquals("/path/to/itools", config.getItoolsCommand());
+        assertEquals(1, config.getBatchesPerTask());
+
+        config = new ExternalSecurityAnalysisConfig(true, "/path/to/itools", 4);
+        assertEquals(4, config.getBatchesPerTask());
 
         assertThatNullPointerException().isThrownBy(() -> new ExternalSecurityAnalysisConfig(true, null));
 
@@ -155,6 +229,12 @@ public class DistributedSecurityAnalysisTest {
             fail();
         } catch (Exception ignored) {
         }
+
+        try {
+            new ExternalSecurityAnalysisConfig(true, "itools", 0);
+            fail();
+        } catch (Exception ignored) {
+        }
     }
 
     /**
@@ -172,9 +252,11 @@ public class DistributedSecurityAnalysisTest {
             MapModuleConfig moduleConfig = platformConfig.createModuleConfig("external-security-analysis-config");
             moduleConfig.setStringProperty("debug", "true");
             moduleConfig.setStringProperty("itools-command", "/path/to/itools");
+            moduleConfig.setStringProperty("batches-per-task", "3");
             config = ExternalSecurityAnalysisConfig.load(platformConfig);
             assertTrue(config.isDebug());
             assertEquals("/path/to/itools", config.getItoolsCommand());
+            assertEquals(3, config.getBatchesPerTask());
         }
     }
 
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.security.json;
+
+import com.powsybl.commons.AbstractConverterTest;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Branch;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.security.*;
+import com.powsybl.security.comparator.SecurityAnalysisResultEquivalence;
+import com.powsybl.security.interceptors.RunningContext;
+import org.apache.commons.io.output.NullWriter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SecurityAnalysisResultStreamTest extends AbstractConverterTest {
+
+    private static final Network NETWORK = EurostagTutorialExample1Factory.createWithCurrentLimits();
+
+    private static void writeResult(Path file, double value) throws IOException {
+        try (SecurityAnalysisResultStreamWriter writer = new SecurityAnalysisResultStreamWriter(file)) {
+            SecurityAnalysisResultBuilder builder = new SecurityAnalysisResultBuilder(new LimitViolationFilter(),
+                    new RunningContext(NETWORK, NETWORK.getVariantManager().getWorkingVariantId()),
+                    Collections.emptyList(), writer);
+            builder.preContingency()
+                    .setComputationOk(true)
+                    .addViolation(new LimitViolation("NHV1_NHV2_1", LimitViolationType.CURRENT, null, Integer.MAX_VALUE, 1000.0, 0.95f, value, Branch.Side.ONE))
+                    .endPreContingency();
+            for (String contingencyId : Arrays.asList("c3", "c1", "c2")) {
+                builder.contingency(new Contingency(contingencyId))
+                        .setComputationOk(true)
+                        .addViolation(new LimitViolation("NHV1_NHV2_2", LimitViolationType.CURRENT, null, Integer.MAX_VALUE, 1000.0, 0.95f, value, Branch.Side.TWO))
+                        .endContingency();
+            }
+            SecurityAnalysisResult result = builder.build();
+
+            // post-contingency results have only been streamed
+            assertTrue(result.getPostContingencyResults().isEmpty());
+            assertEquals(1, result.getPreContingencyResult().getLimitViolations().size());
+        }
+    }
+
+    @Test
+    public void readerTest() throws IOException {
+        Path file = tmpDir.resolve("result.jsonl");
+        writeResult(file, 1100.0);
+        assertTrue(SecurityAnalysisResultStreamReader.isStream(file));
+
+        try (SecurityAnalysisResultStreamReader reader = new SecurityAnalysisResultStreamReader(file)) {
+            assertNotNull(reader.getNetworkMetadata());
+            assertEquals(NETWORK.getId(), reader.getNetworkMetadata().getId());
+            assertTrue(reader.getPreContingencyResult().isComputationOk());
+            assertEquals(Arrays.asList("c1", "c2", "c3"), Arrays.asList(reader.getContingencyIds().toArray()));
+
+            PostContingencyResult postContingencyResult = reader.getPostContingencyResult("c2");
+            assertEquals("c2", postContingencyResult.getContingency().getId());
+            assertEquals(1, postContingencyResult.getLimitViolationsResult().getLimitViolations().size());
+            assertEquals("NHV1_NHV2_2", postContingencyResult.getLimitViolationsResult().getLimitViolations().get(0).getSubjectId());
+            assertNull(reader.getPostContingencyResult("c4"));
+        }
+
+        // sequential read of the whole result
+        SecurityAnalysisResult result = SecurityAnalysisResultStreamReader.read(file);
+        assertEquals(3, result.getPostContingencyResults().size());
+        assertEquals("c3", result.getPostContingencyResults().get(0).getContingency().getId());
+    }
+
+    @Test
+    public void isStreamTest() throws IOException {
+        Path jsonFile = tmpDir.resolve("result.json");
+        try (Writer writer = Files.newBufferedWriter(jsonFile)) {
+            SecurityAnalysisResultSerializer.write(new SecurityAnalysisResult(new LimitViolationsResult(true, Collections.emptyList()), Collections.emptyList()), writer);
+        }
+        assertFalse(SecurityAnalysisResultStreamReader.isStream(jsonFile));
+
+        Path otherFile = tmpDir.resolve("other.txt");
+        Files.write(otherFile, new byte[0]);
+        assertFalse(SecurityAnalysisResultStreamReader.isStream(otherFile));
+        Files.write(otherFile, "not json".getBytes(StandardCharsets.UTF_8));
+        assertFalse(SecurityAnalysisResultStreamReader.isStream(otherFile));
+        Files.write(otherFile, "{\"version\":\"1.0\",\"other\":".getBytes(StandardCharsets.UTF_8));
+        assertFalse(SecurityAnalysisResultStreamReader.isStream(otherFile));
+
+        // only the beginning of the file is parsed
+        Files.write(otherFile, "{\"version\":\"1.0\"}\n{\"invalid".getBytes(StandardCharsets.UTF_8));
+        assertTrue(SecurityAnalysisResultStreamReader.isStream(otherFile));
+    }
+
+    @Test
+    public void compareTest() throws IOException {
+        Path file1 = tmpDir.resolve("result1.jsonl");
+        Path file2 = tmpDir.resolve("result2.jsonl");
+        Path file3 = tmpDir.resolve("result3.jsonl");
+        writeResult(file1, 1100.0);
+        writeResult(file2, 1100.09);
+        writeResult(file3, 1101.0);
+
+        SecurityAnalysisResultEquivalence resultEquivalence = new SecurityAnalysisResultEquivalence(0.1, NullWriter.NULL_WRITER);
+        try (SecurityAnalysisResultStreamReader reader1 = new SecurityAnalysisResultStreamReader(file1);
+             SecurityAnalysisResultStreamReader reader2 = new SecurityAnalysisResultStreamReader(file2);
+             SecurityAnalysisResultStreamReader reader3 = new SecurityAnalysisResultStreamReader(file3)) {
+            assertTrue(resultEquivalence.equivalent(reader1, reader2));
+            assertFalse(resultEquivalence.equivalent(reader1, reader3));
+        }
+    }
+}
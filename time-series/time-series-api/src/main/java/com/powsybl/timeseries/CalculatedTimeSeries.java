@@ -159,34 +159,65 @@ public class CalculatedTimeSeries implements DoubleTimeSeries {
         }
     }
 
-    @Override
-    public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
-        if (metadata.getIndex() == InfiniteTimeSeriesIndex.INSTANCE) {
+    /**
+     * Evaluate all the points at once with the compiled node calc, instead of point by point as the iterator does.
+     */
+    private double[] computeValues() {
+        TimeSeriesIndex finiteIndex = metadata.getIndex();
+        if (finiteIndex == InfiniteTimeSeriesIndex.INSTANCE) {
             throw new TimeSeriesException("Impossible to fill buffer because calculated time series has not been synchronized on a finite time index");
         }
-        Iterator<DoublePoint> it = iterator();
-        DoublePoint prevPoint = null;
-        while (it.hasNext()) {
-            DoublePoint point = it.next();
-            if (prevPoint != null) {
-                for (int i = prevPoint.getIndex(); i < point.getIndex(); i++) {
-                    buffer.put(timeSeriesOffset + i, prevPoint.getValue());
-                }
-            }
-            prevPoint = point;
+        List<DoubleTimeSeries> timeSeriesList = loadData();
+        CompiledNodeCalc compiledNodeCalc = CompiledNodeCalc.compile(resolve(timeSeriesList));
+        int pointCount = finiteIndex.getPointCount();
+        List<CompressedDoubleDataChunk> compressedChunks = getCompressedChunks(timeSeriesList, pointCount);
+        if (!compressedChunks.isEmpty() && !compiledNodeCalc.isTimeDependent()) {
+            // evaluate once per step of the compressed data
+            double[] values = new double[pointCount];
+            compiledNodeCalc.eval(compressedChunks).fillBuffer(DoubleBuffer.wrap(values), 0);
+            return values;
         }
-        if (prevPoint != null) {
-            for (int i = prevPoint.getIndex(); i < metadata.getIndex().getPointCount(); i++) {
-                buffer.put(timeSeriesOffset + i, prevPoint.getValue());
+        double[][] values = new double[timeSeriesList.size()][];
+        for (int i = 0; i < timeSeriesList.size(); i++) {
+            values[i] = timeSeriesList.get(i).toArray();
+        }
+        return compiledNodeCalc.eval(values, finiteIndex, pointCount);
+    }
+
+    /**
+     * Get the compressed chunks of the time series if each one is stored in a single compressed chunk covering all the
+     * points, an empty list otherwise.
+     */
+    private static List<CompressedDoubleDataChunk> getCompressedChunks(List<DoubleTimeSeries> timeSeriesList, int pointCount) {
+        List<CompressedDoubleDataChunk> compressedChunks = new ArrayList<>(timeSeriesList.size());
+        for (DoubleTimeSeries timeSeries : timeSeriesList) {
+            if (!(timeSeries instanceof StoredDoubleTimeSeries)) {
+                return Collections.emptyList();
+            }
+            List<DoubleDataChunk> chunks = ((StoredDoubleTimeSeries) timeSeries).getChunks();
+            if (chunks.size() != 1 || !(chunks.get(0) instanceof CompressedDoubleDataChunk)) {
+                return Collections.emptyList();
             }
+            CompressedDoubleDataChunk chunk = (CompressedDoubleDataChunk) chunks.get(0);
+            if (chunk.getOffset() != 0 || chunk.getLength() != pointCount) {
+                return Collections.emptyList();
+            }
+            compressedChunks.add(chunk);
+        }
+        return compressedChunks;
+    }
+
+    @Override
+    public void fillBuffer(DoubleBuffer buffer, int timeSeriesOffset) {
+        double[] values = computeValues();
+        for (int i = 0; i < values.length; i++) {
+            buffer.put(timeSeriesOffset + i, values[i]);
         }
     }
 
     @Override
     public double[] toArray() {
-        DoubleBuffer buffer = DoubleBuffer.allocate(metadata.getIndex().getPointCount());
-        fillBuffer(buffer, 0);
-        return buffer.array();
+        return computeValues();
     }
 
     @Override
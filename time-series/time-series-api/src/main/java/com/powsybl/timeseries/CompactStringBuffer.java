@@ -10,6 +10,7 @@ import com.google.common.math.IntMath;
 
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.IntFunction;
 
@@ -33,6 +34,14 @@ public class CompactStringBuffer {
         }
     }
 
+    /**
+     * Wrap an already initialized buffer, for instance a memory mapped one, and its string dictionary.
+     */
+    CompactStringBuffer(IntBuffer buffer, List<String> dict) {
+        this.buffer = Objects.requireNonNull(buffer);
+        Objects.requireNonNull(dict).forEach(this.dict::add);
+    }
+
     public void putString(int index, String value) {
         int num;
         if (value == null) {
@@ -52,6 +61,14 @@ public class CompactStringBuffer {
         }
     }
 
+    int getDictSize() {
+        return dict.size();
+    }
+
+    String getDictValue(int num) {
+        return dict.get(num);
+    }
+
     public int capacity() {
         return buffer.capacity();
     }
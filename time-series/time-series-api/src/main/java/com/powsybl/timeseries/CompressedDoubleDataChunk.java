@@ -11,6 +11,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import java.io.IOException;
 import java.nio.DoubleBuffer;
 import java.util.*;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -21,6 +23,20 @@ import java.util.stream.StreamSupport;
  */
 public class CompressedDoubleDataChunk extends AbstractCompressedDataChunk implements DoubleDataChunk {
 
+    /**
+     * A function computing the values of the merged steps of several compressed chunks.
+     */
+    @FunctionalInterface
+    public interface StepValuesFunction {
+
+        /**
+         * @param stepValues for each chunk, the value of each merged step
+         * @param stepCount the number of merged steps
+         * @return the value of each merged step
+         */
+        double[] apply(double[][] stepValues, int stepCount);
+    }
+
     private final double[] stepValues;
 
     public CompressedDoubleDataChunk(int offset, int uncompressedLength, double[] stepValues, int[] stepLengths) {
@@ -135,6 +151,136 @@ public class CompressedDoubleDataChunk extends AbstractCompressedDataChunk imple
         throw new AssertionError("Should not happen");
     }
 
+    /**
+     * Create a compressed chunk from step values, merging consecutive steps with the same value.
+     */
+    private static CompressedDoubleDataChunk create(int offset, int uncompressedLength, double[] stepValues,
+                                                    int[] stepLengths, int stepCount) {
+        double[] mergedStepValues = new double[stepCount];
+        int[] mergedStepLengths = new int[stepCount];
+        int mergedStepCount = 0;
+        for (int step = 0; step < stepCount; step++) {
+            if (mergedStepCount > 0 && mergedStepValues[mergedStepCount - 1] == stepValues[step]) {
+                mergedStepLengths[mergedStepCount - 1] += stepLengths[step];
+            } else {
+                mergedStepValues[mergedStepCount] = stepValues[step];
+                mergedStepLengths[mergedStepCount] = stepLengths[step];
+                mergedStepCount++;
+            }
+        }
+        return new CompressedDoubleDataChunk(offset, uncompressedLength,
+                                             Arrays.copyOf(mergedStepValues, mergedStepCount),
+                                             Arrays.copyOf(mergedStepLengths, mergedStepCount));
+    }
+
+    /**
+     * Compute a compressed chunk from compressed chunks covering the same points, without decompressing them: steps
+     * of the chunks are merged so that all the chunks have a constant value on each merged step, and the function is
+     * called once with the values of all the merged steps.
+     */
+    public static CompressedDoubleDataChunk combine(List<CompressedDoubleDataChunk> chunks, StepValuesFunction function) {
+        Objects.requireNonNull(chunks);
+        Objects.requireNonNull(function);
+        if (chunks.isEmpty()) {
+            throw new IllegalArgumentException("Chunk list is empty");
+        }
+        CompressedDoubleDataChunk first = chunks.get(0);
+        int maxStepCount = 0;
+        for (CompressedDoubleDataChunk chunk : chunks) {
+            if (chunk.offset != first.offset || chunk.uncompressedLength != first.uncompressedLength) {
+                throw new IllegalArgumentException("Chunks have to cover the same points: [" + first.offset + ", "
+                        + first.uncompressedLength + "] != [" + chunk.offset + ", " + chunk.uncompressedLength + "]");
+            }
+            maxStepCount += chunk.stepLengths.length;
+        }
+
+        // merge the steps of all the chunks
+        int chunkCount = chunks.size();
+        double[][] stepValues = new double[chunkCount][maxStepCount];
+        int[] stepLengths = new int[maxStepCount];
+        int[] steps = new int[chunkCount];
+        int[] remainingLengths = new int[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            remainingLengths[c] = chunks.get(c).stepLengths[0];
+        }
+        int stepCount = 0;
+        int length = 0;
+        while (length < first.uncompressedLength) {
+            int stepLength = Integer.MAX_VALUE;
+            for (int c = 0; c < chunkCount; c++) {
+                stepLength = Math.min(stepLength, remainingLengths[c]);
+            }
+            if (stepLength <= 0) {
+                throw new IllegalArgumentException("Step lengths are inconsistent with uncompressed length");
+            }
+            for (int c = 0; c < chunkCount; c++) {
+                CompressedDoubleDataChunk chunk = chunks.get(c);
+                stepValues[c][stepCount] = chunk.stepValues[steps[c]];
+                remainingLengths[c] -= stepLength;
+                if (remainingLengths[c] == 0 && steps[c] < chunk.stepLengths.length - 1) {
+                    remainingLengths[c] = chunk.stepLengths[++steps[c]];
+                }
+            }
+            stepLengths[stepCount++] = stepLength;
+            length += stepLength;
+        }
+
+        double[] values = function.apply(stepValues, stepCount);
+        return create(first.offset, first.uncompressedLength, values, stepLengths, stepCount);
+    }
+
+    /**
+     * Apply an operator to each value of the chunk, once per step.
+     */
+    public CompressedDoubleDataChunk apply(DoubleUnaryOperator operator) {
+        Objects.requireNonNull(operator);
+        double[] values = new double[stepValues.length];
+        for (int step = 0; step < stepValues.length; step++) {
+            values[step] = operator.applyAsDouble(stepValues[step]);
+        }
+        return create(offset, uncompressedLength, values, stepLengths, stepValues.length);
+    }
+
+    /**
+     * Apply an operator to each pair of values of this chunk and of another one covering the same points, once per
+     * merged step.
+     */
+    public CompressedDoubleDataChunk apply(CompressedDoubleDataChunk other, DoubleBinaryOperator operator) {
+        Objects.requireNonNull(other);
+        Objects.requireNonNull(operator);
+        return combine(Arrays.asList(this, other), (values, stepCount) -> {
+            double[] result = new double[stepCount];
+            for (int step = 0; step < stepCount; step++) {
+                result[step] = operator.applyAsDouble(values[0][step], values[1][step]);
+            }
+            return result;
+        });
+    }
+
+    public double sum() {
+        double sum = 0;
+        for (int step = 0; step < stepValues.length; step++) {
+            sum += stepValues[step] * stepLengths[step];
+        }
+        return sum;
+    }
+
+    public double min() {
+        double min = Double.POSITIVE_INFINITY;
+        for (double value : stepValues) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    public double max() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : stepValues) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
     @Override
     protected void writeStepValuesJson(JsonGenerator generator) throws IOException {
         generator.writeArray(stepValues, 0, stepValues.length);
@@ -8,14 +8,18 @@ package com.powsybl.timeseries;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.math.IntMath;
+import com.powsybl.commons.io.mmap.MemoryMappedFile;
+import com.powsybl.commons.json.JsonUtil;
 import gnu.trove.list.array.TIntArrayList;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.math.RoundingMode;
 import java.nio.ByteBuffer;
 import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -50,6 +54,12 @@ import java.util.zip.GZIPOutputStream;
  *     <li>Concurrency between data loading and other operations (CSV writing, statistics computation) is NOT supported</li>
  * </ul>
  *
+ * A table can also be backed by a memory mapped file (see {@link #createMapped(int, int, TimeSeriesIndex, MemoryMappedFile)}),
+ * values are then directly written to the file which starts with a header describing the versions, the table index
+ * and the time series metadata. Such a table is not limited by the heap size and can be reopened without reloading
+ * the time series using {@link #open(MemoryMappedFile)}. A table opened from a read only file can be queried but not
+ * loaded.
+ *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class TimeSeriesTable {
@@ -120,6 +130,46 @@ public class TimeSeriesTable {
         }
     }
 
+    /**
+     * Allocate buffers as consecutive slices of a memory mapped file.
+     */
+    private static final class MappedBufferAllocator implements IntFunction<ByteBuffer> {
+
+        private final ByteBuffer buffer;
+
+        private int offset;
+
+        private MappedBufferAllocator(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        @Override
+        public ByteBuffer apply(int size) {
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(offset);
+            slice.limit(offset + size);
+            offset += size;
+            return slice.slice();
+        }
+    }
+
+    // "TSTB"
+    private static final int FILE_MAGIC = 0x54535442;
+
+    private static final int FILE_FORMAT_VERSION = 1;
+
+    // number of time series and points processed together when computing the correlation matrix, so that normalized
+    // values of the block fit in cache
+    private static final int PPMCC_SERIES_BLOCK_SIZE = 16;
+
+    private static final int PPMCC_POINT_BLOCK_SIZE = 1024;
+
+    // magic, format version, data offset, dictionary size and dictionary byte size
+    private static final int FILE_FIXED_HEADER_SIZE = 5 * Integer.BYTES;
+
+    private static final int FILE_DICT_SIZE_POSITION = 3 * Integer.BYTES;
+
     private int fromVersion;
 
     private int toVersion;
@@ -147,13 +197,34 @@ public class TimeSeriesTable {
 
     private double[] stdDevs;
 
+    // correlation matrix per version and time series with invalidated correlations per version
+    private double[][][] ppmccMatrices;
+
+    private BitSet[] ppmccInvalidated;
+
     private final Lock statsLock = new ReentrantLock();
 
+    // file backed table
+    private final MemoryMappedFile file;
+
+    private int fileDictOffset;
+
+    private int fileDictSize = 0; // number of strings of the dictionary already written to the file
+
+    private int fileDictByteSize = 0;
+
+    private final Lock fileLock = new ReentrantLock();
+
     public TimeSeriesTable(int fromVersion, int toVersion, TimeSeriesIndex tableIndex) {
         this(fromVersion, toVersion, tableIndex, ByteBuffer::allocateDirect);
     }
 
     public TimeSeriesTable(int fromVersion, int toVersion, TimeSeriesIndex tableIndex, IntFunction<ByteBuffer> byteBufferAllocator) {
+        this(fromVersion, toVersion, tableIndex, byteBufferAllocator, null);
+    }
+
+    private TimeSeriesTable(int fromVersion, int toVersion, TimeSeriesIndex tableIndex, IntFunction<ByteBuffer> byteBufferAllocator,
+                            MemoryMappedFile file) {
         TimeSeriesVersions.check(fromVersion);
         TimeSeriesVersions.check(toVersion);
         if (toVersion < fromVersion) {
@@ -163,6 +234,7 @@ public class TimeSeriesTable {
         this.toVersion = toVersion;
         this.tableIndex = Objects.requireNonNull(tableIndex);
         this.byteBufferAllocator = Objects.requireNonNull(byteBufferAllocator);
+        this.file = file;
     }
 
     public static TimeSeriesTable createDirectMem(int fromVersion, int toVersion, TimeSeriesIndex tableIndex) {
@@ -173,6 +245,189 @@ public class TimeSeriesTable {
         return new TimeSeriesTable(fromVersion, toVersion, tableIndex, ByteBuffer::allocate);
     }
 
+    /**
+     * Create a table backed by a memory mapped file. The file is overwritten at first load and is not closed by the
+     * table.
+     */
+    public static TimeSeriesTable createMapped(int fromVersion, int toVersion, TimeSeriesIndex tableIndex, MemoryMappedFile file) {
+        return new TimeSeriesTable(fromVersion, toVersion, tableIndex, ByteBuffer::allocateDirect, Objects.requireNonNull(file));
+    }
+
+    /**
+     * Reopen a table previously created with {@link #createMapped(int, int, TimeSeriesIndex, MemoryMappedFile)}, the
+     * values are not copied but read and written directly from the file. If the file is read only, the values are
+     * only read and the table cannot be loaded.
+     */
+    public static TimeSeriesTable open(MemoryMappedFile file) {
+        Objects.requireNonNull(file);
+        if (!file.exists()) {
+            throw new TimeSeriesException("Time series table file does not exist");
+        }
+        ByteBuffer fixedHeader = mapFile(file, FILE_FIXED_HEADER_SIZE);
+        if (fixedHeader.getInt() != FILE_MAGIC) {
+            throw new TimeSeriesException("Not a time series table file");
+        }
+        int formatVersion = fixedHeader.getInt();
+        if (formatVersion != FILE_FORMAT_VERSION) {
+            throw new TimeSeriesException("Unsupported time series table file format version " + formatVersion);
+        }
+        int dataOffset = fixedHeader.getInt();
+        int dictSize = fixedHeader.getInt();
+        int dictByteSize = fixedHeader.getInt();
+
+        byte[] header = new byte[dataOffset - FILE_FIXED_HEADER_SIZE];
+        ByteBuffer headerBuffer = mapFile(file, dataOffset);
+        headerBuffer.position(FILE_FIXED_HEADER_SIZE);
+        headerBuffer.get(header);
+        try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(header))) {
+            int fromVersion = dis.readInt();
+            int toVersion = dis.readInt();
+            TimeSeriesIndex tableIndex = readMetadata(dis).getIndex();
+            int metadataCount = dis.readInt();
+            List<TimeSeriesMetadata> metadataList = new ArrayList<>(metadataCount);
+            for (int i = 0; i < metadataCount; i++) {
+                metadataList.add(readMetadata(dis));
+            }
+            TimeSeriesTable table = new TimeSeriesTable(fromVersion, toVersion, tableIndex, ByteBuffer::allocateDirect, file);
+            table.openTable(metadataList, dataOffset, dictSize, dictByteSize);
+            return table;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer mapFile(MemoryMappedFile file, int size) {
+        try {
+            return file.getBuffer(size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream dos, byte[] bytes) throws IOException {
+        dos.writeInt(bytes.length);
+        dos.write(bytes);
+    }
+
+    private static void writeMetadata(DataOutputStream dos, TimeSeriesMetadata metadata) throws IOException {
+        writeBytes(dos, JsonUtil.toJson(metadata::writeJson).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TimeSeriesMetadata readMetadata(DataInputStream dis) throws IOException {
+        byte[] bytes = new byte[dis.readInt()];
+        dis.readFully(bytes);
+        return JsonUtil.parseJson(new String(bytes, StandardCharsets.UTF_8), TimeSeriesMetadata::parseJson);
+    }
+
+    private byte[] createFileHeader() {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(os)) {
+            dos.writeInt(fromVersion);
+            dos.writeInt(toVersion);
+            // table index is stored as the index of a fake metadata to reuse its json serialization
+            writeMetadata(dos, new TimeSeriesMetadata("", TimeSeriesDataType.DOUBLE, tableIndex));
+            dos.writeInt(timeSeriesMetadata.size());
+            for (TimeSeriesMetadata metadata : timeSeriesMetadata) {
+                writeMetadata(dos, metadata);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return os.toByteArray();
+    }
+
+    private static int getFileDataSize(int doubleBufferSize, int stringBufferSize) {
+        return IntMath.checkedAdd(IntMath.checkedMultiply(doubleBufferSize, Double.BYTES),
+                                  IntMath.checkedMultiply(stringBufferSize, Integer.BYTES));
+    }
+
+    private IntFunction<ByteBuffer> createFileAllocator(int doubleBufferSize, int stringBufferSize) {
+        byte[] header = createFileHeader();
+        // align data on double size
+        int dataOffset = IntMath.checkedMultiply(IntMath.divide(FILE_FIXED_HEADER_SIZE + header.length, Double.BYTES, RoundingMode.CEILING), Double.BYTES);
+        fileDictOffset = IntMath.checkedAdd(dataOffset, getFileDataSize(doubleBufferSize, stringBufferSize));
+        ByteBuffer buffer = mapFile(file, fileDictOffset);
+        buffer.putInt(FILE_MAGIC)
+                .putInt(FILE_FORMAT_VERSION)
+                .putInt(dataOffset)
+                .putInt(0)
+                .putInt(0)
+                .put(header);
+        return new MappedBufferAllocator(buffer, dataOffset);
+    }
+
+    private void openTable(List<TimeSeriesMetadata> metadataList, int dataOffset, int dictSize, int dictByteSize) {
+        timeSeriesMetadata = metadataList;
+        for (TimeSeriesMetadata metadata : metadataList) {
+            int i;
+            if (metadata.getDataType() == TimeSeriesDataType.DOUBLE) {
+                i = doubleTimeSeriesNames.add(metadata.getName());
+            } else if (metadata.getDataType() == TimeSeriesDataType.STRING) {
+                i = stringTimeSeriesNames.add(metadata.getName());
+            } else {
+                throw new AssertionError("Unexpected data type " + metadata.getDataType());
+            }
+            timeSeriesIndexDoubleOrString.add(i);
+        }
+
+        int versionCount = toVersion - fromVersion + 1;
+        int doubleBufferSize = versionCount * doubleTimeSeriesNames.size() * tableIndex.getPointCount();
+        int stringBufferSize = versionCount * stringTimeSeriesNames.size() * tableIndex.getPointCount();
+        fileDictOffset = IntMath.checkedAdd(dataOffset, getFileDataSize(doubleBufferSize, stringBufferSize));
+        ByteBuffer buffer = mapFile(file, IntMath.checkedAdd(fileDictOffset, dictByteSize));
+
+        MappedBufferAllocator allocator = new MappedBufferAllocator(buffer, dataOffset);
+        doubleBuffer = createDoubleBuffer(allocator, doubleBufferSize);
+        IntBuffer stringIntBuffer = allocator.apply(stringBufferSize * Integer.BYTES).asIntBuffer();
+
+        // read string dictionary
+        List<String> dict = new ArrayList<>(dictSize);
+        buffer.position(fileDictOffset);
+        for (int i = 0; i < dictSize; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            dict.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        stringBuffer = new CompactStringBuffer(stringIntBuffer, dict);
+        fileDictSize = dictSize;
+        fileDictByteSize = dictByteSize;
+
+        initStatistics(versionCount);
+    }
+
+    /**
+     * Append to the file the strings added to the dictionary since last call, so that the file can be reopened.
+     */
+    private void writeFileDict() {
+        fileLock.lock();
+        try {
+            int dictSize = stringBuffer.getDictSize();
+            if (dictSize == fileDictSize) {
+                return;
+            }
+            List<byte[]> newValues = new ArrayList<>(dictSize - fileDictSize);
+            int newByteSize = fileDictByteSize;
+            for (int num = fileDictSize; num < dictSize; num++) {
+                byte[] bytes = stringBuffer.getDictValue(num).getBytes(StandardCharsets.UTF_8);
+                newValues.add(bytes);
+                newByteSize = IntMath.checkedAdd(newByteSize, Integer.BYTES + bytes.length);
+            }
+            ByteBuffer buffer = mapFile(file, IntMath.checkedAdd(fileDictOffset, newByteSize));
+            buffer.position(fileDictOffset + fileDictByteSize);
+            for (byte[] bytes : newValues) {
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+            // header is updated last, after dictionary values
+            buffer.putInt(FILE_DICT_SIZE_POSITION, dictSize);
+            buffer.putInt(FILE_DICT_SIZE_POSITION + Integer.BYTES, newByteSize);
+            fileDictSize = dictSize;
+            fileDictByteSize = newByteSize;
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
     private void initTable(List<DoubleTimeSeries> doubleTimeSeries, List<StringTimeSeries> stringTimeSeries) {
         initLock.lock();
         try {
@@ -202,26 +457,25 @@ public class TimeSeriesTable {
             }
 
             int versionCount = toVersion - fromVersion + 1;
+            int doubleBufferSize = versionCount * doubleTimeSeriesNames.size() * tableIndex.getPointCount();
+            int stringBufferSize = versionCount * stringTimeSeriesNames.size() * tableIndex.getPointCount();
+
+            // in case of a file backed table, buffers are slices of the mapped file
+            IntFunction<ByteBuffer> allocator = file != null ? createFileAllocator(doubleBufferSize, stringBufferSize)
+                                                             : byteBufferAllocator;
 
             // allocate double buffer
-            int doubleBufferSize = versionCount * doubleTimeSeriesNames.size() * tableIndex.getPointCount();
-            doubleBuffer = createDoubleBuffer(byteBufferAllocator, doubleBufferSize, Double.NaN);
+            doubleBuffer = createDoubleBuffer(allocator, doubleBufferSize, Double.NaN);
 
             // allocate string buffer
-            int stringBufferSize = versionCount * stringTimeSeriesNames.size() * tableIndex.getPointCount();
-            stringBuffer = new CompactStringBuffer(byteBufferAllocator, stringBufferSize);
+            stringBuffer = new CompactStringBuffer(allocator, stringBufferSize);
 
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Allocation of {} for time series table",
                         FileUtils.byteCountToDisplaySize((long) doubleBuffer.capacity() * Double.BYTES + stringBuffer.capacity() * Integer.BYTES));
             }
 
-            // allocate statistics buffer
-            means = new double[doubleTimeSeriesNames.size() * versionCount];
-            Arrays.fill(means, Double.NaN);
-
-            stdDevs = new double[doubleTimeSeriesNames.size() * versionCount];
-            Arrays.fill(stdDevs, Double.NaN);
+            initStatistics(versionCount);
         } catch (Exception e) {
             LOGGER.error(e.toString(), e);
             timeSeriesMetadata = null;
@@ -238,6 +492,21 @@ public class TimeSeriesTable {
         }
     }
 
+    private void initStatistics(int versionCount) {
+        // allocate statistics buffer
+        means = new double[doubleTimeSeriesNames.size() * versionCount];
+        Arrays.fill(means, Double.NaN);
+
+        stdDevs = new double[doubleTimeSeriesNames.size() * versionCount];
+        Arrays.fill(stdDevs, Double.NaN);
+
+        ppmccMatrices = new double[versionCount][][];
+        ppmccInvalidated = new BitSet[versionCount];
+        for (int i = 0; i < versionCount; i++) {
+            ppmccInvalidated[i] = new BitSet();
+        }
+    }
+
     public TimeSeriesIndex getTableIndex() {
         return tableIndex;
     }
@@ -314,6 +583,9 @@ public class TimeSeriesTable {
         if (timeSeriesList.isEmpty()) {
             throw new TimeSeriesException("Empty time series list");
         }
+        if (file != null && file.isReadOnly()) {
+            throw new TimeSeriesException("Time series table file is read only");
+        }
 
         Stopwatch stopWatch = Stopwatch.createStarted();
 
@@ -341,6 +613,10 @@ public class TimeSeriesTable {
             loadString(version, timeSeries);
         }
 
+        if (file != null && !stringTimeSeries.isEmpty()) {
+            writeFileDict();
+        }
+
         LOGGER.info("{} time series (version={}) loaded in {} ms", timeSeriesList.size(), version,
                 stopWatch.elapsed(TimeUnit.MILLISECONDS));
     }
@@ -379,6 +655,7 @@ public class TimeSeriesTable {
         try {
             means[statisticsIndex] = Double.NaN;
             stdDevs[statisticsIndex] = Double.NaN;
+            ppmccInvalidated[version - fromVersion].set(timeSeriesNum);
         } finally {
             statsLock.unlock();
         }
@@ -416,9 +693,10 @@ public class TimeSeriesTable {
     }
 
     private void updateStatistics(int version) {
-        for (int timeSeriesNum = 0; timeSeriesNum < doubleTimeSeriesNames.size(); timeSeriesNum++) {
-            updateStatistics(version, timeSeriesNum);
-        }
+        // each time series statistics are computed by a different task, statistics lock is held by the calling thread
+        IntStream.range(0, doubleTimeSeriesNames.size())
+                .parallel()
+                .forEach(timeSeriesNum -> updateStatistics(version, timeSeriesNum));
     }
 
     private double getStatistics(int version, int timeSeriesNum, double[] stats) {
@@ -471,30 +749,38 @@ public class TimeSeriesTable {
                                                 int version) {
         double mean1 = means[statisticsIndex1];
 
-        for (int timeSeriesNum2 = 0; timeSeriesNum2 < doubleTimeSeriesNames.size(); timeSeriesNum2++) {
-            if (timeSeriesNum2 == timeSeriesNum1) {
-                r[timeSeriesNum2] = 1;
-            } else {
-                int statisticsIndex2 = getStatisticsIndex(version, timeSeriesNum2);
-                double stdDev2 = stdDevs[statisticsIndex2];
-
-                r[timeSeriesNum2] = 0;
-
-                if (stdDev2 != 0) {
-                    double mean2 = means[statisticsIndex2];
-
-                    int timeSeriesOffset1 = getTimeSeriesOffset(version, timeSeriesNum1);
-                    int timeSeriesOffset2 = getTimeSeriesOffset(version, timeSeriesNum2);
+        // normalize time series 1 values only once
+        int timeSeriesOffset1 = getTimeSeriesOffset(version, timeSeriesNum1);
+        double[] normalizedValues1 = new double[tableIndex.getPointCount()];
+        for (int point = 0; point < tableIndex.getPointCount(); point++) {
+            normalizedValues1[point] = (doubleBuffer.get(timeSeriesOffset1 + point) - mean1) / stdDev1;
+        }
 
-                    for (int point = 0; point < tableIndex.getPointCount(); point++) {
-                        double value1 = doubleBuffer.get(timeSeriesOffset1 + point);
-                        double value2 = doubleBuffer.get(timeSeriesOffset2 + point);
-                        r[timeSeriesNum2] += (value1 - mean1) / stdDev1 * (value2 - mean2) / stdDev2;
+        IntStream.range(0, doubleTimeSeriesNames.size())
+                .parallel()
+                .forEach(timeSeriesNum2 -> {
+                    if (timeSeriesNum2 == timeSeriesNum1) {
+                        r[timeSeriesNum2] = 1;
+                    } else {
+                        r[timeSeriesNum2] = computeVariableTimeSeriesPpmcc(normalizedValues1, timeSeriesNum2, version);
                     }
-                    r[timeSeriesNum2] /= tableIndex.getPointCount() - 1;
-                }
-            }
+                });
+    }
+
+    private double computeVariableTimeSeriesPpmcc(double[] normalizedValues1, int timeSeriesNum2, int version) {
+        int statisticsIndex2 = getStatisticsIndex(version, timeSeriesNum2);
+        double stdDev2 = stdDevs[statisticsIndex2];
+        if (stdDev2 == 0) {
+            return 0;
         }
+        double mean2 = means[statisticsIndex2];
+        int timeSeriesOffset2 = getTimeSeriesOffset(version, timeSeriesNum2);
+        double r = 0;
+        for (int point = 0; point < tableIndex.getPointCount(); point++) {
+            double value2 = doubleBuffer.get(timeSeriesOffset2 + point);
+            r += normalizedValues1[point] * (value2 - mean2) / stdDev2;
+        }
+        return r / (tableIndex.getPointCount() - 1);
     }
 
     public double[] computePpmcc(String timeSeriesName, int version) {
@@ -526,6 +812,131 @@ public class TimeSeriesTable {
         return r;
     }
 
+    /**
+     * Compute the Pearson product-moment correlation coefficient of all pairs of double time series of a version.
+     * The matrix is kept between calls and only correlations of time series loaded since last call are recomputed.
+     *
+     * @return a new matrix indexed by double time series index
+     */
+    public double[][] computePpmccMatrix(int version) {
+        checkVersionIsInRange(version);
+
+        Stopwatch stopWatch = Stopwatch.createStarted();
+
+        int timeSeriesCount = doubleTimeSeriesNames.size();
+        double[][] matrix;
+        int updatedCount;
+
+        statsLock.lock();
+        try {
+            updateStatistics(version);
+
+            int versionIndex = version - fromVersion;
+            BitSet invalidated = ppmccInvalidated[versionIndex];
+            if (ppmccMatrices[versionIndex] == null) {
+                ppmccMatrices[versionIndex] = new double[timeSeriesCount][timeSeriesCount];
+                invalidated.set(0, timeSeriesCount);
+            }
+            matrix = ppmccMatrices[versionIndex];
+            updatedCount = invalidated.cardinality();
+
+            // time series to update are processed per block, each block by a different task
+            int[] timeSeriesNums = invalidated.stream().toArray();
+            int blockCount = IntMath.divide(timeSeriesNums.length, PPMCC_SERIES_BLOCK_SIZE, RoundingMode.CEILING);
+            IntStream.range(0, blockCount)
+                    .parallel()
+                    .forEach(block -> {
+                        int from = block * PPMCC_SERIES_BLOCK_SIZE;
+                        int to = Math.min(from + PPMCC_SERIES_BLOCK_SIZE, timeSeriesNums.length);
+                        updatePpmccMatrix(matrix, Arrays.copyOfRange(timeSeriesNums, from, to), invalidated, version);
+                    });
+            invalidated.clear();
+        } finally {
+            statsLock.unlock();
+        }
+
+        LOGGER.info("PPMCC matrix ({} time series updated) computed in {} ms", updatedCount, stopWatch.elapsed(TimeUnit.MILLISECONDS));
+
+        double[][] copy = new double[timeSeriesCount][];
+        for (int i = 0; i < timeSeriesCount; i++) {
+            copy[i] = matrix[i].clone();
+        }
+        return copy;
+    }
+
+    private double[] normalize(int version, int timeSeriesNum) {
+        int statisticsIndex = getStatisticsIndex(version, timeSeriesNum);
+        double mean = means[statisticsIndex];
+        double stdDev = stdDevs[statisticsIndex];
+        int timeSeriesOffset = getTimeSeriesOffset(version, timeSeriesNum);
+        double[] normalizedValues = new double[tableIndex.getPointCount()];
+        for (int point = 0; point < tableIndex.getPointCount(); point++) {
+            normalizedValues[point] = (doubleBuffer.get(timeSeriesOffset + point) - mean) / stdDev;
+        }
+        return normalizedValues;
+    }
+
+    /**
+     * Update rows of the correlation matrix of a block of time series, values of each other time series are read only
+     * once per block and point chunk. To avoid concurrent writes, symmetric values are only written to rows of time
+     * series which are not invalidated.
+     */
+    private void updatePpmccMatrix(double[][] matrix, int[] timeSeriesNums1, BitSet invalidated, int version) {
+        int pointCount = tableIndex.getPointCount();
+        double[][] normalizedValues1 = new double[timeSeriesNums1.length][];
+        for (int k = 0; k < timeSeriesNums1.length; k++) {
+            if (stdDevs[getStatisticsIndex(version, timeSeriesNums1[k])] != 0) {
+                normalizedValues1[k] = normalize(version, timeSeriesNums1[k]);
+            }
+        }
+
+        double[] normalizedValues2 = new double[Math.min(pointCount, PPMCC_POINT_BLOCK_SIZE)];
+        double[] sums = new double[timeSeriesNums1.length];
+        for (int timeSeriesNum2 = 0; timeSeriesNum2 < doubleTimeSeriesNames.size(); timeSeriesNum2++) {
+            int statisticsIndex2 = getStatisticsIndex(version, timeSeriesNum2);
+            double mean2 = means[statisticsIndex2];
+            double stdDev2 = stdDevs[statisticsIndex2];
+            int timeSeriesOffset2 = getTimeSeriesOffset(version, timeSeriesNum2);
+
+            Arrays.fill(sums, 0);
+            if (stdDev2 != 0) {
+                for (int point = 0; point < pointCount; point += PPMCC_POINT_BLOCK_SIZE) {
+                    int chunkSize = Math.min(PPMCC_POINT_BLOCK_SIZE, pointCount - point);
+                    for (int i = 0; i < chunkSize; i++) {
+                        normalizedValues2[i] = (doubleBuffer.get(timeSeriesOffset2 + point + i) - mean2) / stdDev2;
+                    }
+                    for (int k = 0; k < timeSeriesNums1.length; k++) {
+                        if (normalizedValues1[k] != null) {
+                            double[] values1 = normalizedValues1[k];
+                            double sum = sums[k];
+                            for (int i = 0; i < chunkSize; i++) {
+                                sum += values1[point + i] * normalizedValues2[i];
+                            }
+                            sums[k] = sum;
+                        }
+                    }
+                }
+            }
+
+            for (int k = 0; k < timeSeriesNums1.length; k++) {
+                int timeSeriesNum1 = timeSeriesNums1[k];
+                double r;
+                if (timeSeriesNum1 == timeSeriesNum2) {
+                    r = 1;
+                } else if (normalizedValues1[k] == null) {
+                    // constant time series are correlated to other constant time series
+                    r = stdDev2 == 0 ? 1 : 0;
+                } else {
+                    r = stdDev2 == 0 ? 0 : sums[k] / (pointCount - 1);
+                }
+                matrix[timeSeriesNum1][timeSeriesNum2] = r;
+                if (!invalidated.get(timeSeriesNum2)) {
+                    matrix[timeSeriesNum2][timeSeriesNum1] = r;
+                }
+            }
+        }
+    }
+
     private static BufferedWriter createWriter(Path file) throws IOException {
         if (file.getFileName().toString().endsWith(".gz")) {
             return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8));
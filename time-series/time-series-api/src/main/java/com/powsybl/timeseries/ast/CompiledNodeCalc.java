@@ -0,0 +1,410 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.ast;
+
+import com.powsybl.timeseries.CompressedDoubleDataChunk;
+import com.powsybl.timeseries.TimeSeriesException;
+import com.powsybl.timeseries.TimeSeriesIndex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A resolved node calc compiled to array kernels, so that all the points of a calculated time series are evaluated
+ * operator by operator in tight loops over primitive arrays, instead of walking the tree and boxing intermediate
+ * values for each point as {@link NodeCalcEvaluator} does.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class CompiledNodeCalc {
+
+    private static final class Context {
+
+        private final double[][] values;
+
+        private final TimeSeriesIndex index;
+
+        private final int pointCount;
+
+        private Context(double[][] values, TimeSeriesIndex index, int pointCount) {
+            this.values = values;
+            this.index = index;
+            this.pointCount = pointCount;
+        }
+    }
+
+    private interface Kernel {
+
+        /**
+         * @return the values of the node for all the points
+         */
+        double[] eval(Context context);
+
+        /**
+         * @return true if the array returned by {@link #eval(Context)} is a temporary one which can be overwritten
+         */
+        default boolean isTemporary() {
+            return true;
+        }
+    }
+
+    private static final class ConstantKernel implements Kernel {
+
+        private final double value;
+
+        private ConstantKernel(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double[] eval(Context context) {
+            double[] result = new double[context.pointCount];
+            Arrays.fill(result, value);
+            return result;
+        }
+    }
+
+    private static final class TimeKernel implements Kernel {
+
+        @Override
+        public double[] eval(Context context) {
+            if (context.index == null) {
+                throw new TimeSeriesException("Time series index is needed to evaluate time");
+            }
+            double[] result = new double[context.pointCount];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = context.index.getTimeAt(i);
+            }
+            return result;
+        }
+    }
+
+    private static final class TimeSeriesKernel implements Kernel {
+
+        private final int timeSeriesNum;
+
+        private TimeSeriesKernel(int timeSeriesNum) {
+            this.timeSeriesNum = timeSeriesNum;
+        }
+
+        @Override
+        public double[] eval(Context context) {
+            return context.values[timeSeriesNum];
+        }
+
+        @Override
+        public boolean isTemporary() {
+            return false;
+        }
+    }
+
+    private static final class BinaryKernel implements Kernel {
+
+        private final BinaryOperation.Operator operator;
+
+        private final Kernel left;
+
+        private final Kernel right;
+
+        private BinaryKernel(BinaryOperation.Operator operator, Kernel left, Kernel right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public double[] eval(Context context) {
+            double[] l = left.eval(context);
+            double[] r = right.eval(context);
+            double[] result;
+            if (left.isTemporary()) {
+                result = l;
+            } else if (right.isTemporary()) {
+                result = r;
+            } else {
+                result = new double[context.pointCount];
+            }
+            int n = context.pointCount;
+            switch (operator) {
+                case PLUS:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] + r[i];
+                    }
+                    break;
+                case MINUS:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] - r[i];
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] * r[i];
+                    }
+                    break;
+                case DIVIDE:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] / r[i];
+                    }
+                    break;
+                case LESS_THAN:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] < r[i] ? 1d : 0d;
+                    }
+                    break;
+                case LESS_THAN_OR_EQUALS_TO:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] <= r[i] ? 1d : 0d;
+                    }
+                    break;
+                case GREATER_THAN:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] > r[i] ? 1d : 0d;
+                    }
+                    break;
+                case GREATER_THAN_OR_EQUALS_TO:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] >= r[i] ? 1d : 0d;
+                    }
+                    break;
+                case EQUALS:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] == r[i] ? 1d : 0d;
+                    }
+                    break;
+                case NOT_EQUALS:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = l[i] != r[i] ? 1d : 0d;
+                    }
+                    break;
+                default:
+                    throw new AssertionError("Unexpected operator value: " + operator);
+            }
+            return result;
+        }
+    }
+
+    private abstract static class AbstractSingleChildKernel implements Kernel {
+
+        private final Kernel child;
+
+        private AbstractSingleChildKernel(Kernel child) {
+            this.child = child;
+        }
+
+        protected abstract void eval(double[] values, double[] result, int n);
+
+        @Override
+        public double[] eval(Context context) {
+            double[] values = child.eval(context);
+            double[] result = child.isTemporary() ? values : new double[context.pointCount];
+            eval(values, result, context.pointCount);
+            return result;
+        }
+    }
+
+    private static final class UnaryKernel extends AbstractSingleChildKernel {
+
+        private final UnaryOperation.Operator operator;
+
+        private UnaryKernel(UnaryOperation.Operator operator, Kernel child) {
+            super(child);
+            this.operator = operator;
+        }
+
+        @Override
+        protected void eval(double[] values, double[] result, int n) {
+            switch (operator) {
+                case ABS:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = Math.abs(values[i]);
+                    }
+                    break;
+                case NEGATIVE:
+                    for (int i = 0; i < n; i++) {
+                        result[i] = -values[i];
+                    }
+                    break;
+                case POSITIVE:
+                    System.arraycopy(values, 0, result, 0, n);
+                    break;
+                default:
+                    throw new AssertionError("Unexpected operator value: " + operator);
+            }
+        }
+    }
+
+    private static final class MinKernel extends AbstractSingleChildKernel {
+
+        private final double min;
+
+        private MinKernel(Kernel child, double min) {
+            super(child);
+            this.min = min;
+        }
+
+        @Override
+        protected void eval(double[] values, double[] result, int n) {
+            for (int i = 0; i < n; i++) {
+                result[i] = Math.min(values[i], min);
+            }
+        }
+    }
+
+    private static final class MaxKernel extends AbstractSingleChildKernel {
+
+        private final double max;
+
+        private MaxKernel(Kernel child, double max) {
+            super(child);
+            this.max = max;
+        }
+
+        @Override
+        protected void eval(double[] values, double[] result, int n) {
+            for (int i = 0; i < n; i++) {
+                result[i] = Math.max(values[i], max);
+            }
+        }
+    }
+
+    private static final class Compiler implements NodeCalcVisitor<Kernel, Void> {
+
+        private boolean timeDependent = false;
+
+        @Override
+        public Kernel visit(IntegerNodeCalc nodeCalc, Void arg) {
+            return new ConstantKernel(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Kernel visit(FloatNodeCalc nodeCalc, Void arg) {
+            return new ConstantKernel(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Kernel visit(DoubleNodeCalc nodeCalc, Void arg) {
+            return new ConstantKernel(nodeCalc.getValue());
+        }
+
+        @Override
+        public Kernel visit(BigDecimalNodeCalc nodeCalc, Void arg) {
+            return new ConstantKernel(nodeCalc.toDouble());
+        }
+
+        @Override
+        public Kernel visit(TimeNodeCalc nodeCalc, Void arg) {
+            timeDependent = true;
+            return new TimeKernel();
+        }
+
+        @Override
+        public Kernel visit(BinaryOperation nodeCalc, Void arg) {
+            Kernel left = nodeCalc.getLeft().accept(this, arg);
+            Kernel right = nodeCalc.getRight().accept(this, arg);
+            if (left instanceof ConstantKernel && right instanceof ConstantKernel) {
+                return new ConstantKernel(NodeCalcEvaluator.eval(nodeCalc, null));
+            }
+            return new BinaryKernel(nodeCalc.getOperator(), left, right);
+        }
+
+        @Override
+        public Kernel visit(UnaryOperation nodeCalc, Void arg) {
+            Kernel child = nodeCalc.getChild().accept(this, arg);
+            if (child instanceof ConstantKernel) {
+                return new ConstantKernel(NodeCalcEvaluator.eval(nodeCalc, null));
+            }
+            return new UnaryKernel(nodeCalc.getOperator(), child);
+        }
+
+        @Override
+        public Kernel visit(MinNodeCalc nodeCalc, Void arg) {
+            Kernel child = nodeCalc.getChild().accept(this, arg);
+            if (child instanceof ConstantKernel) {
+                return new ConstantKernel(NodeCalcEvaluator.eval(nodeCalc, null));
+            }
+            return new MinKernel(child, nodeCalc.getMin());
+        }
+
+        @Override
+        public Kernel visit(MaxNodeCalc nodeCalc, Void arg) {
+            Kernel child = nodeCalc.getChild().accept(this, arg);
+            if (child instanceof ConstantKernel) {
+                return new ConstantKernel(NodeCalcEvaluator.eval(nodeCalc, null));
+            }
+            return new MaxKernel(child, nodeCalc.getMax());
+        }
+
+        @Override
+        public Kernel visit(TimeSeriesNameNodeCalc nodeCalc, Void arg) {
+            throw new AssertionError("NodeCalc should have been resolved before");
+        }
+
+        @Override
+        public Kernel visit(TimeSeriesNumNodeCalc nodeCalc, Void arg) {
+            return new TimeSeriesKernel(nodeCalc.getTimeSeriesNum());
+        }
+    }
+
+    private final Kernel kernel;
+
+    private final boolean timeDependent;
+
+    private CompiledNodeCalc(Kernel kernel, boolean timeDependent) {
+        this.kernel = kernel;
+        this.timeDependent = timeDependent;
+    }
+
+    /**
+     * Compile a node calc, time series names have to be resolved to time series numbers.
+     */
+    public static CompiledNodeCalc compile(NodeCalc resolvedNodeCalc) {
+        Objects.requireNonNull(resolvedNodeCalc);
+        Compiler compiler = new Compiler();
+        Kernel kernel = resolvedNodeCalc.accept(compiler, null);
+        return new CompiledNodeCalc(kernel, compiler.timeDependent);
+    }
+
+    /**
+     * @return true if the node calc value depends on the time of the points, and not only on the time series values
+     */
+    public boolean isTimeDependent() {
+        return timeDependent;
+    }
+
+    /**
+     * Evaluate the node calc for all the points of a time index.
+     *
+     * @param values the values of the time series, indexed by time series number, each array having at least
+     *               {@code pointCount} values
+     * @param index the time index, only needed if the node calc depends on time
+     * @param pointCount the number of points to evaluate
+     * @return a new array with the value of the node calc for each point
+     */
+    public double[] eval(double[][] values, TimeSeriesIndex index, int pointCount) {
+        Objects.requireNonNull(values);
+        if (pointCount < 0) {
+            throw new IllegalArgumentException("Invalid point count: " + pointCount);
+        }
+        double[] result = kernel.eval(new Context(values, index, pointCount));
+        return kernel.isTemporary() ? result : Arrays.copyOf(result, pointCount);
+    }
+
+    /**
+     * Evaluate the node calc directly on the steps of compressed chunks, without decompressing them.
+     *
+     * @param chunks the compressed chunks of the time series, indexed by time series number, all covering the same
+     *               points
+     * @return a compressed chunk with the value of the node calc for each point
+     */
+    public CompressedDoubleDataChunk eval(List<CompressedDoubleDataChunk> chunks) {
+        if (timeDependent) {
+            throw new TimeSeriesException("A time dependent node calc cannot be evaluated on compressed chunks");
+        }
+        return CompressedDoubleDataChunk.combine(chunks, (stepValues, stepCount) -> eval(stepValues, null, stepCount));
+    }
+}
@@ -94,6 +94,12 @@ public class CalculatedTimeSeriesTest {
             }
         });
         assertEquals(expectedValue, calculatedValue, 0d);
+
+        // compiled evaluation of all the points at once
+        double[] calculatedValues = CompiledNodeCalc.compile(resolvedNode).eval(new double[][] {fooValues, barValues, bazValues},
+                                                                                index, index.getPointCount());
+        assertEquals(2, calculatedValues.length);
+        assertEquals(expectedValue, calculatedValues[point], 0d);
     }
 
     @Test
@@ -187,6 +193,45 @@ public class CalculatedTimeSeriesTest {
         assertArrayEquals(new double[] {1d, 1d, 1d}, timeSeries.toArray(), 0d);
     }
 
+    @Test
+    public void compiledEvalTest() {
+        TimeSeriesIndex index = RegularTimeSeriesIndex.create(Interval.parse("2015-01-01T00:00:00Z/2015-01-01T03:00:00Z"), Duration.ofHours(1));
+        ReadOnlyTimeSeriesStore store = new ReadOnlyTimeSeriesStoreCache(
+                TimeSeries.createDouble("foo", index, 1d, -2d, 3d, -4d),
+                TimeSeries.createDouble("bar", index, 2d, 2d, 2d, 2d));
+        NodeCalc nodeCalc = BinaryOperation.plus(BinaryOperation.multiply(UnaryOperation.abs(new TimeSeriesNameNodeCalc("foo")),
+                                                                          new TimeSeriesNameNodeCalc("bar")),
+                                                 new MaxNodeCalc(new TimeSeriesNameNodeCalc("foo"), 0));
+        CalculatedTimeSeries tsCalc = new CalculatedTimeSeries("ts_calc", nodeCalc, new FromStoreTimeSeriesNameResolver(store, 1));
+        double[] values = tsCalc.toArray();
+        assertArrayEquals(new double[] {3d, 4d, 9d, 8d}, values, 0d);
+
+        // same values as point by point evaluation
+        assertArrayEquals(values, tsCalc.stream().mapToDouble(DoublePoint::getValue).toArray(), 0d);
+
+        // input values are not modified
+        assertArrayEquals(new double[] {1d, -2d, 3d, -4d}, store.getDoubleTimeSeries("foo", 1).orElseThrow(AssertionError::new).toArray(), 0d);
+    }
+
+    @Test
+    public void compressedEvalTest() {
+        TimeSeriesIndex index = RegularTimeSeriesIndex.create(Interval.parse("2015-01-01T00:00:00Z/2015-01-01T05:00:00Z"), Duration.ofHours(1));
+        ReadOnlyTimeSeriesStore store = new ReadOnlyTimeSeriesStoreCache(
+                new StoredDoubleTimeSeries(new TimeSeriesMetadata("foo", TimeSeriesDataType.DOUBLE, index),
+                                           new CompressedDoubleDataChunk(0, 6, new double[] {1d, 2d}, new int[] {4, 2})),
+                new StoredDoubleTimeSeries(new TimeSeriesMetadata("bar", TimeSeriesDataType.DOUBLE, index),
+                                           new CompressedDoubleDataChunk(0, 6, new double[] {10d, 20d, 30d}, new int[] {1, 2, 3})));
+        NodeCalc nodeCalc = BinaryOperation.multiply(new TimeSeriesNameNodeCalc("foo"), new TimeSeriesNameNodeCalc("bar"));
+        CalculatedTimeSeries tsCalc = new CalculatedTimeSeries("ts_calc", nodeCalc, new FromStoreTimeSeriesNameResolver(store, 1));
+        assertArrayEquals(new double[] {10d, 20d, 20d, 30d, 60d, 60d}, tsCalc.toArray(), 0d);
+
+        // time dependent node calc cannot be evaluated per step
+        NodeCalc timeNodeCalc = BinaryOperation.greaterThan(new TimeNodeCalc(new TimeSeriesNameNodeCalc("foo")),
+                                                            new DoubleNodeCalc(index.getTimeAt(2)));
+        CalculatedTimeSeries tsCalc2 = new CalculatedTimeSeries("ts_calc2", timeNodeCalc, new FromStoreTimeSeriesNameResolver(store, 1));
+        assertArrayEquals(new double[] {0d, 0d, 0d, 1d, 1d, 1d}, tsCalc2.toArray(), 0d);
+    }
+
     @Test
     public void jsonTest() throws IOException {
         TimeSeriesIndex index = RegularTimeSeriesIndex.create(Interval.parse("2015-01-01T00:00:00Z/2015-07-20T00:00:00Z"), Duration.ofDays(200));
@@ -215,4 +215,35 @@ public class DoubleDataChunkTest {
         assertTrue(doubleChunks.get(0) instanceof UncompressedDoubleDataChunk);
         assertArrayEquals(new double[] {1d, Double.NaN, Double.NaN}, ((UncompressedDoubleDataChunk) doubleChunks.get(0)).getValues(), 0d);
     }
+
+    @Test
+    public void compressedArithmeticTest() {
+        // 1 1 1 2 2 3
+        CompressedDoubleDataChunk chunk1 = new CompressedDoubleDataChunk(1, 6, new double[] {1d, 2d, 3d}, new int[] {3, 2, 1});
+        // 5 5 4 4 4 4
+        CompressedDoubleDataChunk chunk2 = new CompressedDoubleDataChunk(1, 6, new double[] {5d, 4d}, new int[] {2, 4});
+
+        // 6 6 5 6 6 7
+        CompressedDoubleDataChunk sum = chunk1.apply(chunk2, Double::sum);
+        assertEquals(new CompressedDoubleDataChunk(1, 6, new double[] {6d, 5d, 6d, 7d}, new int[] {2, 1, 2, 1}), sum);
+
+        // steps with the same value are merged
+        CompressedDoubleDataChunk min = chunk1.apply(v -> Math.min(v, 2d));
+        assertEquals(new CompressedDoubleDataChunk(1, 6, new double[] {1d, 2d}, new int[] {3, 3}), min);
+
+        DoubleBuffer buffer = DoubleBuffer.allocate(7);
+        sum.fillBuffer(buffer, 0);
+        assertArrayEquals(new double[] {0d, 6d, 6d, 5d, 6d, 6d, 7d}, buffer.array(), 0d);
+
+        // aggregations
+        assertEquals(10d, chunk1.sum(), 0d);
+        assertEquals(1d, chunk1.min(), 0d);
+        assertEquals(3d, chunk1.max(), 0d);
+
+        try {
+            chunk1.apply(new CompressedDoubleDataChunk(0, 6, new double[] {1d}, new int[] {6}), Double::sum);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
 }
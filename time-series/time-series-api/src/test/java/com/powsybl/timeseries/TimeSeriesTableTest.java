@@ -7,19 +7,31 @@
 package com.powsybl.timeseries;
 
 import com.google.common.collect.ImmutableList;
+import com.powsybl.commons.io.mmap.MemoryMappedFile;
+import com.powsybl.commons.io.mmap.MemoryMappedFileImpl;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.threeten.extra.Interval;
 
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.util.List;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
+import static org.junit.Assert.*;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class TimeSeriesTableTest {
 
+    private static final double EPSILON = Math.pow(10, -15);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void test() {
         TimeSeriesIndex index = new TestTimeSeriesIndex(0, 4);
@@ -77,4 +89,106 @@ public class TimeSeriesTableTest {
         String emptyCsv = new TimeSeriesTable(0, 0, InfiniteTimeSeriesIndex.INSTANCE).toCsvString(';', ZoneId.of("UTC"));
         assertEquals("Time;Version" + System.lineSeparator(), emptyCsv);
     }
+
+    @Test
+    public void mappedFileTest() throws IOException {
+        TimeSeriesIndex index = RegularTimeSeriesIndex.create(Interval.parse("2015-01-01T00:00:00Z/2015-01-01T03:00:00Z"),
+                                                              Duration.ofHours(1));
+        TimeSeriesMetadata metadata1 = new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, index);
+        TimeSeriesMetadata metadata2 = new TimeSeriesMetadata("ts2", TimeSeriesDataType.STRING, index);
+        DoubleTimeSeries ts1v1 = new StoredDoubleTimeSeries(metadata1, new UncompressedDoubleDataChunk(0, new double[] {1, 2, 3, 4}));
+        DoubleTimeSeries ts1v2 = new StoredDoubleTimeSeries(metadata1, new UncompressedDoubleDataChunk(0, new double[] {5, 6, 7, 8}));
+        StringTimeSeries ts2v1 = new StringTimeSeries(metadata2, new UncompressedStringDataChunk(1, new String[] {"a", "b", "a"}));
+        StringTimeSeries ts2v2 = new StringTimeSeries(metadata2, new UncompressedStringDataChunk(0, new String[] {"c"}));
+
+        File file = folder.newFile();
+        try (MemoryMappedFile mappedFile = new MemoryMappedFileImpl(file)) {
+            TimeSeriesTable table = TimeSeriesTable.createMapped(1, 2, index, mappedFile);
+            table.load(1, ImmutableList.of(ts1v1, ts2v1));
+            assertEquals(2.5, table.getMean(1, 0), 0);
+        }
+
+        String expectedCsv = String.join(System.lineSeparator(),
+                                         "Time;Version;ts1;ts2",
+                                         "2015-01-01T00:00:00Z;1;1.0;",
+                                         "2015-01-01T01:00:00Z;1;2.0;a",
+                                         "2015-01-01T02:00:00Z;1;3.0;b",
+                                         "2015-01-01T03:00:00Z;1;4.0;a",
+                                         "2015-01-01T00:00:00Z;2;5.0;c",
+                                         "2015-01-01T01:00:00Z;2;6.0;",
+                                         "2015-01-01T02:00:00Z;2;7.0;",
+                                         "2015-01-01T03:00:00Z;2;8.0;") + System.lineSeparator();
+
+        // reopen the table and load a second version, the string dictionary is extended
+        try (MemoryMappedFile mappedFile = new MemoryMappedFileImpl(file)) {
+            TimeSeriesTable table = TimeSeriesTable.open(mappedFile);
+            assertEquals(index, table.getTableIndex());
+            assertEquals(ImmutableList.of("ts1", "ts2"), table.getTimeSeriesNames());
+            assertEquals(3, table.getDoubleValue(1, 0, 2), 0);
+            assertEquals("b", table.getStringValue(1, 1, 2));
+            assertTrue(Double.isNaN(table.getDoubleValue(2, 0, 0)));
+            assertEquals(2.5, table.getMean(1, 0), 0);
+            table.load(2, ImmutableList.of(ts1v2, ts2v2));
+        }
+
+        try (MemoryMappedFile mappedFile = new MemoryMappedFileImpl(file)) {
+            TimeSeriesTable table = TimeSeriesTable.open(mappedFile);
+            assertEquals(expectedCsv, table.toCsvString(';', ZoneId.of("UTC")));
+        }
+
+        // a read only table can be queried but not loaded
+        try (MemoryMappedFile mappedFile = new MemoryMappedFileImpl(file, true)) {
+            TimeSeriesTable table = TimeSeriesTable.open(mappedFile);
+            assertEquals(expectedCsv, table.toCsvString(';', ZoneId.of("UTC")));
+            assertEquals(6.5, table.getMean(2, 0), 0);
+            try {
+                table.load(2, ImmutableList.of(ts1v2, ts2v2));
+                fail();
+            } catch (TimeSeriesException ignored) {
+            }
+        }
+    }
+
+    @Test(expected = TimeSeriesException.class)
+    public void openInvalidFileTest() throws IOException {
+        try (MemoryMappedFile mappedFile = new MemoryMappedFileImpl(folder.newFile())) {
+            TimeSeriesTable.open(mappedFile);
+        }
+    }
+
+    @Test
+    public void ppmccMatrixTest() {
+        TimeSeriesIndex index = new TestTimeSeriesIndex(0, 5);
+        TimeSeriesMetadata metadata1 = new TimeSeriesMetadata("ts1", TimeSeriesDataType.DOUBLE, index);
+        TimeSeriesMetadata metadata2 = new TimeSeriesMetadata("ts2", TimeSeriesDataType.DOUBLE, index);
+        TimeSeriesMetadata metadata3 = new TimeSeriesMetadata("ts3", TimeSeriesDataType.DOUBLE, index);
+        TimeSeriesMetadata metadata4 = new TimeSeriesMetadata("ts4", TimeSeriesDataType.DOUBLE, index);
+        DoubleTimeSeries ts1 = new StoredDoubleTimeSeries(metadata1, new UncompressedDoubleDataChunk(0, new double[] {1, 2, 3, 4, 5}));
+        DoubleTimeSeries ts2 = new StoredDoubleTimeSeries(metadata2, new UncompressedDoubleDataChunk(0, new double[] {2, 1, 4, 3, 7}));
+        DoubleTimeSeries ts3 = new StoredDoubleTimeSeries(metadata3, new UncompressedDoubleDataChunk(0, new double[] {5, 4, 3, 2, 1}));
+        DoubleTimeSeries ts4 = new StoredDoubleTimeSeries(metadata4, new UncompressedDoubleDataChunk(0, new double[] {3, 3, 3, 3, 3}));
+
+        TimeSeriesTable table = new TimeSeriesTable(1, 1, index);
+        table.load(1, ImmutableList.of(ts1, ts2, ts3, ts4));
+
+        double[][] matrix = table.computePpmccMatrix(1);
+        assertEquals(4, matrix.length);
+        for (int i = 0; i < 4; i++) {
+            assertArrayEquals(table.computePpmcc("ts" + (i + 1), 1), matrix[i], EPSILON);
+        }
+        assertEquals(-1, matrix[0][2], EPSILON);
+        assertEquals(1, matrix[3][3], 0);
+        assertEquals(0, matrix[0][3], 0);
+
+        // only correlations of the reloaded time series are updated
+        DoubleTimeSeries ts3b = new StoredDoubleTimeSeries(metadata3, new UncompressedDoubleDataChunk(0, new double[] {2, 4, 6, 8, 10}));
+        table.load(1, ImmutableList.of(ts3b));
+        double[][] matrix2 = table.computePpmccMatrix(1);
+        for (int i = 0; i < 4; i++) {
+            assertArrayEquals(table.computePpmcc("ts" + (i + 1), 1), matrix2[i], EPSILON);
+        }
+        assertEquals(1, matrix2[0][2], EPSILON);
+        assertEquals(1, matrix2[2][0], EPSILON);
+        assertEquals(matrix[0][1], matrix2[0][1], 0);
+    }
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.timeseries.binary;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.LittleEndianDataInputStream;
+import com.google.common.io.LittleEndianDataOutputStream;
+import com.powsybl.timeseries.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class DataChunkBinaryTest {
+
+    @Test
+    public void doubleChunksTest() throws IOException {
+        List<DoubleDataChunk> chunks = ImmutableList.of(new UncompressedDoubleDataChunk(2, new double[] {1, 2.5, Double.NaN}),
+                                                        new CompressedDoubleDataChunk(5, 6, new double[] {1, -3}, new int[] {4, 2}));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (LittleEndianDataOutputStream out = new LittleEndianDataOutputStream(os)) {
+            DataChunkBinary.writeDoubleChunks(out, chunks);
+        }
+        byte[] bytes = os.toByteArray();
+        // chunk count, flag, offset, length, 3 values, flag, offset, uncompressed length, step count, 2 steps
+        assertEquals(4 + 1 + 4 + 4 + 3 * 8 + 1 + 4 + 4 + 4 + 2 * (8 + 4), bytes.length);
+        // values are little endian
+        assertEquals(0x3f, bytes[4 + 1 + 4 + 4 + 7] & 0xff);
+
+        try (LittleEndianDataInputStream in = new LittleEndianDataInputStream(new ByteArrayInputStream(bytes))) {
+            assertEquals(chunks, DataChunkBinary.readDoubleChunks(in));
+        }
+    }
+
+    @Test
+    public void stringChunksTest() throws IOException {
+        List<StringDataChunk> chunks = ImmutableList.of(new UncompressedStringDataChunk(0, new String[] {"a", null, "b\u00e9"}),
+                                                        new CompressedStringDataChunk(3, 5, new String[] {"b\u00e9", "c"}, new int[] {2, 3}));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (LittleEndianDataOutputStream out = new LittleEndianDataOutputStream(os)) {
+            DataChunkBinary.writeStringChunks(out, chunks);
+        }
+        try (LittleEndianDataInputStream in = new LittleEndianDataInputStream(new ByteArrayInputStream(os.toByteArray()))) {
+            assertEquals(chunks, DataChunkBinary.readStringChunks(in));
+        }
+    }
+}
@@ -7,10 +7,16 @@
 
 package com.powsybl.triplestore.api;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -18,17 +24,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Values of a set of properties, usually a row of a query result.
+ * Values of the expected property names are stored in an array indexed by the shared {@link PropertyNames},
+ * so that large query results do not need a hash map for each row.
+ *
  * @author Luma Zamarreño <zamarrenolm at aia.es>
  */
-public class PropertyBag extends HashMap<String, String> {
+public class PropertyBag extends AbstractMap<String, String> {
 
     public PropertyBag(List<String> propertyNames) {
         this(propertyNames, false);
     }
 
     public PropertyBag(List<String> propertyNames, boolean removeUnderscore) {
-        super(propertyNames.size());
-        this.propertyNames = propertyNames;
+        this.propertyNames = PropertyNames.of(propertyNames);
+        this.values = new Object[this.propertyNames.size()];
         this.removeInitialUnderscoreForIdentifiers = removeUnderscore;
     }
 
@@ -36,6 +46,86 @@ public class PropertyBag extends HashMap<String, String> {
         return propertyNames;
     }
 
+    @Override
+    public int size() {
+        return size + (otherValues != null ? otherValues.size() : 0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int k = propertyNames.indexOf(key);
+        if (k >= 0) {
+            return values[k] != null;
+        }
+        return otherValues != null && otherValues.containsKey(key);
+    }
+
+    @Override
+    public String get(Object key) {
+        int k = propertyNames.indexOf(key);
+        if (k >= 0) {
+            return valueAt(k);
+        }
+        return otherValues != null ? otherValues.get(key) : null;
+    }
+
+    @Override
+    public String put(String key, String value) {
+        int k = propertyNames.indexOf(key);
+        if (k >= 0) {
+            String previous = valueAt(k);
+            if (values[k] == null) {
+                size++;
+            }
+            values[k] = value != null ? value : NULL_VALUE;
+            return previous;
+        }
+        // Properties not in the list of property names are unusual,
+        // they are kept in a separate map
+        if (otherValues == null) {
+            otherValues = new HashMap<>();
+        }
+        return otherValues.put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        int k = propertyNames.indexOf(key);
+        if (k >= 0) {
+            return removeAt(k);
+        }
+        return otherValues != null ? otherValues.remove(key) : null;
+    }
+
+    @Override
+    public void clear() {
+        for (int k = 0; k < values.length; k++) {
+            values[k] = null;
+        }
+        size = 0;
+        otherValues = null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<Map.Entry<String, String>>() {
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return PropertyBag.this.size();
+            }
+
+            @Override
+            public void clear() {
+                PropertyBag.this.clear();
+            }
+        };
+    }
+
     public void putNonNull(String key, String value) {
         if (key != null && value != null) {
             put(key, value);
@@ -119,7 +209,7 @@ public class PropertyBag extends HashMap<String, String> {
     }
 
     public String tabulate(String title) {
-        return tabulate(title, HashMap::get);
+        return tabulate(title, PropertyBag::get);
     }
 
     private String tabulate(String title, BiFunction<PropertyBag, String, String> getValue) {
@@ -176,9 +266,128 @@ public class PropertyBag extends HashMap<String, String> {
         return NAMESPACE_PREFIX;
     }
 
-    private final List<String> propertyNames;
+    private String valueAt(int k) {
+        Object value = values[k];
+        return value != NULL_VALUE ? (String) value : null;
+    }
+
+    private String removeAt(int k) {
+        String previous = valueAt(k);
+        if (values[k] != null) {
+            values[k] = null;
+            size--;
+        }
+        return previous;
+    }
+
+    private final class ValueEntry implements Map.Entry<String, String> {
+        ValueEntry(int k) {
+            this.k = k;
+        }
+
+        @Override
+        public String getKey() {
+            return propertyNames.get(k);
+        }
+
+        @Override
+        public String getValue() {
+            return valueAt(k);
+        }
+
+        @Override
+        public String setValue(String value) {
+            String previous = valueAt(k);
+            values[k] = value != null ? value : NULL_VALUE;
+            return previous;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) obj;
+            return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+
+        private final int k;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+        EntryIterator() {
+            next = nextIndex(0);
+        }
+
+        private int nextIndex(int from) {
+            int k = from;
+            while (k < values.length && values[k] == null) {
+                k++;
+            }
+            return k;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < values.length) {
+                return true;
+            }
+            if (others == null && otherValues != null) {
+                others = otherValues.entrySet().iterator();
+            }
+            return others != null && others.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next < values.length) {
+                last = next;
+                next = nextIndex(next + 1);
+                return new ValueEntry(last);
+            }
+            last = -1;
+            return others.next();
+        }
+
+        @Override
+        public void remove() {
+            if (last >= 0) {
+                removeAt(last);
+                last = -1;
+            } else if (others != null) {
+                others.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private int next;
+        private int last = -1;
+        private Iterator<Map.Entry<String, String>> others;
+    }
+
+    private final PropertyNames propertyNames;
+    private final Object[] values;
+    private int size;
+    private Map<String, String> otherValues;
     private final boolean removeInitialUnderscoreForIdentifiers;
 
+    // Marks a property explicitly set to null
+    private static final Object NULL_VALUE = new Object();
+
     private static final String NAMESPACE_PREFIX = "data";
     private static final String INDENTATION = "    ";
 
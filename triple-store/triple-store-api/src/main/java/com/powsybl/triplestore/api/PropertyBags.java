@@ -50,9 +50,11 @@ public class PropertyBags extends ArrayList<PropertyBag> {
             String valueProperty) {
         int estimatedNumObjects = size() / pivotPropertyNames.size();
         Map<String, PropertyBag> objects = new HashMap<>(estimatedNumObjects);
-        List<String> propertyNames = new ArrayList<>(pivotPropertyNames.size() + 1);
-        propertyNames.add(idProperty);
-        propertyNames.addAll(pivotPropertyNames);
+        List<String> names = new ArrayList<>(pivotPropertyNames.size() + 1);
+        names.add(idProperty);
+        names.addAll(pivotPropertyNames);
+        // All pivoted objects share the same property names
+        PropertyNames propertyNames = PropertyNames.of(names);
         forEach(b -> {
             String id = b.getId(idProperty);
             PropertyBag object = objects.computeIfAbsent(id, id1 -> {
@@ -74,9 +76,11 @@ public class PropertyBags extends ArrayList<PropertyBag> {
             String valueProperty) {
         int estimatedNumObjects = size() / pivotPropertyLocalNames.size();
         Map<String, PropertyBag> objects = new HashMap<>(estimatedNumObjects);
-        List<String> propertyNames = new ArrayList<>(pivotPropertyLocalNames.size() + 1);
-        propertyNames.add(idProperty);
-        propertyNames.addAll(pivotPropertyLocalNames);
+        List<String> names = new ArrayList<>(pivotPropertyLocalNames.size() + 1);
+        names.add(idProperty);
+        names.addAll(pivotPropertyLocalNames);
+        // All pivoted objects share the same property names
+        PropertyNames propertyNames = PropertyNames.of(names);
         forEach(b -> {
             String id = b.getId(idProperty);
             PropertyBag object = objects.computeIfAbsent(id, id1 -> {
@@ -96,7 +100,7 @@ public class PropertyBags extends ArrayList<PropertyBag> {
     }
 
     public String tabulate() {
-        return tabulate(HashMap::get);
+        return tabulate(PropertyBag::get);
     }
 
     private String tabulate(BiFunction<PropertyBag, String, String> getValue) {
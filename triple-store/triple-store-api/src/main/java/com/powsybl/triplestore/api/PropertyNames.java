@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2018, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.powsybl.triplestore.api;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of property names with a precomputed index.
+ * All the property bags of a query result share the same instance,
+ * so each bag only has to store an array of values.
+ * Names are interned, so lookups with constant names are resolved by reference.
+ *
+ * @author Luma Zamarreño <zamarrenolm at aia.es>
+ */
+public final class PropertyNames extends AbstractList<String> implements RandomAccess {
+
+    public static PropertyNames of(List<String> names) {
+        Objects.requireNonNull(names);
+        if (names instanceof PropertyNames) {
+            return (PropertyNames) names;
+        }
+        return new PropertyNames(names);
+    }
+
+    private PropertyNames(List<String> names) {
+        this.names = new String[names.size()];
+        this.indices = new HashMap<>(names.size() * 2);
+        for (int k = 0; k < this.names.length; k++) {
+            String name = Objects.requireNonNull(names.get(k)).intern();
+            this.names[k] = name;
+            // If a name is repeated keep the first position, as List.indexOf does
+            indices.putIfAbsent(name, k);
+        }
+    }
+
+    @Override
+    public String get(int index) {
+        return names[index];
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public int indexOf(Object name) {
+        Integer index = indices.get(name);
+        return index != null ? index : -1;
+    }
+
+    @Override
+    public boolean contains(Object name) {
+        return indices.containsKey(name);
+    }
+
+    private final String[] names;
+    private final Map<String, Integer> indices;
+}
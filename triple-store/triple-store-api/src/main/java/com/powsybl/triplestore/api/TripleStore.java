@@ -33,6 +33,13 @@ public interface TripleStore {
 
     PropertyBags query(String query);
 
+    // True if queries can be evaluated concurrently from several threads
+    // without being serialized by the store, as long as no data is modified
+
+    default boolean supportsConcurrentQueries() {
+        return false;
+    }
+
     void add(String contextName, String type, PropertyBags objects);
 
     Set<String> contextNames();
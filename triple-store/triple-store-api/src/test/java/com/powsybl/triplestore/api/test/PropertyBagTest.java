@@ -10,15 +10,22 @@ package com.powsybl.triplestore.api.test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.powsybl.triplestore.api.PropertyBag;
+import com.powsybl.triplestore.api.PropertyNames;
 
 /**
  * @author Luma Zamarreño <zamarrenolm at aia.es>
@@ -197,6 +204,68 @@ public class PropertyBagTest {
         assertFalse(booleans.asBoolean("value", true));
     }
 
+    @Test
+    public void testMapBehavior() {
+        PropertyBag p = new PropertyBag(Arrays.asList("id", "name", "value"));
+        assertTrue(p.isEmpty());
+
+        assertNull(p.put("value", "1"));
+        assertNull(p.put("id", "id0"));
+        assertEquals("1", p.put("value", "2"));
+        // Properties that are not in the list of property names are also accepted
+        assertNull(p.put("other", "x"));
+        // A property explicitly set to null is present
+        assertNull(p.put("name", null));
+        assertEquals(4, p.size());
+        assertTrue(p.containsKey("name"));
+        assertNull(p.get("name"));
+        assertFalse(p.containsKey("missing"));
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("id", "id0");
+        expected.put("name", null);
+        expected.put("value", "2");
+        expected.put("other", "x");
+        assertEquals(expected, new HashMap<>(p));
+        assertEquals(expected.hashCode(), new HashMap<>(p).hashCode());
+
+        // Values of property names are iterated in order
+        Iterator<Map.Entry<String, String>> k = p.entrySet().iterator();
+        assertEquals("id", k.next().getKey());
+        Map.Entry<String, String> name = k.next();
+        assertEquals("name", name.getKey());
+        k.remove();
+        Map.Entry<String, String> value = k.next();
+        value.setValue("3");
+        assertEquals("other", k.next().getKey());
+        assertFalse(k.hasNext());
+        assertFalse(p.containsKey("name"));
+        assertEquals("3", p.get("value"));
+        assertEquals(3, p.size());
+
+        assertEquals("x", p.remove("other"));
+        assertEquals("id0", p.remove("id"));
+        assertNull(p.remove("id"));
+        assertEquals(1, p.size());
+        p.clear();
+        assertTrue(p.isEmpty());
+    }
+
+    @Test
+    public void testSharedPropertyNames() {
+        List<String> names = PropertyNames.of(Arrays.asList(new String("id"), "name"));
+        assertSame(names, PropertyNames.of(names));
+        assertEquals(Arrays.asList("id", "name"), names);
+        // Property names are interned
+        assertSame("id", names.get(0));
+        assertEquals(1, names.indexOf("name"));
+        assertEquals(-1, names.indexOf("value"));
+
+        PropertyBag p1 = new PropertyBag(names);
+        PropertyBag p2 = new PropertyBag(names);
+        assertSame(p1.propertyNames(), p2.propertyNames());
+    }
+
     private static PropertyBag localsWithUnderscore;
     private static PropertyBag locals;
     private static PropertyBag numbers;
@@ -52,6 +52,7 @@ import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.triplestore.api.AbstractPowsyblTripleStore;
 import com.powsybl.triplestore.api.PropertyBag;
 import com.powsybl.triplestore.api.PropertyBags;
+import com.powsybl.triplestore.api.PropertyNames;
 import com.powsybl.triplestore.api.TripleStoreException;
 
 /**
@@ -226,6 +227,13 @@ public class TripleStoreBlazegraph extends AbstractPowsyblTripleStore {
         }
     }
 
+    @Override
+    public boolean supportsConcurrentQueries() {
+        // getConnection on a BigdataSailRepository hands out the unisolated connection,
+        // that is exclusive: concurrent queries would wait for each other
+        return false;
+    }
+
     @Override
     public PropertyBags query(String query) {
         RepositoryConnection cnx = null;
@@ -324,7 +332,8 @@ public class TripleStoreBlazegraph extends AbstractPowsyblTripleStore {
             tupleQuery.setIncludeInferred(false);
             TupleQueryResult r = tupleQuery.evaluate();
             try {
-                List<String> names = r.getBindingNames();
+                // Shared by all the results
+                List<String> names = PropertyNames.of(r.getBindingNames());
                 while (r.hasNext()) {
                     BindingSet s = r.next();
                     PropertyBag result = new PropertyBag(names);
@@ -40,6 +40,7 @@ import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.triplestore.api.AbstractPowsyblTripleStore;
 import com.powsybl.triplestore.api.PropertyBag;
 import com.powsybl.triplestore.api.PropertyBags;
+import com.powsybl.triplestore.api.PropertyNames;
 import com.powsybl.triplestore.api.TripleStoreException;
 
 /**
@@ -119,6 +120,12 @@ public class TripleStoreJena extends AbstractPowsyblTripleStore {
         m.removeAll();
     }
 
+    @Override
+    public boolean supportsConcurrentQueries() {
+        // In-memory graphs can be read by several threads while no one writes them
+        return true;
+    }
+
     @Override
     public PropertyBags query(String query) {
         String query1 = adjustedQuery(query);
@@ -132,7 +139,8 @@ public class TripleStoreJena extends AbstractPowsyblTripleStore {
             // If we want to analyze the algebra of the query,
             // set ARQ.symLogExec to true in the query context
             ResultSet r = q.execSelect();
-            List<String> names = r.getResultVars();
+            // Shared by all the results
+            List<String> names = PropertyNames.of(r.getResultVars());
             while (r.hasNext()) {
                 QuerySolution s = r.next();
                 PropertyBag result = new PropertyBag(names);
@@ -45,6 +45,7 @@ import com.powsybl.commons.datasource.DataSource;
 import com.powsybl.triplestore.api.AbstractPowsyblTripleStore;
 import com.powsybl.triplestore.api.PropertyBag;
 import com.powsybl.triplestore.api.PropertyBags;
+import com.powsybl.triplestore.api.PropertyNames;
 import com.powsybl.triplestore.api.TripleStoreException;
 
 /**
@@ -127,6 +128,12 @@ public class TripleStoreRDF4J extends AbstractPowsyblTripleStore {
         }
     }
 
+    @Override
+    public boolean supportsConcurrentQueries() {
+        // Each query uses its own connection to the memory store
+        return true;
+    }
+
     @Override
     public PropertyBags query(String query) {
         String query1 = adjustedQuery(query);
@@ -141,7 +148,8 @@ public class TripleStoreRDF4J extends AbstractPowsyblTripleStore {
             // and we query without using explicit GRAPH clauses
             // This means that we have to filter distinct results
             try (TupleQueryResult r = QueryResults.distinctResults(q.evaluate())) {
-                List<String> names = r.getBindingNames();
+                // Shared by all the results
+                List<String> names = PropertyNames.of(r.getBindingNames());
                 while (r.hasNext()) {
                     BindingSet s = r.next();
                     PropertyBag result = new PropertyBag(names);